@@ -96,6 +96,7 @@ public class DailyEmailAggregationJob {
             Log.debugf("Found following org IDs to update: %s", orgIdsToUpdate);
 
             aggregationOrgConfigRepository.updateLastCronJobRunAccordingOrgPref(orgIdsToUpdate, now);
+            emailAggregationResources.deleteExpiredPendingAggregations(now);
 
             Gauge lastSuccess = Gauge
                     .build()
@@ -45,6 +45,12 @@ public class AggregationOrgConfigRepository {
         Log.infof("Default aggregation configuration created for %d organizations", createdEntries);
     }
 
+    /**
+     * Updates the last run date of the given orgs and deletes their pending aggregation slots covered by that run, in
+     * the same transaction. The slots of the events stored after the end of the run are kept for the next run.
+     * @param orgIdsToUpdate the orgs which were aggregated.
+     * @param end the end of the aggregation period.
+     */
     @Transactional
     public void updateLastCronJobRunAccordingOrgPref(List<String> orgIdsToUpdate, LocalDateTime end) {
 
@@ -55,5 +61,13 @@ public class AggregationOrgConfigRepository {
 
         int nbUpdatedRecords = nativeQuery.executeUpdate();
         Log.infof("Last run date was updated for %s orgId", nbUpdatedRecords);
+
+        if (!orgIdsToUpdate.isEmpty()) {
+            int deletedEntries = entityManager.createNativeQuery("DELETE FROM pending_daily_aggregation WHERE org_id IN (:orgIdsToUpdate) AND time_slot < :end")
+                .setParameter("orgIdsToUpdate", orgIdsToUpdate)
+                .setParameter("end", end)
+                .executeUpdate();
+            Log.debugf("%d pending aggregations were deleted", deletedEntries);
+        }
     }
 }
@@ -7,7 +7,7 @@ import io.quarkus.logging.Log;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.Query;
+import jakarta.transaction.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -29,57 +29,28 @@ public class EmailAggregationRepository {
 
     /**
      * Get applications with pending aggregation it the current time matches with org aggregation time preference.
-     * Results will be limited to last 48h
+     * Results will be limited to last 48h.
+     * Only the (org, application) pairs recorded in the pending_daily_aggregation table by the event inserts are
+     * checked, the event table is then only queried for these pairs.
      */
     public List<AggregationCommand> getApplicationsWithPendingAggregationAccordingOrgPref(LocalDateTime now) {
         LocalDateTime currentTimeTwoDaysAgo = now.minusDays(2);
         List<Object[]> records;
         if (aggregatorConfig.isFetchAggregationsWithAtLeastOneSubscriber()) {
             final LocalDateTime startTime = LocalDateTime.now();
-            String query = "SELECT DISTINCT ev.orgId, ev.bundleId, ev.applicationId, acp.lastRun, bu.name, ap.name FROM Event ev " +
-                "join Application ap on ev.applicationId = ap.id join Bundle bu on ev.bundleId = bu.id " +
-                "join AggregationOrgConfig acp on ev.orgId = acp.orgId WHERE " +
-                // check than at least one user of the org subscribed for daily digest with this event type
-                "EXISTS (SELECT 1 FROM EventTypeEmailSubscription es where ev.orgId = es.id.orgId and es.id.subscriptionType='DAILY' and es.eventType = ev.eventType and es.subscribed is true) " +
-                // check for linked email integration linked to this event type (to honor legacy mechanism)
-                "AND EXISTS (SELECT 1 FROM Endpoint ep, EndpointEventType eet where (ev.orgId = ep.orgId or ep.orgId is null) and ep.compositeType.type = 'EMAIL_SUBSCRIPTION' and eet.eventType = ev.eventType and eet.endpoint = ep) " +
-                // filter on new events since the latest run of this org aggregation, and not older than two days
-                "AND (ev.created > acp.lastRun OR acp.lastRun is null) AND ev.created > :twoDaysAgo AND ev.created <= :now " +
-                // filter on org scheduled execution time
-                "AND :nowTime = acp.scheduledExecutionTime";
-            Query hqlQuery = entityManager.createQuery(query)
-                .setParameter("nowTime", now.toLocalTime())
-                .setParameter("now", now)
-                .setParameter("twoDaysAgo", currentTimeTwoDaysAgo);
-
-            records = hqlQuery.getResultList();
+            // check than at least one user of the org subscribed for daily digest with this event type
+            String eventCondition = "AND EXISTS (SELECT 1 FROM email_subscriptions es WHERE ev.org_id = es.org_id AND es.subscription_type = 'DAILY' AND es.event_type_id = ev.event_type_id AND es.subscribed IS TRUE) ";
+            records = getPendingAggregations("", eventCondition, now, currentTimeTwoDaysAgo);
 
             Duration duration = Duration.between(startTime, LocalDateTime.now());
             Log.infof("Fetching aggregations with pending aggregations with at least one subscriber took %d s for %d aggregations", duration.toSeconds(), records.size());
         }
 
-        String query = "SELECT DISTINCT ev.orgId, ev.bundleId, ev.applicationId, acp.lastRun, bu.name, ap.name FROM Event ev " +
-            "join Application ap on ev.applicationId = ap.id join Bundle bu on ev.bundleId = bu.id " +
-            "join AggregationOrgConfig acp on ev.orgId = acp.orgId WHERE " +
-
-            // check than a aggregation template exists for the event application
-            "EXISTS (SELECT 1 FROM AggregationEmailTemplate WHERE application.id = ev.applicationId and subscriptionType = 'DAILY') " +
-            // After prod validation phase, the previous AggregationEmailTemplate check should be remove in favor of:
-            // check than at least one user of the org subscribed for daily digest with this event type
-            //"EXISTS (SELECT 1 FROM EventTypeEmailSubscription es where ev.orgId = es.id.orgId and es.id.subscriptionType='DAILY' and es.eventType = ev.eventType and es.subscribed is true) " + warning: need an new index on EventTypeEmailSubscription before being enabled
-
-            // check for linked email integration linked to this event type (to honor legacy mechanism)
-            "AND EXISTS (SELECT 1 FROM Endpoint ep, EndpointEventType eet where (ev.orgId = ep.orgId or ep.orgId is null) and ep.compositeType.type = 'EMAIL_SUBSCRIPTION' and eet.eventType = ev.eventType and eet.endpoint = ep) " +
-            // filter on new events since the latest run of this org aggregation, and not older than two days
-            "AND (ev.created > acp.lastRun OR acp.lastRun is null) AND ev.created > :twoDaysAgo AND ev.created <= :now " +
-            // filter on org scheduled execution time
-            "AND :nowTime = acp.scheduledExecutionTime";
-        Query hqlQuery = entityManager.createQuery(query)
-            .setParameter("nowTime", now.toLocalTime())
-            .setParameter("now", now)
-            .setParameter("twoDaysAgo", currentTimeTwoDaysAgo);
-
-        records = hqlQuery.getResultList();
+        // check than a aggregation template exists for the event application
+        String applicationCondition = "AND EXISTS (SELECT 1 FROM aggregation_email_template aet WHERE aet.application_id = pda.application_id AND aet.subscription_type = 'DAILY') ";
+        // After prod validation phase, the previous aggregation_email_template check should be remove in favor of the
+        // email_subscriptions check from the query above. warning: need an new index on email_subscriptions before being enabled
+        records = getPendingAggregations(applicationCondition, "", now, currentTimeTwoDaysAgo);
         return records.stream()
             .map(emailAggregationRecord -> new AggregationCommand(
                 new EventAggregationCriterion(
@@ -95,6 +66,45 @@ public class EmailAggregationRepository {
             .collect(toList());
     }
 
+    private List<Object[]> getPendingAggregations(String applicationCondition, String eventCondition, LocalDateTime now, LocalDateTime currentTimeTwoDaysAgo) {
+        /*
+         * The query starts from the orgs scheduled at the current time, then reads the pending slots of each of these
+         * orgs only, using the org_id prefix of the pending_daily_aggregation primary key.
+         */
+        String query = "SELECT acp.org_id, pda.bundle_id, pda.application_id, acp.last_run, bu.name, ap.name " +
+            "FROM aggregation_org_config acp " +
+            "JOIN LATERAL (SELECT DISTINCT p.org_id, p.bundle_id, p.application_id FROM pending_daily_aggregation p " +
+            "WHERE p.org_id = acp.org_id AND p.time_slot <= :now) pda ON TRUE " +
+            "JOIN applications ap ON pda.application_id = ap.id JOIN bundles bu ON pda.bundle_id = bu.id " +
+            // filter on org scheduled execution time
+            "WHERE acp.scheduled_execution_time = :nowTime " +
+            applicationCondition +
+            "AND EXISTS (SELECT 1 FROM event ev WHERE ev.org_id = pda.org_id AND ev.application_id = pda.application_id " +
+            // filter on new events since the latest run of this org aggregation, and not older than two days
+            "AND (ev.created > acp.last_run OR acp.last_run IS NULL) AND ev.created > :twoDaysAgo AND ev.created <= :now " +
+            eventCondition +
+            // check for linked email integration linked to this event type (to honor legacy mechanism)
+            "AND EXISTS (SELECT 1 FROM endpoints ep JOIN endpoint_event_type eet ON eet.endpoint_id = ep.id WHERE (ev.org_id = ep.org_id OR ep.org_id IS NULL) " +
+            "AND ep.endpoint_type_v2 = 'EMAIL_SUBSCRIPTION' AND eet.event_type_id = ev.event_type_id))";
+        return entityManager.createNativeQuery(query)
+            .setParameter("nowTime", now.toLocalTime())
+            .setParameter("now", now)
+            .setParameter("twoDaysAgo", currentTimeTwoDaysAgo)
+            .getResultList();
+    }
+
+    /**
+     * Deletes the pending aggregation slots which only contain events older than two days. These events will never
+     * be aggregated, whether the org had a pending aggregation or not.
+     */
+    @Transactional
+    public void deleteExpiredPendingAggregations(LocalDateTime now) {
+        int deletedEntries = entityManager.createNativeQuery("DELETE FROM pending_daily_aggregation WHERE time_slot <= :expirationLimit")
+            .setParameter("expirationLimit", now.minusDays(2).minusMinutes(15))
+            .executeUpdate();
+        Log.debugf("%d expired pending aggregations were deleted", deletedEntries);
+    }
+
     // compute aggregation start date, it must not be older than two days ago
     private static LocalDateTime computeStartDateTime(final LocalDateTime startDateTimeFromDb, final LocalDateTime currentTimeTwoDaysAgo) {
         if (startDateTimeFromDb != null
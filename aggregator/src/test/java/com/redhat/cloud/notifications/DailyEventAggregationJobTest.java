@@ -239,6 +239,28 @@ class DailyEventAggregationJobTest {
         checkAggCommand(listCommand, "someOrgId", "rhel", "unknown-application");
     }
 
+    @Test
+    void shouldDeletePendingAggregationsOfProcessedOrgsOnly() {
+        addEventEmailAggregation("someOrgId", "rhel", "policies", "somePolicyId", "someHostId");
+        addEventEmailAggregation("anotherOrgId", "rhel", "policies", "somePolicyId", "someHostId");
+        assertEquals(1, helpers.countPendingDailyAggregations("someOrgId"));
+        assertEquals(1, helpers.countPendingDailyAggregations("anotherOrgId"));
+
+        dailyEmailAggregationJob.setDefaultDailyDigestTime(baseReferenceTime.toLocalTime());
+        someOrgIdToProceed.setScheduledExecutionTime(baseReferenceTime.minusHours(2).toLocalTime());
+        helpers.addAggregationOrgConfig(someOrgIdToProceed);
+
+        dailyEmailAggregationJob.processDailyEmail();
+
+        List<AggregationCommand> listCommand = getRecordsFromKafka();
+        assertEquals(1, listCommand.size());
+        checkAggCommand(listCommand, "anotherOrgId", "rhel", "policies");
+
+        // The pending aggregation of someOrgId is kept until its own scheduled execution time.
+        assertEquals(1, helpers.countPendingDailyAggregations("someOrgId"));
+        assertEquals(0, helpers.countPendingDailyAggregations("anotherOrgId"));
+    }
+
     @Test
     void shouldNotStartBeforeThanTwoDays() {
         LocalTime now = baseReferenceTime.toLocalTime();
@@ -59,6 +59,13 @@ public class ResourceHelpers extends com.redhat.cloud.notifications.models.Resou
     @Transactional
     public void purgeEventAggregations() {
         entityManager.createQuery("DELETE FROM Event").executeUpdate();
+        entityManager.createNativeQuery("DELETE FROM pending_daily_aggregation").executeUpdate();
+    }
+
+    public long countPendingDailyAggregations(String orgId) {
+        return (Long) entityManager.createNativeQuery("SELECT COUNT(*) FROM pending_daily_aggregation WHERE org_id = :orgId")
+            .setParameter("orgId", orgId)
+            .getSingleResult();
     }
 
     @Transactional
@@ -11,6 +11,8 @@ import org.project_kessel.api.auth.ClientConfigAuth;
 import org.project_kessel.api.auth.OAuth2ClientCredentials;
 import org.project_kessel.api.auth.OIDCDiscovery;
 import org.project_kessel.api.auth.OIDCDiscoveryMetadata;
+import org.project_kessel.api.inventory.v1beta2.CheckBulkRequest;
+import org.project_kessel.api.inventory.v1beta2.CheckBulkResponse;
 import org.project_kessel.api.inventory.v1beta2.CheckForUpdateRequest;
 import org.project_kessel.api.inventory.v1beta2.CheckForUpdateResponse;
 import org.project_kessel.api.inventory.v1beta2.CheckRequest;
@@ -50,6 +52,10 @@ public class KesselCheckClient {
         return grpcClient.check(request);
     }
 
+    public CheckBulkResponse checkBulk(CheckBulkRequest request) {
+        return grpcClient.checkBulk(request);
+    }
+
     public CheckForUpdateResponse checkForUpdate(CheckForUpdateRequest request) {
         return grpcClient.checkForUpdate(request);
     }
@@ -9,12 +9,20 @@ import com.redhat.cloud.notifications.routers.SecurityContextUtil;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
 import io.quarkus.logging.Log;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.ForbiddenException;
 import jakarta.ws.rs.core.SecurityContext;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.project_kessel.api.inventory.v1beta2.Allowed;
+import org.project_kessel.api.inventory.v1beta2.CheckBulkRequest;
+import org.project_kessel.api.inventory.v1beta2.CheckBulkRequestItem;
+import org.project_kessel.api.inventory.v1beta2.CheckBulkResponse;
+import org.project_kessel.api.inventory.v1beta2.CheckBulkResponsePair;
 import org.project_kessel.api.inventory.v1beta2.CheckForUpdateRequest;
 import org.project_kessel.api.inventory.v1beta2.CheckForUpdateResponse;
 import org.project_kessel.api.inventory.v1beta2.CheckRequest;
@@ -23,7 +31,15 @@ import org.project_kessel.api.inventory.v1beta2.ReporterReference;
 import org.project_kessel.api.inventory.v1beta2.ResourceReference;
 import org.project_kessel.api.inventory.v1beta2.SubjectReference;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @ApplicationScoped
 public class KesselInventoryAuthorization {
@@ -46,6 +62,16 @@ public class KesselInventoryAuthorization {
      * particular permission for a subject.
      */
     private static final String KESSEL_METRICS_PERMISSION_CHECK_TIMER_NAME = "notifications.kessel.inventory.permission.check.requests";
+    /**
+     * Represents the timer's name to measure the time spent checking
+     * permissions in bulk for a subject.
+     */
+    private static final String KESSEL_METRICS_PERMISSION_CHECK_BULK_TIMER_NAME = "notifications.kessel.inventory.permission.check.bulk.requests";
+    /**
+     * Represents the name of the cache which holds the recent permission
+     * check decisions per subject, resource and permission.
+     */
+    public static final String KESSEL_CHECK_DECISIONS_CACHE_NAME = "kessel-check-decisions";
     /**
      * Represents the counter name to count permission check requests.
      */
@@ -68,6 +94,12 @@ public class KesselInventoryAuthorization {
     @Inject
     BackendConfig backendConfig;
 
+    @CacheName(KESSEL_CHECK_DECISIONS_CACHE_NAME)
+    Cache checkDecisions;
+
+    @ConfigProperty(name = "notifications.kessel.check-bulk.max-items", defaultValue = "100")
+    int checkBulkMaxItems;
+
     /**
      * Checks if the subject on the security context has permission on the
      * given resource. Throws
@@ -172,58 +204,129 @@ public class KesselInventoryAuthorization {
     }
 
     /**
-     * Checks if the subject on the security context has permission on the
-     * given resource. Throws
+     * Checks whether the subject on the security context has permission on
+     * the resources of the given authorization criteria. The decisions are
+     * kept in a short-lived cache shared across requests, and the criteria
+     * which are not in that cache are sent to Kessel in bulk requests of at
+     * most {@link #checkBulkMaxItems} items. Each bulk request only contains
+     * criteria with the same permission and resource type, so that its
+     * duration can be tagged like the one of a single permission check.
      * @param securityContext the security context to extract the subject from.
-     * @param authorizationCriterion the authorization criterion.
-     *
-     * @return true or false regarding if the user have access to requested resource.
+     * @param authorizationCriteria the authorization criteria. Duplicates are
+     *                              only checked once.
+     * @return the decision for each authorization criterion. A criterion
+     * which could not be checked is considered as not authorized, and its
+     * decision is not cached.
      */
-    public boolean hasPermissionOnResource(final SecurityContext securityContext, final RecipientsAuthorizationCriterion authorizationCriterion) {
+    public Map<RecipientsAuthorizationCriterion, Boolean> hasPermissionOnResources(final SecurityContext securityContext, final Collection<RecipientsAuthorizationCriterion> authorizationCriteria) {
         // Identify the subject.
         final RhIdentity identity = SecurityContextUtil.extractRhIdentity(securityContext);
-        final String permission = authorizationCriterion.getRelation();
-        final String resourceType = authorizationCriterion.getType().toString();
-        final String resourceId = authorizationCriterion.getId();
+        final CaffeineCache decisionsCache = this.checkDecisions.as(CaffeineCache.class);
+
+        final Map<RecipientsAuthorizationCriterion, Boolean> decisions = new HashMap<>();
+        // The criteria which are not cached, grouped by the permission and resource type tags of their bulk request.
+        final Map<Tags, List<RecipientsAuthorizationCriterion>> uncheckedCriteria = new LinkedHashMap<>();
+        for (RecipientsAuthorizationCriterion authorizationCriterion : new LinkedHashSet<>(authorizationCriteria)) {
+            final CompletableFuture<Boolean> cachedDecision = decisionsCache.getIfPresent(new CheckDecisionKey(identity.getUserId(), authorizationCriterion));
+            if (cachedDecision == null) {
+                final Tags tags = Tags.of(KESSEL_METRICS_TAG_PERMISSION_KEY, authorizationCriterion.getRelation(), Constants.KESSEL_METRICS_TAG_RESOURCE_TYPE_KEY, authorizationCriterion.getType().getName());
+                uncheckedCriteria.computeIfAbsent(tags, key -> new ArrayList<>()).add(authorizationCriterion);
+            } else {
+                decisions.put(authorizationCriterion, cachedDecision.join());
+            }
+        }
 
-        // Build the request for Kessel.
-        final CheckRequest permissionCheckRequest = this.buildCheckRequest(identity, authorizationCriterion);
+        uncheckedCriteria.forEach((tags, criteria) -> {
+            for (int i = 0; i < criteria.size(); i += this.checkBulkMaxItems) {
+                final List<RecipientsAuthorizationCriterion> batch = criteria.subList(i, Math.min(i + this.checkBulkMaxItems, criteria.size()));
+                this.checkBulk(identity, batch, tags).forEach((authorizationCriterion, allowed) -> {
+                    decisionsCache.put(new CheckDecisionKey(identity.getUserId(), authorizationCriterion), CompletableFuture.completedFuture(allowed));
+                    decisions.put(authorizationCriterion, allowed);
+                });
+            }
+
+            // The criteria without a decision could not be checked.
+            for (RecipientsAuthorizationCriterion authorizationCriterion : criteria) {
+                decisions.putIfAbsent(authorizationCriterion, false);
+            }
+        });
+
+        return decisions;
+    }
 
-        Log.tracef("[identity: %s][permission: %s][resource_type: %s][resource_id: %s] Payload for the permission check: %s", identity, permission, resourceType, resourceId, permissionCheckRequest);
+    /**
+     * Sends a single bulk check request to Kessel for the given criteria.
+     * @param identity the subject of the permission checks.
+     * @param authorizationCriteria the authorization criteria to check.
+     * @param timerTags the permission and resource type tags shared by all
+     *                  the criteria.
+     * @return the decisions Kessel returned. The criteria for which Kessel
+     * returned an error, or all of them if the request failed, are missing
+     * from the result.
+     */
+    private Map<RecipientsAuthorizationCriterion, Boolean> checkBulk(final RhIdentity identity, final List<RecipientsAuthorizationCriterion> authorizationCriteria, final Tags timerTags) {
+        // Build the request for Kessel. The items are sent in the same order as the criteria.
+        final CheckBulkRequest.Builder checkBulkRequest = CheckBulkRequest.newBuilder();
+        for (RecipientsAuthorizationCriterion authorizationCriterion : authorizationCriteria) {
+            checkBulkRequest.addItems(this.buildCheckBulkRequestItem(identity, authorizationCriterion));
+        }
+
+        Log.tracef("[identity: %s][items: %d] Payload for the bulk permission check: %s", identity, authorizationCriteria.size(), checkBulkRequest);
 
         // Measure the time it takes to perform the operation with Kessel.
         final Timer.Sample permissionCheckTimer = Timer.start(this.meterRegistry);
 
         // Call Kessel.
-        final CheckResponse response;
+        final CheckBulkResponse response;
         try {
-            response = this.checkClient.check(permissionCheckRequest);
+            response = this.checkClient.checkBulk(checkBulkRequest.build());
+            if (response == null) {
+                throw new IllegalStateException("Kessel returned an empty bulk check response");
+            }
         } catch (final Exception e) {
             Log.errorf(
                 e,
-                "[identity: %s][permission: %s][resource_type: %s][resource_id: %s] Unable to query Kessel for a permission on a resource",
-                identity, permission, resourceType, resourceId
+                "[identity: %s][items: %d] Unable to query Kessel for permissions on resources",
+                identity, authorizationCriteria.size()
             );
             meterRegistry.counter(KESSEL_METRICS_PERMISSION_CHECK_COUNTER_NAME, Tags.of(COUNTER_TAG_REQUEST_RESULT, COUNTER_TAG_FAILURES)).increment();
-            return false;
+            return Map.of();
         } finally {
             // Stop the timer.
-            permissionCheckTimer.stop(this.meterRegistry.timer(KESSEL_METRICS_PERMISSION_CHECK_TIMER_NAME, Tags.of(KESSEL_METRICS_TAG_PERMISSION_KEY, permission, Constants.KESSEL_METRICS_TAG_RESOURCE_TYPE_KEY, authorizationCriterion.getType().getName())));
+            permissionCheckTimer.stop(this.meterRegistry.timer(KESSEL_METRICS_PERMISSION_CHECK_BULK_TIMER_NAME, timerTags));
         }
 
         meterRegistry.counter(KESSEL_METRICS_PERMISSION_CHECK_COUNTER_NAME, Tags.of(COUNTER_TAG_REQUEST_RESULT, COUNTER_TAG_SUCCESSES)).increment();
 
-        Log.tracef("[identity: %s][permission: %s][resource_type: %s][resource_id: %s] Received payload for the permission check: %s", identity, permission, resourceType, resourceId, response);
-
-        // Verify whether the subject has permission on the resource or not.
-        if (response == null || Allowed.ALLOWED_TRUE != response.getAllowed()) {
-            Log.debugf("[identity: %s][permission: %s][resource_type: %s][resource_id: %s] Permission denied", identity, permission, resourceType, resourceId);
+        Log.tracef("[identity: %s][items: %d] Received payload for the bulk permission check: %s", identity, authorizationCriteria.size(), response);
+
+        /*
+         * Kessel returns one pair per request item, in the order of the request items. The pairs are matched with the
+         * criteria by their index because the request echoed in each pair may not be strictly equal to the item that
+         * was sent.
+         */
+        final List<CheckBulkResponsePair> pairs = response.getPairsList();
+        if (pairs.size() != authorizationCriteria.size()) {
+            Log.warnf("[identity: %s][items: %d] Kessel returned %d pairs for the bulk permission check, the criteria without a pair will be denied",
+                identity, authorizationCriteria.size(), pairs.size());
+        }
 
-            return false;
+        final Map<RecipientsAuthorizationCriterion, Boolean> decisions = new HashMap<>();
+        for (int i = 0; i < Math.min(pairs.size(), authorizationCriteria.size()); i++) {
+            final CheckBulkResponsePair pair = pairs.get(i);
+            final RecipientsAuthorizationCriterion authorizationCriterion = authorizationCriteria.get(i);
+            if (pair.hasError()) {
+                Log.warnf("[identity: %s][permission: %s][resource_type: %s][resource_id: %s] Kessel returned an error for the permission check: %s",
+                    identity, authorizationCriterion.getRelation(), authorizationCriterion.getType(), authorizationCriterion.getId(), pair.getError().getMessage());
+                continue;
+            }
+            final boolean allowed = Allowed.ALLOWED_TRUE == pair.getItem().getAllowed();
+            Log.debugf("[identity: %s][permission: %s][resource_type: %s][resource_id: %s] Permission %s",
+                identity, authorizationCriterion.getRelation(), authorizationCriterion.getType(), authorizationCriterion.getId(), allowed ? "granted" : "denied");
+            decisions.put(authorizationCriterion, allowed);
         }
 
-        Log.debugf("[identity: %s][permission: %s][resource_type: %s][resource_id: %s] Permission granted", identity, resourceType, permission, resourceId);
-        return true;
+        return decisions;
     }
 
     /**
@@ -288,6 +391,24 @@ public class KesselInventoryAuthorization {
             .build();
     }
 
+    private CheckBulkRequestItem buildCheckBulkRequestItem(RhIdentity identity, RecipientsAuthorizationCriterion criterion) {
+        final CheckRequest checkRequest = this.buildCheckRequest(identity, criterion);
+        return CheckBulkRequestItem.newBuilder()
+            .setObject(checkRequest.getObject())
+            .setRelation(checkRequest.getRelation())
+            .setSubject(checkRequest.getSubject())
+            .build();
+    }
+
+    /**
+     * Identifies a permission check decision in the decisions cache.
+     */
+    record CheckDecisionKey(String userId, String resourceNamespace, String resourceType, String resourceId, String permission) {
+        CheckDecisionKey(String userId, RecipientsAuthorizationCriterion criterion) {
+            this(userId, criterion.getType().getNamespace(), criterion.getType().getName(), criterion.getId(), criterion.getRelation());
+        }
+    }
+
     /**
      * Inventory access checks perform important side effects, so the correct one should be chosen
      * Checks prior to creates/updates/writes/etc of authorized content should use "update". Otherwise, "check" is fine
@@ -44,7 +44,9 @@ public class DrawerNotificationRepository {
 
         String hql = "SELECT dn.id.eventId, dn.read, " +
             "dn.event.bundleDisplayName, dn.event.applicationDisplayName, dn.event.eventTypeDisplayName, dn.created, dn.event.renderedDrawerNotification, bundle.name "
-            + "FROM DrawerNotification dn join Bundle bundle on dn.event.bundleId = bundle.id where dn.id.orgId = :orgId and dn.id.userId = :userid";
+            + "FROM DrawerNotification dn join Bundle bundle on dn.event.bundleId = bundle.id where dn.id.orgId = :orgId and dn.id.userId = :userid "
+            // the event table is partitioned on its creation date, which is also stored in the drawer notification
+            + "and dn.event.created = dn.created";
 
         hql = addHqlConditions(hql, bundleIds, appIds, eventTypeIds, startDate, endDate, readStatus);
         if (sort.isPresent()) {
@@ -101,7 +103,7 @@ public class DrawerNotificationRepository {
 
             // add org id as criteria on event table to allow usage of
             // index ix_event_org_id_bundle_id_application_id_event_type_display_nam
-            hql += " AND dn.event.orgId = :orgId";
+            hql += " AND dn.event.orgId = :orgId AND dn.event.created = dn.created";
 
             if (eventTypesNotEmpty) {
                 hql += " AND dn.event.eventType.id IN (:eventTypeIds)";
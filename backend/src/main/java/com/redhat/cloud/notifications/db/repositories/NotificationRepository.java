@@ -12,10 +12,13 @@ import jakarta.persistence.NoResultException;
 import jakarta.persistence.TypedQuery;
 import jakarta.transaction.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import static java.time.temporal.ChronoUnit.MILLIS;
+
 @ApplicationScoped
 public class NotificationRepository {
 
@@ -80,13 +83,22 @@ public class NotificationRepository {
     }
 
     public JsonObject getNotificationDetails(String orgId, UUID endpoint, UUID historyId) {
+        LocalDateTime eventCreated = NotificationHistory.getEventCreated(historyId);
+
         String query = "SELECT details FROM NotificationHistory WHERE event.orgId = :orgId AND endpoint.id = :endpointId AND id = :historyId";
+        if (eventCreated != null) {
+            query += " AND eventCreated BETWEEN :eventCreatedMin AND :eventCreatedMax";
+        }
         try {
-            Map<String, Object> map = entityManager.createQuery(query, Map.class)
+            TypedQuery<Map> typedQuery = entityManager.createQuery(query, Map.class)
                     .setParameter("orgId", orgId)
                     .setParameter("endpointId", endpoint)
-                    .setParameter("historyId", historyId)
-                    .getSingleResult();
+                    .setParameter("historyId", historyId);
+            if (eventCreated != null) {
+                typedQuery.setParameter("eventCreatedMin", eventCreated)
+                    .setParameter("eventCreatedMax", eventCreated.plus(1, MILLIS));
+            }
+            Map<String, Object> map = typedQuery.getSingleResult();
             if (map == null) {
                 return null;
             } else {
@@ -7,6 +7,7 @@ import com.redhat.cloud.notifications.auth.kessel.permission.WorkspacePermission
 import com.redhat.cloud.notifications.config.BackendConfig;
 import com.redhat.cloud.notifications.db.Query;
 import com.redhat.cloud.notifications.db.repositories.EventRepository;
+import com.redhat.cloud.notifications.ingress.RecipientsAuthorizationCriterion;
 import com.redhat.cloud.notifications.models.CompositeEndpointType;
 import com.redhat.cloud.notifications.models.EndpointType;
 import com.redhat.cloud.notifications.models.Event;
@@ -39,7 +40,6 @@ import org.jboss.resteasy.reactive.RestQuery;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -118,13 +118,12 @@ public class EventResource {
             Log.info("Check for events with authorization criterion");
             List<EventAuthorizationCriterion> listEventsAuthCriterion = eventRepository.getEventsWithCriterion(orgId, bundleIds, appIds, eventTypeDisplayName, startDate, endDate, basicTypes, compositeTypes, invocationResults, notificationStatusSet);
             List<UUID> uuidToExclude = new ArrayList<>();
-            Map<Integer, Boolean> criterionResultCache = new HashMap<>();
+            Map<RecipientsAuthorizationCriterion, Boolean> criterionResults = kesselInventoryAuthorization.hasPermissionOnResources(
+                securityContext,
+                listEventsAuthCriterion.stream().map(EventAuthorizationCriterion::authorizationCriterion).toList()
+            );
             for (EventAuthorizationCriterion eventAuthorizationCriterion : listEventsAuthCriterion) {
-                int criterionHashCode = eventAuthorizationCriterion.authorizationCriterion().hashCode();
-                if (!criterionResultCache.containsKey(criterionHashCode)) {
-                    criterionResultCache.put(criterionHashCode, kesselInventoryAuthorization.hasPermissionOnResource(securityContext, eventAuthorizationCriterion.authorizationCriterion()));
-                }
-                if (!criterionResultCache.get(criterionHashCode)) {
+                if (!criterionResults.get(eventAuthorizationCriterion.authorizationCriterion())) {
                     Log.infof("%s is not visible for current user", eventAuthorizationCriterion.id());
                     uuidToExclude.add(eventAuthorizationCriterion.id());
                 }
@@ -8,6 +8,15 @@ import com.redhat.cloud.notifications.auth.principal.rhid.RhIdentity;
 import com.redhat.cloud.notifications.config.BackendConfig;
 import com.redhat.cloud.notifications.ingress.RecipientsAuthorizationCriterion;
 import com.redhat.cloud.notifications.ingress.Type;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.mockito.InjectSpy;
@@ -15,20 +24,37 @@ import jakarta.inject.Inject;
 import jakarta.ws.rs.ForbiddenException;
 import jakarta.ws.rs.core.SecurityContext;
 import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.project_kessel.api.inventory.v1beta2.Allowed;
+import org.project_kessel.api.inventory.v1beta2.CheckBulkRequest;
+import org.project_kessel.api.inventory.v1beta2.CheckBulkRequestItem;
+import org.project_kessel.api.inventory.v1beta2.CheckBulkResponse;
+import org.project_kessel.api.inventory.v1beta2.CheckBulkResponseItem;
+import org.project_kessel.api.inventory.v1beta2.CheckBulkResponsePair;
 import org.project_kessel.api.inventory.v1beta2.CheckResponse;
+import org.project_kessel.api.inventory.v1beta2.KesselInventoryServiceGrpc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static com.redhat.cloud.notifications.auth.kessel.KesselInventoryAuthorization.COUNTER_TAG_FAILURES;
 import static com.redhat.cloud.notifications.auth.kessel.KesselInventoryAuthorization.COUNTER_TAG_REQUEST_RESULT;
 import static com.redhat.cloud.notifications.auth.kessel.KesselInventoryAuthorization.COUNTER_TAG_SUCCESSES;
+import static com.redhat.cloud.notifications.auth.kessel.KesselInventoryAuthorization.KESSEL_CHECK_DECISIONS_CACHE_NAME;
 import static com.redhat.cloud.notifications.auth.kessel.KesselInventoryAuthorization.KESSEL_METRICS_LIST_INTEGRATIONS_COUNTER_NAME;
 import static com.redhat.cloud.notifications.auth.kessel.KesselInventoryAuthorization.KESSEL_METRICS_PERMISSION_CHECK_COUNTER_NAME;
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.anyString;
 
 @QuarkusTest
@@ -45,10 +71,43 @@ public class KesselInventoryAuthorizationTest {
     @Inject
     MicrometerAssertionHelper micrometerAssertionHelper;
 
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @CacheName(KESSEL_CHECK_DECISIONS_CACHE_NAME)
+    Cache checkDecisions;
+
+    /**
+     * In-process gRPC server which stands in for Kessel in the bulk check
+     * tests.
+     */
+    private FakeKesselInventoryService fakeKessel;
+    private Server inProcessServer;
+    private ManagedChannel inProcessChannel;
+
     @BeforeEach
-    void beforeEach() {
+    void beforeEach() throws IOException {
         // save counter values
         saveCounterValues();
+
+        this.checkDecisions.invalidateAll().await().indefinitely();
+
+        this.fakeKessel = new FakeKesselInventoryService();
+        final String serverName = InProcessServerBuilder.generateName();
+        this.inProcessServer = InProcessServerBuilder.forName(serverName)
+            .directExecutor()
+            .addService(this.fakeKessel)
+            .build()
+            .start();
+        this.inProcessChannel = InProcessChannelBuilder.forName(serverName)
+            .directExecutor()
+            .build();
+    }
+
+    @AfterEach
+    void afterEach() {
+        this.inProcessChannel.shutdownNow();
+        this.inProcessServer.shutdownNow();
     }
 
     /**
@@ -88,35 +147,29 @@ public class KesselInventoryAuthorizationTest {
      */
     @Test
     void testAuthorizedCriterion() {
-        // Mock the security context.
-        final SecurityContext mockedSecurityContext = initMockedSecurityContextWithRhIdentity();
-
-        // Enable the Kessel back end integration for this test.
-        Mockito.when(this.backendConfig.isKesselEnabled(anyString())).thenReturn(true);
+        routeBulkChecksToInProcessKessel();
 
         // Simulate that Kessel returns a positive response.
-        final CheckResponse positiveCheckResponse = CheckResponse.newBuilder().setAllowed(Allowed.ALLOWED_TRUE).build();
-        Mockito.when(this.checkClient.check(Mockito.any())).thenReturn(positiveCheckResponse);
-        RecipientsAuthorizationCriterion authorizationCriterion = new RecipientsAuthorizationCriterion();
-        authorizationCriterion.setId("workspace-uuid");
-        authorizationCriterion.setRelation(WorkspacePermission.EVENT_LOG_VIEW.getKesselPermissionName());
-        Type t = new Type();
-        t.setNamespace("rbac");
-        t.setName("workspace");
-        authorizationCriterion.setType(t);
+        final RecipientsAuthorizationCriterion authorizationCriterion = buildWorkspaceCriterion("workspace-uuid");
+        this.fakeKessel.allowedResourceIds.add("workspace-uuid");
 
         // Call the function under test.
-        boolean isAuthorized = this.kesselAuthorization.hasPermissionOnResource(
-            mockedSecurityContext,
-            authorizationCriterion
+        final Map<RecipientsAuthorizationCriterion, Boolean> decisions = this.kesselAuthorization.hasPermissionOnResources(
+            initMockedSecurityContextWithRhIdentity(),
+            List.of(authorizationCriterion)
         );
 
-        assertTrue(isAuthorized);
+        assertEquals(Map.of(authorizationCriterion, true), decisions);
         // Verify that we called Kessel.
-        Mockito.verify(this.checkClient, Mockito.times(1)).check(Mockito.any());
+        Mockito.verify(this.checkClient, Mockito.times(1)).checkBulk(Mockito.any());
 
         // Assert counter values
         assertCounterIncrements(1, 0, 0, 0);
+
+        // The bulk request timer is tagged with the permission and the resource type of the criterion.
+        assertNotNull(this.meterRegistry.find("notifications.kessel.inventory.permission.check.bulk.requests")
+            .tags("permission", WorkspacePermission.EVENT_LOG_VIEW.getKesselPermissionName(), "resource_type", "workspace")
+            .timer());
     }
 
     /**
@@ -187,33 +240,20 @@ public class KesselInventoryAuthorizationTest {
      */
     @Test
     void testUnauthorizedCriterion() {
-        // Mock the security context.
-        final SecurityContext mockedSecurityContext = initMockedSecurityContextWithRhIdentity();
-
-        // Enable the Kessel back end integration for this test.
-        Mockito.when(this.backendConfig.isKesselEnabled(anyString())).thenReturn(true);
+        routeBulkChecksToInProcessKessel();
 
         // Simulate that Kessel returns a negative response.
-        final CheckResponse positiveCheckResponse = CheckResponse.newBuilder().setAllowed(Allowed.ALLOWED_FALSE).build();
-        Mockito.when(this.checkClient.check(Mockito.any())).thenReturn(positiveCheckResponse);
-
-        RecipientsAuthorizationCriterion authorizationCriterion = new RecipientsAuthorizationCriterion();
-        authorizationCriterion.setId("workspace-uuid");
-        authorizationCriterion.setRelation(WorkspacePermission.EVENT_LOG_VIEW.getKesselPermissionName());
-        Type t = new Type();
-        t.setNamespace("rbac");
-        t.setName("workspace");
-        authorizationCriterion.setType(t);
+        final RecipientsAuthorizationCriterion authorizationCriterion = buildWorkspaceCriterion("workspace-uuid");
 
         // Call the function under test.
-        boolean isAuthorized = this.kesselAuthorization.hasPermissionOnResource(
-            mockedSecurityContext,
-            authorizationCriterion
+        final Map<RecipientsAuthorizationCriterion, Boolean> decisions = this.kesselAuthorization.hasPermissionOnResources(
+            initMockedSecurityContextWithRhIdentity(),
+            List.of(authorizationCriterion)
         );
 
-        assertFalse(isAuthorized);
+        assertEquals(Map.of(authorizationCriterion, false), decisions);
         // Verify that we called Kessel.
-        Mockito.verify(this.checkClient, Mockito.times(1)).check(Mockito.any());
+        Mockito.verify(this.checkClient, Mockito.times(1)).checkBulk(Mockito.any());
 
         // Assert counter values
         assertCounterIncrements(1, 0, 0, 0);
@@ -225,41 +265,148 @@ public class KesselInventoryAuthorizationTest {
      */
     @Test
     void testUnauthorizedCriterionBecauseOfException() {
-        // Mock the security context.
-        final SecurityContext mockedSecurityContext = initMockedSecurityContextWithRhIdentity();
-
-        // Enable the Kessel back end integration for this test.
-        Mockito.when(this.backendConfig.isKesselEnabled(anyString())).thenReturn(true);
-
         // Simulate that Kessel returns an exception
-        Mockito.when(this.checkClient.check(Mockito.any())).thenThrow(RuntimeException.class);
+        Mockito.when(this.checkClient.checkBulk(Mockito.any())).thenThrow(RuntimeException.class);
 
-        RecipientsAuthorizationCriterion authorizationCriterion = new RecipientsAuthorizationCriterion();
-        authorizationCriterion.setId("workspace-uuid");
-        authorizationCriterion.setRelation(WorkspacePermission.EVENT_LOG_VIEW.getKesselPermissionName());
-        Type t = new Type();
-        t.setNamespace("rbac");
-        t.setName("workspace");
-        authorizationCriterion.setType(t);
+        final RecipientsAuthorizationCriterion authorizationCriterion = buildWorkspaceCriterion("workspace-uuid");
 
         // Call the function under test.
-        boolean isAuthorized = this.kesselAuthorization.hasPermissionOnResource(
-            mockedSecurityContext,
-            authorizationCriterion
+        final Map<RecipientsAuthorizationCriterion, Boolean> decisions = this.kesselAuthorization.hasPermissionOnResources(
+            initMockedSecurityContextWithRhIdentity(),
+            List.of(authorizationCriterion)
         );
 
-        assertFalse(isAuthorized);
+        assertEquals(Map.of(authorizationCriterion, false), decisions);
         // Verify that we called Kessel.
-        Mockito.verify(this.checkClient, Mockito.times(1)).check(Mockito.any());
+        Mockito.verify(this.checkClient, Mockito.times(1)).checkBulk(Mockito.any());
 
         // Assert counter values
         assertCounterIncrements(0, 1, 0, 0);
     }
 
+    /**
+     * Tests that the criteria are deduplicated, sent to Kessel in bulk
+     * requests of bounded size, and that the decisions are cached per subject
+     * across calls.
+     */
+    @Test
+    void testBulkCriteriaChecksAreBatchedAndCached() {
+        routeBulkChecksToInProcessKessel();
+
+        // Every other workspace is visible.
+        final List<RecipientsAuthorizationCriterion> criteria = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            criteria.add(buildWorkspaceCriterion("workspace-" + i));
+            if (i % 2 == 0) {
+                this.fakeKessel.allowedResourceIds.add("workspace-" + i);
+            }
+        }
+        // Duplicated criteria must only be checked once.
+        criteria.addAll(criteria.subList(0, 50));
+
+        final Map<RecipientsAuthorizationCriterion, Boolean> decisions = this.kesselAuthorization.hasPermissionOnResources(initMockedSecurityContextWithRhIdentity("user-1"), criteria);
+
+        assertEquals(250, decisions.size());
+        for (int i = 0; i < 250; i++) {
+            assertEquals(i % 2 == 0, decisions.get(buildWorkspaceCriterion("workspace-" + i)));
+        }
+        assertEquals(List.of(100, 100, 50), this.fakeKessel.bulkRequestSizes);
+        assertCounterIncrements(3, 0, 0, 0);
+
+        // The decisions of the same subject are served from the cache...
+        this.kesselAuthorization.hasPermissionOnResources(initMockedSecurityContextWithRhIdentity("user-1"), criteria);
+        assertEquals(3, this.fakeKessel.bulkRequestSizes.size());
+
+        // ... but not the ones of another subject.
+        this.kesselAuthorization.hasPermissionOnResources(initMockedSecurityContextWithRhIdentity("user-2"), criteria.subList(0, 10));
+        assertEquals(List.of(100, 100, 50, 10), this.fakeKessel.bulkRequestSizes);
+    }
+
+    /**
+     * Tests that the pairs of a bulk check response are matched with the
+     * criteria by their position, even if Kessel does not echo the request
+     * items, and that the criteria without a pair are not authorized.
+     */
+    @Test
+    void testBulkCheckPairsAreMatchedByPosition() {
+        routeBulkChecksToInProcessKessel();
+
+        final RecipientsAuthorizationCriterion allowedCriterion = buildWorkspaceCriterion("allowed-workspace");
+        final RecipientsAuthorizationCriterion deniedCriterion = buildWorkspaceCriterion("denied-workspace");
+        final RecipientsAuthorizationCriterion missingCriterion = buildWorkspaceCriterion("missing-workspace");
+        this.fakeKessel.allowedResourceIds.add("allowed-workspace");
+        this.fakeKessel.allowedResourceIds.add("missing-workspace");
+        this.fakeKessel.echoRequests = false;
+        this.fakeKessel.maxPairs = 2;
+
+        final Map<RecipientsAuthorizationCriterion, Boolean> decisions = this.kesselAuthorization.hasPermissionOnResources(initMockedSecurityContextWithRhIdentity("user-1"), List.of(allowedCriterion, deniedCriterion, missingCriterion));
+        assertEquals(Map.of(allowedCriterion, true, deniedCriterion, false, missingCriterion, false), decisions);
+    }
+
+    /**
+     * Tests that the criteria which could not be checked are considered as
+     * not authorized and that their decision is not cached.
+     */
+    @Test
+    void testFailedBulkCriteriaChecksAreNotCached() {
+        routeBulkChecksToInProcessKessel();
+
+        final RecipientsAuthorizationCriterion allowedCriterion = buildWorkspaceCriterion("allowed-workspace");
+        final RecipientsAuthorizationCriterion failingCriterion = buildWorkspaceCriterion("failing-workspace");
+        this.fakeKessel.allowedResourceIds.add("allowed-workspace");
+        this.fakeKessel.allowedResourceIds.add("failing-workspace");
+        this.fakeKessel.failingResourceIds.add("failing-workspace");
+
+        // Kessel is unavailable.
+        this.fakeKessel.unavailable = true;
+        Map<RecipientsAuthorizationCriterion, Boolean> decisions = this.kesselAuthorization.hasPermissionOnResources(initMockedSecurityContextWithRhIdentity("user-1"), List.of(allowedCriterion, failingCriterion));
+        assertEquals(Map.of(allowedCriterion, false, failingCriterion, false), decisions);
+        assertCounterIncrements(0, 1, 0, 0);
+
+        // Kessel is back, but returns an error for one of the items.
+        this.fakeKessel.unavailable = false;
+        decisions = this.kesselAuthorization.hasPermissionOnResources(initMockedSecurityContextWithRhIdentity("user-1"), List.of(allowedCriterion, failingCriterion));
+        assertEquals(Map.of(allowedCriterion, true, failingCriterion, false), decisions);
+
+        // Only the criterion which failed is checked again.
+        this.fakeKessel.failingResourceIds.clear();
+        decisions = this.kesselAuthorization.hasPermissionOnResources(initMockedSecurityContextWithRhIdentity("user-1"), List.of(allowedCriterion, failingCriterion));
+        assertEquals(Map.of(allowedCriterion, true, failingCriterion, true), decisions);
+        assertEquals(List.of(2, 2, 1), this.fakeKessel.bulkRequestSizes);
+    }
+
+    /**
+     * Sends the bulk checks of the mocked check client to the in-process
+     * Kessel server.
+     */
+    private void routeBulkChecksToInProcessKessel() {
+        final KesselInventoryServiceGrpc.KesselInventoryServiceBlockingStub stub = KesselInventoryServiceGrpc.newBlockingStub(this.inProcessChannel);
+        Mockito.when(this.checkClient.checkBulk(Mockito.any())).thenAnswer(invocation -> stub.checkBulk(invocation.getArgument(0)));
+    }
+
+    private static RecipientsAuthorizationCriterion buildWorkspaceCriterion(final String workspaceId) {
+        final RecipientsAuthorizationCriterion authorizationCriterion = new RecipientsAuthorizationCriterion();
+        authorizationCriterion.setId(workspaceId);
+        authorizationCriterion.setRelation(WorkspacePermission.EVENT_LOG_VIEW.getKesselPermissionName());
+        final Type t = new Type();
+        t.setNamespace("rbac");
+        t.setName("workspace");
+        authorizationCriterion.setType(t);
+        return authorizationCriterion;
+    }
+
     /**
      * Mock the security context.
      */
     private static @NotNull SecurityContext initMockedSecurityContextWithRhIdentity() {
+        return initMockedSecurityContextWithRhIdentity(null);
+    }
+
+    /**
+     * Mock the security context with a principal which has the given user
+     * identifier.
+     */
+    private static @NotNull SecurityContext initMockedSecurityContextWithRhIdentity(final String userId) {
         // Mock the security context.
         final SecurityContext mockedSecurityContext = Mockito.mock(SecurityContext.class);
 
@@ -267,6 +414,7 @@ public class KesselInventoryAuthorizationTest {
         // context.
         final RhIdentity identity = Mockito.mock(RhIdentity.class);
         Mockito.when(identity.getName()).thenReturn("Red Hat user");
+        Mockito.when(identity.getUserId()).thenReturn(userId);
 
         final ConsolePrincipal<?> principal = new RhIdPrincipal(identity);
         Mockito.when(mockedSecurityContext.getUserPrincipal()).thenReturn(principal);
@@ -286,4 +434,46 @@ public class KesselInventoryAuthorizationTest {
         this.micrometerAssertionHelper.assertCounterValueFilteredByTagsIncrement(KESSEL_METRICS_LIST_INTEGRATIONS_COUNTER_NAME, COUNTER_TAG_REQUEST_RESULT, COUNTER_TAG_SUCCESSES, expectedLookupResourcesSuccesses);
         this.micrometerAssertionHelper.assertCounterValueFilteredByTagsIncrement(KESSEL_METRICS_LIST_INTEGRATIONS_COUNTER_NAME, COUNTER_TAG_REQUEST_RESULT, COUNTER_TAG_FAILURES, expectedLookupResourcesFailures);
     }
+
+    /**
+     * Answers the bulk checks with the allowed resource identifiers, and
+     * records the size of each bulk request it receives.
+     */
+    private static class FakeKesselInventoryService extends KesselInventoryServiceGrpc.KesselInventoryServiceImplBase {
+
+        final Set<String> allowedResourceIds = Collections.synchronizedSet(new HashSet<>());
+        final Set<String> failingResourceIds = Collections.synchronizedSet(new HashSet<>());
+        final List<Integer> bulkRequestSizes = new CopyOnWriteArrayList<>();
+        volatile boolean unavailable;
+        volatile boolean echoRequests = true;
+        volatile int maxPairs = Integer.MAX_VALUE;
+
+        @Override
+        public void checkBulk(final CheckBulkRequest request, final StreamObserver<CheckBulkResponse> responseObserver) {
+            if (this.unavailable) {
+                responseObserver.onError(Status.UNAVAILABLE.asRuntimeException());
+                return;
+            }
+            this.bulkRequestSizes.add(request.getItemsCount());
+
+            final CheckBulkResponse.Builder response = CheckBulkResponse.newBuilder();
+            for (CheckBulkRequestItem item : request.getItemsList().subList(0, Math.min(this.maxPairs, request.getItemsCount()))) {
+                final String resourceId = item.getObject().getResourceId();
+                final CheckBulkResponsePair.Builder pair = CheckBulkResponsePair.newBuilder();
+                if (this.echoRequests) {
+                    pair.setRequest(item);
+                }
+                if (this.failingResourceIds.contains(resourceId)) {
+                    pair.setError(com.google.rpc.Status.newBuilder().setMessage("Check failed").build());
+                } else {
+                    pair.setItem(CheckBulkResponseItem.newBuilder()
+                        .setAllowed(this.allowedResourceIds.contains(resourceId) ? Allowed.ALLOWED_TRUE : Allowed.ALLOWED_FALSE)
+                        .build());
+                }
+                response.addPairs(pair);
+            }
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        }
+    }
 }
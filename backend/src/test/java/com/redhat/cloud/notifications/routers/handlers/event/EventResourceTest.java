@@ -5,7 +5,6 @@ import com.redhat.cloud.notifications.MockServerConfig;
 import com.redhat.cloud.notifications.TestHelpers;
 import com.redhat.cloud.notifications.TestLifecycleManager;
 import com.redhat.cloud.notifications.auth.kessel.KesselCheckClient;
-import com.redhat.cloud.notifications.auth.kessel.KesselInventoryAuthorization;
 import com.redhat.cloud.notifications.auth.kessel.KesselTestHelper;
 import com.redhat.cloud.notifications.auth.kessel.permission.WorkspacePermission;
 import com.redhat.cloud.notifications.auth.rbac.workspace.WorkspaceUtils;
@@ -27,10 +26,11 @@ import com.redhat.cloud.notifications.routers.models.EventLogEntry;
 import com.redhat.cloud.notifications.routers.models.EventLogEntryAction;
 import com.redhat.cloud.notifications.routers.models.EventLogEntryActionStatus;
 import com.redhat.cloud.notifications.routers.models.Page;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.common.QuarkusTestResource;
 import io.quarkus.test.junit.QuarkusTest;
-import io.quarkus.test.junit.mockito.InjectSpy;
 import io.restassured.common.mapper.TypeRef;
 import io.restassured.http.Header;
 import io.restassured.specification.RequestSpecification;
@@ -38,7 +38,6 @@ import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.BadRequestException;
-import jakarta.ws.rs.core.SecurityContext;
 import org.apache.http.HttpStatus;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -47,8 +46,11 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mockito;
 import org.project_kessel.api.inventory.v1beta2.Allowed;
-import org.project_kessel.api.inventory.v1beta2.CheckRequest;
-import org.project_kessel.api.inventory.v1beta2.CheckResponse;
+import org.project_kessel.api.inventory.v1beta2.CheckBulkRequest;
+import org.project_kessel.api.inventory.v1beta2.CheckBulkRequestItem;
+import org.project_kessel.api.inventory.v1beta2.CheckBulkResponse;
+import org.project_kessel.api.inventory.v1beta2.CheckBulkResponseItem;
+import org.project_kessel.api.inventory.v1beta2.CheckBulkResponsePair;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -68,6 +70,7 @@ import static com.redhat.cloud.notifications.TestConstants.API_NOTIFICATIONS_V_1
 import static com.redhat.cloud.notifications.TestConstants.DEFAULT_ACCOUNT_ID;
 import static com.redhat.cloud.notifications.TestConstants.DEFAULT_ORG_ID;
 import static com.redhat.cloud.notifications.TestConstants.DEFAULT_USER;
+import static com.redhat.cloud.notifications.auth.kessel.KesselInventoryAuthorization.KESSEL_CHECK_DECISIONS_CACHE_NAME;
 import static com.redhat.cloud.notifications.auth.kessel.permission.WorkspacePermission.EVENT_LOG_VIEW;
 import static com.redhat.cloud.notifications.models.EndpointType.CAMEL;
 import static com.redhat.cloud.notifications.models.EndpointType.DRAWER;
@@ -88,6 +91,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -140,8 +144,8 @@ public class EventResourceTest extends DbIsolatedTest {
     @InjectMock
     WorkspaceUtils workspaceUtils;
 
-    @InjectSpy
-    KesselInventoryAuthorization kesselAuthorization;
+    @CacheName(KESSEL_CHECK_DECISIONS_CACHE_NAME)
+    Cache kesselCheckDecisions;
 
     @BeforeEach
     void setUp() {
@@ -152,6 +156,7 @@ public class EventResourceTest extends DbIsolatedTest {
         // disabled.
         Mockito.when(this.backendConfig.isRBACEnabled()).thenReturn(true);
         when(workspaceUtils.getDefaultWorkspaceId(DEFAULT_ORG_ID)).thenReturn(KesselTestHelper.RBAC_DEFAULT_WORKSPACE_ID);
+        kesselCheckDecisions.invalidateAll().await().indefinitely();
     }
 
     @ParameterizedTest
@@ -1043,12 +1048,11 @@ public class EventResourceTest extends DbIsolatedTest {
         assertSameEvent(page.getData().get(2), event1, history1, history2, history6);
         assertNull(page.getData().get(0).getPayload());
         assertLinks(page.getLinks(), "first", "last");
-        // check that kessel authorization has been called only once because RecipientsAuthorizationCriterion are identical for 'event2K' and 'event3K'
-        verify(kesselAuthorization, times(1)).hasPermissionOnResource(any(SecurityContext.class), any(RecipientsAuthorizationCriterion.class));
+        // check that kessel has been called only once because RecipientsAuthorizationCriterion are identical for 'event2K' and 'event3K'
+        verify(kesselCheckClient, times(1)).checkBulk(argThat(request -> request.getItemsCount() == 1));
 
         // Kessel client mock will return allowed status, event2K must be part of results
-        CheckResponse kesselInventoryCheckResponse = CheckResponse.newBuilder().setAllowed(ALLOWED_TRUE).build();
-        when(kesselCheckClient.check(any(CheckRequest.class))).thenReturn(kesselInventoryCheckResponse);
+        mockKesselBulkCheck(ALLOWED_TRUE);
         page = getEventLogPage(defaultIdentityHeader, null, null, null, null, null, null, null, null, null, null, null, false, true);
         assertEquals(5, page.getMeta().getCount());
         assertEquals(5, page.getData().size());
@@ -1060,9 +1064,13 @@ public class EventResourceTest extends DbIsolatedTest {
         assertNull(page.getData().get(0).getPayload());
         assertLinks(page.getLinks(), "first", "last");
 
+        // The allowed decision is cached, event2K must still be part of results
+        mockKesselBulkCheck(ALLOWED_FALSE);
+        page = getEventLogPage(defaultIdentityHeader, null, null, null, null, null, null, null, null, null, null, null, false, true);
+        assertEquals(5, page.getMeta().getCount());
+
         // Kessel client mock will return not allowed status, event2K must be ignored
-        kesselInventoryCheckResponse = CheckResponse.newBuilder().setAllowed(ALLOWED_FALSE).build();
-        when(kesselCheckClient.check(any(CheckRequest.class))).thenReturn(kesselInventoryCheckResponse);
+        kesselCheckDecisions.invalidateAll().await().indefinitely();
         page = getEventLogPage(defaultIdentityHeader, null, null, null, null, null, null, null, null, null, null, null, false, true);
         assertEquals(3, page.getMeta().getCount());
         assertEquals(3, page.getData().size());
@@ -1073,7 +1081,8 @@ public class EventResourceTest extends DbIsolatedTest {
         assertLinks(page.getLinks(), "first", "last");
 
         // Kessel client mock will throw an exception, event2K must be ignored
-        when(kesselCheckClient.check(any(CheckRequest.class))).thenThrow(RuntimeException.class);
+        kesselCheckDecisions.invalidateAll().await().indefinitely();
+        when(kesselCheckClient.checkBulk(any(CheckBulkRequest.class))).thenThrow(RuntimeException.class);
         page = getEventLogPage(defaultIdentityHeader, null, null, null, null, null, null, null, null, null, null, null, false, true);
         assertEquals(3, page.getMeta().getCount());
         assertEquals(3, page.getData().size());
@@ -1084,6 +1093,19 @@ public class EventResourceTest extends DbIsolatedTest {
         assertLinks(page.getLinks(), "first", "last");
     }
 
+    private void mockKesselBulkCheck(Allowed allowed) {
+        when(kesselCheckClient.checkBulk(any(CheckBulkRequest.class))).thenAnswer(invocation -> {
+            CheckBulkRequest request = invocation.getArgument(0);
+            CheckBulkResponse.Builder response = CheckBulkResponse.newBuilder();
+            for (CheckBulkRequestItem item : request.getItemsList()) {
+                response.addPairs(CheckBulkResponsePair.newBuilder()
+                    .setRequest(item)
+                    .setItem(CheckBulkResponseItem.newBuilder().setAllowed(allowed)));
+            }
+            return response.build();
+        });
+    }
+
     private void mockDefaultKesselPermission(WorkspacePermission permission, Allowed allowed) {
         mockKesselPermission(DEFAULT_ORG_ID, DEFAULT_USER, permission, allowed);
     }
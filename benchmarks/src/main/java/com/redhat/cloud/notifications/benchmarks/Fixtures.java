@@ -0,0 +1,114 @@
+package com.redhat.cloud.notifications.benchmarks;
+
+import com.redhat.cloud.notifications.ingress.Action;
+import com.redhat.cloud.notifications.ingress.Context;
+import com.redhat.cloud.notifications.ingress.Event;
+import com.redhat.cloud.notifications.ingress.Metadata;
+import com.redhat.cloud.notifications.ingress.Payload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Builds the data used by the benchmarks. Everything is generated in memory or loaded from the classpath and the values
+ * are fixed, so that the results can be compared from one commit to another.
+ */
+public final class Fixtures {
+
+    public static final String ORG_ID = "123456";
+    public static final String BUNDLE = "rhel";
+    public static final String APPLICATION = "policies";
+    public static final String EVENT_TYPE = "policy-triggered";
+
+    /*
+     * The benchmarked code logs with io.quarkus.logging.Log, which relies on JBoss Logging outside of a Quarkus
+     * application. That JVM argument makes JBoss Logging use java.util.logging, which is then configured below.
+     */
+    public static final String JDK_LOGGING_PROVIDER = "-Dorg.jboss.logging.provider=jdk";
+
+    // A strong reference is required, java.util.logging would otherwise forget the level set on this logger.
+    private static final Logger APPLICATION_LOGGER = Logger.getLogger("com.redhat.cloud.notifications");
+
+    // Events timestamp, it must never change or the payloads size would vary.
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+
+    private Fixtures() {
+    }
+
+    /**
+     * Builds a policy-triggered action similar to the ones sent by the Policies application.
+     * @param eventsCount the number of events (triggered policies) in the action
+     * @return the action
+     */
+    public static Action buildPoliciesAction(int eventsCount) {
+        List<Event> events = new ArrayList<>(eventsCount);
+        for (int i = 0; i < eventsCount; i++) {
+            events.add(new Event.EventBuilder()
+                .withMetadata(new Metadata.MetadataBuilder().build())
+                .withPayload(new Payload.PayloadBuilder()
+                    .withAdditionalProperty("policy_id", "policy-" + i)
+                    .withAdditionalProperty("policy_name", "Policy number " + i)
+                    .withAdditionalProperty("policy_description", "Triggers when the system architecture is x86_64")
+                    .withAdditionalProperty("policy_condition", "facts.arch = \"x86_64\"")
+                    .build())
+                .build());
+        }
+
+        /*
+         * The generated builder methods return the raw builder type, so the lists are set before chaining the other
+         * values, while the builder is still typed. Javac would otherwise report unchecked calls.
+         */
+        Action.ActionBuilder builder = new Action.ActionBuilder();
+        builder.withEvents(events);
+        builder.withRecipients(List.of());
+
+        return builder
+            .withId(UUID.nameUUIDFromBytes(("action-" + eventsCount).getBytes(StandardCharsets.UTF_8)))
+            .withVersion("2.0.0")
+            .withBundle(BUNDLE)
+            .withApplication(APPLICATION)
+            .withEventType(EVENT_TYPE)
+            .withTimestamp(TIMESTAMP)
+            .withOrgId(ORG_ID)
+            .withAccountId("654321")
+            .withContext(new Context.ContextBuilder()
+                .withAdditionalProperty("inventory_id", "6ad30f3e-0497-4e74-99f1-b3f9a6120a6f")
+                .withAdditionalProperty("system_check_in", "2024-01-15T10:29:42.199046")
+                .withAdditionalProperty("display_name", "my-rhel-host.example.com")
+                .withAdditionalProperty("tags", List.<String>of())
+                .build())
+            .build();
+    }
+
+    /**
+     * Hides the application logs below the WARNING level, the console output would otherwise be flooded and the
+     * measurements would include the cost of writing it.
+     */
+    public static void silenceApplicationLogs() {
+        APPLICATION_LOGGER.setLevel(Level.WARNING);
+    }
+
+    /**
+     * Loads a fixture file from the classpath.
+     * @param path the path of the file, relative to the fixtures folder
+     * @return the file content
+     */
+    public static String loadFixture(String path) {
+        try (InputStream inputStream = Fixtures.class.getClassLoader().getResourceAsStream("fixtures/" + path)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException("Fixture not found: " + path);
+            }
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.redhat.cloud.notifications.benchmarks;
+
+import com.redhat.cloud.notifications.qute.templates.extensions.ActionExtension;
+import com.redhat.cloud.notifications.qute.templates.extensions.ErrataSortExtension;
+import com.redhat.cloud.notifications.qute.templates.extensions.LocalDateTimeExtension;
+import com.redhat.cloud.notifications.qute.templates.extensions.SeverityExtension;
+import io.quarkus.qute.Engine;
+import io.quarkus.qute.EvalContext;
+import io.quarkus.qute.ReflectionValueResolver;
+import io.quarkus.qute.TemplateExtension;
+import io.quarkus.qute.TemplateLocator.TemplateLocation;
+import io.quarkus.qute.ValueResolver;
+import io.quarkus.qute.Variant;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Builds a Qute {@link Engine} outside of a Quarkus application. Quarkus generates the value resolvers of the template
+ * extensions at build time, they are replaced here with a reflection-based resolver so that the templates from the
+ * notifications-common-template module render the same way they do in production.
+ */
+public final class QuteEngineFactory {
+
+    private static final String TEMPLATES_ROOT = "templates/";
+    private static final List<String> TEMPLATES_SUFFIXES = List.of("", ".html", ".txt", ".md", ".json");
+
+    private static final List<Class<?>> EXTENSIONS = List.of(
+        ActionExtension.class,
+        ErrataSortExtension.class,
+        LocalDateTimeExtension.class,
+        SeverityExtension.class
+    );
+
+    private QuteEngineFactory() {
+    }
+
+    public static Engine build() {
+        return Engine.builder()
+            .addDefaults()
+            .addValueResolver(new TemplateExtensionsResolver())
+            .addValueResolver(new ReflectionValueResolver())
+            .addLocator(QuteEngineFactory::locate)
+            .removeStandaloneLines(true)
+            .strictRendering(false)
+            .build();
+    }
+
+    private static Optional<TemplateLocation> locate(String id) {
+        ClassLoader classLoader = QuteEngineFactory.class.getClassLoader();
+        for (String suffix : TEMPLATES_SUFFIXES) {
+            URL url = classLoader.getResource(TEMPLATES_ROOT + id + suffix);
+            if (url != null) {
+                return Optional.of(new TemplateLocation() {
+                    @Override
+                    public Reader read() {
+                        try {
+                            return new InputStreamReader(url.openStream(), StandardCharsets.UTF_8);
+                        } catch (Exception e) {
+                            throw new IllegalStateException("Template could not be read: " + id, e);
+                        }
+                    }
+
+                    @Override
+                    public Optional<Variant> getVariant() {
+                        return Optional.empty();
+                    }
+                });
+            }
+        }
+        return Optional.empty();
+    }
+
+    /*
+     * Resolves the template extension methods which take the base object as their only parameter, plus the ones that
+     * match any name and take that name as their second parameter. This is all the extensions from the
+     * notifications-common-template module need.
+     */
+    private static class TemplateExtensionsResolver implements ValueResolver {
+
+        private final List<Method> namedMethods = new ArrayList<>();
+        private final List<Method> anyNameMethods = new ArrayList<>();
+
+        TemplateExtensionsResolver() {
+            for (Class<?> extension : EXTENSIONS) {
+                boolean classLevel = extension.isAnnotationPresent(TemplateExtension.class);
+                for (Method method : extension.getDeclaredMethods()) {
+                    TemplateExtension annotation = method.getAnnotation(TemplateExtension.class);
+                    if (!Modifier.isStatic(method.getModifiers()) || !Modifier.isPublic(method.getModifiers()) || (annotation == null && !classLevel)) {
+                        continue;
+                    }
+                    if (annotation != null && TemplateExtension.ANY.equals(annotation.matchName())) {
+                        anyNameMethods.add(method);
+                    } else if (method.getParameterCount() == 1) {
+                        namedMethods.add(method);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public int getPriority() {
+            // Same priority as the resolvers generated by Quarkus for the template extensions.
+            return 5;
+        }
+
+        @Override
+        public boolean appliesTo(EvalContext context) {
+            return context.getBase() != null && context.getParams().isEmpty() && findMethod(context) != null;
+        }
+
+        @Override
+        public CompletionStage<Object> resolve(EvalContext context) {
+            Method method = findMethod(context);
+            try {
+                Object result = method.getParameterCount() == 1
+                    ? method.invoke(null, context.getBase())
+                    : method.invoke(null, context.getBase(), context.getName());
+                return CompletableFuture.completedFuture(result);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        private Method findMethod(EvalContext context) {
+            Class<?> baseClass = context.getBase().getClass();
+            for (Method method : namedMethods) {
+                if (method.getName().equals(context.getName()) && method.getParameterTypes()[0].isAssignableFrom(baseClass)) {
+                    return method;
+                }
+            }
+            for (Method method : anyNameMethods) {
+                if (method.getParameterTypes()[0].isAssignableFrom(baseClass)) {
+                    return method;
+                }
+            }
+            return null;
+        }
+    }
+}
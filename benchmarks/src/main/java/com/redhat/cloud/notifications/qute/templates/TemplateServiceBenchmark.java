@@ -0,0 +1,160 @@
+package com.redhat.cloud.notifications.qute.templates;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.cloud.notifications.benchmarks.Fixtures;
+import com.redhat.cloud.notifications.benchmarks.QuteEngineFactory;
+import io.vertx.core.json.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.redhat.cloud.notifications.qute.templates.IntegrationType.EMAIL_BODY;
+import static com.redhat.cloud.notifications.qute.templates.IntegrationType.EMAIL_DAILY_DIGEST_BODY;
+import static com.redhat.cloud.notifications.qute.templates.IntegrationType.EMAIL_DAILY_DIGEST_BUNDLE_AGGREGATION_BODY;
+
+/**
+ * Measures the rendering of the Policies instant email and of the daily digest email, which are among the most sent
+ * emails.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = Fixtures.JDK_LOGGING_PROVIDER)
+@State(Scope.Benchmark)
+public class TemplateServiceBenchmark {
+
+    private static final String BODY_SECTION_SEPARATOR = "<!-- Body section -->";
+
+    @Param({"1", "20"})
+    int eventsCount;
+
+    private TemplateService templateService;
+
+    private TemplateDefinition instantBodyDefinition;
+    private Map<String, Object> instantBodyData;
+
+    private TemplateDefinition dailyApplicationSectionDefinition;
+    private Map<String, Object> dailyApplicationSectionData;
+
+    private TemplateDefinition dailyBundleAggregationDefinition;
+    private Map<String, Object> dailyBundleAggregationData;
+
+    @Setup
+    public void setup() {
+        Fixtures.silenceApplicationLogs();
+
+        templateService = new TemplateService(QuteEngineFactory.build(), new ObjectMapper());
+        templateService.init();
+
+        Map<String, Object> environment = Map.of(
+            "url", "https://console.redhat.com",
+            "ocmUrl", "https://cloud.redhat.com"
+        );
+
+        instantBodyDefinition = new TemplateDefinition(EMAIL_BODY, Fixtures.BUNDLE, Fixtures.APPLICATION, Fixtures.EVENT_TYPE);
+        instantBodyData = new HashMap<>();
+        instantBodyData.put("environment", environment);
+        instantBodyData.put("ignore_user_preferences", false);
+        instantBodyData.put("action", Fixtures.buildPoliciesAction(eventsCount));
+        instantBodyData.put("source", buildSource());
+
+        dailyApplicationSectionDefinition = new TemplateDefinition(EMAIL_DAILY_DIGEST_BODY, Fixtures.BUNDLE, Fixtures.APPLICATION, null);
+        dailyApplicationSectionData = new HashMap<>();
+        dailyApplicationSectionData.put("environment", environment);
+        dailyApplicationSectionData.put("ignore_user_preferences", false);
+        dailyApplicationSectionData.put("action", Map.of(
+            "context", buildPoliciesAggregatedContext(eventsCount),
+            "bundle", Fixtures.BUNDLE,
+            "timestamp", LocalDateTime.of(2024, 1, 15, 0, 0)
+        ));
+
+        // The bundle aggregation embeds the application sections, the way the email connector does it.
+        String[] applicationSection = templateService.renderTemplateWithCustomDataMap(dailyApplicationSectionDefinition, dailyApplicationSectionData)
+            .split(BODY_SECTION_SEPARATOR);
+        Map<String, Object> item = Map.of(
+            "body", applicationSection[1],
+            "headerLink", List.of(applicationSection[0])
+        );
+
+        dailyBundleAggregationDefinition = new TemplateDefinition(EMAIL_DAILY_DIGEST_BUNDLE_AGGREGATION_BODY, null, null, null);
+        dailyBundleAggregationData = new HashMap<>();
+        dailyBundleAggregationData.put("environment", environment);
+        dailyBundleAggregationData.put("ignore_user_preferences", false);
+        dailyBundleAggregationData.put("action", Map.of(
+            "context", Map.of(
+                "title", "Daily digest - Red Hat Enterprise Linux",
+                "items", List.of(item, item, item),
+                "orgId", Fixtures.ORG_ID
+            ),
+            "bundle", Fixtures.BUNDLE,
+            "timestamp", LocalDateTime.of(2024, 1, 15, 0, 0)
+        ));
+
+        // A template extension that could not be resolved would silently make the benchmark measure a partial rendering.
+        checkRendering(instantEmailBody(), "my-rhel-host.example.com", "Policy number " + (eventsCount - 1));
+        checkRendering(dailyEmailApplicationSection(), "Policy number " + (eventsCount - 1));
+        checkRendering(dailyEmailBundleAggregation(), "Daily digest - Red Hat Enterprise Linux", "Policy number " + (eventsCount - 1));
+    }
+
+    @Benchmark
+    public String instantEmailBody() {
+        return templateService.renderTemplateWithCustomDataMap(instantBodyDefinition, instantBodyData);
+    }
+
+    @Benchmark
+    public String dailyEmailApplicationSection() {
+        return templateService.renderTemplateWithCustomDataMap(dailyApplicationSectionDefinition, dailyApplicationSectionData);
+    }
+
+    @Benchmark
+    public String dailyEmailBundleAggregation() {
+        return templateService.renderTemplateWithCustomDataMap(dailyBundleAggregationDefinition, dailyBundleAggregationData);
+    }
+
+    private static void checkRendering(String result, String... expectedContents) {
+        for (String expectedContent : expectedContents) {
+            if (!result.contains(expectedContent)) {
+                throw new IllegalStateException("Rendered template does not contain '" + expectedContent + "':\n" + result);
+            }
+        }
+    }
+
+    private static JsonObject buildSource() {
+        return new JsonObject()
+            .put("application", new JsonObject().put("display_name", "Policies"))
+            .put("bundle", new JsonObject().put("display_name", "Red Hat Enterprise Linux"))
+            .put("event_type", new JsonObject().put("display_name", "Policy triggered"));
+    }
+
+    private static Map<String, Object> buildPoliciesAggregatedContext(int policiesCount) {
+        Map<String, Object> policies = new HashMap<>();
+        for (int i = 0; i < policiesCount; i++) {
+            policies.put("policy-" + i, Map.of(
+                "policy_id", "policy-" + i,
+                "policy_name", "Policy number " + i,
+                "unique_system_count", i + 1
+            ));
+        }
+        return Map.of(
+            "start_time", LocalDateTime.of(2024, 1, 14, 0, 0),
+            "end_time", LocalDateTime.of(2024, 1, 15, 0, 0),
+            "policies", policies,
+            "unique_system_count", policiesCount
+        );
+    }
+}
@@ -0,0 +1,140 @@
+package com.redhat.cloud.notifications.recipients.resolver;
+
+import com.redhat.cloud.notifications.benchmarks.Fixtures;
+import com.redhat.cloud.notifications.ingress.RecipientsAuthorizationCriterion;
+import com.redhat.cloud.notifications.ingress.Type;
+import com.redhat.cloud.notifications.recipients.config.RecipientsResolverConfig;
+import com.redhat.cloud.notifications.recipients.model.RecipientSettings;
+import com.redhat.cloud.notifications.recipients.model.User;
+import com.redhat.cloud.notifications.recipients.resolver.kessel.KesselService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the recipients filtering performed by {@link RecipientsResolver#findRecipients} over large user sets. The
+ * users are returned by an in-memory stub, so only the filtering cost is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = Fixtures.JDK_LOGGING_PROVIDER)
+@State(Scope.Benchmark)
+public class RecipientsResolverBenchmark {
+
+    private static final UUID GROUP_ID = UUID.fromString("2a6bf61b-6e41-4f3c-9c52-6ed0b25d3a43");
+
+    @Param({"1000", "10000", "100000"})
+    int usersCount;
+
+    private RecipientsResolver recipientsResolver;
+    private Set<RecipientSettings> allUsersSettings;
+    private Set<RecipientSettings> groupAndAdminsSettings;
+    // One user out of ten is subscribed or unsubscribed, depending on the subscribedByDefault value.
+    private Set<String> subscriptions;
+    private RecipientsAuthorizationCriterion authorizationCriterion;
+    private boolean kesselEnabled;
+
+    @Setup
+    public void setup() {
+        Fixtures.silenceApplicationLogs();
+
+        List<User> users = new ArrayList<>(usersCount);
+        subscriptions = new HashSet<>();
+        Set<String> authorizedUserIds = new HashSet<>();
+        for (int i = 0; i < usersCount; i++) {
+            User user = new User();
+            user.setId("user-id-" + i);
+            user.setUsername("User-" + i);
+            user.setEmail("user-" + i + "@example.com");
+            user.setAdmin(i % 50 == 0);
+            users.add(user);
+            if (i % 10 == 0) {
+                subscriptions.add(user.getUsername());
+            }
+            if (i % 2 == 0) {
+                authorizedUserIds.add(user.getId());
+            }
+        }
+        List<User> admins = users.stream().filter(User::isAdmin).toList();
+
+        recipientsResolver = new RecipientsResolver();
+        recipientsResolver.recipientsResolverConfig = new RecipientsResolverConfig() {
+            @Override
+            public boolean isUseKesselEnabled(String orgId) {
+                return kesselEnabled;
+            }
+        };
+        recipientsResolver.fetchingUsers = new FetchUsersFromExternalServices() {
+            @Override
+            public List<User> getUsers(String orgId, boolean adminsOnly) {
+                return adminsOnly ? admins : users;
+            }
+
+            @Override
+            public List<User> getGroupUsers(String orgId, boolean adminOnly, UUID groupId) {
+                return adminOnly ? admins : users.subList(0, users.size() / 2);
+            }
+        };
+        recipientsResolver.kesselLookupService = new KesselService() {
+            @Override
+            public Set<String> lookupSubjects(RecipientsAuthorizationCriterion recipientsAuthorizationCriterion) {
+                return authorizedUserIds;
+            }
+        };
+
+        allUsersSettings = Set.of(new RecipientSettings(false, false, null, null));
+        groupAndAdminsSettings = Set.of(
+            new RecipientSettings(false, false, GROUP_ID, null),
+            new RecipientSettings(true, false, null, null)
+        );
+
+        authorizationCriterion = new RecipientsAuthorizationCriterion();
+        authorizationCriterion.setId("inventory-group-id");
+        authorizationCriterion.setRelation("view");
+        Type type = new Type();
+        type.setName("group");
+        type.setNamespace("inventory");
+        authorizationCriterion.setType(type);
+    }
+
+    @Benchmark
+    public Set<User> subscribedByDefault() {
+        kesselEnabled = false;
+        return recipientsResolver.findRecipients(Fixtures.ORG_ID, allUsersSettings, Set.of(), subscriptions, true, null);
+    }
+
+    @Benchmark
+    public Set<User> notSubscribedByDefault() {
+        kesselEnabled = false;
+        return recipientsResolver.findRecipients(Fixtures.ORG_ID, allUsersSettings, subscriptions, Set.of(), false, null);
+    }
+
+    @Benchmark
+    public Set<User> groupAndAdmins() {
+        kesselEnabled = false;
+        return recipientsResolver.findRecipients(Fixtures.ORG_ID, groupAndAdminsSettings, Set.of(), subscriptions, true, null);
+    }
+
+    @Benchmark
+    public Set<User> kesselAuthorizationCriterion() {
+        kesselEnabled = true;
+        return recipientsResolver.findRecipients(Fixtures.ORG_ID, allUsersSettings, Set.of(), subscriptions, true, authorizationCriterion);
+    }
+}
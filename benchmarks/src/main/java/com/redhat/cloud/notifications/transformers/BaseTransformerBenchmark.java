@@ -0,0 +1,99 @@
+package com.redhat.cloud.notifications.transformers;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.redhat.cloud.event.parser.ConsoleCloudEventParser;
+import com.redhat.cloud.notifications.benchmarks.Fixtures;
+import com.redhat.cloud.notifications.events.EventWrapperAction;
+import com.redhat.cloud.notifications.events.EventWrapperCloudEvent;
+import com.redhat.cloud.notifications.models.Event;
+import com.redhat.cloud.notifications.models.NotificationsConsoleCloudEvent;
+import io.quarkus.vertx.runtime.jackson.QuarkusJacksonJsonCodec;
+import io.vertx.core.json.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of transforming an event into the JSON payload sent to the connectors. The per-endpoint benchmarks
+ * compare an event routed to many integrations, with and without the transformation memoized in the event. Run them
+ * with {@code -prof gc} to compare the allocations of each event.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class BaseTransformerBenchmark {
+
+    @Param({"1", "20"})
+    int eventsCount;
+
+    @Param({"30"})
+    int endpointsCount;
+
+    private BaseTransformer baseTransformer;
+    private Event actionEvent;
+    private Event cloudEvent;
+
+    @Setup
+    public void setup() {
+        /*
+         * In the notifications applications, Vert.x uses a copy of the ObjectMapper produced by Quarkus. Without a CDI
+         * container, a default ObjectMapper is used instead and needs the Quarkus default configuration.
+         */
+        QuarkusJacksonJsonCodec.mapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        baseTransformer = new BaseTransformer();
+
+        actionEvent = new Event();
+        actionEvent.setEventWrapper(new EventWrapperAction(Fixtures.buildPoliciesAction(eventsCount)));
+        actionEvent.setBundleDisplayName("Red Hat Enterprise Linux");
+        actionEvent.setApplicationDisplayName("Policies");
+        actionEvent.setEventTypeDisplayName("Policy triggered");
+
+        NotificationsConsoleCloudEvent notificationsCloudEvent = new ConsoleCloudEventParser()
+            .fromJsonString(Fixtures.loadFixture("policies-cloud-event.json"), NotificationsConsoleCloudEvent.class);
+        cloudEvent = new Event();
+        cloudEvent.setEventWrapper(new EventWrapperCloudEvent(notificationsCloudEvent));
+    }
+
+    @Benchmark
+    public JsonObject toJsonObjectWithAction() {
+        return baseTransformer.toJsonObject(actionEvent);
+    }
+
+    @Benchmark
+    public JsonObject toJsonObjectWithCloudEvent() {
+        return baseTransformer.toJsonObject(cloudEvent);
+    }
+
+    @Benchmark
+    public void toJsonObjectForEachEndpoint(Blackhole blackhole) {
+        for (int i = 0; i < endpointsCount; i++) {
+            blackhole.consume(baseTransformer.toJsonObject(actionEvent));
+        }
+    }
+
+    @Benchmark
+    public void getTransformedEventCopyForEachEndpoint(Blackhole blackhole) {
+        // Each invocation simulates a new event, the transformation is only memoized across its endpoints.
+        actionEvent.setTransformedEvent(null);
+        for (int i = 0; i < endpointsCount; i++) {
+            blackhole.consume(baseTransformer.getTransformedEventCopy(actionEvent));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.redhat.cloud.notifications.utils;
+
+import com.redhat.cloud.event.parser.ConsoleCloudEventParser;
+import com.redhat.cloud.notifications.benchmarks.Fixtures;
+import com.redhat.cloud.notifications.events.EventWrapper;
+import com.redhat.cloud.notifications.ingress.Action;
+import com.redhat.cloud.notifications.ingress.Parser;
+import com.redhat.cloud.notifications.models.NotificationsConsoleCloudEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of decoding the payloads received on the ingress Kafka topic.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class EventParsingBenchmark {
+
+    @Param({"1", "20"})
+    int eventsCount;
+
+    private String actionPayload;
+    private String cloudEventPayload;
+
+    private ActionParser actionParser;
+    private ConsoleCloudEventParser cloudEventParser;
+    private EventWrapperParser eventWrapperParser;
+
+    @Setup
+    public void setup() {
+        Action action = Fixtures.buildPoliciesAction(eventsCount);
+        actionPayload = Parser.encode(action);
+        cloudEventPayload = Fixtures.loadFixture("policies-cloud-event.json");
+
+        actionParser = new ActionParser();
+        cloudEventParser = new ConsoleCloudEventParser();
+        eventWrapperParser = new EventWrapperParser();
+        eventWrapperParser.actionParser = actionParser;
+    }
+
+    @Benchmark
+    public Action actionParser() {
+        return actionParser.fromJsonString(actionPayload);
+    }
+
+    @Benchmark
+    public NotificationsConsoleCloudEvent cloudEventParser() {
+        return cloudEventParser.fromJsonString(cloudEventPayload, NotificationsConsoleCloudEvent.class);
+    }
+
+    @Benchmark
+    public EventWrapper<?, ?> eventWrapperParserWithAction() {
+        return eventWrapperParser.parse(actionPayload);
+    }
+
+    @Benchmark
+    public EventWrapper<?, ?> eventWrapperParserWithCloudEvent() {
+        return eventWrapperParser.parse(cloudEventPayload);
+    }
+}
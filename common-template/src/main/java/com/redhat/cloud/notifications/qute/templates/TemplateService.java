@@ -2,6 +2,8 @@ package com.redhat.cloud.notifications.qute.templates;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.redhat.cloud.notifications.ingress.Action;
 import com.redhat.cloud.notifications.qute.templates.mapping.AnsibleAutomationPlatform;
 import com.redhat.cloud.notifications.qute.templates.mapping.Console;
@@ -22,6 +24,8 @@ import org.eclipse.microprofile.config.inject.ConfigProperty;
 import java.io.File;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Startup
 @ApplicationScoped
@@ -29,6 +33,7 @@ public class TemplateService {
 
     private static final String SECURED_EMAIL_TEMPLATES = "notifications.use-secured-email-templates.enabled";
     private static final String DEFAULT_TEMPLATE = "notifications.use-default-template";
+    private static final String PARSED_TEMPLATES_MAX_SIZE = "notifications.template-service.parsed-templates.max-size";
 
     // Only used in special environments.
     @ConfigProperty(name = SECURED_EMAIL_TEMPLATES, defaultValue = "false")
@@ -38,12 +43,27 @@ public class TemplateService {
     @ConfigProperty(name = DEFAULT_TEMPLATE, defaultValue = "false")
     boolean defaultEmailTemplateEnabled;
 
+    @ConfigProperty(name = PARSED_TEMPLATES_MAX_SIZE, defaultValue = "100")
+    long parsedTemplatesMaxSize;
+
     final Engine engine;
 
     final ObjectMapper objectMapper;
 
     Map<TemplateDefinition, String> templatesConfigMap = new HashMap<>();
 
+    // Templates loaded from the files declared in templatesConfigMap.
+    Map<TemplateDefinition, Template> compiledTemplates = new HashMap<>();
+
+    /*
+     * Result of the fallback resolution for every template definition requested so far. An empty value means that no
+     * template could be found. The number of entries is bounded by the number of event types.
+     */
+    final Map<TemplateDefinition, Optional<Template>> resolvedTemplates = new ConcurrentHashMap<>();
+
+    // Templates parsed from an ad-hoc content, keyed by that content.
+    Cache<String, Template> parsedTemplates;
+
     public TemplateService(Engine engine, ObjectMapper objectMapper) {
         this.engine = engine;
         this.objectMapper = objectMapper;
@@ -58,6 +78,11 @@ public class TemplateService {
     @PostConstruct
     public void init() {
         templatesConfigMap.clear();
+        compiledTemplates.clear();
+        resolvedTemplates.clear();
+        parsedTemplates = Caffeine.newBuilder()
+            .maximumSize(parsedTemplatesMaxSize)
+            .build();
         if (isSecuredEmailTemplatesEnabled()) {
             templatesConfigMap.putAll(SecureEmailTemplates.templatesMap);
         } else {
@@ -85,7 +110,8 @@ public class TemplateService {
     }
 
     /**
-     * Check if declared template files exists and could be load by Qute
+     * Check if declared template files exists and could be load by Qute. The loaded templates are kept so that the
+     * templates files are never looked up again while notifications are rendered.
      */
     private void checkTemplatesConsistency() {
         ClassLoader classLoader = getClass().getClassLoader();
@@ -95,29 +121,41 @@ public class TemplateService {
                 Log.info("Template file " + filePath + " not found");
                 throw new TemplateNotFoundException(templateDefinition);
             }
-            engine.getTemplate(filePath).instance();
+            Template template = engine.getTemplate(filePath);
+            template.instance();
+            compiledTemplates.put(templateDefinition, template);
         }
     }
 
     /**
-     * This method will load the Qute Template Instance according Template Definition parameters.
+     * This method will return the Qute Template according Template Definition parameters.
+     * The resolution is only performed the first time a template definition is requested, the result is reused after that.
+     * @param templateDefinition the template definition
+     * @return the template
+     *
+     * @throws TemplateNotFoundException
+     */
+    private Template compileTemplate(final TemplateDefinition templateDefinition) throws TemplateNotFoundException {
+        return resolvedTemplates.computeIfAbsent(templateDefinition, this::resolveTemplate)
+            .orElseThrow(() -> new TemplateNotFoundException(templateDefinition));
+    }
+
+    /**
      * If the template for the selected event type can't be found,
      * it will look for a generic template defined for the selected application,
      * it can't be found, it will look for a generic/system template defined for the selected integration type
      * @param originalTemplateDefinition the template definition
-     * @return the template instance
-     *
-     * @throws TemplateNotFoundException
+     * @return the template, or an empty optional if no template matches the template definition
      */
-    private Template compileTemplate(final TemplateDefinition originalTemplateDefinition) throws TemplateNotFoundException {
+    private Optional<Template> resolveTemplate(final TemplateDefinition originalTemplateDefinition) {
 
-        // try to find template path with full config parameters
-        String path = templatesConfigMap.get(originalTemplateDefinition);
+        // try to find template with full config parameters
+        Template template = compiledTemplates.get(originalTemplateDefinition);
 
         TemplateDefinition templateDefinition = originalTemplateDefinition;
 
         // if not found try to find if a default template for the app exists
-        if (path == null) {
+        if (template == null) {
             Log.debugf("No template found for %s", templateDefinition);
             templateDefinition = new TemplateDefinition(
                 templateDefinition.integrationType(),
@@ -126,9 +164,9 @@ public class TemplateService {
                 null,
                 templateDefinition.isBetaVersion());
 
-            path = templatesConfigMap.get(templateDefinition);
+            template = compiledTemplates.get(templateDefinition);
             // if not found try to find if a default/system template for the integration type exists
-            if (path == null) {
+            if (template == null) {
                 Log.debugf("No template found for %s", templateDefinition);
                 templateDefinition = new TemplateDefinition(
                     templateDefinition.integrationType(),
@@ -137,26 +175,21 @@ public class TemplateService {
                     null,
                     templateDefinition.isBetaVersion());
 
-                path = templatesConfigMap.get(templateDefinition);
-                if (path == null) {
-                    if (templateDefinition.isBetaVersion()) {
-                        // if not found and templateDefinition is a beta version, try to find matching GA version.
-                        Log.debugf("Beta template definition not found for %s, try to fallback on his GA version", originalTemplateDefinition);
-                        TemplateDefinition templateGaVersion = new TemplateDefinition(
-                            originalTemplateDefinition.integrationType(),
-                            originalTemplateDefinition.bundle(),
-                            originalTemplateDefinition.application(),
-                            originalTemplateDefinition.eventType(),
-                            false);
-                        return compileTemplate(templateGaVersion);
-                    }
-                    throw new TemplateNotFoundException(templateDefinition);
+                template = compiledTemplates.get(templateDefinition);
+                if (template == null && templateDefinition.isBetaVersion()) {
+                    // if not found and templateDefinition is a beta version, try to find matching GA version.
+                    Log.debugf("Beta template definition not found for %s, try to fallback on his GA version", originalTemplateDefinition);
+                    TemplateDefinition templateGaVersion = new TemplateDefinition(
+                        originalTemplateDefinition.integrationType(),
+                        originalTemplateDefinition.bundle(),
+                        originalTemplateDefinition.application(),
+                        originalTemplateDefinition.eventType(),
+                        false);
+                    return resolveTemplate(templateGaVersion);
                 }
             }
         }
-        final String filePath = buildTemplateFilePath(templateDefinition, templatesConfigMap.get(templateDefinition));
-        // ask Qute to load the template instance from its file path, such as drawer/Policies/policyTriggeredBody.md
-        return engine.getTemplate(filePath);
+        return Optional.ofNullable(template);
     }
 
     public String renderTemplate(final TemplateDefinition config, final Action action) {
@@ -180,7 +213,7 @@ public class TemplateService {
     }
 
     public String renderTemplateWithCustomDataMap(final String templateContent, final Map<String, Object> additionalContext) {
-        return engine.parse(templateContent)
+        return parsedTemplates.get(templateContent, engine::parse)
             .data(additionalContext)
             .render()
             .trim();
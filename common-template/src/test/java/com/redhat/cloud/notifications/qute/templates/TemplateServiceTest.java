@@ -0,0 +1,59 @@
+package com.redhat.cloud.notifications.qute.templates;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.mockito.InjectSpy;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static com.redhat.cloud.notifications.qute.templates.IntegrationType.DRAWER;
+import static com.redhat.cloud.notifications.qute.templates.IntegrationType.EMAIL_BODY;
+import static com.redhat.cloud.notifications.qute.templates.IntegrationType.SLACK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class TemplateServiceTest {
+
+    // The spy gives access to the fields of the bean, which is not possible through the client proxy.
+    @InjectSpy
+    TemplateService templateService;
+
+    @Test
+    void testFallbackResolution() {
+        String defaultDrawerTemplateId = templateService.getTemplateId(new TemplateDefinition(DRAWER, null, null, null));
+        assertEquals(defaultDrawerTemplateId, templateService.getTemplateId(new TemplateDefinition(DRAWER, "rhel", "unknown-app", "unknown-event-type")));
+        assertEquals(defaultDrawerTemplateId, templateService.getTemplateId(new TemplateDefinition(DRAWER, "rhel", "unknown-app", "unknown-event-type", true)));
+
+        String betaSlackTemplateId = templateService.getTemplateId(new TemplateDefinition(SLACK, null, null, null, true));
+        assertEquals(betaSlackTemplateId, templateService.getTemplateId(new TemplateDefinition(SLACK, "rhel", "unknown-app", "unknown-event-type", true)));
+    }
+
+    @Test
+    void testResolutionIsReused() {
+        TemplateDefinition templateDefinition = new TemplateDefinition(DRAWER, "rhel", "unknown-app", "another-unknown-event-type");
+        assertFalse(templateService.resolvedTemplates.containsKey(templateDefinition));
+
+        templateService.getTemplateId(templateDefinition);
+        assertTrue(templateService.resolvedTemplates.containsKey(templateDefinition));
+    }
+
+    @Test
+    void testTemplateNotFound() {
+        TemplateDefinition templateDefinition = new TemplateDefinition(EMAIL_BODY, "unknown-bundle", "unknown-app", "unknown-event-type");
+        assertFalse(templateService.isValidTemplateDefinition(templateDefinition));
+        assertThrows(TemplateNotFoundException.class, () -> templateService.getTemplateId(templateDefinition));
+    }
+
+    @Test
+    void testParsedTemplateIsCached() {
+        String templateContent = "Hello {name}!";
+        assertEquals("Hello John!", templateService.renderTemplateWithCustomDataMap(templateContent, Map.of("name", "John")));
+        assertEquals("Hello Jane!", templateService.renderTemplateWithCustomDataMap(templateContent, Map.of("name", "Jane")));
+
+        assertNotNull(templateService.parsedTemplates.getIfPresent(templateContent));
+    }
+}
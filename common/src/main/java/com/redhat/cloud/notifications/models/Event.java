@@ -2,6 +2,7 @@ package com.redhat.cloud.notifications.models;
 
 import com.redhat.cloud.notifications.Severity;
 import com.redhat.cloud.notifications.events.EventWrapper;
+import io.vertx.core.json.JsonObject;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
@@ -87,6 +88,10 @@ public class Event {
     @Transient
     private EventWrapper<?, ?> eventWrapper;
 
+    // Memoized by BaseTransformer, the processors of the event may read it from concurrent threads.
+    @Transient
+    private volatile JsonObject transformedEvent;
+
     public Event() { }
 
     public Event(EventType eventType, String payload, EventWrapper<?, ?> eventWrapper, Optional<String> sourceEnvironment) {
@@ -241,6 +246,14 @@ public class Event {
         this.eventWrapper = eventWrapper;
     }
 
+    public JsonObject getTransformedEvent() {
+        return transformedEvent;
+    }
+
+    public void setTransformedEvent(JsonObject transformedEvent) {
+        this.transformedEvent = transformedEvent;
+    }
+
     public String getRenderedDrawerNotification() {
         return renderedDrawerNotification;
     }
@@ -15,6 +15,8 @@ import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 import jakarta.validation.constraints.NotNull;
 
+import java.security.SecureRandom;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.Objects;
@@ -34,6 +36,8 @@ public class NotificationHistory extends CreationTimestamped {
             "status", "nh.status"
     );
 
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     @Id
     // We can not use @GeneratedValue as the ID needs to be sent over to Camel
     @JsonProperty(access = READ_ONLY)
@@ -56,6 +60,13 @@ public class NotificationHistory extends CreationTimestamped {
     @JsonIgnore
     private Event event;
 
+    /*
+     * This is a duplicate of Event#created. The notification_history table is partitioned on this column, which is
+     * part of the foreign key referencing the event table.
+     */
+    @JsonIgnore
+    private LocalDateTime eventCreated;
+
     @Transient
     private UUID endpointId;
 
@@ -130,6 +141,14 @@ public class NotificationHistory extends CreationTimestamped {
         this.event = event;
     }
 
+    public LocalDateTime getEventCreated() {
+        return eventCreated;
+    }
+
+    public void setEventCreated(LocalDateTime eventCreated) {
+        this.eventCreated = eventCreated;
+    }
+
     public UUID getEndpointId() {
         if (endpointId == null && endpoint != null) {
             endpointId = endpoint.getId();
@@ -173,6 +192,13 @@ public class NotificationHistory extends CreationTimestamped {
         this.details = details;
     }
 
+    @Override
+    protected void additionalPrePersist() {
+        if (eventCreated == null && event != null) {
+            eventCreated = event.getCreated();
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -201,6 +227,34 @@ public class NotificationHistory extends CreationTimestamped {
         return history;
     }
 
+    /**
+     * Generates a version 7 UUID whose timestamp is the creation date of the given event. The history items are
+     * identified by their ID only outside of the DB, and the creation date of their event, which is the partition key
+     * of the notification_history table, can then be retrieved from it with {@link #getEventCreated(UUID)}.
+     * @param event the event of the history item
+     * @return the ID of the history item
+     */
+    public static UUID generateId(Event event) {
+        long timestamp = event.getCreated().atZone(UTC).toInstant().toEpochMilli();
+        long mostSigBits = timestamp << 16 | 0x7000L | RANDOM.nextLong() & 0x0FFFL;
+        long leastSigBits = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Retrieves the creation date of the event of a history item from the ID generated with {@link #generateId(Event)},
+     * truncated to the millisecond. The creation date stored in the DB is rounded to the microsecond, so it can be up to
+     * one millisecond after the returned value.
+     * @param historyId the ID of the history item
+     * @return the creation date of the event, or {@code null} if the ID is not a version 7 UUID
+     */
+    public static LocalDateTime getEventCreated(UUID historyId) {
+        if (historyId.version() != 7) {
+            return null;
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(historyId.getMostSignificantBits() >>> 16), UTC);
+    }
+
     private Boolean invocationResultByStatus(NotificationStatus status) {
         return status != null ? status.toInvocationResult() : Boolean.FALSE;
     }
@@ -9,6 +9,7 @@ import com.redhat.cloud.notifications.models.NotificationsConsoleCloudEvent;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -31,6 +32,37 @@ public class BaseTransformer {
     public static final String TIMESTAMP = "timestamp";
     public static final String RECIPIENTS_AUTHORIZATION_CRITERION = "recipients_authorization_criterion";
 
+    /**
+     * Returns the given event transformed into a {@link JsonObject}. The transformation runs once per event, its result
+     * is then shared by all the processors and endpoints of the event. The returned object must not be modified, use
+     * {@link #getTransformedEventCopy(Event)} instead when the data has to be changed.
+     * @param event the {@link Event} to transform.
+     * @return a read-only {@link JsonObject} containing the given event data.
+     */
+    public JsonObject getTransformedEvent(final Event event) {
+        JsonObject transformedEvent = event.getTransformedEvent();
+        if (transformedEvent == null) {
+            synchronized (event) {
+                transformedEvent = event.getTransformedEvent();
+                if (transformedEvent == null) {
+                    transformedEvent = toJsonObject(event);
+                    event.setTransformedEvent(transformedEvent);
+                }
+            }
+        }
+        return transformedEvent;
+    }
+
+    /**
+     * Returns a shallow copy of {@link #getTransformedEvent(Event)}. The top-level fields of the copy can be added,
+     * replaced or removed, but the nested objects are shared with the other processors and must not be modified.
+     * @param event the {@link Event} to transform.
+     * @return a {@link JsonObject} containing the given event data.
+     */
+    public JsonObject getTransformedEventCopy(final Event event) {
+        return new JsonObject(new LinkedHashMap<>(getTransformedEvent(event).getMap()));
+    }
+
     /**
      * Transforms the given event into a {@link JsonObject}.
      * @param event the {@link Event} to transform.
@@ -0,0 +1,109 @@
+package com.redhat.cloud.notifications.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.redhat.cloud.event.parser.ConsoleCloudEventParser;
+import com.redhat.cloud.event.parser.exceptions.ConsoleCloudEventParsingException;
+import com.redhat.cloud.notifications.events.EventWrapper;
+import com.redhat.cloud.notifications.events.EventWrapperAction;
+import com.redhat.cloud.notifications.events.EventWrapperCloudEvent;
+import com.redhat.cloud.notifications.models.NotificationsConsoleCloudEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.io.IOException;
+
+/**
+ * Parses an incoming payload which can either be an {@link com.redhat.cloud.notifications.ingress.Action} or a
+ * {@link NotificationsConsoleCloudEvent}. The format is detected first with a lightweight scan of the top-level JSON
+ * fields, so that a valid payload is only parsed once and without an exception being thrown and caught on the way.
+ */
+@ApplicationScoped
+public class EventWrapperParser {
+
+    enum PayloadFormat {
+        ACTION,
+        CLOUD_EVENT,
+        UNKNOWN
+    }
+
+    // Only present in Cloud Events, this field is required by the Cloud Events specification.
+    private static final String CLOUD_EVENT_FIELD = "specversion";
+    // Only present in Actions, this field is required by the Action schema.
+    private static final String ACTION_FIELD = "bundle";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Inject
+    ActionParser actionParser;
+
+    ConsoleCloudEventParser cloudEventParser = new ConsoleCloudEventParser();
+
+    /**
+     * Parses the given payload into an {@link EventWrapper}.
+     * @param payload the JSON payload
+     * @return either an {@link EventWrapperAction} or an {@link EventWrapperCloudEvent}
+     * @throws ActionParsingException if the payload is neither a valid Action nor a valid Cloud Event
+     */
+    public EventWrapper<?, ?> parse(String payload) {
+        return switch (detectFormat(payload)) {
+            case ACTION -> new EventWrapperAction(actionParser.fromJsonString(payload));
+            case CLOUD_EVENT -> parseCloudEvent(payload);
+            default -> parseUnknownFormat(payload);
+        };
+    }
+
+    private EventWrapperCloudEvent parseCloudEvent(String payload) {
+        try {
+            return new EventWrapperCloudEvent(cloudEventParser.fromJsonString(payload, NotificationsConsoleCloudEvent.class));
+        } catch (ConsoleCloudEventParsingException e) {
+            throw new ActionParsingException("Cloud event parsing failed for payload: " + payload, e);
+        }
+    }
+
+    /*
+     * The format could not be detected, most likely because the payload is not valid JSON. Both parsers are tried
+     * so that the exception thrown is as detailed as it used to be before the format detection was introduced.
+     */
+    private EventWrapper<?, ?> parseUnknownFormat(String payload) {
+        try {
+            return new EventWrapperAction(actionParser.fromJsonString(payload));
+        } catch (ActionParsingException actionParseException) {
+            try {
+                return new EventWrapperCloudEvent(cloudEventParser.fromJsonString(payload, NotificationsConsoleCloudEvent.class));
+            } catch (ConsoleCloudEventParsingException cloudEventParseException) {
+                actionParseException.addSuppressed(cloudEventParseException);
+                throw actionParseException;
+            }
+        }
+    }
+
+    /*
+     * Streams the top-level fields of the payload until a field that identifies the format is found. Nested objects
+     * and arrays are skipped without being materialized.
+     */
+    static PayloadFormat detectFormat(String payload) {
+        if (payload == null) {
+            return PayloadFormat.UNKNOWN;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return PayloadFormat.UNKNOWN;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                if (CLOUD_EVENT_FIELD.equals(fieldName)) {
+                    return PayloadFormat.CLOUD_EVENT;
+                } else if (ACTION_FIELD.equals(fieldName)) {
+                    return PayloadFormat.ACTION;
+                }
+                parser.nextToken();
+                parser.skipChildren();
+            }
+            return PayloadFormat.UNKNOWN;
+        } catch (IOException e) {
+            return PayloadFormat.UNKNOWN;
+        }
+    }
+}
@@ -1,16 +1,9 @@
 package com.redhat.cloud.notifications.utils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.redhat.cloud.event.parser.ConsoleCloudEventParser;
-import com.redhat.cloud.event.parser.exceptions.ConsoleCloudEventParsingException;
-import com.redhat.cloud.notifications.events.EventWrapper;
-import com.redhat.cloud.notifications.events.EventWrapperAction;
-import com.redhat.cloud.notifications.events.EventWrapperCloudEvent;
-import com.redhat.cloud.notifications.ingress.Action;
 import com.redhat.cloud.notifications.ingress.RecipientsAuthorizationCriterion;
 import com.redhat.cloud.notifications.models.EmailAggregation;
 import com.redhat.cloud.notifications.models.Event;
-import com.redhat.cloud.notifications.models.NotificationsConsoleCloudEvent;
 import com.redhat.cloud.notifications.transformers.BaseTransformer;
 import io.quarkus.logging.Log;
 import io.vertx.core.json.JsonObject;
@@ -29,13 +22,11 @@ public class RecipientsAuthorizationCriterionExtractor {
     ObjectMapper objectMapper;
 
     @Inject
-    ActionParser actionParser;
-
-    ConsoleCloudEventParser cloudEventParser = new ConsoleCloudEventParser();
+    EventWrapperParser eventWrapperParser;
 
     public RecipientsAuthorizationCriterion extract(Event event) {
         if (null == event.getEventWrapper()) {
-            event.setEventWrapper(getEventWrapper(event.getPayload()));
+            event.setEventWrapper(eventWrapperParser.parse(event.getPayload()));
         }
         return extract(baseTransformer.toJsonObject(event));
     }
@@ -54,24 +45,4 @@ public class RecipientsAuthorizationCriterionExtractor {
         }
         return null;
     }
-
-    private EventWrapper<?, ?> getEventWrapper(String payload) {
-        try {
-            Action action = actionParser.fromJsonString(payload);
-            return new EventWrapperAction(action);
-        } catch (ActionParsingException actionParseException) {
-            // Try to load it as a CloudEvent
-            try {
-                return new EventWrapperCloudEvent(cloudEventParser.fromJsonString(payload, NotificationsConsoleCloudEvent.class));
-            } catch (ConsoleCloudEventParsingException cloudEventParseException) {
-                /*
-                 * An exception (most likely UncheckedIOException) was thrown during the payload parsing. The message
-                 * is therefore considered rejected.
-                 */
-
-                actionParseException.addSuppressed(cloudEventParseException);
-                throw actionParseException;
-            }
-        }
-    }
 }
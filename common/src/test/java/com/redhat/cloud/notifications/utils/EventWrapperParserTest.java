@@ -0,0 +1,56 @@
+package com.redhat.cloud.notifications.utils;
+
+import com.redhat.cloud.notifications.events.EventWrapper;
+import com.redhat.cloud.notifications.events.EventWrapperAction;
+import com.redhat.cloud.notifications.ingress.Action;
+import com.redhat.cloud.notifications.ingress.Parser;
+import org.junit.jupiter.api.Test;
+
+import static com.redhat.cloud.notifications.EventPayloadTestHelper.buildValidAction;
+import static com.redhat.cloud.notifications.utils.EventWrapperParser.PayloadFormat.ACTION;
+import static com.redhat.cloud.notifications.utils.EventWrapperParser.PayloadFormat.CLOUD_EVENT;
+import static com.redhat.cloud.notifications.utils.EventWrapperParser.PayloadFormat.UNKNOWN;
+import static com.redhat.cloud.notifications.utils.EventWrapperParser.detectFormat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EventWrapperParserTest {
+
+    @Test
+    void testDetectFormat() {
+        assertEquals(ACTION, detectFormat(Parser.encode(buildValidAction("org-id", "rhel", "policies", "policy-triggered"))));
+        assertEquals(CLOUD_EVENT, detectFormat("{\"id\":\"1\",\"data\":{\"bundle\":\"rhel\"},\"specversion\":\"1.0\"}"));
+        // Fields nested in other objects or arrays must not be used to detect the format.
+        assertEquals(UNKNOWN, detectFormat("{\"data\":{\"bundle\":\"rhel\",\"specversion\":\"1.0\"},\"items\":[{\"bundle\":\"rhel\"}]}"));
+        assertEquals(UNKNOWN, detectFormat("[{\"bundle\":\"rhel\"}]"));
+        assertEquals(UNKNOWN, detectFormat("I am not JSON"));
+        assertEquals(UNKNOWN, detectFormat(null));
+    }
+
+    @Test
+    void testParseAction() {
+        EventWrapperParser eventWrapperParser = new EventWrapperParser();
+        eventWrapperParser.actionParser = new ActionParser();
+
+        Action action = buildValidAction("org-id", "rhel", "policies", "policy-triggered");
+        EventWrapper<?, ?> eventWrapper = eventWrapperParser.parse(Parser.encode(action));
+        EventWrapperAction eventWrapperAction = assertInstanceOf(EventWrapperAction.class, eventWrapper);
+        assertEquals("rhel", eventWrapperAction.getEvent().getBundle());
+        assertEquals("policies", eventWrapperAction.getEvent().getApplication());
+        assertEquals("policy-triggered", eventWrapperAction.getEvent().getEventType());
+    }
+
+    @Test
+    void testParseInvalidPayload() {
+        EventWrapperParser eventWrapperParser = new EventWrapperParser();
+        eventWrapperParser.actionParser = new ActionParser();
+
+        ActionParsingException e = assertThrows(ActionParsingException.class, () -> eventWrapperParser.parse("I am not JSON"));
+        // The Cloud Event parsing failure is kept as a suppressed exception.
+        assertEquals(1, e.getSuppressed().length);
+
+        assertThrows(ActionParsingException.class, () -> eventWrapperParser.parse("{\"bundle\":\"rhel\"}"));
+        assertThrows(ActionParsingException.class, () -> eventWrapperParser.parse("{\"specversion\":\"1.0\"}"));
+    }
+}
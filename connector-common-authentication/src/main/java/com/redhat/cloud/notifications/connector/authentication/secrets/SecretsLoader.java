@@ -1,16 +1,23 @@
 package com.redhat.cloud.notifications.connector.authentication.secrets;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.redhat.cloud.notifications.connector.ConnectorConfig;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import io.quarkus.logging.Log;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.apache.camel.support.SynchronizationAdapter;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.rest.client.inject.RestClient;
 
+import java.time.Duration;
+
 import static com.redhat.cloud.notifications.connector.ExchangeProperty.ORG_ID;
 import static com.redhat.cloud.notifications.connector.authentication.AuthenticationExchangeProperty.SECRET_ID;
 import static com.redhat.cloud.notifications.connector.authentication.AuthenticationExchangeProperty.SECRET_PASSWORD;
@@ -19,12 +26,40 @@ import static com.redhat.cloud.notifications.connector.authentication.Authentica
 @ApplicationScoped
 public class SecretsLoader implements Processor {
 
+    public static final String SECRETS_CACHE_NAME = "sources-secrets";
+    public static final String SECRETS_CACHE_AGE_TIMER = "sources.secrets.cache.entry.age";
+
     private static final String SOURCES_API_PSK = "notifications.connector.authentication.secrets-loader.sources-api-psk";
+    private static final String CACHE_ENABLED = "notifications.connector.authentication.secrets-loader.cache.enabled";
+    private static final String CACHE_MAX_SIZE = "notifications.connector.authentication.secrets-loader.cache.max-size";
+    private static final String CACHE_TTL = "notifications.connector.authentication.secrets-loader.cache.ttl";
+    private static final String CACHE_REFRESH_AFTER = "notifications.connector.authentication.secrets-loader.cache.refresh-after";
     private static final String SOURCES_TIMER = "sources.get.secret.request";
 
+    /*
+     * This property is set by the HTTP exception processor from the notifications-connector-common-http module when
+     * the target of a notification replied with an error status code. That module can't be referenced from here.
+     */
+    private static final String HTTP_STATUS_CODE = "httpStatusCode";
+    private static final int SC_UNAUTHORIZED = 401;
+    private static final int SC_FORBIDDEN = 403;
+
     @ConfigProperty(name = SOURCES_API_PSK, defaultValue = "development-value-123")
     String sourcesApiPsk;
 
+    @ConfigProperty(name = CACHE_ENABLED, defaultValue = "true")
+    boolean cacheEnabled;
+
+    @ConfigProperty(name = CACHE_MAX_SIZE, defaultValue = "10000")
+    long cacheMaxSize;
+
+    @ConfigProperty(name = CACHE_TTL, defaultValue = "PT10M")
+    Duration cacheTtl;
+
+    // The refresh is triggered by the first read after this delay and performed asynchronously while the current value is still served.
+    @ConfigProperty(name = CACHE_REFRESH_AFTER, defaultValue = "PT5M")
+    Duration cacheRefreshAfter;
+
     @Inject
     ConnectorConfig connectorConfig;
 
@@ -39,24 +74,49 @@ public class SecretsLoader implements Processor {
     @RestClient
     SourcesOidcClient sourcesOidcClient;
 
+    private LoadingCache<SecretKey, SourcesSecret> secrets;
+    private Timer cacheEntryAgeTimer;
+
+    @PostConstruct
+    void init() {
+        secrets = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .refreshAfterWrite(cacheRefreshAfter)
+                .recordStats()
+                .build(this::getFromSources);
+        CaffeineCacheMetrics.monitor(meterRegistry, secrets, SECRETS_CACHE_NAME);
+        cacheEntryAgeTimer = meterRegistry.timer(SECRETS_CACHE_AGE_TIMER);
+    }
+
     @Override
     public void process(Exchange exchange) {
         Long secretId = exchange.getProperty(SECRET_ID, Long.class);
         if (secretId != null) {
             String orgId = exchange.getProperty(ORG_ID, String.class);
 
-            Log.debugf("Calling Sources to retrieve a secret [orgId=%s, secretId=%d]", orgId, secretId);
-
-            Timer.Sample timer = Timer.start(meterRegistry);
             SourcesSecret sourcesSecret;
-            if (connectorConfig.isSourcesOidcAuthEnabled(orgId)) {
-                Log.debug("Using OIDC Sources client");
-                sourcesSecret = sourcesOidcClient.getById(orgId, secretId);
+            if (cacheEnabled) {
+                SecretKey key = new SecretKey(orgId, secretId);
+                sourcesSecret = secrets.get(key);
+                recordCacheEntryAge(key);
+                /*
+                 * If the target of the notification rejects the credentials, the secret was most likely rotated in
+                 * Sources. It is evicted from the cache so that the next attempt retrieves the new one.
+                 */
+                exchange.getExchangeExtension().addOnCompletion(new SynchronizationAdapter() {
+                    @Override
+                    public void onDone(Exchange completedExchange) {
+                        Integer statusCode = completedExchange.getProperty(HTTP_STATUS_CODE, Integer.class);
+                        if (statusCode != null && (statusCode == SC_UNAUTHORIZED || statusCode == SC_FORBIDDEN)) {
+                            Log.debugf("Authentication failed on the notification target, evicting the cached secret [orgId=%s, secretId=%d, statusCode=%d]", orgId, secretId, statusCode);
+                            invalidate(orgId, secretId);
+                        }
+                    }
+                });
             } else {
-                Log.debug("Using PSK Sources client");
-                sourcesSecret = sourcesPskClient.getById(orgId, sourcesApiPsk, secretId);
+                sourcesSecret = getFromSources(new SecretKey(orgId, secretId));
             }
-            timer.stop(meterRegistry.timer(SOURCES_TIMER));
 
             if (sourcesSecret.username != null && !sourcesSecret.username.isBlank()) {
                 Log.debug("Found a secret username in the response from Sources");
@@ -69,4 +129,42 @@ public class SecretsLoader implements Processor {
             }
         }
     }
+
+    /**
+     * Evicts a secret from the cache. The next notification that needs it will retrieve it from Sources.
+     * @param orgId the org ID of the secret owner
+     * @param secretId the Sources secret ID
+     */
+    public void invalidate(String orgId, long secretId) {
+        secrets.invalidate(new SecretKey(orgId, secretId));
+    }
+
+    public void clearCache() {
+        secrets.invalidateAll();
+    }
+
+    private SourcesSecret getFromSources(SecretKey key) {
+        Log.debugf("Calling Sources to retrieve a secret [orgId=%s, secretId=%d]", key.orgId(), key.secretId());
+
+        Timer.Sample timer = Timer.start(meterRegistry);
+        SourcesSecret sourcesSecret;
+        if (connectorConfig.isSourcesOidcAuthEnabled(key.orgId())) {
+            Log.debug("Using OIDC Sources client");
+            sourcesSecret = sourcesOidcClient.getById(key.orgId(), key.secretId());
+        } else {
+            Log.debug("Using PSK Sources client");
+            sourcesSecret = sourcesPskClient.getById(key.orgId(), sourcesApiPsk, key.secretId());
+        }
+        timer.stop(meterRegistry.timer(SOURCES_TIMER));
+        return sourcesSecret;
+    }
+
+    // Measures how old the secrets served from the cache are, which is the window during which a rotated secret may still be used.
+    private void recordCacheEntryAge(SecretKey key) {
+        secrets.policy().expireAfterWrite()
+                .flatMap(expiration -> expiration.ageOf(key))
+                .ifPresent(cacheEntryAgeTimer::record);
+    }
+
+    private record SecretKey(String orgId, long secretId) { }
 }
@@ -8,9 +8,13 @@ import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import org.apache.camel.Exchange;
 import org.apache.camel.quarkus.test.CamelQuarkusTestSupport;
+import org.apache.camel.spi.Synchronization;
 import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static com.redhat.cloud.notifications.connector.ExchangeProperty.ORG_ID;
 import static com.redhat.cloud.notifications.connector.authentication.AuthenticationExchangeProperty.SECRET_ID;
 import static com.redhat.cloud.notifications.connector.authentication.AuthenticationExchangeProperty.SECRET_PASSWORD;
@@ -19,6 +23,7 @@ import static org.apache.camel.test.junit5.TestSupport.createExchangeWithBody;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -39,6 +44,11 @@ public class SecretsLoaderTest extends CamelQuarkusTestSupport {
         return false;
     }
 
+    @BeforeEach
+    void clearCache() {
+        secretsLoader.clearCache();
+    }
+
     @Test
     void testNoSecretId() {
 
@@ -66,4 +76,61 @@ public class SecretsLoaderTest extends CamelQuarkusTestSupport {
         assertEquals(sourcesSecret.username, exchange.getProperty(SECRET_USERNAME, String.class));
         assertEquals(sourcesSecret.password, exchange.getProperty(SECRET_PASSWORD, String.class));
     }
+
+    @Test
+    void testSecretIsCached() {
+        mockSourcesSecret("john_doe", "passw0rd");
+
+        processExchange("org-id", 123L);
+        Exchange exchange = processExchange("org-id", 123L);
+
+        verify(sourcesClient, times(1)).getById(anyString(), anyString(), anyLong());
+        assertEquals("passw0rd", exchange.getProperty(SECRET_PASSWORD, String.class));
+
+        // Same secret ID but different org ID.
+        processExchange("other-org-id", 123L);
+        verify(sourcesClient, times(1)).getById(eq("other-org-id"), anyString(), anyLong());
+    }
+
+    @Test
+    void testSecretIsEvictedOnAuthenticationFailure() {
+        mockSourcesSecret("john_doe", "passw0rd");
+
+        Exchange exchange = processExchange("org-id", 123L);
+        exchange.setProperty("httpStatusCode", 500);
+        completeExchange(exchange);
+
+        // A server error doesn't mean the secret is wrong, so it stays in the cache.
+        processExchange("org-id", 123L);
+        verify(sourcesClient, times(1)).getById(anyString(), anyString(), anyLong());
+
+        exchange = processExchange("org-id", 123L);
+        exchange.setProperty("httpStatusCode", 401);
+        completeExchange(exchange);
+
+        mockSourcesSecret("john_doe", "rotated-passw0rd");
+        exchange = processExchange("org-id", 123L);
+        verify(sourcesClient, times(2)).getById(anyString(), anyString(), anyLong());
+        assertEquals("rotated-passw0rd", exchange.getProperty(SECRET_PASSWORD, String.class));
+    }
+
+    private void mockSourcesSecret(String username, String password) {
+        SourcesSecret sourcesSecret = new SourcesSecret();
+        sourcesSecret.username = username;
+        sourcesSecret.password = password;
+        when(sourcesClient.getById(anyString(), anyString(), anyLong())).thenReturn(sourcesSecret);
+    }
+
+    private Exchange processExchange(String orgId, long secretId) {
+        Exchange exchange = createExchangeWithBody(context, "");
+        exchange.setProperty(ORG_ID, orgId);
+        exchange.setProperty(SECRET_ID, secretId);
+        secretsLoader.process(exchange);
+        return exchange;
+    }
+
+    private static void completeExchange(Exchange exchange) {
+        List<Synchronization> completions = exchange.getExchangeExtension().handoverCompletions();
+        completions.forEach(completion -> completion.onComplete(exchange));
+    }
 }
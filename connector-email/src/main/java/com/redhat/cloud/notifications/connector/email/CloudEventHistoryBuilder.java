@@ -18,6 +18,8 @@ import static com.redhat.cloud.notifications.connector.email.constants.ExchangeP
 public class CloudEventHistoryBuilder extends HttpOutgoingCloudEventBuilder {
 
     public static final String TOTAL_RECIPIENTS_KEY = "total_recipients";
+    public static final String TOTAL_BOP_BATCHES_KEY = "total_bop_batches";
+    public static final String FAILED_BOP_BATCHES_KEY = "failed_bop_batches";
 
     @Override
     public void process(Exchange exchange) throws Exception {
@@ -29,6 +31,12 @@ public class CloudEventHistoryBuilder extends HttpOutgoingCloudEventBuilder {
         JsonObject data = new JsonObject(cloudEvent.getString("data"));
         data.getJsonObject("details").put(TOTAL_RECIPIENTS_KEY, totalRecipients);
 
+        // The outcome of each BOP batch is reported so that a partial failure can be identified from the history.
+        if (exchange.getProperties().containsKey(TOTAL_BOP_BATCHES_KEY)) {
+            data.getJsonObject("details").put(TOTAL_BOP_BATCHES_KEY, exchange.getProperty(TOTAL_BOP_BATCHES_KEY, Integer.class));
+            data.getJsonObject("details").put(FAILED_BOP_BATCHES_KEY, exchange.getProperty(FAILED_BOP_BATCHES_KEY, 0, Integer.class));
+        }
+
         if (exchange.getProperties().containsKey(ADDITIONAL_ERROR_DETAILS)) {
             data.getJsonObject("details").put(ADDITIONAL_ERROR_DETAILS, getErrorDetail(exchange));
         }
@@ -10,17 +10,29 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import io.quarkus.logging.Log;
 import io.vertx.core.json.JsonObject;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static com.redhat.cloud.notifications.connector.ExchangeProperty.ID;
 import static com.redhat.cloud.notifications.connector.ExchangeProperty.ORG_ID;
+import static com.redhat.cloud.notifications.connector.email.CloudEventHistoryBuilder.FAILED_BOP_BATCHES_KEY;
+import static com.redhat.cloud.notifications.connector.email.CloudEventHistoryBuilder.TOTAL_BOP_BATCHES_KEY;
 import static com.redhat.cloud.notifications.connector.email.CloudEventHistoryBuilder.TOTAL_RECIPIENTS_KEY;
 import static java.util.stream.Collectors.toSet;
 
@@ -42,6 +54,24 @@ public class EmailManagementProcessor implements Processor {
     static final String BOP_RESPONSE_TIME_METRIC = "email.bop.response.time";
     static final String RECIPIENTS_RESOLVER_RESPONSE_TIME_METRIC = "email.recipients_resolver.response.time";
 
+    private ExecutorService bopExecutor;
+
+    @PostConstruct
+    void postConstruct() {
+        /*
+         * Each concurrent Camel consumer processes one notification at a time, with at most the max number of
+         * concurrent BOP requests in flight for that notification, so this pool never makes a batch wait.
+         */
+        int maxBopRequests = Math.max(1, emailConnectorConfig.getSedaConcurrentConsumers())
+            * Math.max(1, emailConnectorConfig.getBopMaxConcurrentRequests());
+        bopExecutor = Executors.newFixedThreadPool(maxBopRequests);
+    }
+
+    @PreDestroy
+    void preDestroy() {
+        bopExecutor.shutdown();
+    }
+
     @Override
     public void process(final Exchange exchange) {
         // fetch recipients
@@ -61,12 +91,60 @@ public class EmailManagementProcessor implements Processor {
         final String subject = exchange.getProperty(ExchangeProperty.RENDERED_SUBJECT, String.class);
         final String body = exchange.getProperty(ExchangeProperty.RENDERED_BODY, String.class);
         final String sender = exchange.getProperty(ExchangeProperty.EMAIL_SENDER, String.class);
-
+        final String orgId = exchange.getProperty(ORG_ID, String.class);
+        final String historyId = exchange.getProperty(ID, String.class);
+
+        /*
+         * The batches are sent concurrently, with a bounded number of in-flight requests for each notification.
+         * Each batch is retried on its own by BOPManager, so a failing batch doesn't prevent the other ones from
+         * being sent.
+         */
+        Semaphore inFlightRequests = new Semaphore(Math.max(1, emailConnectorConfig.getBopMaxConcurrentRequests()));
+        List<Future<?>> batches = new ArrayList<>(packedRecipients.size());
         for (int i = 0; i < packedRecipients.size(); i++) {
-            final Timer.Sample bopResponseTimeMetric = Timer.start(meterRegistry);
-            bopManager.sendToBop(packedRecipients.get(i), subject, body, sender);
-            bopResponseTimeMetric.stop(meterRegistry.timer(BOP_RESPONSE_TIME_METRIC));
-            Log.infof("Sent Email notification %d/%d [orgId=%s, historyId=%s]", i + 1, packedRecipients.size(), exchange.getProperty(ORG_ID, String.class), exchange.getProperty(ID, String.class));
+            final int batchNumber = i + 1;
+            final List<String> batchRecipients = packedRecipients.get(i);
+            inFlightRequests.acquireUninterruptibly();
+            try {
+                batches.add(bopExecutor.submit(() -> {
+                    try {
+                        final Timer.Sample bopResponseTimeMetric = Timer.start(meterRegistry);
+                        bopManager.sendToBop(batchRecipients, subject, body, sender);
+                        bopResponseTimeMetric.stop(meterRegistry.timer(BOP_RESPONSE_TIME_METRIC));
+                        Log.infof("Sent Email notification %d/%d [orgId=%s, historyId=%s]", batchNumber, packedRecipients.size(), orgId, historyId);
+                    } finally {
+                        inFlightRequests.release();
+                    }
+                }));
+            } catch (RejectedExecutionException e) {
+                inFlightRequests.release();
+                throw e;
+            }
+        }
+
+        // Every batch is awaited, even after a failure, so that the outcome of each batch is known.
+        RuntimeException firstFailure = null;
+        int failedBatches = 0;
+        for (int i = 0; i < batches.size(); i++) {
+            try {
+                batches.get(i).get();
+            } catch (ExecutionException e) {
+                failedBatches++;
+                Log.warnf(e.getCause(), "Failed to send Email notification %d/%d [orgId=%s, historyId=%s]", i + 1, packedRecipients.size(), orgId, historyId);
+                if (firstFailure == null) {
+                    firstFailure = e.getCause() instanceof RuntimeException runtimeException ? runtimeException : new RuntimeException(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while sending the Email notification to BOP", e);
+            }
+        }
+
+        exchange.setProperty(TOTAL_BOP_BATCHES_KEY, packedRecipients.size());
+        exchange.setProperty(FAILED_BOP_BATCHES_KEY, failedBatches);
+        if (firstFailure != null) {
+            // The first failure is rethrown so that the error is reported to the engine like any other BOP failure.
+            throw firstFailure;
         }
     }
 
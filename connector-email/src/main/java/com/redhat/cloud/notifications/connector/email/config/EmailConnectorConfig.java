@@ -17,6 +17,7 @@ public class EmailConnectorConfig extends HttpConnectorConfig {
     private static final String BOP_CLIENT_ID = "notifications.connector.user-provider.bop.client_id";
     private static final String BOP_ENV = "notifications.connector.user-provider.bop.env";
     private static final String BOP_URL = "notifications.connector.user-provider.bop.url";
+    private static final String BOP_MAX_CONCURRENT_REQUESTS = "notifications.connector.user-provider.bop.max-concurrent-requests";
     private static final String KAFKA_INCOMING_HIGH_VOLUME_MAX_POLL_INTERVAL_MS = "notifications.connector.kafka.incoming.high-volume.max-poll-interval-ms";
     private static final String KAFKA_INCOMING_HIGH_VOLUME_MAX_POLL_RECORDS = "notifications.connector.kafka.incoming.high-volume.max-poll-records";
     private static final String KAFKA_INCOMING_HIGH_VOLUME_POLL_ON_ERROR = "notifications.connector.kafka.incoming.high-volume.poll-on-error";
@@ -41,6 +42,10 @@ public class EmailConnectorConfig extends HttpConnectorConfig {
     @ConfigProperty(name = BOP_URL)
     String bopURL;
 
+    // Max number of BOP requests sent concurrently for a single email notification.
+    @ConfigProperty(name = BOP_MAX_CONCURRENT_REQUESTS, defaultValue = "4")
+    int bopMaxConcurrentRequests;
+
     // https://docs.confluent.io/platform/current/installation/configuration/consumer-configs.html#max-poll-interval-ms
     @ConfigProperty(name = KAFKA_INCOMING_HIGH_VOLUME_MAX_POLL_INTERVAL_MS, defaultValue = "300000")
     int incomingKafkaHighVolumeMaxPollIntervalMs;
@@ -98,6 +103,7 @@ public class EmailConnectorConfig extends HttpConnectorConfig {
 
         config.put(BOP_ENV, bopEnv);
         config.put(BOP_URL, bopURL);
+        config.put(BOP_MAX_CONCURRENT_REQUESTS, bopMaxConcurrentRequests);
         config.put(KAFKA_INCOMING_HIGH_VOLUME_MAX_POLL_INTERVAL_MS, incomingKafkaHighVolumeMaxPollIntervalMs);
         config.put(KAFKA_INCOMING_HIGH_VOLUME_MAX_POLL_RECORDS, incomingKafkaHighVolumeMaxPollRecords);
         config.put(KAFKA_INCOMING_HIGH_VOLUME_POLL_ON_ERROR, incomingKafkaHighVolumePollOnError);
@@ -133,6 +139,10 @@ public class EmailConnectorConfig extends HttpConnectorConfig {
         return this.bopURL;
     }
 
+    public int getBopMaxConcurrentRequests() {
+        return bopMaxConcurrentRequests;
+    }
+
     public String getRecipientsResolverServiceURL() {
         return recipientsResolverServiceURL;
     }
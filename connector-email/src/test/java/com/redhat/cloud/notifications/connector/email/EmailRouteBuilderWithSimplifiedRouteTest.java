@@ -42,6 +42,8 @@ import static com.redhat.cloud.notifications.connector.ConnectorToEngineRouteBui
 import static com.redhat.cloud.notifications.connector.EngineToConnectorRouteBuilder.ENGINE_TO_CONNECTOR;
 import static com.redhat.cloud.notifications.connector.IncomingCloudEventFilter.X_RH_NOTIFICATIONS_CONNECTOR_HEADER;
 import static com.redhat.cloud.notifications.connector.IncomingCloudEventProcessor.*;
+import static com.redhat.cloud.notifications.connector.email.CloudEventHistoryBuilder.FAILED_BOP_BATCHES_KEY;
+import static com.redhat.cloud.notifications.connector.email.CloudEventHistoryBuilder.TOTAL_BOP_BATCHES_KEY;
 import static com.redhat.cloud.notifications.connector.email.CloudEventHistoryBuilder.TOTAL_RECIPIENTS_KEY;
 import static email.TestAdvisorTemplate.JSON_ADVISOR_DEFAULT_AGGREGATION_CONTEXT;
 import static email.TestInventoryTemplate.JSON_INVENTORY_DEFAULT_AGGREGATION_CONTEXT;
@@ -287,6 +289,38 @@ class EmailRouteBuilderWithSimplifiedRouteTest extends CamelQuarkusTestSupport {
         for (JsonObject responseDetail : responseDetails) {
             assertEquals(500, responseDetail.getJsonObject("error").getInteger("http_status_code"));
             assertEquals("HTTP_5XX", responseDetail.getJsonObject("error").getString("error_type"));
+            assertEquals(3, responseDetail.getJsonObject("details").getInteger(TOTAL_BOP_BATCHES_KEY));
+            assertEquals(3, responseDetail.getJsonObject("details").getInteger(FAILED_BOP_BATCHES_KEY));
+        }
+    }
+
+    @Test
+    void testPartialFailureBop() throws Exception {
+
+        Set<User> users = TestUtils.createUsers("user-1", "user-2", "user-3", "user-4", "user-5", "user-6", "user-7");
+        String strUsers = objectMapper.writeValueAsString(users);
+        initMocks(200, strUsers, 200, null);
+
+        // The stub BOP server fails the batch that contains user-1 only.
+        MockServerLifecycleManager.getClient().stubFor(
+            post(urlEqualTo("/v1/sendEmails"))
+                .withRequestBody(containing("user-1-email"))
+                .atPriority(1)
+                .willReturn(aResponse()
+                    .withStatus(500)
+                    .withHeader("Content-Type", "application/json"))
+        );
+
+        kafkaConnectorToEngine.expectedMessageCount(1);
+        buildCloudEventAndSendIt(null);
+
+        kafkaConnectorToEngine.assertIsSatisfied();
+
+        List<JsonObject> responseDetails = checkRecipientsAndHistoryFailure(kafkaConnectorToEngine, 7, true);
+        for (JsonObject responseDetail : responseDetails) {
+            assertEquals("HTTP_5XX", responseDetail.getJsonObject("error").getString("error_type"));
+            assertEquals(3, responseDetail.getJsonObject("details").getInteger(TOTAL_BOP_BATCHES_KEY));
+            assertEquals(1, responseDetail.getJsonObject("details").getInteger(FAILED_BOP_BATCHES_KEY));
         }
     }
 
@@ -327,7 +361,9 @@ class EmailRouteBuilderWithSimplifiedRouteTest extends CamelQuarkusTestSupport {
 
     private List<JsonObject> checkRecipientsAndHistoryFailure(MockEndpoint kafkaEndpoint, int expectedRecipientNumber, boolean errorDetailsExpected) {
 
-        int expectedBopRequests = expectedRecipientNumber > 0 ? 1 : 0;
+        // Every batch of recipients is sent to BOP, even if the other batches failed.
+        int recipientsPerBatch = emailConnectorConfig.getMaxRecipientsPerEmail() - 1;
+        int expectedBopRequests = (expectedRecipientNumber + recipientsPerBatch - 1) / recipientsPerBatch;
         verify(bopManager, times(expectedBopRequests))
             .sendToBop(anyList(), anyString(), anyString(), anyString());
 
@@ -0,0 +1,21 @@
+package com.redhat.cloud.notifications.db;
+
+import io.quarkus.flyway.FlywayConfigurationCustomizer;
+import jakarta.inject.Singleton;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+
+import java.util.Map;
+
+@Singleton
+public class FlywayCustomizer implements FlywayConfigurationCustomizer {
+
+    /*
+     * By default, Flyway holds its PostgreSQL advisory lock from a separate connection which stays idle in transaction
+     * during the whole migration. The migrations which build indexes concurrently would wait for that transaction
+     * forever, so the session-level lock is used instead.
+     */
+    @Override
+    public void customize(FluentConfiguration configuration) {
+        configuration.configuration(Map.of("flyway.postgresql.transactional.lock", "false"));
+    }
+}
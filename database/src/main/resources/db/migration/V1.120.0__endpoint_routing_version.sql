@@ -0,0 +1,97 @@
+-- The engine keeps an in-memory index of the endpoints targeted by each (org_id, event_type_id) pair.
+-- This table holds one version number per org which is incremented by the triggers below whenever the
+-- data used to build the index entries of that org changes. The endpoints without an org_id are shared
+-- by all orgs, their changes are recorded with an empty org_id. Each row also records the ID of the last
+-- transaction which changed it, so that the engine can poll only the rows changed since its last check.
+-- Concurrent endpoint changes only wait for each other when they belong to the same org.
+CREATE TABLE endpoint_routing_version (
+    org_id TEXT NOT NULL,
+    version BIGINT NOT NULL,
+    xact_id BIGINT NOT NULL,
+    CONSTRAINT pk_endpoint_routing_version PRIMARY KEY (org_id)
+);
+
+CREATE INDEX ix_endpoint_routing_version_xact_id ON endpoint_routing_version (xact_id);
+
+CREATE FUNCTION increment_endpoint_routing_version(changed_org_id TEXT) RETURNS VOID AS $$
+    INSERT INTO endpoint_routing_version (org_id, version, xact_id)
+    VALUES (COALESCE(changed_org_id, ''), 1, pg_current_xact_id()::TEXT::BIGINT)
+    ON CONFLICT (org_id) DO UPDATE SET version = endpoint_routing_version.version + 1, xact_id = EXCLUDED.xact_id;
+$$ LANGUAGE SQL;
+
+CREATE FUNCTION endpoints_routing_changed() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        PERFORM increment_endpoint_routing_version(OLD.org_id);
+    END IF;
+    IF TG_OP = 'INSERT' OR (TG_OP = 'UPDATE' AND NEW.org_id IS DISTINCT FROM OLD.org_id) THEN
+        PERFORM increment_endpoint_routing_version(NEW.org_id);
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE PLPGSQL;
+
+-- The rows of the tables below reference an endpoint. When the endpoint itself is deleted, the cascaded
+-- deletions no longer find it but the org was already recorded by the endpoints trigger.
+CREATE FUNCTION endpoint_event_type_routing_changed() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM increment_endpoint_routing_version(org_id) FROM endpoints WHERE id = NEW.endpoint_id;
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM increment_endpoint_routing_version(org_id) FROM endpoints WHERE id = OLD.endpoint_id;
+    ELSE
+        PERFORM increment_endpoint_routing_version(org_id) FROM endpoints WHERE id IN (OLD.endpoint_id, NEW.endpoint_id);
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE PLPGSQL;
+
+CREATE FUNCTION endpoint_properties_routing_changed() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM increment_endpoint_routing_version(org_id) FROM endpoints WHERE id = NEW.id;
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM increment_endpoint_routing_version(org_id) FROM endpoints WHERE id = OLD.id;
+    ELSE
+        PERFORM increment_endpoint_routing_version(org_id) FROM endpoints WHERE id IN (OLD.id, NEW.id);
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE PLPGSQL;
+
+CREATE TRIGGER endpoints_routing_version
+    AFTER INSERT OR DELETE ON endpoints
+    FOR EACH ROW EXECUTE PROCEDURE endpoints_routing_changed();
+
+-- The server errors columns are updated very often and are not part of the routing data, so only
+-- the updates of the columns used by the engine while routing an event increment the version.
+CREATE TRIGGER endpoints_update_routing_version
+    AFTER UPDATE ON endpoints
+    FOR EACH ROW
+    WHEN (OLD.enabled IS DISTINCT FROM NEW.enabled
+        OR OLD.status IS DISTINCT FROM NEW.status
+        OR OLD.org_id IS DISTINCT FROM NEW.org_id
+        OR OLD.name IS DISTINCT FROM NEW.name
+        OR OLD.endpoint_type_v2 IS DISTINCT FROM NEW.endpoint_type_v2
+        OR OLD.endpoint_sub_type IS DISTINCT FROM NEW.endpoint_sub_type)
+    EXECUTE PROCEDURE endpoints_routing_changed();
+
+CREATE TRIGGER endpoint_event_type_routing_version
+    AFTER INSERT OR UPDATE OR DELETE ON endpoint_event_type
+    FOR EACH ROW EXECUTE PROCEDURE endpoint_event_type_routing_changed();
+
+CREATE TRIGGER endpoint_webhooks_routing_version
+    AFTER INSERT OR UPDATE OR DELETE ON endpoint_webhooks
+    FOR EACH ROW EXECUTE PROCEDURE endpoint_properties_routing_changed();
+
+CREATE TRIGGER camel_properties_routing_version
+    AFTER INSERT OR UPDATE OR DELETE ON camel_properties
+    FOR EACH ROW EXECUTE PROCEDURE endpoint_properties_routing_changed();
+
+CREATE TRIGGER email_properties_routing_version
+    AFTER INSERT OR UPDATE OR DELETE ON email_properties
+    FOR EACH ROW EXECUTE PROCEDURE endpoint_properties_routing_changed();
+
+CREATE TRIGGER pagerduty_properties_routing_version
+    AFTER INSERT OR UPDATE OR DELETE ON pagerduty_properties
+    FOR EACH ROW EXECUTE PROCEDURE endpoint_properties_routing_changed();
@@ -0,0 +1,24 @@
+-- The event and notification_history tables are partitioned by day so that the expired entries can be removed by
+-- dropping whole partitions instead of running a large DELETE which held locks for a long time, generated WAL spikes and
+-- left the tables bloated. The existing tables are not copied: they are attached as the partitions of the entries
+-- created before a cutover date, two days after this migration, and they are dropped once that date expired.
+-- The migration is split into several steps. The steps which take a lock that blocks the application only change the
+-- definition of the tables, the index builds and the constraint validations are done in separate steps which don't.
+
+-- The notification_history table is partitioned on the creation date of the event of each entry, which is stored in
+-- this new column. The column is also used to reference the partitioned event table from payload_details.
+ALTER TABLE notification_history ADD COLUMN event_created TIMESTAMP;
+ALTER TABLE payload_details ADD COLUMN event_created TIMESTAMP;
+
+-- These constraints let PostgreSQL attach the existing tables as partitions without scanning them. They are validated
+-- in a later step.
+DO $$
+DECLARE
+    cutover TIMESTAMP := (NOW() AT TIME ZONE 'UTC')::DATE + 2;
+BEGIN
+    EXECUTE FORMAT('ALTER TABLE event ADD CONSTRAINT ck_event_created_before_partitioning '
+        'CHECK (created < %L) NOT VALID', cutover);
+    EXECUTE FORMAT('ALTER TABLE notification_history ADD CONSTRAINT ck_notification_history_event_created_before_partitioning '
+        'CHECK (event_created < %L) NOT VALID', cutover);
+END
+$$;
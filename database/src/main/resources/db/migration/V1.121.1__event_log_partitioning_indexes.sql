@@ -0,0 +1,13 @@
+-- The unique indexes required by the primary key of the partitioned event table and by the unique constraint of the
+-- partitioned notification_history table are built on the existing tables before they are attached as partitions.
+-- Flyway runs this script outside of a transaction because the indexes are built concurrently. An index left invalid
+-- by a failed build is dropped first so that the script can be run again.
+DROP INDEX CONCURRENTLY IF EXISTS ix_event_id_created;
+CREATE UNIQUE INDEX CONCURRENTLY ix_event_id_created ON event (id, created);
+
+DROP INDEX CONCURRENTLY IF EXISTS ix_notification_history_id_event_created;
+CREATE UNIQUE INDEX CONCURRENTLY ix_notification_history_id_event_created ON notification_history (id, event_created);
+
+-- Used when the payload details of deleted events are deleted.
+DROP INDEX CONCURRENTLY IF EXISTS ix_payload_details_event_id_event_created;
+CREATE INDEX CONCURRENTLY ix_payload_details_event_id_event_created ON payload_details (event_id, event_created);
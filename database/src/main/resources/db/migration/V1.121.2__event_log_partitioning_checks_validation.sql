@@ -0,0 +1,3 @@
+-- Validating a constraint scans the table without blocking its reads and writes.
+ALTER TABLE event VALIDATE CONSTRAINT ck_event_created_before_partitioning;
+ALTER TABLE notification_history VALIDATE CONSTRAINT ck_notification_history_event_created_before_partitioning;
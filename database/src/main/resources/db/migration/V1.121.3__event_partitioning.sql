@@ -0,0 +1,51 @@
+-- The primary key of a partitioned table has to include the partition key. The foreign keys referencing event(id) from
+-- drawer_notification and payload_details are replaced below with foreign keys referencing event(id, created). The
+-- foreign key from notification_history is kept: it references the former event table, which remains the partition of
+-- the events created before the cutover date.
+ALTER TABLE drawer_notification DROP CONSTRAINT fk_drawer_notification_event_id;
+ALTER TABLE payload_details DROP CONSTRAINT fk_payload_details_event_id;
+
+ALTER TABLE event RENAME TO event_legacy;
+ALTER TABLE event_legacy RENAME CONSTRAINT pk_event TO pk_event_legacy;
+ALTER TABLE event_legacy ADD CONSTRAINT uq_event_legacy_id_created UNIQUE USING INDEX ix_event_id_created;
+ALTER INDEX ix_event_org_id_application_id RENAME TO ix_event_legacy_org_id_application_id;
+ALTER INDEX ix_event_org_id_bundle_id_application_id_event_type_display_nam RENAME TO ix_event_legacy_org_id_bundle_id_application_id_event_type;
+ALTER INDEX ix_event_org_id_created_authorization_criterion RENAME TO ix_event_legacy_org_id_created_authorization_criterion;
+
+CREATE TABLE event (LIKE event_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (created);
+
+-- The constraints and indexes of the partitioned table are matched with the existing ones of the former event table
+-- when it is attached, and they are created on the partitions attached later.
+ALTER TABLE event
+    ADD CONSTRAINT pk_event PRIMARY KEY (id, created),
+    ADD CONSTRAINT fk_event_event_type_id FOREIGN KEY (event_type_id) REFERENCES event_type (id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_event_bundle_id FOREIGN KEY (bundle_id) REFERENCES bundles (id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_event_application_id FOREIGN KEY (application_id) REFERENCES applications (id) ON DELETE CASCADE;
+
+CREATE INDEX ix_event_org_id_application_id
+    ON event (org_id, application_id, created DESC, id);
+
+CREATE INDEX ix_event_org_id_bundle_id_application_id_event_type_display_nam
+    ON event (org_id, bundle_id, application_id, event_type_display_name, created DESC, id);
+
+CREATE INDEX ix_event_org_id_created_authorization_criterion
+    ON event (org_id, created, has_authorization_criterion) INCLUDE (id);
+
+-- The validated CHECK constraint proves that all the rows of the former event table belong to the partition, so the
+-- table is not scanned while it is attached.
+DO $$
+DECLARE
+    cutover TIMESTAMP := (SELECT SUBSTRING(pg_get_constraintdef(oid) FROM '''(.*)''')::TIMESTAMP
+                          FROM pg_constraint WHERE conname = 'ck_event_created_before_partitioning');
+BEGIN
+    EXECUTE FORMAT('ALTER TABLE event ATTACH PARTITION event_legacy FOR VALUES FROM (MINVALUE) TO (%L)', cutover);
+END
+$$;
+
+-- These foreign keys are not validated here because it would require scanning the tables while they are locked. They
+-- are validated in the next step.
+ALTER TABLE drawer_notification ADD CONSTRAINT fk_drawer_notification_event_id
+    FOREIGN KEY (event_id, created) REFERENCES event (id, created) ON DELETE CASCADE NOT VALID;
+
+ALTER TABLE payload_details ADD CONSTRAINT fk_payload_details_event_id
+    FOREIGN KEY (event_id, event_created) REFERENCES event (id, created) ON DELETE CASCADE NOT VALID;
@@ -0,0 +1,16 @@
+-- The drawer notifications are created with the creation date of their event. The rows which don't match it, if any,
+-- are aligned so that the new foreign key can be validated. The payload details stored before the event_created column
+-- was added receive the creation date of their event. These updates only lock the updated rows.
+UPDATE drawer_notification
+SET created = event.created
+FROM event
+WHERE event.id = drawer_notification.event_id AND drawer_notification.created <> event.created;
+
+UPDATE payload_details
+SET event_created = event.created
+FROM event
+WHERE event.id = payload_details.event_id AND payload_details.event_created IS NULL;
+
+-- Validating a foreign key scans the table without blocking its reads and writes.
+ALTER TABLE drawer_notification VALIDATE CONSTRAINT fk_drawer_notification_event_id;
+ALTER TABLE payload_details VALIDATE CONSTRAINT fk_payload_details_event_id;
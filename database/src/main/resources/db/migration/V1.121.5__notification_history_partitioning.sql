@@ -0,0 +1,135 @@
+-- The notification_history table is partitioned on the creation date of the event of each entry, with the same daily
+-- ranges as the event table. Each daily history partition references the event partition of the same day with its own
+-- foreign key. Dropping an event partition then never requires checking the history partitions of the other days, and
+-- a history entry created after midnight for an event from the previous day is stored and dropped with its event.
+-- The former notification_history table becomes the default partition. Its entries have no event_created value and
+-- keep referencing the former event table through their existing foreign key. It also receives the entries created
+-- later for the events created before the cutover date, which its validated CHECK constraint allows.
+ALTER TABLE notification_history RENAME TO notification_history_legacy;
+ALTER TABLE notification_history_legacy RENAME CONSTRAINT notification_history_pkey TO pk_notification_history_legacy;
+ALTER TABLE notification_history_legacy ADD CONSTRAINT uq_notification_history_legacy_id_event_created
+    UNIQUE USING INDEX ix_notification_history_id_event_created;
+ALTER INDEX ix_notification_history_event_id RENAME TO ix_notification_history_legacy_event_id;
+ALTER INDEX ix_notification_history_endpoint_id_created RENAME TO ix_notification_history_legacy_endpoint_id_created;
+
+CREATE TABLE notification_history (LIKE notification_history_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (event_created);
+
+-- The history entries are looked up by ID and by event creation date, which the engine derives from their ID.
+ALTER TABLE notification_history
+    ADD CONSTRAINT uq_notification_history_id_event_created UNIQUE (id, event_created),
+    ADD CONSTRAINT fk_notification_history_endpoint_id FOREIGN KEY (endpoint_id) REFERENCES endpoints (id) ON DELETE SET NULL;
+
+CREATE INDEX ix_notification_history_event_id ON notification_history (event_id);
+
+CREATE INDEX ix_notification_history_endpoint_id_created
+    ON notification_history (endpoint_id, created DESC);
+
+ALTER TABLE notification_history ATTACH PARTITION notification_history_legacy DEFAULT;
+
+-- Returns the upper bound of the given range partition, or NULL if it is a default partition.
+CREATE FUNCTION event_log_partition_end(event_log_partition REGCLASS) RETURNS TIMESTAMP AS $$
+    SELECT (REGEXP_MATCH(pg_get_expr(relpartbound, oid), 'TO \(''(.*)''\)'))[1]::TIMESTAMP
+    FROM pg_class
+    WHERE oid = event_log_partition;
+$$ LANGUAGE SQL STABLE;
+
+-- Creates the event and notification_history partitions of the given day, unless the day is already covered by a
+-- partition. The partitions are created separately and then attached, which only needs a SHARE UPDATE EXCLUSIVE lock
+-- on the partitioned tables. The CHECK constraint of the default history partition proves that it doesn't contain any
+-- entry of the new history partition, so it is not scanned.
+CREATE FUNCTION create_daily_partitions(partition_day DATE) RETURNS VOID AS $$
+DECLARE
+    event_partition TEXT := 'event_p' || TO_CHAR(partition_day, 'YYYYMMDD');
+    history_partition TEXT := 'notification_history_p' || TO_CHAR(partition_day, 'YYYYMMDD');
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_inherits WHERE inhparent = 'event'::REGCLASS AND event_log_partition_end(inhrelid) > partition_day) THEN
+        RETURN;
+    END IF;
+    EXECUTE FORMAT('CREATE TABLE %I (LIKE event INCLUDING DEFAULTS)', event_partition);
+    EXECUTE FORMAT('ALTER TABLE event ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)', event_partition, partition_day, partition_day + 1);
+    EXECUTE FORMAT('CREATE TABLE %I (LIKE notification_history INCLUDING DEFAULTS)', history_partition);
+    EXECUTE FORMAT('ALTER TABLE %I ADD CONSTRAINT fk_notification_history_event_id FOREIGN KEY (event_id, event_created) '
+        'REFERENCES %I (id, created) ON DELETE CASCADE', history_partition, event_partition);
+    EXECUTE FORMAT('ALTER TABLE notification_history ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)', history_partition, partition_day, partition_day + 1);
+END
+$$ LANGUAGE PLPGSQL;
+
+-- This stored procedure creates the partitions of the given number of upcoming days. The engine executes it
+-- periodically, the event log entries could not be stored anymore once the last partition is in the past. It is also
+-- executed from an OpenShift CronJob through the cleanEventLog stored procedure. Attaching a history partition briefly
+-- locks the default history partition exclusively: the procedure gives up after the lock timeout rather than blocking
+-- the writes to that partition, and the next execution tries again. Concurrent executions are serialized by an
+-- advisory lock.
+CREATE PROCEDURE createEventLogPartitions(days_ahead INTEGER DEFAULT 14)
+SET lock_timeout = '10s'
+AS $$
+DECLARE
+    today DATE := (NOW() AT TIME ZONE 'UTC')::DATE;
+BEGIN
+    PERFORM pg_advisory_xact_lock(HASHTEXT('createEventLogPartitions'));
+    FOR day_offset IN 0..days_ahead LOOP
+        PERFORM create_daily_partitions(today + day_offset);
+    END LOOP;
+END;
+$$ LANGUAGE PLPGSQL;
+
+CALL createEventLogPartitions();
+
+-- This stored procedure deletes the event log entries that are no longer needed and creates the partitions of the
+-- upcoming days if the engine didn't. It is executed from an OpenShift CronJob.
+-- An expired event partition is dropped after the history partitions which reference it, then after the drawer
+-- notifications and payload details of its events. These two tables are not partitioned: their rows are still deleted
+-- one by one and vacuumed afterwards, so their retention cost remains proportional to the number of expired rows.
+-- Detaching the event partition still checks the foreign keys of these two tables: the hash and merge joins are
+-- disabled so that these checks and the deletions below look up the rows of the expired events through the event_id
+-- indexes instead of scanning the whole tables.
+CREATE OR REPLACE PROCEDURE cleanEventLog()
+SET enable_hashjoin = off
+SET enable_mergejoin = off
+AS $$
+DECLARE
+    retention_limit TIMESTAMP := NOW() AT TIME ZONE 'UTC' - INTERVAL '15 days';
+    event_partition REGCLASS;
+    history_partition REGCLASS;
+    dropped INTEGER := 0;
+    deleted INTEGER := 0;
+BEGIN
+    RAISE INFO '% Event log purge starting. Entries older than 15 days will be deleted.', NOW();
+    FOR event_partition IN
+        SELECT inhrelid::REGCLASS
+        FROM pg_inherits
+        WHERE inhparent = 'event'::REGCLASS
+        AND event_log_partition_end(inhrelid) <= retention_limit
+        ORDER BY event_log_partition_end(inhrelid)
+    LOOP
+        FOR history_partition IN
+            SELECT pg_constraint.conrelid::REGCLASS
+            FROM pg_constraint
+            JOIN pg_inherits ON pg_inherits.inhrelid = pg_constraint.conrelid
+            WHERE pg_constraint.contype = 'f'
+            AND pg_constraint.confrelid = event_partition
+            AND pg_inherits.inhparent = 'notification_history'::REGCLASS
+        LOOP
+            EXECUTE FORMAT('ALTER TABLE notification_history DETACH PARTITION %s', history_partition);
+            EXECUTE FORMAT('DROP TABLE %s', history_partition);
+        END LOOP;
+        EXECUTE FORMAT('DELETE FROM drawer_notification WHERE event_id IN (SELECT id FROM %s)', event_partition);
+        EXECUTE FORMAT('DELETE FROM payload_details WHERE event_id IN (SELECT id FROM %s)', event_partition);
+        EXECUTE FORMAT('ALTER TABLE event DETACH PARTITION %s', event_partition);
+        EXECUTE FORMAT('DROP TABLE %s', event_partition);
+        dropped := dropped + 1;
+    END LOOP;
+    -- Until the partition of the events created before the cutover date expires, its expired entries are deleted like
+    -- they were before the partitioning. The deletion is cascaded to the other tables by the foreign keys.
+    IF TO_REGCLASS('event_legacy') IS NOT NULL THEN
+        DELETE FROM event_legacy WHERE created < retention_limit;
+        GET DIAGNOSTICS deleted = ROW_COUNT;
+    END IF;
+    RAISE INFO '% Event log purge ended. % partitions were dropped and % entries were deleted.', NOW(), dropped, deleted;
+    BEGIN
+        CALL createEventLogPartitions();
+    EXCEPTION WHEN lock_not_available THEN
+        RAISE WARNING '% The event log partitions could not be created: %', NOW(), SQLERRM;
+    END;
+END;
+$$ LANGUAGE PLPGSQL;
@@ -0,0 +1,45 @@
+-- The daily aggregation job used to look for the pending aggregations with a DISTINCT query over the whole event table
+-- every 15 minutes, even when almost nothing was pending. This table records instead which (org, application) pairs
+-- received events, per 15-minute slot aligned with the job schedule. The job only reads the pairs recorded here and
+-- deletes the slots it covered once the aggregation commands are sent, so its cost depends on the pending work.
+CREATE TABLE pending_daily_aggregation (
+    org_id TEXT NOT NULL,
+    application_id UUID NOT NULL,
+    time_slot TIMESTAMP NOT NULL,
+    bundle_id UUID NOT NULL,
+    CONSTRAINT pk_pending_daily_aggregation PRIMARY KEY (org_id, application_id, time_slot)
+);
+
+-- The job reads the pending slots of the orgs scheduled at the current time only.
+CREATE INDEX ix_aggregation_org_config_scheduled_execution_time ON aggregation_org_config (scheduled_execution_time);
+
+-- Returns the start of the 15-minute slot of the given timestamp.
+CREATE FUNCTION daily_aggregation_time_slot(created TIMESTAMP) RETURNS TIMESTAMP AS $$
+    SELECT DATE_TRUNC('hour', created) + FLOOR(EXTRACT(MINUTE FROM created) / 15) * INTERVAL '15 minutes';
+$$ LANGUAGE SQL IMMUTABLE;
+
+-- The slots are recorded once per INSERT statement, which covers a whole batch of events stored by the engine. An
+-- existing slot is left untouched. Concurrent batches only wait for each other when they record the same slot before
+-- either of them is committed: ON CONFLICT DO NOTHING then waits for the first transaction to end. This only concerns
+-- the batches of the same org and application within the same 15 minutes, and lasts until the first batch commits.
+CREATE FUNCTION mark_pending_daily_aggregations() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO pending_daily_aggregation (org_id, application_id, time_slot, bundle_id)
+    SELECT DISTINCT org_id, application_id, daily_aggregation_time_slot(created), bundle_id
+    FROM new_events
+    ON CONFLICT DO NOTHING;
+    RETURN NULL;
+END
+$$ LANGUAGE PLPGSQL;
+
+CREATE TRIGGER event_mark_pending_daily_aggregations
+    AFTER INSERT ON event
+    REFERENCING NEW TABLE AS new_events
+    FOR EACH STATEMENT EXECUTE PROCEDURE mark_pending_daily_aggregations();
+
+-- The job never aggregates events older than two days.
+INSERT INTO pending_daily_aggregation (org_id, application_id, time_slot, bundle_id)
+SELECT DISTINCT org_id, application_id, daily_aggregation_time_slot(created), bundle_id
+FROM event
+WHERE created > NOW() AT TIME ZONE 'UTC' - INTERVAL '2 days'
+ON CONFLICT DO NOTHING;
@@ -1,27 +1,75 @@
 package com.redhat.cloud.notifications;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import io.quarkus.redis.datasource.RedisDataSource;
+import io.quarkus.redis.datasource.keys.KeyCommands;
+import io.quarkus.redis.datasource.value.SetArgs;
 import io.quarkus.redis.datasource.value.ValueCommands;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.UUID;
 
 /** Stores and retrieves data from remote cache (i.e. Valkey). */
 @ApplicationScoped
 public class ValkeyService {
 
+    public static final String KAFKA_MESSAGE_ID_CHECK_TIMER_NAME = "valkey.kafka-message-id.check";
+    public static final String KAFKA_MESSAGE_ID_COUNTER_NAME = "valkey.kafka-message-id";
+    public static final String RECENT_MESSAGE_IDS_CACHE_NAME = "valkey-recent-message-ids";
+
     private static final String KAFKA_MESSAGE_KEY = "engine:kafka-message:";
     private static final String NOT_USED = "";
+    private static final String TAG_KEY_RESULT = "result";
 
     @ConfigProperty(name = "valkey-service.ttl", defaultValue = "PT24H")
     Duration ttl;
 
+    @ConfigProperty(name = "valkey-service.recent-message-ids.max-size", defaultValue = "100000")
+    long recentMessageIdsMaxSize;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
     private final ValueCommands<String, String> kafkaMessageCommands;
+    private final KeyCommands<String> keyCommands;
+
+    /*
+     * Message IDs recently seen by this pod. After a consumer group rebalance, the redelivered messages are very
+     * likely to be found here, which means they can be rejected without any call to Valkey.
+     */
+    private Cache<UUID, Boolean> recentMessageIds;
+    private Timer checkTimer;
+    private Counter newMessageIdCounter;
+    private Counter duplicateMessageIdCounter;
+    private Counter locallyRejectedMessageIdCounter;
 
     public ValkeyService(RedisDataSource ds) {
         kafkaMessageCommands = ds.value(String.class);
+        keyCommands = ds.key(String.class);
+    }
+
+    @PostConstruct
+    void init() {
+        recentMessageIds = Caffeine.newBuilder()
+                .maximumSize(recentMessageIdsMaxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recentMessageIds, RECENT_MESSAGE_IDS_CACHE_NAME);
+        checkTimer = meterRegistry.timer(KAFKA_MESSAGE_ID_CHECK_TIMER_NAME);
+        newMessageIdCounter = meterRegistry.counter(KAFKA_MESSAGE_ID_COUNTER_NAME, TAG_KEY_RESULT, "new");
+        duplicateMessageIdCounter = meterRegistry.counter(KAFKA_MESSAGE_ID_COUNTER_NAME, TAG_KEY_RESULT, "duplicate");
+        locallyRejectedMessageIdCounter = meterRegistry.counter(KAFKA_MESSAGE_ID_COUNTER_NAME, TAG_KEY_RESULT, "locally-rejected");
     }
 
     /**
@@ -33,12 +81,43 @@ public class ValkeyService {
      * @return true if the message has not been processed yet
      */
     public boolean isNewMessageId(UUID messageId) {
+        if (recentMessageIds.getIfPresent(messageId) != null) {
+            locallyRejectedMessageIdCounter.increment();
+            return false;
+        }
+
         String key = KAFKA_MESSAGE_KEY + messageId;
-        boolean isNew = kafkaMessageCommands.setnx(key, NOT_USED);
+        /*
+         * SET with the NX and EX options creates the key and its expiry in a single atomic command, so a key can
+         * never be left in Valkey without a TTL. The GET option makes the command return the previous value, which
+         * is null only if the key did not exist before.
+         */
+        String previousValue = checkTimer.record(() -> kafkaMessageCommands.setGet(key, NOT_USED, new SetArgs().nx().ex(ttl)));
+        boolean isNew = previousValue == null;
         if (isNew) {
-            kafkaMessageCommands.setex(key, ttl.toSeconds(), NOT_USED);
+            newMessageIdCounter.increment();
+        } else {
+            duplicateMessageIdCounter.increment();
         }
 
+        recentMessageIds.put(messageId, Boolean.TRUE);
         return isNew;
     }
+
+    /**
+     * Removes message IDs previously recorded by {@link #isNewMessageId(UUID)}, both locally and from Valkey. This is
+     * used when the processing of the messages was rolled back, so that their redelivery is not rejected.
+     *
+     * @param messageIds IDs of the messages to forget
+     */
+    public void forgetMessageIds(Collection<UUID> messageIds) {
+        if (messageIds.isEmpty()) {
+            return;
+        }
+        recentMessageIds.invalidateAll(messageIds);
+        String[] keys = messageIds.stream()
+                .map(messageId -> KAFKA_MESSAGE_KEY + messageId)
+                .toArray(String[]::new);
+        keyCommands.del(keys);
+    }
 }
@@ -29,12 +29,14 @@ public class EngineConfig {
     private static final String EVENT_CONSUMER_MAX_THREAD_POOL_SIZE = "notifications.event-consumer.max-thread-pool-size";
     private static final String EVENT_CONSUMER_KEEP_ALIVE_TIME_SECONDS = "notifications.event-consumer.keep-alive-time-seconds";
     private static final String EVENT_CONSUMER_QUEUE_CAPACITY = "notifications.event-consumer.queue-capacity";
+    private static final String EVENT_CONSUMER_DRAIN_TIMEOUT = "notifications.event-consumer.drain-timeout";
     private static final String SECURED_EMAIL_TEMPLATES = "notifications.use-secured-email-templates.enabled";
     private static final String NOTIFICATIONS_KAFKA_OUTGOING_HIGH_VOLUME_TOPIC_ENABLED = "notifications.kafka.outgoing.high-volume.topic.enabled";
     private static final String KAFKA_TOCAMEL_MAXIMUM_REQUEST_SIZE = "mp.messaging.outgoing.tocamel.max.request.size";
     private static final String UNLEASH = "notifications.unleash.enabled";
     private static final String PROCESSOR_CONNECTORS_MAX_SERVER_ERRORS = "processor.connectors.max-server-errors";
     private static final String PROCESSOR_CONNECTORS_MIN_DELAY_SINCE_FIRST_SERVER_ERROR = "processor.connectors.min-delay-since-first-server-error";
+    private static final String ENDPOINT_ROUTING_INDEX = "notifications.endpoint-routing-index.enabled";
 
     /**
      * Standard "Red Hat Hybrid Cloud Console" sender that the vast majority of the
@@ -113,6 +115,9 @@ public class EngineConfig {
     @ConfigProperty(name = EVENT_CONSUMER_QUEUE_CAPACITY, defaultValue = "1")
     int eventConsumerQueueCapacity;
 
+    @ConfigProperty(name = EVENT_CONSUMER_DRAIN_TIMEOUT, defaultValue = "20S")
+    Duration eventConsumerDrainTimeout;
+
     // Only used in special environments.
     @ConfigProperty(name = SECURED_EMAIL_TEMPLATES, defaultValue = "false")
     boolean useSecuredEmailTemplates;
@@ -123,6 +128,9 @@ public class EngineConfig {
     @ConfigProperty(name = PROCESSOR_CONNECTORS_MIN_DELAY_SINCE_FIRST_SERVER_ERROR, defaultValue = "2D")
     Duration minDelaySinceFirstServerErrorBeforeDisabling;
 
+    @ConfigProperty(name = ENDPOINT_ROUTING_INDEX, defaultValue = "true")
+    boolean endpointRoutingIndexEnabled;
+
     @ConfigProperty(name = KAFKA_TOCAMEL_MAXIMUM_REQUEST_SIZE, defaultValue = "10485760")
     int kafkaToCamelMaximumRequestSize;
 
@@ -171,10 +179,12 @@ public class EngineConfig {
         config.put(DEFAULT_TEMPLATE, isDefaultTemplateEnabled());
         config.put(drawerToggle, isDrawerEnabled());
         config.put(EMAILS_ONLY_MODE, isEmailsOnlyModeEnabled());
+        config.put(ENDPOINT_ROUTING_INDEX, isEndpointRoutingIndexEnabled());
         config.put(EVENT_CONSUMER_CORE_THREAD_POOL_SIZE, eventConsumerCoreThreadPoolSize);
         config.put(EVENT_CONSUMER_MAX_THREAD_POOL_SIZE, eventConsumerMaxThreadPoolSize);
         config.put(EVENT_CONSUMER_KEEP_ALIVE_TIME_SECONDS, eventConsumerKeepAliveTimeSeconds);
         config.put(EVENT_CONSUMER_QUEUE_CAPACITY, eventConsumerQueueCapacity);
+        config.put(EVENT_CONSUMER_DRAIN_TIMEOUT, eventConsumerDrainTimeout);
         config.put(kafkaConsumedTotalCheckerToggle, isKafkaConsumedTotalCheckerEnabled());
         config.put(KAFKA_TOCAMEL_MAXIMUM_REQUEST_SIZE, getKafkaToCamelMaximumRequestSize());
         config.put(SECURED_EMAIL_TEMPLATES, isSecuredEmailTemplatesEnabled());
@@ -226,6 +236,10 @@ public class EngineConfig {
         return emailsOnlyModeEnabled;
     }
 
+    public boolean isEndpointRoutingIndexEnabled() {
+        return endpointRoutingIndexEnabled;
+    }
+
     public int getEventConsumerCoreThreadPoolSize() {
         return eventConsumerCoreThreadPoolSize;
     }
@@ -242,6 +256,10 @@ public class EngineConfig {
         return eventConsumerQueueCapacity;
     }
 
+    public Duration getEventConsumerDrainTimeout() {
+        return eventConsumerDrainTimeout;
+    }
+
     public boolean isKafkaConsumedTotalCheckerEnabled() {
         if (unleashEnabled) {
             return unleash.isEnabled(kafkaConsumedTotalCheckerToggle, false);
@@ -0,0 +1,81 @@
+package com.redhat.cloud.notifications.db;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.logging.Log;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.quarkus.scheduler.Scheduled.ConcurrentExecution.SKIP;
+
+/**
+ * Creates the daily partitions of the event and notification_history tables ahead of time. The events can't be stored
+ * once the last partition is in the past, so the partitions are created by the engine which stores them, when it
+ * starts and then periodically, rather than by the DB cleaner CronJob only, which can be suspended. The number of days
+ * covered by the existing partitions is exposed as a gauge and a warning is logged when it gets too low.
+ */
+@ApplicationScoped
+public class EventLogPartitionsCreator {
+
+    public static final String DAYS_AHEAD_GAUGE_NAME = "notifications.event.log.partitions.days.ahead";
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "notifications.event-log-partitions.days-ahead", defaultValue = "14")
+    int daysAhead;
+
+    @ConfigProperty(name = "notifications.event-log-partitions.warning-days-ahead", defaultValue = "7")
+    int warningDaysAhead;
+
+    private final AtomicLong coveredDaysAhead = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        meterRegistry.gauge(DAYS_AHEAD_GAUGE_NAME, coveredDaysAhead);
+    }
+
+    @Scheduled(every = "${notifications.event-log-partitions.period:1h}", concurrentExecution = SKIP)
+    void createPartitions() {
+        try {
+            callCreateEventLogPartitions();
+        } catch (Exception e) {
+            Log.error("Event log partitions creation failed", e);
+        }
+        coveredDaysAhead.set(getCoveredDaysAhead());
+        if (coveredDaysAhead.get() < warningDaysAhead) {
+            Log.warnf("The event log partitions only cover the next %d days, the events can't be stored beyond that", coveredDaysAhead.get());
+        }
+    }
+
+    @Transactional
+    void callCreateEventLogPartitions() {
+        entityManager.createNativeQuery("CALL createEventLogPartitions(:daysAhead)")
+                .setParameter("daysAhead", daysAhead)
+                .executeUpdate();
+    }
+
+    int getDaysAhead() {
+        return daysAhead;
+    }
+
+    /*
+     * Returns the number of days after the current one which are covered by the event partitions. The upper bound of
+     * the last partition is the day after the last covered one.
+     */
+    long getCoveredDaysAhead() {
+        return ((Number) entityManager.createNativeQuery(
+                "SELECT MAX(event_log_partition_end(inhrelid))::DATE - (NOW() AT TIME ZONE 'UTC')::DATE - 1 " +
+                "FROM pg_inherits WHERE inhparent = 'event'::REGCLASS")
+                .getSingleResult()).longValue();
+    }
+}
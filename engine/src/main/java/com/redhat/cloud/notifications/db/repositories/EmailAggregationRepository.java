@@ -5,6 +5,7 @@ import com.redhat.cloud.notifications.models.EventAggregationCriterion;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -15,15 +16,47 @@ public class EmailAggregationRepository {
     @Inject
     EntityManager entityManager;
 
-    public List<Event> getEmailAggregationBasedOnEvent(EventAggregationCriterion key, LocalDateTime start, LocalDateTime end, int firstResultIndex, int maxResults) {
-        String query = "FROM Event JOIN FETCH eventType WHERE orgId = :orgId AND applicationId = :applicationId AND created > :start AND created <= :end ORDER BY created";
-        return entityManager.createQuery(query, Event.class)
+    /**
+     * Retrieves a page of events matching the given aggregation key, ordered by creation date and ID. The pages are
+     * delimited with keyset pagination: the next page starts right after the last event of the previous page, which
+     * keeps the cost of each page constant regardless of how many events were already read.
+     * @param key the aggregation key
+     * @param start the events created at this date or before are excluded
+     * @param end the events created after this date are excluded
+     * @param lastEvent the last event of the previous page, or {@code null} to retrieve the first page
+     * @param maxResults the maximum size of the page
+     * @return a page of events
+     */
+    public List<Event> getEmailAggregationBasedOnEvent(EventAggregationCriterion key, LocalDateTime start, LocalDateTime end, Event lastEvent, int maxResults) {
+        String query = "FROM Event JOIN FETCH eventType WHERE orgId = :orgId AND applicationId = :applicationId AND created > :start AND created <= :end";
+        if (lastEvent != null) {
+            query += " AND (created, id) > (:lastCreated, :lastId)";
+        }
+        query += " ORDER BY created, id";
+
+        TypedQuery<Event> typedQuery = entityManager.createQuery(query, Event.class)
             .setParameter("orgId", key.getOrgId())
             .setParameter("applicationId", key.getApplicationId())
             .setParameter("start", start)
             .setParameter("end", end)
-            .setFirstResult(firstResultIndex)
-            .setMaxResults(maxResults)
-            .getResultList();
+            .setMaxResults(maxResults);
+        if (lastEvent != null) {
+            typedQuery.setParameter("lastCreated", lastEvent.getCreated())
+                .setParameter("lastId", lastEvent.getId());
+        }
+        return typedQuery.getResultList();
+    }
+
+    /**
+     * Detaches the given events from the persistence context once they have been aggregated, so that the memory
+     * used by an aggregation does not grow with the number of events read from the database.
+     * @param events the events to detach
+     */
+    public void detach(List<Event> events) {
+        for (Event event : events) {
+            if (entityManager.contains(event)) {
+                entityManager.detach(event);
+            }
+        }
     }
 }
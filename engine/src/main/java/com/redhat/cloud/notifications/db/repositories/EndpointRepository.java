@@ -10,6 +10,7 @@ import com.redhat.cloud.notifications.models.EventType;
 import com.redhat.cloud.notifications.models.PagerDutyProperties;
 import com.redhat.cloud.notifications.models.SystemSubscriptionProperties;
 import com.redhat.cloud.notifications.models.WebhookProperties;
+import io.quarkus.cache.CacheKey;
 import io.quarkus.cache.CacheResult;
 import io.quarkus.logging.Log;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -18,16 +19,13 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.transaction.Transactional;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -39,7 +37,7 @@ import static com.redhat.cloud.notifications.models.EndpointType.DRAWER;
 import static com.redhat.cloud.notifications.models.EndpointType.EMAIL_SUBSCRIPTION;
 import static com.redhat.cloud.notifications.models.EndpointType.PAGERDUTY;
 import static com.redhat.cloud.notifications.models.EndpointType.WEBHOOK;
-import static jakarta.persistence.LockModeType.PESSIMISTIC_WRITE;
+import static jakarta.transaction.Transactional.TxType.REQUIRES_NEW;
 
 @ApplicationScoped
 public class EndpointRepository {
@@ -58,9 +56,22 @@ public class EndpointRepository {
      * event log. The recipients of the current email or drawer action have already been resolved before this step, possibly from
      * multiple endpoints and recipients settings. The properties created below have no impact on the resolution of the
      * action recipients.
+     * <p>
+     * The system endpoints are never updated, so they are cached for each org ID and endpoint type. Concurrent calls
+     * for the same key wait for the first one and share its result, which prevents the creation of duplicate
+     * endpoints from a single pod. A cache hit doesn't start any transaction.
      */
-    @Transactional
-    public Endpoint getOrCreateDefaultSystemSubscription(String accountId, String orgId, EndpointType endpointType) {
+    @CacheResult(cacheName = "default-system-subscriptions")
+    public Endpoint getOrCreateDefaultSystemSubscription(String accountId, @CacheKey String orgId, @CacheKey EndpointType endpointType) {
+        return findOrCreateDefaultSystemSubscription(accountId, orgId, endpointType);
+    }
+
+    /*
+     * The endpoint is created in a new transaction which is committed before the endpoint is cached. Otherwise, a
+     * rollback of the caller transaction could leave an endpoint which doesn't exist in the DB in the cache.
+     */
+    @Transactional(REQUIRES_NEW)
+    Endpoint findOrCreateDefaultSystemSubscription(String accountId, String orgId, EndpointType endpointType) {
         String query = "FROM Endpoint WHERE orgId = :orgId AND compositeType.type = :endpointType";
         List<Endpoint> systemEndpoints = entityManager.createQuery(query, Endpoint.class)
             .setParameter("orgId", orgId)
@@ -125,6 +136,40 @@ public class EndpointRepository {
         return endpoints;
     }
 
+    /**
+     * Returns the lowest ID of the transactions which are still running in the DB. Any
+     * transaction which is not committed yet has an ID greater than or equal to the
+     * returned value, so it can be used as the lower bound of the next
+     * {@link #getRoutingVersionsChangedSince(long)} call.
+     * @return the lowest ID of the running transactions.
+     */
+    public long getRoutingChangesHorizon() {
+        String sql = "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS TEXT) AS BIGINT)";
+        return (Long) entityManager.createNativeQuery(sql, Long.class)
+            .getSingleResult();
+    }
+
+    /**
+     * Returns the routing versions of the orgs whose endpoints, endpoint
+     * properties or event types links were changed by a transaction with an
+     * ID greater than or equal to the given one. These versions are
+     * incremented by DB triggers. The changes of the endpoints which are
+     * shared by all orgs are returned with an empty org ID.
+     * @param horizon the lowest transaction ID to consider.
+     * @return the routing versions indexed by org ID.
+     */
+    public Map<String, Long> getRoutingVersionsChangedSince(long horizon) {
+        String sql = "SELECT org_id, version FROM endpoint_routing_version WHERE xact_id >= :horizon";
+        List<Object[]> rows = entityManager.createNativeQuery(sql, Object[].class)
+            .setParameter("horizon", horizon)
+            .getResultList();
+        Map<String, Long> versions = new HashMap<>();
+        for (Object[] row : rows) {
+            versions.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return versions;
+    }
+
     @CacheResult(cacheName = "aggregation-target-email-subscription-endpoints")
     public List<Endpoint> getTargetEmailSubscriptionEndpoints(String orgId, UUID eventTypeId) {
         String query = "SELECT DISTINCT e FROM Endpoint e JOIN e.behaviorGroupActions bga JOIN bga.behaviorGroup.behaviors b " +
@@ -153,74 +198,47 @@ public class EndpointRepository {
         /*
          * This method must be an atomic operation from a DB perspective. Otherwise, we could send multiple email
          * notifications about the same disabled endpoint in case of failures happening on concurrent threads or pods.
-         */
-        Optional<Endpoint> endpointOptional = this.lockEndpoint(endpointId);
-        if (endpointOptional.isEmpty()) {
-            return false;
-        }
-
-        // Disabled endpoints should not see their "server errors" increased.
-        final Endpoint endpoint = endpointOptional.get();
-        if (!endpoint.isEnabled()) {
-            return false;
-        }
-
-        // Email and Drawer endpoints should not be disabled since they are considered
-        // internal.
-        if (INTERNAL_ENDPOINT_TYPES.contains(endpoint.getType())) {
-            return false;
-        }
-
-        /*
+         * Each statement below checks its conditions against the current row version, so the endpoint doesn't need to
+         * be locked beforehand: only one of the concurrent transactions can switch the "enabled" column to false.
          * The endpoint should always be present unless it's been deleted recently from another thread or pod.
          * It may or may not have been disabled already from the frontend or because of a 4xx error.
+         * Email and Drawer endpoints should not be disabled since they are considered internal.
          */
         final LocalDateTime currentTime = LocalDateTime.now(ZoneId.of("UTC"));
 
-        if (endpoint.getServerErrors() + currentServerErrors > this.engineConfig.getMaxServerErrors()) {
-            if (endpoint.getServerErrorsSince() != null) {
-                final Duration spentDuration = Duration.between(endpoint.getServerErrorsSince(), currentTime);
-                if (spentDuration.compareTo(this.engineConfig.getMinDelaySinceFirstServerErrorBeforeDisabling()) > 0) {
-                    /*
-                     * The endpoint exceeded the max server errors allowed from configuration
-                     * and a reasonable duration was respected to give a chance to customers to fix the issue,
-                     * it is therefore disabled.
-                     */
-                    final String hql = "UPDATE Endpoint SET enabled = FALSE WHERE id = :id AND enabled IS TRUE";
-                    final int updated = entityManager.createQuery(hql)
-                        .setParameter("id", endpointId)
-                        .executeUpdate();
-                    return updated > 0;
-                }
-            }
+        /*
+         * If the endpoint exceeded the max server errors allowed from configuration
+         * and a reasonable duration was respected to give a chance to customers to fix the issue,
+         * it is disabled.
+         */
+        final String disableHql = "UPDATE Endpoint SET enabled = FALSE " +
+            "WHERE id = :id AND enabled IS TRUE AND compositeType.type NOT IN (:internalTypes) " +
+            "AND serverErrors + :currentServerErrors > :maxServerErrors AND serverErrorsSince < :disablingThreshold";
+        final int disabled = entityManager.createQuery(disableHql)
+            .setParameter("id", endpointId)
+            .setParameter("internalTypes", INTERNAL_ENDPOINT_TYPES)
+            .setParameter("currentServerErrors", currentServerErrors)
+            .setParameter("maxServerErrors", this.engineConfig.getMaxServerErrors())
+            .setParameter("disablingThreshold", currentTime.minus(this.engineConfig.getMinDelaySinceFirstServerErrorBeforeDisabling()))
+            .executeUpdate();
+        if (disabled > 0) {
+            return true;
         }
 
         /*
-         * The endpoint did NOT exceed the max server errors allowed from configuration.
-         * The errors counter is therefore incremented.
+         * Otherwise, the errors counter of the enabled endpoint is incremented. The date of the first server error is
+         * set when the counter starts, or when it is missing because the endpoint already had some errors before the
+         * initial error date mechanism was introduced.
          */
-        if (endpoint.getServerErrors() == 0) {
-            final String hql = "UPDATE Endpoint SET serverErrors = serverErrors + :currentServerErrors, serverErrorsSince = :currentDate WHERE id = :id";
-            entityManager.createQuery(hql)
-                .setParameter("currentServerErrors", currentServerErrors)
-                .setParameter("currentDate", currentTime)
-                .setParameter("id", endpointId)
-                .executeUpdate();
-        } else if (endpoint.getServerErrorsSince() == null) {
-            // this case it to cover migration phase, when an endpoint already had some errors before introducing initial error date mechanism
-            final String hql = "UPDATE Endpoint SET serverErrors = serverErrors + :currentServerErrors, serverErrorsSince = :currentDate WHERE id = :id";
-            entityManager.createQuery(hql)
-                .setParameter("currentServerErrors", currentServerErrors)
-                .setParameter("currentDate", currentTime)
-                .setParameter("id", endpointId)
-                .executeUpdate();
-        } else {
-            final String hql = "UPDATE Endpoint SET serverErrors = serverErrors + :currentServerErrors WHERE id = :id";
-            entityManager.createQuery(hql)
-                .setParameter("currentServerErrors", currentServerErrors)
-                .setParameter("id", endpointId)
-                .executeUpdate();
-        }
+        final String incrementHql = "UPDATE Endpoint SET serverErrors = serverErrors + :currentServerErrors, " +
+            "serverErrorsSince = CASE WHEN serverErrors = 0 OR serverErrorsSince IS NULL THEN :currentDate ELSE serverErrorsSince END " +
+            "WHERE id = :id AND enabled IS TRUE AND compositeType.type NOT IN (:internalTypes)";
+        entityManager.createQuery(incrementHql)
+            .setParameter("currentServerErrors", currentServerErrors)
+            .setParameter("currentDate", currentTime)
+            .setParameter("id", endpointId)
+            .setParameter("internalTypes", INTERNAL_ENDPOINT_TYPES)
+            .executeUpdate();
 
         return false;
     }
@@ -264,23 +282,6 @@ public class EndpointRepository {
         return endpoint;
     }
 
-    private Optional<Endpoint> lockEndpoint(UUID endpointId) {
-        String hql = "FROM Endpoint WHERE id = :id";
-        try {
-            Endpoint endpoint = entityManager.createQuery(hql, Endpoint.class)
-                    .setParameter("id", endpointId)
-                    /*
-                     * The endpoint will be locked by a "SELECT FOR UPDATE", preventing other threads or pods
-                     * from updating it until the current transaction is complete.
-                     */
-                    .setLockMode(PESSIMISTIC_WRITE)
-                    .getSingleResult();
-            return Optional.of(endpoint);
-        } catch (NoResultException e) {
-            return Optional.empty();
-        }
-    }
-
     /**
      * Resets the server errors DB counter of the endpoint identified by the given ID.
      * @param endpointId the endpoint ID
@@ -345,37 +346,43 @@ public class EndpointRepository {
         return result;
     }
 
+    /*
+     * The properties of all endpoint types are loaded with a single query. Each properties entity is joined on the
+     * endpoint ID, so a result row contains the properties of the endpoint type and null for the other types.
+     */
     private void loadProperties(List<Endpoint> endpoints) {
         if (!endpoints.isEmpty()) {
-            // Group endpoints in types and load in batches for each type.
-            Set<Endpoint> endpointSet = new HashSet<>(endpoints);
-
-            loadTypedProperties(WebhookProperties.class, endpointSet, ANSIBLE);
-            loadTypedProperties(WebhookProperties.class, endpointSet, WEBHOOK);
-            loadTypedProperties(CamelProperties.class, endpointSet, CAMEL);
-            loadTypedProperties(SystemSubscriptionProperties.class, endpointSet, EMAIL_SUBSCRIPTION);
-            loadTypedProperties(SystemSubscriptionProperties.class, endpointSet, DRAWER);
-            loadTypedProperties(PagerDutyProperties.class, endpointSet, PAGERDUTY);
-        }
-    }
-
-    private <T extends EndpointProperties> void loadTypedProperties(Class<T> typedEndpointClass, Set<Endpoint> endpoints, EndpointType type) {
-        Map<UUID, Endpoint> endpointsMap = endpoints
-                .stream()
-                .filter(e -> e.getType().equals(type))
-                .collect(Collectors.toMap(Endpoint::getId, Function.identity()));
-
-        if (endpointsMap.size() > 0) {
-            String hql = "FROM " + typedEndpointClass.getSimpleName() + " WHERE id IN (:endpointIds)";
-            List<T> propList = entityManager.createQuery(hql, typedEndpointClass)
+            Map<UUID, Endpoint> endpointsMap = endpoints
+                    .stream()
+                    .collect(Collectors.toMap(Endpoint::getId, Function.identity(), (endpoint, duplicate) -> endpoint));
+
+            String hql = "SELECT e.id, w, c, s, p FROM Endpoint e " +
+                    "LEFT JOIN WebhookProperties w ON w.id = e.id " +
+                    "LEFT JOIN CamelProperties c ON c.id = e.id " +
+                    "LEFT JOIN SystemSubscriptionProperties s ON s.id = e.id " +
+                    "LEFT JOIN PagerDutyProperties p ON p.id = e.id " +
+                    "WHERE e.id IN (:endpointIds)";
+            List<Object[]> rows = entityManager.createQuery(hql, Object[].class)
                     .setParameter("endpointIds", endpointsMap.keySet())
                     .getResultList();
-            for (T props : propList) {
-                if (props != null) {
-                    Endpoint endpoint = endpointsMap.get(props.getId());
-                    endpoint.setProperties(props);
+            for (Object[] row : rows) {
+                Endpoint endpoint = endpointsMap.get((UUID) row[0]);
+                for (int i = 1; i < row.length; i++) {
+                    if (row[i] != null && isPropertiesOfType((EndpointProperties) row[i], endpoint.getType())) {
+                        endpoint.setProperties((EndpointProperties) row[i]);
+                    }
                 }
             }
         }
     }
+
+    private static boolean isPropertiesOfType(EndpointProperties properties, EndpointType type) {
+        return switch (type) {
+            case ANSIBLE, WEBHOOK -> properties instanceof WebhookProperties;
+            case CAMEL -> properties instanceof CamelProperties;
+            case EMAIL_SUBSCRIPTION, DRAWER -> properties instanceof SystemSubscriptionProperties;
+            case PAGERDUTY -> properties instanceof PagerDutyProperties;
+            default -> false;
+        };
+    }
 }
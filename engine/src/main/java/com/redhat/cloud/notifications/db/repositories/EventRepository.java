@@ -6,6 +6,7 @@ import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
 
 import java.sql.Timestamp;
 import java.time.LocalDate;
@@ -13,11 +14,17 @@ import java.time.LocalTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class EventRepository {
 
+    /**
+     * The number of rows fetched at once from the database cursor when
+     * exporting events.
+     */
+    static final int EXPORT_FETCH_SIZE = 1000;
+
     @Inject
     EntityManager entityManager;
 
@@ -28,15 +35,33 @@ public class EventRepository {
     }
 
     /**
-     * Finds the events related to the provided org id in order to export them.
-     * It is the caller's responsibility to provide valid "from" and "to"
+     * Persists all the given events in the current transaction. The inserts
+     * are sent to the DB as a single JDBC batch, which the PostgreSQL driver
+     * rewrites into multi-row statements.
+     * @param events the events to persist.
+     */
+    @Transactional
+    public void createAll(List<Event> events) {
+        for (Event event : events) {
+            entityManager.persist(event);
+        }
+        entityManager.flush();
+    }
+
+    /**
+     * Streams the events related to the provided org id in order to export
+     * them. The rows are fetched from a database cursor in batches of
+     * {@link #EXPORT_FETCH_SIZE} when the stream is consumed within a
+     * transaction, which keeps the memory usage independent of the number of
+     * exported events. The returned stream must be closed by the caller. It
+     * is the caller's responsibility to provide valid "from" and "to"
      * filters.
      * @param orgId the org id the events are related to.
      * @param from the initial date to filter the dates from.
      * @param to the final date to filter the dates from.
-     * @return a list of events that comply with the provided filters.
+     * @return a stream of events that comply with the provided filters.
      */
-    public List<Event> findEventsToExport(final String orgId, final LocalDate from, final LocalDate to) {
+    public Stream<Event> streamEventsToExport(final String orgId, final LocalDate from, final LocalDate to) {
         final StringBuilder findEventsQuery = new StringBuilder();
         findEventsQuery.append(
             "SELECT NEW com.redhat.cloud.notifications.models.Event( " +
@@ -85,24 +110,29 @@ public class EventRepository {
             findEventsRanged.setParameter(entry.getKey(), entry.getValue());
         }
 
-        return findEventsRanged.getResultList();
+        return findEventsRanged
+            .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream();
     }
 
     @Transactional
     public void updateDrawerNotification(Event event) {
-        String hql = "UPDATE Event SET renderedDrawerNotification = :renderedDrawerNotification WHERE id = :id";
+        String hql = "UPDATE Event SET renderedDrawerNotification = :renderedDrawerNotification WHERE id = :id AND created = :created";
         entityManager.createQuery(hql)
                 .setParameter("renderedDrawerNotification", event.getRenderedDrawerNotification())
                 .setParameter("id", event.getId())
+                .setParameter("created", Timestamp.valueOf(event.getCreated()))
                 .executeUpdate();
     }
 
     @Transactional
-    public void updateEventDisplayName(UUID eventId, String eventTypeDisplayName) {
-        String hql = "UPDATE Event SET eventTypeDisplayName = :eventDisplayName WHERE id = :id";
+    public void updateEventDisplayName(Event event, String eventTypeDisplayName) {
+        String hql = "UPDATE Event SET eventTypeDisplayName = :eventDisplayName WHERE id = :id AND created = :created";
         entityManager.createQuery(hql)
             .setParameter("eventDisplayName", eventTypeDisplayName)
-            .setParameter("id", eventId)
+            .setParameter("id", event.getId())
+            .setParameter("created", Timestamp.valueOf(event.getCreated()))
             .executeUpdate();
     }
 }
@@ -9,10 +9,25 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
 import jakarta.transaction.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
+import static com.redhat.cloud.notifications.models.NotificationHistory.getEventCreated;
+import static java.time.temporal.ChronoUnit.MILLIS;
+import static java.util.stream.Collectors.partitioningBy;
+
 @ApplicationScoped
 public class NotificationHistoryRepository {
 
@@ -21,73 +36,197 @@ public class NotificationHistoryRepository {
 
     @Transactional
     public void createNotificationHistory(NotificationHistory history) {
+        createNotificationHistories(List.of(history));
+    }
+
+    /**
+     * Creates the given history items using a single multi-row statement.
+     *
+     * @param histories the history items to create
+     */
+    @Transactional
+    public void createNotificationHistories(List<NotificationHistory> histories) {
+        if (histories.isEmpty()) {
+            return;
+        }
+
         /*
          * The following query contains a subquery that retrieves the ID of the endpoint if it still exists. There's no
          * guarantee the endpoint will still exist in the DB at the time when the history is written. If it's gone, then
          * the subquery will return null.
          */
-        String hql = "INSERT INTO notification_history (id, invocation_time, invocation_result, status, details, event_id, endpoint_type_v2, endpoint_sub_type, created, endpoint_id) " +
-                "VALUES (:id, :invocationTime, :invocationResult, :status, :details, :eventId, :endpointType, :endpointSubType, :created, " +
-                "(SELECT id FROM endpoints WHERE id = :endpointId))";
-        history.prePersist();
-        entityManager.createNativeQuery(hql)
-                .setParameter("id", history.getId())
-                .setParameter("invocationTime", history.getInvocationTime())
-                .setParameter("invocationResult", history.isInvocationResult())
-                .setParameter("status", history.getStatus().toString())
-                .setParameter("details", new NotificationHistoryDetailsConverter().convertToDatabaseColumn(history.getDetails()))
-                .setParameter("eventId", history.getEvent().getId())
-                .setParameter("endpointType", history.getEndpointType().name())
-                .setParameter("endpointSubType", history.getEndpointSubType())
-                .setParameter("created", history.getCreated())
-                .setParameter("endpointId", history.getEndpoint().getId())
-                .executeUpdate();
+        StringBuilder sql = new StringBuilder("INSERT INTO notification_history (id, invocation_time, invocation_result, status, details, event_id, endpoint_type_v2, endpoint_sub_type, created, endpoint_id, event_created) VALUES ");
+        for (int i = 0; i < histories.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:id").append(i).append(", :invocationTime").append(i).append(", :invocationResult").append(i)
+                .append(", :status").append(i).append(", :details").append(i).append(", :eventId").append(i)
+                .append(", :endpointType").append(i).append(", :endpointSubType").append(i).append(", :created").append(i)
+                .append(", (SELECT id FROM endpoints WHERE id = :endpointId").append(i).append("), :eventCreated").append(i).append(")");
+        }
+
+        NotificationHistoryDetailsConverter detailsConverter = new NotificationHistoryDetailsConverter();
+        Query query = entityManager.createNativeQuery(sql.toString());
+        for (int i = 0; i < histories.size(); i++) {
+            NotificationHistory history = histories.get(i);
+            history.prePersist();
+            query.setParameter("id" + i, history.getId())
+                .setParameter("invocationTime" + i, history.getInvocationTime())
+                .setParameter("invocationResult" + i, history.isInvocationResult())
+                .setParameter("status" + i, history.getStatus().toString())
+                .setParameter("details" + i, detailsConverter.convertToDatabaseColumn(history.getDetails()))
+                .setParameter("eventId" + i, history.getEvent().getId())
+                .setParameter("endpointType" + i, history.getEndpointType().name())
+                .setParameter("endpointSubType" + i, history.getEndpointSubType())
+                .setParameter("created" + i, history.getCreated())
+                .setParameter("endpointId" + i, history.getEndpoint().getId())
+                .setParameter("eventCreated" + i, history.getEventCreated());
+        }
+        query.executeUpdate();
     }
 
     /**
-     * Update a stub history item with data we have received from the Camel sender
+     * Updates stub history items with data we have received from the Camel sender, using a single statement for all
+     * the given items which carry the creation date of their event in their ID, and another one for the other items.
      *
+     * @param notificationHistories the history items to update, identified by their ID
+     * @return the IDs of the history items that were found and updated
      * @see ConnectorReceiver
+     * @see NotificationHistory#generateId(Event)
      */
     @Transactional
-    public boolean updateHistoryItem(NotificationHistory notificationHistory) {
-        String hql = "UPDATE NotificationHistory " +
-                "SET details = :details, invocationResult = :result, status = :status, invocationTime = :invocationTime " +
-                "WHERE id = :id";
-        int count = entityManager.createQuery(hql)
-                .setParameter("details", notificationHistory.getDetails())
-                .setParameter("result", notificationHistory.isInvocationResult())
-                .setParameter("status", notificationHistory.getStatus())
-                .setParameter("id", notificationHistory.getId())
-                .setParameter("invocationTime", notificationHistory.getInvocationTime())
-                .executeUpdate();
-        return count > 0;
+    public Set<UUID> updateHistoryItems(List<NotificationHistory> notificationHistories) {
+        Map<Boolean, List<NotificationHistory>> historiesByEventCreated = notificationHistories.stream()
+                .collect(partitioningBy(history -> getEventCreated(history.getId()) != null));
+
+        Set<UUID> updatedIds = new HashSet<>();
+        updatedIds.addAll(updateHistoryItems(historiesByEventCreated.get(true), true));
+        updatedIds.addAll(updateHistoryItems(historiesByEventCreated.get(false), false));
+        return updatedIds;
     }
 
-    public Endpoint getEndpointForHistoryId(String historyId) {
+    private List<UUID> updateHistoryItems(List<NotificationHistory> notificationHistories, boolean withEventCreated) {
+        if (notificationHistories.isEmpty()) {
+            return Collections.emptyList();
+        }
 
-        String query = "SELECT e from Endpoint e, NotificationHistory h WHERE h.id = :id AND e.id = h.endpoint.id";
-        UUID hid = UUID.fromString(historyId);
+        /*
+         * The VALUES list needs explicit casts because PostgreSQL infers the type of its columns from the first row
+         * only and would otherwise consider all parameters as text.
+         */
+        StringBuilder sql = new StringBuilder("UPDATE notification_history AS h " +
+                "SET details = v.details, invocation_result = v.invocation_result, status = v.status, invocation_time = v.invocation_time " +
+                "FROM (VALUES ");
+        for (int i = 0; i < notificationHistories.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(CAST(:id").append(i).append(" AS uuid), CAST(:details").append(i).append(" AS text), ")
+                .append("CAST(:result").append(i).append(" AS boolean), CAST(:status").append(i).append(" AS varchar), ")
+                .append("CAST(:invocationTime").append(i).append(" AS bigint))");
+        }
+        sql.append(") AS v(id, details, invocation_result, status, invocation_time) WHERE h.id = v.id");
+        /*
+         * The join condition alone doesn't allow PostgreSQL to skip the partitions of the other days, the range of the
+         * event creation dates of the whole batch is given as a separate condition.
+         */
+        if (withEventCreated) {
+            sql.append(" AND h.event_created BETWEEN :eventCreatedMin AND :eventCreatedMax");
+        }
+        sql.append(" RETURNING h.id");
 
-        try {
-            return entityManager.createQuery(query, Endpoint.class)
-                    .setParameter("id", hid)
-                    .getSingleResult();
-        } catch (NoResultException e) {
-            return null;
+        NotificationHistoryDetailsConverter detailsConverter = new NotificationHistoryDetailsConverter();
+        Query query = entityManager.createNativeQuery(sql.toString(), UUID.class);
+        for (int i = 0; i < notificationHistories.size(); i++) {
+            NotificationHistory notificationHistory = notificationHistories.get(i);
+            query.setParameter("id" + i, notificationHistory.getId())
+                .setParameter("details" + i, detailsConverter.convertToDatabaseColumn(notificationHistory.getDetails()))
+                .setParameter("result" + i, notificationHistory.isInvocationResult())
+                .setParameter("status" + i, notificationHistory.getStatus().name())
+                .setParameter("invocationTime" + i, notificationHistory.getInvocationTime());
+        }
+        if (withEventCreated) {
+            setEventCreatedRange(query, notificationHistories.stream().map(NotificationHistory::getId).toList());
         }
+
+        @SuppressWarnings("unchecked")
+        List<UUID> updatedIds = query.getResultList();
+        return updatedIds;
+    }
+
+    /**
+     * Retrieves the endpoints linked to the given history items with a single query for the items which carry the
+     * creation date of their event in their ID, and another one for the other items.
+     *
+     * @param historyIds the history items IDs
+     * @return the endpoints indexed by history item ID, the history items without an endpoint are not included
+     */
+    public Map<UUID, Endpoint> getEndpointsForHistoryIds(Collection<UUID> historyIds) {
+        Map<Boolean, List<UUID>> historyIdsByEventCreated = historyIds.stream()
+                .collect(partitioningBy(historyId -> getEventCreated(historyId) != null));
+
+        Map<UUID, Endpoint> endpoints = new HashMap<>();
+        endpoints.putAll(getEndpointsForHistoryIds(historyIdsByEventCreated.get(true), true));
+        endpoints.putAll(getEndpointsForHistoryIds(historyIdsByEventCreated.get(false), false));
+        return endpoints;
+    }
+
+    private Map<UUID, Endpoint> getEndpointsForHistoryIds(List<UUID> historyIds, boolean withEventCreated) {
+        if (historyIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        String hql = "SELECT h.id, e FROM NotificationHistory h JOIN h.endpoint e WHERE h.id IN (:ids)";
+        if (withEventCreated) {
+            hql += " AND h.eventCreated BETWEEN :eventCreatedMin AND :eventCreatedMax";
+        }
+
+        TypedQuery<Object[]> query = entityManager.createQuery(hql, Object[].class)
+                .setParameter("ids", historyIds);
+        if (withEventCreated) {
+            setEventCreatedRange(query, historyIds);
+        }
+
+        Map<UUID, Endpoint> endpoints = new HashMap<>();
+        for (Object[] row : query.getResultList()) {
+            endpoints.put((UUID) row[0], (Endpoint) row[1]);
+        }
+        return endpoints;
     }
 
     public Event getEventIdFromHistoryId(UUID historyId) {
 
-        String query = "SELECT e from Event e, NotificationHistory h WHERE h.id = :id AND e.id = h.event.id";
+        LocalDateTime eventCreated = getEventCreated(historyId);
+
+        String hql = "SELECT e from Event e, NotificationHistory h WHERE h.id = :id AND e.id = h.event.id";
+        if (eventCreated != null) {
+            hql += " AND h.eventCreated BETWEEN :eventCreatedMin AND :eventCreatedMax " +
+                "AND e.created BETWEEN :createdMin AND :createdMax AND e.created = h.eventCreated";
+        }
+
+        TypedQuery<Event> query = entityManager.createQuery(hql, Event.class)
+            .setParameter("id", historyId);
+        if (eventCreated != null) {
+            setEventCreatedRange(query, List.of(historyId));
+            query.setParameter("createdMin", Timestamp.valueOf(eventCreated))
+                .setParameter("createdMax", Timestamp.valueOf(eventCreated.plus(1, MILLIS)));
+        }
 
         try {
-            return entityManager.createQuery(query, Event.class)
-                .setParameter("id", historyId)
-                .getSingleResult();
+            return query.getSingleResult();
         } catch (NoResultException e) {
             return null;
         }
     }
+
+    /*
+     * Sets the range of the event creation dates carried by the given history IDs. The creation dates stored in the DB
+     * can be up to one millisecond after the ones retrieved from the IDs.
+     */
+    private static void setEventCreatedRange(Query query, List<UUID> historyIds) {
+        List<LocalDateTime> eventCreatedDates = historyIds.stream().map(NotificationHistory::getEventCreated).toList();
+        query.setParameter("eventCreatedMin", Collections.min(eventCreatedDates))
+            .setParameter("eventCreatedMax", Collections.max(eventCreatedDates).plus(1, MILLIS));
+    }
 }
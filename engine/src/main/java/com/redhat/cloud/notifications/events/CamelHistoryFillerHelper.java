@@ -6,7 +6,11 @@ import com.redhat.cloud.notifications.models.NotificationStatus;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @ApplicationScoped
@@ -16,13 +20,27 @@ public class CamelHistoryFillerHelper {
     NotificationHistoryRepository notificationHistoryRepository;
 
     /**
-     * Update a stub history item with data we have received from the Camel sender
+     * Update stub history items with data we have received from the Camel sender
      *
-     * @param jo Map containing the returned data
-     * @return Nothing
+     * @param decodedPayloads Maps containing the returned data
+     * @return the IDs of the history items that were updated
      * @see ConnectorReceiver
      */
-    public boolean updateHistoryItem(Map<String, Object> jo) {
+    public Set<UUID> updateHistoryItems(List<Map<String, Object>> decodedPayloads) {
+        /*
+         * If the same history item is returned more than once in a batch, only the most recent data is kept.
+         * Updating the same row twice in a single statement is not possible anyway.
+         */
+        Map<UUID, NotificationHistory> histories = new LinkedHashMap<>();
+        for (Map<String, Object> decodedPayload : decodedPayloads) {
+            NotificationHistory history = toNotificationHistory(decodedPayload);
+            histories.remove(history.getId());
+            histories.put(history.getId(), history);
+        }
+        return notificationHistoryRepository.updateHistoryItems(new ArrayList<>(histories.values()));
+    }
+
+    private NotificationHistory toNotificationHistory(Map<String, Object> jo) {
         String historyId = (String) jo.get("historyId");
 
         if (historyId == null || historyId.isBlank()) {
@@ -60,6 +78,6 @@ public class CamelHistoryFillerHelper {
         history.setDetails(details);
         history.setInvocationTime(duration);
 
-        return notificationHistoryRepository.updateHistoryItem(history);
+        return history;
     }
 }
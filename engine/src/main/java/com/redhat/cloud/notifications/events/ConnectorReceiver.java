@@ -16,9 +16,18 @@ import jakarta.enterprise.context.control.ActivateRequestContext;
 import jakarta.inject.Inject;
 import org.eclipse.microprofile.reactive.messaging.Acknowledgment;
 import org.eclipse.microprofile.reactive.messaging.Incoming;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
+import static java.util.stream.Collectors.toSet;
+
 /**
  * We sent data via Camel. Now Camel informs us about the outcome,
  * which we need to put into the notifications history.
@@ -62,42 +71,145 @@ public class ConnectorReceiver {
     @Incoming(FROMCAMEL_CHANNEL)
     @Blocking
     @ActivateRequestContext
-    public void processAsync(String payload) {
+    public void processAsync(List<String> payloads) {
         try {
-            Log.infof("Processing return from camel: %s", payload);
-            Map<String, Object> decodedPayload = decodeItem(payload);
+            List<ConnectorReturn> connectorReturns = new ArrayList<>();
+            for (String payload : payloads) {
+                try {
+                    Log.infof("Processing return from camel: %s", payload);
+                    connectorReturns.add(decodeItem(payload));
+                } catch (Exception e) {
+                    messagesErrorCounter.increment();
+                    Log.error("|  Failure to update the history", e);
+                }
+            }
+            if (!connectorReturns.isEmpty()) {
+                process(connectorReturns);
+            }
+        } finally {
+            messagesProcessedCounter.increment(payloads.size());
+        }
+    }
 
-            String historyId = (String) decodedPayload.get("historyId");
-            final Endpoint endpoint = notificationHistoryRepository.getEndpointForHistoryId(historyId);
+    private void process(List<ConnectorReturn> connectorReturns) {
+        List<ConnectorReturn> historyUpdates = new ArrayList<>();
+        for (ConnectorReturn connectorReturn : connectorReturns) {
+            try {
+                if (engineConfig.isDrawerEnabled()) {
+                    drawerProcessor.manageConnectorDrawerReturnsIfNeeded(connectorReturn.decodedPayload(), connectorReturn.historyId());
+                }
+                historyUpdates.add(connectorReturn);
+            } catch (Exception e) {
+                messagesErrorCounter.increment();
+                Log.error("|  Failure to update the history", e);
+            }
+        }
 
-            if (engineConfig.isDrawerEnabled()) {
-                drawerProcessor.manageConnectorDrawerReturnsIfNeeded(decodedPayload, UUID.fromString(historyId));
+        List<ConnectorReturn> updatedReturns = updateHistoryItems(historyUpdates);
+        Map<UUID, Endpoint> endpoints = getEndpoints(updatedReturns);
+
+        // The endpoint errors bookkeeping is aggregated per endpoint.
+        Map<UUID, Endpoint> endpointsById = new HashMap<>();
+        Map<UUID, List<JsonObject>> returnsDataByEndpointId = new LinkedHashMap<>();
+        for (ConnectorReturn connectorReturn : updatedReturns) {
+            Endpoint endpoint = endpoints.get(connectorReturn.historyId());
+            if (endpoint == null) {
+                Log.debugf("Unable to update endpoint data from history %s, because it no longer exists", connectorReturn.historyId());
+            } else {
+                endpointsById.putIfAbsent(endpoint.getId(), endpoint);
+                returnsDataByEndpointId.computeIfAbsent(endpoint.getId(), unused -> new ArrayList<>())
+                    .add(new JsonObject(connectorReturn.decodedPayload()));
             }
-            boolean updated = camelHistoryFillerHelper.updateHistoryItem(decodedPayload);
-            if (!updated) {
-                Log.warnf("Camel notification history update failed because no record was found with [id=%s]", decodedPayload.get("historyId"));
+        }
+        returnsDataByEndpointId.forEach((endpointId, returnsData) -> {
+            Endpoint endpoint = endpointsById.get(endpointId);
+            try {
+                endpointErrorFromConnectorHelper.manageEndpointDisablingIfNeeded(endpoint, returnsData);
+            } catch (Exception e) {
+                messagesErrorCounter.increment(returnsData.size());
+                Log.error("|  Failure to update the endpoint errors", e);
             }
-            endpointErrorFromConnectorHelper.manageEndpointDisablingIfNeeded(endpoint, new JsonObject(payload));
-        } catch (Exception e) {
-            messagesErrorCounter.increment();
-            Log.error("|  Failure to update the history", e);
-        } finally {
-            messagesProcessedCounter.increment();
+        });
+    }
+
+    /*
+     * The history items of the whole batch are updated with a single statement. If that statement fails, the items
+     * are updated again one by one so that a single faulty item cannot prevent the others from being updated.
+     * Returns the connector returns whose update did not fail.
+     */
+    private List<ConnectorReturn> updateHistoryItems(List<ConnectorReturn> connectorReturns) {
+        if (connectorReturns.isEmpty()) {
+            return connectorReturns;
         }
+
+        List<ConnectorReturn> processedReturns = new ArrayList<>();
+        Set<UUID> updatedHistoryIds = new HashSet<>();
+        try {
+            updatedHistoryIds.addAll(camelHistoryFillerHelper.updateHistoryItems(
+                connectorReturns.stream().map(ConnectorReturn::decodedPayload).toList()
+            ));
+            processedReturns.addAll(connectorReturns);
+        } catch (Exception batchException) {
+            Log.warnf(batchException, "Batch update of %d history items failed, falling back to the update of each item individually", connectorReturns.size());
+            for (ConnectorReturn connectorReturn : connectorReturns) {
+                try {
+                    updatedHistoryIds.addAll(camelHistoryFillerHelper.updateHistoryItems(List.of(connectorReturn.decodedPayload())));
+                    processedReturns.add(connectorReturn);
+                } catch (Exception e) {
+                    messagesErrorCounter.increment();
+                    Log.error("|  Failure to update the history", e);
+                }
+            }
+        }
+
+        for (ConnectorReturn connectorReturn : processedReturns) {
+            if (!updatedHistoryIds.contains(connectorReturn.historyId())) {
+                Log.warnf("Camel notification history update failed because no record was found with [id=%s]", connectorReturn.historyId());
+            }
+        }
+        return processedReturns;
     }
 
-    private Map<String, Object> decodeItem(String s) {
+    /*
+     * The endpoints of the whole batch are retrieved with a single query. If that query fails, the endpoints are
+     * retrieved again one by one.
+     */
+    private Map<UUID, Endpoint> getEndpoints(List<ConnectorReturn> connectorReturns) {
+        try {
+            return notificationHistoryRepository.getEndpointsForHistoryIds(
+                connectorReturns.stream().map(ConnectorReturn::historyId).collect(toSet())
+            );
+        } catch (Exception batchException) {
+            Log.warnf(batchException, "Batch retrieval of the endpoints of %d history items failed, falling back to the retrieval of each endpoint individually", connectorReturns.size());
+            Map<UUID, Endpoint> endpoints = new HashMap<>();
+            for (ConnectorReturn connectorReturn : connectorReturns) {
+                try {
+                    endpoints.putAll(notificationHistoryRepository.getEndpointsForHistoryIds(Set.of(connectorReturn.historyId())));
+                } catch (Exception e) {
+                    messagesErrorCounter.increment();
+                    Log.error("|  Failure to update the endpoint errors", e);
+                }
+            }
+            return endpoints;
+        }
+    }
+
+    private ConnectorReturn decodeItem(String s) {
 
         // 1st step CloudEvent as String -> map
-        Map<String, Object> ceMap = Json.decodeValue(s, Map.class);
+        JsonObject cloudEvent = new JsonObject(s);
 
         // Take the id from the CloudEvent as the historyId
-        String id = (String) ceMap.get("id");
+        String id = cloudEvent.getString("id");
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("History Id is null");
+        }
 
         // 2nd step data item (as String) to final map
-        Map<String, Object> map = Json.decodeValue((String) ceMap.get("data"), Map.class);
+        Map<String, Object> map = Json.decodeValue(cloudEvent.getString("data"), Map.class);
         map.put("historyId", id);
-        return map;
+        return new ConnectorReturn(UUID.fromString(id), map);
     }
 
+    private record ConnectorReturn(UUID historyId, Map<String, Object> decodedPayload) { }
 }
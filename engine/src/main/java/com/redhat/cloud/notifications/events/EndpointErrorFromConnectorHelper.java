@@ -10,6 +10,7 @@ import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -30,6 +31,9 @@ public class EndpointErrorFromConnectorHelper {
     @Inject
     EndpointRepository endpointRepository;
 
+    @Inject
+    EndpointRoutingIndex endpointRoutingIndex;
+
     @Inject
     IntegrationDisabledNotifier integrationDisabledNotifier;
 
@@ -49,57 +53,82 @@ public class EndpointErrorFromConnectorHelper {
         disabledWebhooksClientErrorCount = registry.counter(DISABLED_WEBHOOKS_COUNTER, ERROR_TYPE_TAG_KEY, CLIENT_TAG_VALUE);
     }
 
-    public void manageEndpointDisablingIfNeeded(Endpoint endpoint, JsonObject payload) {
-        String strHistoryId = payload.getString("id");
-        if (endpoint == null) {
-            Log.debugf("Unable to update endpoint data from history %s, because it no longer exists", strHistoryId);
-            return;
-        }
-
-        JsonObject data = new JsonObject(payload.getString("data"));
-        if (strHistoryId != null) {
+    /**
+     * Updates the server errors counter of the given endpoint or disables it, depending on the outcome of the
+     * notifications sent to that endpoint by a connector. The returns of a whole batch are aggregated so that the
+     * endpoint is updated with as few DB statements as possible.
+     *
+     * @param endpoint the endpoint the notifications were sent to
+     * @param returnsData the {@code data} element of each connector return, in the order they were received
+     */
+    public void manageEndpointDisablingIfNeeded(Endpoint endpoint, List<JsonObject> returnsData) {
+        boolean resetServerErrors = false;
+        int serverErrors = 0;
+        HttpErrorType serverErrorType = null;
+        Integer serverErrorStatusCode = null;
+        HttpErrorType clientErrorType = null;
+        Integer clientErrorStatusCode = null;
 
+        for (JsonObject data : returnsData) {
             if (data.getBoolean("successful", false)) {
-                boolean reset = endpointRepository.resetEndpointServerErrors(endpoint.getId());
-                if (reset) {
-                    Log.infof("The server errors counter of endpoint %s was just reset", endpoint.getId());
-                }
+                // A success resets the counter, the server errors received before it in the batch no longer matter.
+                resetServerErrors = true;
+                serverErrors = 0;
             } else if (data.containsKey("error")) {
                 JsonObject error = data.getJsonObject("error");
                 Optional<HttpErrorType> httpErrorType = getHttpErrorType(error);
                 if (httpErrorType.isPresent()) {
-                    Integer statusCode = error.getInteger("http_status_code");
-
                     if (httpErrorType.get() == HTTP_4XX || httpErrorType.get() == HTTP_3XX) {
-                        /*
-                         * The target endpoint returned a 4xx or 3xx status. That kind of error requires an update of the
-                         * endpoint settings (URL, secret token...). The endpoint will most likely never return a
-                         * successful status code with the current settings, so it is disabled immediately.
-                         */
-                        final boolean disabled = this.endpointRepository.disableEndpoint(endpoint);
-                        if (disabled) {
-                            disabledWebhooksClientErrorCount.increment();
-                            Log.infof("Endpoint %s was disabled because we received a %s status while calling it", endpoint.getId(), httpErrorType.get().name());
-                            integrationDisabledNotifier.notify(endpoint, httpErrorType.get(), statusCode, 1);
+                        if (clientErrorType == null) {
+                            clientErrorType = httpErrorType.get();
+                            clientErrorStatusCode = error.getInteger("http_status_code");
                         }
                     } else if (HTTP_SERVER_ERRORS.contains(httpErrorType.get())) {
-                        /*
-                         * The target endpoint returned a server error. That kind of error happens in case of remote
-                         * server failure, which is usually something temporary. Sending another notification to
-                         * the same endpoint may work in the future, so the endpoint is only disabled if the max
-                         * number of endpoint failures allowed from the configuration is exceeded.
-                         */
-                        int deliveryAttempts = error.getInteger("delivery_attempts", 1);
-                        boolean disabled = endpointRepository.incrementEndpointServerErrors(endpoint.getId(), deliveryAttempts);
-                        if (disabled) {
-                            disabledWebhooksServerErrorCount.increment();
-                            Log.infof("Endpoint %s was disabled because it caused too many 5xx errors or IOExceptions while calling it", endpoint.getId());
-                            integrationDisabledNotifier.notify(endpoint, httpErrorType.get(), statusCode, endpoint.getServerErrors());
-                        }
+                        serverErrors += error.getInteger("delivery_attempts", 1);
+                        serverErrorType = httpErrorType.get();
+                        serverErrorStatusCode = error.getInteger("http_status_code");
                     }
                 }
             }
         }
+
+        if (resetServerErrors) {
+            boolean reset = endpointRepository.resetEndpointServerErrors(endpoint.getId());
+            if (reset) {
+                Log.infof("The server errors counter of endpoint %s was just reset", endpoint.getId());
+            }
+        }
+
+        if (clientErrorType != null) {
+            /*
+             * The target endpoint returned a 4xx or 3xx status. That kind of error requires an update of the
+             * endpoint settings (URL, secret token...). The endpoint will most likely never return a
+             * successful status code with the current settings, so it is disabled immediately.
+             */
+            final boolean disabled = this.endpointRepository.disableEndpoint(endpoint);
+            if (disabled) {
+                endpointRoutingIndex.invalidate(endpoint.getOrgId());
+                disabledWebhooksClientErrorCount.increment();
+                Log.infof("Endpoint %s was disabled because we received a %s status while calling it", endpoint.getId(), clientErrorType.name());
+                integrationDisabledNotifier.notify(endpoint, clientErrorType, clientErrorStatusCode, 1);
+            }
+        }
+
+        if (serverErrors > 0) {
+            /*
+             * The target endpoint returned a server error. That kind of error happens in case of remote
+             * server failure, which is usually something temporary. Sending another notification to
+             * the same endpoint may work in the future, so the endpoint is only disabled if the max
+             * number of endpoint failures allowed from the configuration is exceeded.
+             */
+            boolean disabled = endpointRepository.incrementEndpointServerErrors(endpoint.getId(), serverErrors);
+            if (disabled) {
+                endpointRoutingIndex.invalidate(endpoint.getOrgId());
+                disabledWebhooksServerErrorCount.increment();
+                Log.infof("Endpoint %s was disabled because it caused too many 5xx errors or IOExceptions while calling it", endpoint.getId());
+                integrationDisabledNotifier.notify(endpoint, serverErrorType, serverErrorStatusCode, endpoint.getServerErrors());
+            }
+        }
     }
 
     private static Optional<HttpErrorType> getHttpErrorType(JsonObject error) {
@@ -19,15 +19,23 @@ import com.redhat.cloud.notifications.processors.pagerduty.PagerDutyProcessor;
 import com.redhat.cloud.notifications.processors.webhooks.WebhookTypeProcessor;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
 import io.quarkus.logging.Log;
 import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.context.ManagedExecutor;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 @ApplicationScoped
@@ -35,6 +43,9 @@ public class EndpointProcessor {
 
     public static final String PROCESSED_MESSAGES_COUNTER_NAME = "processor.input.processed";
     public static final String PROCESSED_ENDPOINTS_COUNTER_NAME = "processor.input.endpoint.processed";
+    public static final String PROCESSING_TIMER_NAME = "processor.input.endpoint.processing.time";
+    public static final String TAG_KEY_PROCESSOR = "processor";
+    public static final String AGGREGATION_PROCESSOR_NAME = "email_aggregation";
     public static final String DELAYED_EXCEPTION_MSG = "Exceptions were thrown during an event processing";
     public static final String SLACK_ENDPOINT_SUBTYPE = "slack";
     public static final String TEAMS_ENDPOINT_SUBTYPE = "teams";
@@ -47,6 +58,9 @@ public class EndpointProcessor {
     @Inject
     EndpointRepository endpointRepository;
 
+    @Inject
+    EndpointRoutingIndex endpointRoutingIndex;
+
     @Inject
     WebhookTypeProcessor webhookProcessor;
 
@@ -80,6 +94,10 @@ public class EndpointProcessor {
     @Inject
     EngineConfig engineConfig;
 
+    @Inject
+    @EndpointProcessorManagedExecutor
+    ManagedExecutor managedExecutor;
+
     private Counter processedItems;
     private Counter endpointTargeted;
 
@@ -109,7 +127,7 @@ public class EndpointProcessor {
 
             Log.debugf("[org_id: %s] Found %s endpoints for the aggregation event: %s", event.getOrgId(), endpoints.size(), event);
         } else {
-            endpoints.addAll(endpointRepository.getTargetEndpointsWithoutUsingBgs(event.getOrgId(), event.getEventType()));
+            endpoints.addAll(endpointRoutingIndex.getTargetEndpoints(event.getOrgId(), event.getEventType()));
         }
 
         endpoints.removeIf(endpoint -> {
@@ -126,6 +144,7 @@ public class EndpointProcessor {
         Map<EndpointType, List<Endpoint>> endpointsByType = endpoints.stream().collect(Collectors.groupingBy(Endpoint::getType));
 
         DelayedThrower.throwEventually(DELAYED_EXCEPTION_MSG, accumulator -> {
+            List<ProcessorTask> tasks = new ArrayList<>();
             for (Map.Entry<EndpointType, List<Endpoint>> endpointsByTypeEntry : endpointsByType.entrySet()) {
                 try {
                     if (replayOnly && endpointsByTypeEntry.getKey() != endpointTypeToReplay) {
@@ -142,18 +161,15 @@ public class EndpointProcessor {
                                         (endpointSubTypeToReplay == null || !endpointSubTypeToReplay.equals(endpointsBySubTypeEntry.getKey()))) {
                                         continue;
                                     }
-                                    try {
-                                        if (SLACK_ENDPOINT_SUBTYPE.equals(endpointsBySubTypeEntry.getKey())) {
-                                            slackProcessor.process(event, endpointsBySubTypeEntry.getValue());
-                                        } else if (TEAMS_ENDPOINT_SUBTYPE.equals(endpointsBySubTypeEntry.getKey())) {
-                                            teamsProcessor.process(event, endpointsBySubTypeEntry.getValue());
-                                        } else if (GOOGLE_CHAT_ENDPOINT_SUBTYPE.equals(endpointsBySubTypeEntry.getKey())) {
-                                            googleChatProcessor.process(event, endpointsBySubTypeEntry.getValue());
-                                        } else {
-                                            camelProcessor.process(event, endpointsBySubTypeEntry.getValue());
-                                        }
-                                    } catch (Exception e) {
-                                        accumulator.add(e);
+                                    List<Endpoint> subTypeEndpoints = endpointsBySubTypeEntry.getValue();
+                                    if (SLACK_ENDPOINT_SUBTYPE.equals(endpointsBySubTypeEntry.getKey())) {
+                                        tasks.add(new ProcessorTask(SLACK_ENDPOINT_SUBTYPE, () -> slackProcessor.process(event, subTypeEndpoints)));
+                                    } else if (TEAMS_ENDPOINT_SUBTYPE.equals(endpointsBySubTypeEntry.getKey())) {
+                                        tasks.add(new ProcessorTask(TEAMS_ENDPOINT_SUBTYPE, () -> teamsProcessor.process(event, subTypeEndpoints)));
+                                    } else if (GOOGLE_CHAT_ENDPOINT_SUBTYPE.equals(endpointsBySubTypeEntry.getKey())) {
+                                        tasks.add(new ProcessorTask(GOOGLE_CHAT_ENDPOINT_SUBTYPE, () -> googleChatProcessor.process(event, subTypeEndpoints)));
+                                    } else {
+                                        tasks.add(new ProcessorTask(endpointsBySubTypeEntry.getKey(), () -> camelProcessor.process(event, subTypeEndpoints)));
                                     }
                                 }
                             }
@@ -161,24 +177,24 @@ public class EndpointProcessor {
                         case EMAIL_SUBSCRIPTION:
                             if (isAggregatorEvent(event)) {
                                 Log.debugf("[org_id: %s] Sending event through the aggregator processor: %s", event.getOrgId(), event);
-                                emailAggregationProcessor.processAggregation(event);
+                                tasks.add(new ProcessorTask(AGGREGATION_PROCESSOR_NAME, () -> emailAggregationProcessor.processAggregation(event)));
                             } else {
                                 Log.debugf("[org_id: %s] Sending event through the email connector: %s", event.getOrgId(), event);
-                                emailConnectorProcessor.process(event, endpointsByTypeEntry.getValue());
+                                tasks.add(buildProcessorTask(endpointsByTypeEntry, emailConnectorProcessor::process, event));
                             }
                             break;
                         case WEBHOOK:
                         case ANSIBLE:
                             if (!event.getEventType().isRestrictToRecipientsIntegrations()) {
-                                webhookProcessor.process(event, endpointsByTypeEntry.getValue());
+                                tasks.add(buildProcessorTask(endpointsByTypeEntry, webhookProcessor::process, event));
                             }
                             break;
                         case DRAWER:
-                            drawerProcessor.process(event, endpointsByTypeEntry.getValue());
+                            tasks.add(buildProcessorTask(endpointsByTypeEntry, drawerProcessor::process, event));
                             break;
                         case PAGERDUTY:
                             if (!event.getEventType().isRestrictToRecipientsIntegrations()) {
-                                pagerDutyProcessor.process(event, endpointsByTypeEntry.getValue());
+                                tasks.add(buildProcessorTask(endpointsByTypeEntry, pagerDutyProcessor::process, event));
                             }
                             break;
                         default:
@@ -188,9 +204,86 @@ public class EndpointProcessor {
                     accumulator.add(e);
                 }
             }
+            accumulator.addAll(runProcessorTasks(tasks));
         });
     }
 
+    private static ProcessorTask buildProcessorTask(Map.Entry<EndpointType, List<Endpoint>> endpointsByTypeEntry, BiConsumer<Event, List<Endpoint>> processor, Event event) {
+        return new ProcessorTask(endpointsByTypeEntry.getKey().name().toLowerCase(), () -> processor.accept(event, endpointsByTypeEntry.getValue()));
+    }
+
+    /**
+     * Runs the given processor tasks concurrently. The processors don't depend on each other, so the event processing
+     * only takes as long as the slowest of them. A single task is run on the calling thread.
+     * @param tasks the processor tasks to run.
+     * @return the exceptions thrown by the processors.
+     */
+    private List<Exception> runProcessorTasks(List<ProcessorTask> tasks) {
+        List<Exception> exceptions = new ArrayList<>();
+        if (tasks.size() == 1) {
+            try {
+                runTimed(tasks.getFirst());
+            } catch (Exception e) {
+                exceptions.add(e);
+            }
+            return exceptions;
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(tasks.size());
+        for (ProcessorTask task : tasks) {
+            try {
+                futures.add(managedExecutor.runAsync(() -> runInNewRequestContext(task)));
+            } catch (RejectedExecutionException e) {
+                // The executor is saturated, the task is run on the calling thread instead of being dropped.
+                futures.add(runOnCallingThread(task));
+            }
+        }
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof Exception cause) {
+                    exceptions.add(cause);
+                } else {
+                    exceptions.add(e);
+                }
+            }
+        }
+        return exceptions;
+    }
+
+    private CompletableFuture<Void> runOnCallingThread(ProcessorTask task) {
+        try {
+            runTimed(task);
+            return CompletableFuture.completedFuture(null);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /*
+     * The processors rely on the request context, which is not propagated to the executor threads. Each task is given
+     * its own request context so that the processors never share a Hibernate session.
+     */
+    private void runInNewRequestContext(ProcessorTask task) {
+        ManagedContext requestContext = Arc.container().requestContext();
+        requestContext.activate();
+        try {
+            runTimed(task);
+        } finally {
+            requestContext.terminate();
+        }
+    }
+
+    private void runTimed(ProcessorTask task) {
+        Timer.Sample processingTimer = Timer.start(registry);
+        try {
+            task.runnable().run();
+        } finally {
+            processingTimer.stop(registry.timer(PROCESSING_TIMER_NAME, TAG_KEY_PROCESSOR, task.name()));
+        }
+    }
+
     public static boolean isAggregatorEvent(final com.redhat.cloud.notifications.models.Event event) {
         if (event.getEventWrapper() instanceof EventWrapperAction) {
             Action action = ((EventWrapperAction) event.getEventWrapper()).getEvent();
@@ -201,4 +294,7 @@ public class EndpointProcessor {
         }
         return false;
     }
+
+    private record ProcessorTask(String name, Runnable runnable) {
+    }
 }
@@ -0,0 +1,16 @@
+package com.redhat.cloud.notifications.events;
+
+import jakarta.inject.Qualifier;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+@Qualifier
+@Retention(RUNTIME)
+@Target({METHOD, FIELD})
+public @interface EndpointProcessorManagedExecutor {
+}
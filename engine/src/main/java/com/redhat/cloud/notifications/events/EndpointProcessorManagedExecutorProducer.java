@@ -0,0 +1,33 @@
+package com.redhat.cloud.notifications.events;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.eclipse.microprofile.context.ThreadContext;
+
+@ApplicationScoped
+public class EndpointProcessorManagedExecutorProducer {
+
+    @ConfigProperty(name = "notifications.endpoint-processor.managed-executor.max-queued", defaultValue = "100")
+    int maxQueued;
+
+    @ConfigProperty(name = "notifications.endpoint-processor.managed-executor.max-async", defaultValue = "20")
+    int maxAsync;
+
+    /*
+     * The CDI and transaction contexts are not propagated: the endpoint processors running concurrently must not share
+     * the request-scoped Hibernate session or the transaction of the calling thread.
+     */
+    @Produces
+    @ApplicationScoped
+    @EndpointProcessorManagedExecutor
+    ManagedExecutor produce() {
+        return ManagedExecutor.builder()
+                .maxQueued(maxQueued)
+                .maxAsync(maxAsync)
+                .cleared(ThreadContext.CDI, ThreadContext.TRANSACTION)
+                .propagated(ThreadContext.ALL_REMAINING)
+                .build();
+    }
+}
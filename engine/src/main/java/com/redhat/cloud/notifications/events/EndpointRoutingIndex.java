@@ -0,0 +1,241 @@
+package com.redhat.cloud.notifications.events;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.redhat.cloud.notifications.config.EngineConfig;
+import com.redhat.cloud.notifications.db.repositories.EndpointRepository;
+import com.redhat.cloud.notifications.models.CamelProperties;
+import com.redhat.cloud.notifications.models.Endpoint;
+import com.redhat.cloud.notifications.models.EndpointProperties;
+import com.redhat.cloud.notifications.models.EventType;
+import com.redhat.cloud.notifications.models.PagerDutyProperties;
+import com.redhat.cloud.notifications.models.SystemSubscriptionProperties;
+import com.redhat.cloud.notifications.models.WebhookProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.quarkus.logging.Log;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.quarkus.scheduler.Scheduled.ConcurrentExecution.SKIP;
+
+/**
+ * In-memory index of the endpoints targeted by the events of an event type for a given org. The DB holds a routing
+ * version per org which is incremented by triggers whenever an endpoint of that org, its properties or its event types
+ * links change. The endpoints without an org ID are shared by all orgs and have their own version. The versions
+ * changed since the previous check are polled periodically and the index entries are tagged with the versions that
+ * were known when they were loaded, so only the entries of the changed orgs are reloaded and the routing of an event
+ * does not need any DB query in steady state. An endpoint change made by another service is taken into account once
+ * the next check ran, while the endpoints disabled by the engine itself are removed from the index immediately.
+ */
+@ApplicationScoped
+public class EndpointRoutingIndex {
+
+    public static final String CACHE_NAME = "endpoint-routing-index";
+
+    // The DB triggers record the changes of the endpoints which have no org ID with this org ID.
+    private static final String SHARED_ENDPOINTS_ORG_ID = "";
+    private static final long UNKNOWN_HORIZON = -1L;
+
+    @Inject
+    EndpointRepository endpointRepository;
+
+    @Inject
+    EngineConfig engineConfig;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "notifications.endpoint-routing-index.max-size", defaultValue = "50000")
+    long maxSize;
+
+    @ConfigProperty(name = "notifications.endpoint-routing-index.expire-after-access", defaultValue = "PT1H")
+    Duration expireAfterAccess;
+
+    private Cache<RoutingKey, VersionedEndpoints> index;
+    // Only the orgs whose routing data changed since the engine started are listed here, the other ones have version 0.
+    private final Map<String, Long> routingVersions = new ConcurrentHashMap<>();
+    private volatile long changesHorizon = UNKNOWN_HORIZON;
+
+    @PostConstruct
+    void init() {
+        index = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, index, CACHE_NAME);
+    }
+
+    /**
+     * Returns the endpoints targeted by the given event type for the given org, loading them from the DB only if
+     * the index does not contain them or if they were loaded with an outdated routing version. The index entries are
+     * never exposed: each call returns new endpoint instances which the caller is free to modify.
+     */
+    public List<Endpoint> getTargetEndpoints(String orgId, EventType eventType) {
+        if (!engineConfig.isEndpointRoutingIndexEnabled() || changesHorizon == UNKNOWN_HORIZON) {
+            return endpointRepository.getTargetEndpointsWithoutUsingBgs(orgId, eventType);
+        }
+
+        // The versions have to be read before the endpoints are loaded, otherwise a concurrent change could be missed.
+        RoutingVersion currentVersion = new RoutingVersion(getRoutingVersion(orgId), getRoutingVersion(SHARED_ENDPOINTS_ORG_ID));
+        RoutingKey key = new RoutingKey(orgId, eventType.getId());
+        VersionedEndpoints cached = index.getIfPresent(key);
+        if (cached == null || !cached.version().equals(currentVersion)) {
+            List<Endpoint> endpoints = endpointRepository.getTargetEndpointsWithoutUsingBgs(orgId, eventType).stream()
+                    .map(EndpointRoutingIndex::copy)
+                    .toList();
+            cached = new VersionedEndpoints(currentVersion, endpoints);
+            index.put(key, cached);
+        }
+        return cached.endpoints().stream()
+                .map(EndpointRoutingIndex::copy)
+                .toList();
+    }
+
+    /**
+     * Removes the entries of the given org from the index. This is used when the engine changes the routing data
+     * itself, so that the change is taken into account before the next routing versions check.
+     */
+    public void invalidate(String orgId) {
+        invalidate(Set.of(Objects.requireNonNullElse(orgId, SHARED_ENDPOINTS_ORG_ID)));
+    }
+
+    @Scheduled(every = "${notifications.endpoint-routing-index.version-check-period:1s}", concurrentExecution = SKIP)
+    synchronized void checkRoutingVersions() {
+        if (!engineConfig.isEndpointRoutingIndexEnabled()) {
+            return;
+        }
+        try {
+            /*
+             * The horizon has to be read before the changed versions. The transactions which are not committed at
+             * that point have greater IDs, so their changes will be read by the next check even if they are committed
+             * after the versions query below. A change may be read twice, which is harmless since its version is the
+             * same the second time.
+             */
+            long newHorizon = endpointRepository.getRoutingChangesHorizon();
+            if (changesHorizon != UNKNOWN_HORIZON) {
+                Set<String> changedOrgIds = new HashSet<>();
+                for (Map.Entry<String, Long> version : endpointRepository.getRoutingVersionsChangedSince(changesHorizon).entrySet()) {
+                    Long previousVersion = routingVersions.put(version.getKey(), version.getValue());
+                    if (!version.getValue().equals(previousVersion)) {
+                        changedOrgIds.add(version.getKey());
+                    }
+                }
+                if (!changedOrgIds.isEmpty()) {
+                    Log.debugf("Endpoint routing versions changed for orgs %s, invalidating their routing index entries", changedOrgIds);
+                    // The outdated entries would be reloaded anyway, this only releases their memory sooner.
+                    invalidate(changedOrgIds);
+                }
+            }
+            changesHorizon = newHorizon;
+        } catch (Exception e) {
+            Log.warn("Endpoint routing versions check failed", e);
+        }
+    }
+
+    private long getRoutingVersion(String orgId) {
+        return routingVersions.getOrDefault(orgId, 0L);
+    }
+
+    private void invalidate(Set<String> orgIds) {
+        if (orgIds.contains(SHARED_ENDPOINTS_ORG_ID)) {
+            // The shared endpoints are part of the entries of all orgs.
+            index.invalidateAll();
+        } else {
+            index.asMap().keySet().removeIf(key -> orgIds.contains(key.orgId()));
+        }
+    }
+
+    /*
+     * The endpoints returned by the repository are detached entities which the processors may modify, so the index
+     * only stores and returns copies of them. The lazy associations are not used while routing and are not copied.
+     */
+    private static Endpoint copy(Endpoint endpoint) {
+        Endpoint copy = new Endpoint();
+        copy.setId(endpoint.getId());
+        copy.setAccountId(endpoint.getAccountId());
+        copy.setOrgId(endpoint.getOrgId());
+        copy.setName(endpoint.getName());
+        copy.setDescription(endpoint.getDescription());
+        copy.setEnabled(endpoint.isEnabled());
+        copy.setStatus(endpoint.getStatus());
+        copy.setType(endpoint.getType());
+        copy.setSubType(endpoint.getSubType());
+        copy.setServerErrors(endpoint.getServerErrors());
+        copy.setServerErrorsSince(endpoint.getServerErrorsSince());
+        copy.setCreated(endpoint.getCreated());
+        copy.setUpdated(endpoint.getUpdated());
+        if (endpoint.getProperties() != null) {
+            EndpointProperties properties = copy(endpoint.getProperties());
+            properties.setId(endpoint.getProperties().getId());
+            properties.setEndpoint(copy);
+            copy.setProperties(properties);
+        }
+        return copy;
+    }
+
+    private static EndpointProperties copy(EndpointProperties properties) {
+        return switch (properties) {
+            case WebhookProperties webhook -> {
+                WebhookProperties copy = new WebhookProperties();
+                copy.setUrl(webhook.getUrl());
+                copy.setMethod(webhook.getMethod());
+                copy.setDisableSslVerification(webhook.getDisableSslVerification());
+                copy.setSecretToken(webhook.getSecretToken());
+                copy.setSecretTokenSourcesId(webhook.getSecretTokenSourcesId());
+                copy.setBearerAuthentication(webhook.getBearerAuthentication());
+                copy.setBearerAuthenticationSourcesId(webhook.getBearerAuthenticationSourcesId());
+                yield copy;
+            }
+            case CamelProperties camel -> {
+                CamelProperties copy = new CamelProperties();
+                copy.setUrl(camel.getUrl());
+                copy.setDisableSslVerification(camel.getDisableSslVerification());
+                copy.setSecretToken(camel.getSecretToken());
+                copy.setSecretTokenSourcesId(camel.getSecretTokenSourcesId());
+                copy.setBearerAuthentication(camel.getBearerAuthentication());
+                copy.setBearerAuthenticationSourcesId(camel.getBearerAuthenticationSourcesId());
+                copy.setExtras(camel.getExtras() == null ? null : new HashMap<>(camel.getExtras()));
+                yield copy;
+            }
+            case PagerDutyProperties pagerDuty -> {
+                PagerDutyProperties copy = new PagerDutyProperties();
+                copy.setSeverity(pagerDuty.getSeverity());
+                copy.setSecretToken(pagerDuty.getSecretToken());
+                copy.setSecretTokenSourcesId(pagerDuty.getSecretTokenSourcesId());
+                copy.setBearerAuthentication(pagerDuty.getBearerAuthentication());
+                copy.setBearerAuthenticationSourcesId(pagerDuty.getBearerAuthenticationSourcesId());
+                yield copy;
+            }
+            case SystemSubscriptionProperties systemSubscription -> {
+                SystemSubscriptionProperties copy = new SystemSubscriptionProperties();
+                copy.setOnlyAdmins(systemSubscription.isOnlyAdmins());
+                copy.setIgnorePreferences(systemSubscription.isIgnorePreferences());
+                copy.setGroupId(systemSubscription.getGroupId());
+                copy.setGroupIds(systemSubscription.getGroupIds() == null ? null : new HashSet<>(systemSubscription.getGroupIds()));
+                yield copy;
+            }
+            default -> throw new IllegalStateException("Unexpected endpoint properties type: " + properties.getClass().getName());
+        };
+    }
+
+    private record RoutingKey(String orgId, UUID eventTypeId) { }
+
+    private record RoutingVersion(long orgVersion, long sharedEndpointsVersion) { }
+
+    private record VersionedEndpoints(RoutingVersion version, List<Endpoint> endpoints) { }
+}
@@ -1,7 +1,5 @@
 package com.redhat.cloud.notifications.events;
 
-import com.redhat.cloud.event.parser.ConsoleCloudEventParser;
-import com.redhat.cloud.event.parser.exceptions.ConsoleCloudEventParsingException;
 import com.redhat.cloud.notifications.Severity;
 import com.redhat.cloud.notifications.cloudevent.transformers.CloudEventTransformer;
 import com.redhat.cloud.notifications.cloudevent.transformers.CloudEventTransformerFactory;
@@ -12,36 +10,53 @@ import com.redhat.cloud.notifications.events.deduplication.EventDeduplicator;
 import com.redhat.cloud.notifications.ingress.Action;
 import com.redhat.cloud.notifications.models.Event;
 import com.redhat.cloud.notifications.models.EventType;
-import com.redhat.cloud.notifications.models.NotificationsConsoleCloudEvent;
 import com.redhat.cloud.notifications.transformers.SeverityTransformer;
-import com.redhat.cloud.notifications.utils.ActionParser;
 import com.redhat.cloud.notifications.utils.ActionParsingException;
+import com.redhat.cloud.notifications.utils.EventWrapperParser;
 import com.redhat.cloud.notifications.utils.RecipientsAuthorizationCriterionExtractor;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
 import io.quarkus.logging.Log;
+import io.quarkus.runtime.ShutdownEvent;
 import io.smallrye.reactive.messaging.annotations.Blocking;
+import io.smallrye.reactive.messaging.kafka.KafkaRecordBatch;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Priority;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.BeforeDestroyed;
 import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 import jakarta.persistence.NoResultException;
+import jakarta.transaction.Transactional;
 import org.eclipse.microprofile.reactive.messaging.Incoming;
 import org.eclipse.microprofile.reactive.messaging.Message;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeoutException;
 
 import static com.redhat.cloud.notifications.events.KafkaMessageDeduplicator.MESSAGE_ID_HEADER;
+import static jakarta.enterprise.event.Reception.IF_EXISTS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 @ApplicationScoped
@@ -63,6 +78,8 @@ public class EventConsumer {
 
     private static final String EVENT_TYPE_NOT_FOUND_MSG = "No event type found for key: %s";
     private static final String SOURCE_ENVIRONMENT_HEADER = "rh-source-environment";
+    // Priority of the observer which closes the consumers in io.smallrye.reactive.messaging.kafka.KafkaConnector.
+    private static final int KAFKA_CONNECTOR_TERMINATION_PRIORITY = 50;
 
     @Inject
     MeterRegistry registry;
@@ -71,7 +88,7 @@ public class EventConsumer {
     EndpointProcessor endpointProcessor;
 
     @Inject
-    ActionParser actionParser;
+    EventWrapperParser eventWrapperParser;
 
     @Inject
     EventTypeRepository eventTypeRepository;
@@ -103,13 +120,14 @@ public class EventConsumer {
     @Inject
     SeverityTransformer severityTransformer;
 
-    ConsoleCloudEventParser cloudEventParser = new ConsoleCloudEventParser();
-
     private Counter rejectedCounter;
     private Counter processingErrorCounter;
     private Counter duplicateCounter;
     private Counter processingExceptionCounter;
     private ExecutorService executor;
+    private int maxInFlightBatches;
+    // The batches that are being processed asynchronously and have not been acknowledged yet.
+    private final Set<CompletableFuture<Void>> inFlightBatches = ConcurrentHashMap.newKeySet();
 
     @PostConstruct
     public void init() {
@@ -119,224 +137,444 @@ public class EventConsumer {
         duplicateCounter = registry.counter(DUPLICATE_COUNTER_NAME);
 
         /*
-         * The ThreadPoolExecutor#submit method from this executor is blocking. If it is called while all threads from
-         * the pool are busy, the calling thread will wait until a thread from the pool is available.
+         * The number of batches processed asynchronously is bounded by the number of threads and the queue capacity
+         * of this executor, so a submission never has to wait for a thread or be rejected.
          */
-        // TODO After we've confirmed the async processing works, additional code will be needed to shutdown the executor gracefully (wait until all threads are done with their work).
         executor = new ThreadPoolExecutor(
                 config.getEventConsumerCoreThreadPoolSize(),
                 config.getEventConsumerMaxThreadPoolSize(),
                 config.getEventConsumerKeepAliveTimeSeconds(),
                 SECONDS,
-                buildBlockingQueue()
+                new LinkedBlockingQueue<>(config.getEventConsumerQueueCapacity())
         );
+        maxInFlightBatches = config.getEventConsumerMaxThreadPoolSize() + config.getEventConsumerQueueCapacity();
     }
 
-    private BlockingQueue<Runnable> buildBlockingQueue() {
-        return new LinkedBlockingQueue<>(config.getEventConsumerQueueCapacity()) {
-            @Override
-            public boolean offer(Runnable runnable) {
-                try {
-                    /*
-                     * The ThreadPoolExecutor internal implementation can only insert elements in the queue by calling
-                     * the BlockingQueue#offer method, which is not a blocking method. Since we need a blocking behavior
-                     * to prevent Kafka messages from being consumed when all threads are busy, the call is delegated to
-                     * the BlockingQueue#put method.
-                     */
-                    put(runnable);
-                    return true;
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    return false;
-                }
-            }
-        };
+    /**
+     * Waits for the batches that are being processed asynchronously to be acknowledged before the Kafka connector is
+     * stopped, so that their offsets are committed. The batches that could not be processed before the drain timeout
+     * are not acknowledged and will be consumed again after the partitions are reassigned.
+     */
+    void drainOnShutdown(@Observes ShutdownEvent shutdownEvent) {
+        drain();
+    }
+
+    /*
+     * The Kafka connector closes its consumers when it observes the same event with the priority 50. The observers
+     * with a lower priority are notified first, so this guarantees that the drain happens before the connector is
+     * closed, even if the shutdown event was not fired first. The drain is a no-op if it already happened.
+     */
+    void drainBeforeKafkaConnectorTermination(@Observes(notifyObserver = IF_EXISTS) @Priority(KAFKA_CONNECTOR_TERMINATION_PRIORITY - 10) @BeforeDestroyed(ApplicationScoped.class) Object event) {
+        drain();
+    }
+
+    private void drain() {
+        executor.shutdown();
+        if (!awaitInFlightBatches(config.getEventConsumerDrainTimeout())) {
+            Log.warnf("%d Kafka batches were not processed before the drain timeout, they will be consumed again", inFlightBatches.size());
+        }
+    }
+
+    /**
+     * Waits for the batches that are currently processed asynchronously to be acknowledged.
+     * @return {@code true} if all batches were acknowledged before the timeout
+     */
+    boolean awaitInFlightBatches(Duration timeout) {
+        CompletableFuture<?>[] pendingBatches = inFlightBatches.toArray(CompletableFuture[]::new);
+        if (pendingBatches.length == 0) {
+            return true;
+        }
+        Log.infof("Waiting for %d Kafka batches to be processed", pendingBatches.length);
+        try {
+            CompletableFuture.allOf(pendingBatches).get(timeout.toMillis(), MILLISECONDS);
+            return true;
+        } catch (TimeoutException | ExecutionException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 
     @Incoming(INGRESS_CHANNEL)
     @Blocking
-    public CompletionStage<Void> consume(Message<String> message) {
+    public CompletionStage<Void> consume(Message<List<String>> batch) {
+        List<Message<String>> messages = unbatch(batch);
         if (config.isAsyncEventProcessing()) {
+            CompletableFuture<Void> processedBatch;
+            try {
+                processedBatch = CompletableFuture.runAsync(() -> process(messages), executor);
+            } catch (RejectedExecutionException e) {
+                // The executor is shut down, the batch is processed synchronously so that it can still be acknowledged.
+                process(messages);
+                return batch.ack();
+            }
             /*
-             * Even though the processing will be asynchronous, this call will block the current thread until a thread
-             * from the pool is available.
+             * The batch is only acknowledged once it has been processed. The Kafka connector commits the offsets in
+             * order, up to the last batch which was acknowledged and follows only acknowledged batches.
              */
-            executor.submit(() -> process(message));
+            CompletableFuture<Void> inFlightBatch = new CompletableFuture<>();
+            inFlightBatches.add(inFlightBatch);
+            /*
+             * The failures of the messages are handled (counted and logged) one by one during the processing, so a
+             * failed batch is acknowledged as well. A nack would stop the channel with the default failure strategy.
+             */
+            processedBatch
+                    .exceptionally(failure -> {
+                        Log.errorf(failure, "Unexpected failure while processing a batch of %d Kafka messages", messages.size());
+                        return null;
+                    })
+                    .thenCompose(ignored -> batch.ack())
+                    .whenComplete((ignored, failure) -> {
+                        // The batch leaves the in-flight set before its future completes to wake up the waiting stages.
+                        inFlightBatches.remove(inFlightBatch);
+                        inFlightBatch.complete(null);
+                    });
+            /*
+             * The next batch is only delivered when the returned stage completes. Once the in-flight limit is reached,
+             * the Kafka connector buffers the polled records and pauses the partitions instead of blocking a thread.
+             */
+            return awaitInFlightCapacity();
+        } else {
+            process(messages);
+            return batch.ack();
+        }
+    }
+
+    private CompletionStage<Void> awaitInFlightCapacity() {
+        if (inFlightBatches.size() < maxInFlightBatches) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<?>[] pendingBatches = inFlightBatches.toArray(CompletableFuture[]::new);
+        if (pendingBatches.length == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.anyOf(pendingBatches).thenCompose(ignored -> awaitInFlightCapacity());
+    }
+
+    int getInFlightBatchesCount() {
+        return inFlightBatches.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Message<String>> unbatch(Message<List<String>> batch) {
+        if (batch instanceof KafkaRecordBatch<?, ?> kafkaRecordBatch) {
+            // Each record from a Kafka batch comes with its own metadata, including the Kafka headers.
+            return (List<Message<String>>) (List<?>) kafkaRecordBatch.getRecords();
         } else {
-            process(message);
+            return batch.getPayload().stream()
+                    .map(payload -> Message.of(payload, batch.getMetadata()))
+                    .toList();
         }
-        return message.ack();
     }
 
+    /**
+     * Processes a batch of Kafka messages. Each message is parsed on its own, then all messages that could be parsed
+     * are deduplicated and persisted together in a single transaction. If that transaction fails, the messages are
+     * ingested again one by one so that a single faulty message cannot prevent the others from being processed.
+     * Finally, each persisted event is processed by the endpoint processors.
+     */
     @ActivateRequestContext
-    public void process(Message<String> message) {
-        // This timer will have dynamic tag values based on the action parsed from the received message.
-        Timer.Sample consumedTimer = Timer.start(registry);
-        String payload = message.getPayload();
-        Map<String, String> tags = new HashMap<>();
-        // The two following variables have to be final or effectively final. That why their type is String[] instead of String.
+    public void process(List<Message<String>> messages) {
+        List<IngressRecord> parsedRecords = new ArrayList<>();
+        for (Message<String> message : messages) {
+            IngressRecord record = new IngressRecord(message);
+            long start = monotonicTime();
+            try {
+                parse(record);
+            } catch (Exception e) {
+                handleProcessingException(record, e);
+                record.consumedNanos += monotonicTime() - start;
+                stopConsumedTimer(record);
+                continue;
+            }
+            record.consumedNanos += monotonicTime() - start;
+            parsedRecords.add(record);
+        }
+
+        if (parsedRecords.isEmpty()) {
+            return;
+        }
+
+        long batchStart = monotonicTime();
+        RuntimeException batchException = null;
+        try {
+            ingest(parsedRecords);
+        } catch (RuntimeException e) {
+            batchException = e;
+        }
+        // The records were ingested together, so each of them waited for the whole batch.
+        long batchDuration = monotonicTime() - batchStart;
+        parsedRecords.forEach(record -> record.consumedNanos += batchDuration);
+
+        if (batchException != null) {
+            Log.warnf(batchException, "Batch ingestion of %d Kafka messages failed, falling back to the ingestion of each message individually", parsedRecords.size());
+            for (IngressRecord record : parsedRecords) {
+                long start = monotonicTime();
+                try {
+                    ingest(List.of(record));
+                } catch (RuntimeException e) {
+                    record.outcome = IngressOutcome.FAILED;
+                    record.failure = e;
+                } finally {
+                    record.consumedNanos += monotonicTime() - start;
+                }
+            }
+        }
+
+        for (IngressRecord record : parsedRecords) {
+            long start = monotonicTime();
+            try {
+                processIngested(record);
+            } catch (Exception e) {
+                handleProcessingException(record, e);
+            } finally {
+                record.consumedNanos += monotonicTime() - start;
+                stopConsumedTimer(record);
+            }
+        }
+    }
+
+    private void parse(IngressRecord record) {
         /*
          * Step 1
          * The payload (JSON) is parsed into an Action.
          */
-        try {
+        record.eventWrapper = parsePayload(record.message.getPayload(), record.tags);
+        /*
+         * The event data was successfully parsed (either as an action or a cloud event). Depending on the situation
+         * we now have a bundle/app/eventType triplet or a fully qualified name for the event type.
+         */
 
-            final EventWrapper<?, ?> eventWrapper = parsePayload(payload, tags);
-            /*
-             * The event data was successfully parsed (either as an action or a cloud event). Depending on the situation
-             * we now have a bundle/app/eventType triplet or a fully qualified name for the event type.
-             */
+        record.kafkaHeaders = kafkaHeadersExtractor.extract(record.message,
+                MESSAGE_ID_HEADER,
+                SOURCE_ENVIRONMENT_HEADER
+        );
 
-            Map<String, Optional<String>> kafkaHeaders = kafkaHeadersExtractor.extract(message,
-                    MESSAGE_ID_HEADER,
-                    SOURCE_ENVIRONMENT_HEADER
-            );
+        /*
+         * Step 2
+         * The message ID is extracted from the event data - if it is not present we fallback to the kafka headers
+         * It can be null for now to give the onboarded
+         * apps time to change their integration and start sending the new header. The message ID will become
+         * mandatory with cloud events. We may want to throw an exception when it is null.
+         */
+        record.messageId = getMessageId(record.eventWrapper, record.kafkaHeaders.get(MESSAGE_ID_HEADER));
 
-            /*
-             * Step 2
-             * The message ID is extracted from the event data - if it is not present we fallback to the kafka headers
-             * It can be null for now to give the onboarded
-             * apps time to change their integration and start sending the new header. The message ID will become
-             * mandatory with cloud events. We may want to throw an exception when it is null.
-             */
-            final UUID messageId = getMessageId(eventWrapper, kafkaHeaders.get(MESSAGE_ID_HEADER));
+        String msgId = record.messageId == null ? "null" : record.messageId.toString();
+        Log.infof("Processing received event [id=%s, %s=%s, orgId=%s, %s]",
+                record.eventWrapper.getId(), MESSAGE_ID_HEADER, msgId, record.eventWrapper.getOrgId(), record.eventWrapper.getKey());
+    }
 
-            String msgId = messageId == null ? "null" : messageId.toString();
-            Log.infof("Processing received event [id=%s, %s=%s, orgId=%s, %s]",
-                    eventWrapper.getId(), MESSAGE_ID_HEADER, msgId, eventWrapper.getOrgId(), eventWrapper.getKey());
+    /**
+     * Deduplicates and persists the given records in a single transaction. The outcome of each record is stored in
+     * the record itself and only acted upon once the transaction is committed, so that a rolled back batch does not
+     * leave any side effect (metrics, logs) behind.
+     */
+    @Transactional
+    void ingest(List<IngressRecord> records) {
+        records.forEach(IngressRecord::reset);
 
-            /*
-             * Step 3
-             * It's time to check if the message ID is already known.
-             * If the ID is new, it will be persisted and the current message
-             * will never be processed again as long as its ID stays in the DB.
-             * For now, messages without an ID (messageId == null) are always considered new.
-             */
-            if (!kafkaMessageDeduplicator.isNew(messageId)) {
+        /*
+         * Step 3
+         * It's time to check if the message IDs are already known.
+         * The new IDs will be persisted and the current messages
+         * will never be processed again as long as their ID stays in the DB.
+         * For now, messages without an ID (messageId == null) are always considered new.
+         */
+        Set<UUID> newMessageIds = kafkaMessageDeduplicator.filterNew(records.stream().map(record -> record.messageId).toList());
+
+        List<IngressRecord> eventRecords = new ArrayList<>();
+        for (IngressRecord record : records) {
+            // Removing the ID from the set guarantees that only the first message of the batch with a given ID is new.
+            if (record.messageId != null && !newMessageIds.remove(record.messageId)) {
                 /*
                  * The message ID is already known which means we already processed the current
                  * message and sent notifications. The message is therefore ignored.
                  */
-                Log.debugf(" [kafka_message_id: %s] Duplicated Kafka message ignored", messageId);
-                duplicateCounter.increment();
+                record.outcome = IngressOutcome.DUPLICATE;
+            } else if (buildEvent(record)) {
+                eventRecords.add(record);
+            }
+        }
+
+        /*
+         * Step 6
+         * Before we persist the events into the DB and process them, we need to check whether the events are
+         * duplicates using the custom event deduplication logic tenants might have implemented.
+         */
+        List<Event> eventsToDeduplicate = new ArrayList<>();
+        for (IngressRecord record : eventRecords) {
+            record.eventDeduplicationEnabled = engineConfig.isEventDeduplicationEnabled(record.event.getOrgId());
+            if (record.eventDeduplicationEnabled) {
+                eventsToDeduplicate.add(record.event);
+            }
+        }
+        Set<Event> newEvents = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (!eventsToDeduplicate.isEmpty()) {
+            newEvents.addAll(eventDeduplicator.filterNew(eventsToDeduplicate));
+        }
+
+        List<Event> eventsToPersist = new ArrayList<>();
+        for (IngressRecord record : eventRecords) {
+            if (record.eventDeduplicationEnabled && !newEvents.contains(record.event)) {
+                // The event is already known and should therefore be ignored.
+                record.outcome = IngressOutcome.DUPLICATE_EVENT;
             } else {
                 /*
-                 * Step 4
-                 * We need to retrieve an EventType from the DB using the bundle/app/eventType triplet from the
-                 * parsed Action.
+                 * Step 7
+                 * The event is not a duplicate. We can now persist it.
                  */
-                EventType eventType;
-                EventWrapper<?, ?> eventWrapperToProcess = eventWrapper;
-                try {
-                    eventType = eventTypeRepository.getEventType(eventWrapperToProcess.getKey());
-
-                    if (eventWrapperToProcess instanceof EventWrapperCloudEvent) {
-                        // We loaded a cloud event and identified the event-type it belongs to
-                        // At this point, lets check if we have a transformation available for this event
-                        // If we do, transform the event - Later this will be done on a by-integration basis
-                        Optional<CloudEventTransformer> transformer = cloudEventTransformerFactory.getTransformerIfSupported((EventWrapperCloudEvent) eventWrapperToProcess);
-                        if (transformer.isPresent()) {
-                            eventWrapperToProcess = new EventWrapperAction(
-                                    transformer.get().toAction(
-                                            (EventWrapperCloudEvent) eventWrapperToProcess,
-                                            eventType.getApplication().getBundle().getName(),
-                                            eventType.getApplication().getName(),
-                                            eventType.getName()
-                            ));
-                        }
-                    }
-
-                    tags.computeIfAbsent(TAG_KEY_BUNDLE, key -> eventType.getApplication().getBundle().getName());
-                    tags.computeIfAbsent(TAG_KEY_APPLICATION, key -> eventType.getApplication().getName());
-                    tags.computeIfAbsent(TAG_KEY_EVENT_TYPE, key -> eventType.getName());
-
-                    if (config.isBlacklistedEventType(eventType.getId())) {
-                        Log.debugf("Skipping event type [id=%s, name=%s] because it was blacklisted", eventType.getId(), eventType.getName());
-                        registry.counter(
-                            PROCESSING_BLACKLISTED_COUNTER_NAME,
-                            TAG_KEY_BUNDLE, tags.getOrDefault(TAG_KEY_BUNDLE, ""),
-                            TAG_KEY_APPLICATION, tags.getOrDefault(TAG_KEY_APPLICATION, ""),
-                            TAG_KEY_EVENT_TYPE, tags.getOrDefault(TAG_KEY_EVENT_TYPE, ""),
-                            TAG_KEY_EVENT_TYPE_FQN, tags.getOrDefault(TAG_KEY_EVENT_TYPE_FQN, ""))
-                            .increment();
-                        return;
-                    }
-                } catch (NoResultException | IllegalArgumentException e) {
-                    /*
-                     * A NoResultException was thrown because no EventType was found. The message is therefore
-                     * considered rejected.
-                     */
-                    rejectedCounter.increment();
-                    throw new NoResultException(String.format(EVENT_TYPE_NOT_FOUND_MSG, eventWrapperToProcess.getKey()));
+                Event event = record.event;
+                event.setHasAuthorizationCriterion(null != recipientsAuthorizationCriterionExtractor.extract(event));
+                updateSeverity(event, event.getEventType());
+
+                if (event.getId() == null) {
+                    // NOTIF-499 If there is no ID provided whatsoever we create one.
+                    event.setId(Objects.requireNonNullElseGet(record.messageId, UUID::randomUUID));
                 }
-                /*
-                 * Step 5
-                 * The EventType was found. It's time to create an Event from the current message.
-                 */
-                Optional<String> sourceEnvironmentHeader = kafkaHeaders.get(SOURCE_ENVIRONMENT_HEADER);
-                Event event = new Event(eventType, payload, eventWrapperToProcess, sourceEnvironmentHeader);
+                eventsToPersist.add(event);
+                record.outcome = IngressOutcome.PERSISTED;
+            }
+        }
 
-                /*
-                 * Step 6
-                 * Before we persist the event into the DB and process it, we need to check whether the event is
-                 * a duplicate using the custom event deduplication logic tenants might have implemented.
-                 */
-                if (engineConfig.isEventDeduplicationEnabled(event.getOrgId()) && !eventDeduplicator.isNew(event)) {
-                    // The event is already known and should therefore be ignored.
-                    Log.debug("Duplicated event ignored");
-                    registry.counter(DUPLICATE_EVENT_COUNTER_NAME,
-                        TAG_KEY_BUNDLE, tags.getOrDefault(TAG_KEY_BUNDLE, ""),
-                        TAG_KEY_APPLICATION, tags.getOrDefault(TAG_KEY_APPLICATION, ""),
-                        TAG_KEY_EVENT_TYPE, tags.getOrDefault(TAG_KEY_EVENT_TYPE, ""))
-                        .increment();
-                } else {
+        if (!eventsToPersist.isEmpty()) {
+            eventRepository.createAll(eventsToPersist);
+        }
+    }
 
-                    /*
-                     * Step 7
-                     * The event is not a duplicate. We can now persist it.
-                     */
-                    event.setHasAuthorizationCriterion(null != recipientsAuthorizationCriterionExtractor.extract(event));
-                    updateSeverity(event, eventType);
+    /**
+     * Resolves the event type of the given record and builds the event that will be persisted.
+     * @return {@code true} if the event was built, {@code false} if the record was rejected or blacklisted
+     */
+    private boolean buildEvent(IngressRecord record) {
+        /*
+         * Step 4
+         * We need to retrieve an EventType from the DB using the bundle/app/eventType triplet from the
+         * parsed Action.
+         */
+        EventType eventType;
+        EventWrapper<?, ?> eventWrapperToProcess = record.eventWrapper;
+        Map<String, String> tags = record.tags;
+        try {
+            eventType = eventTypeRepository.getEventType(eventWrapperToProcess.getKey());
+
+            if (eventWrapperToProcess instanceof EventWrapperCloudEvent) {
+                // We loaded a cloud event and identified the event-type it belongs to
+                // At this point, lets check if we have a transformation available for this event
+                // If we do, transform the event - Later this will be done on a by-integration basis
+                Optional<CloudEventTransformer> transformer = cloudEventTransformerFactory.getTransformerIfSupported((EventWrapperCloudEvent) eventWrapperToProcess);
+                if (transformer.isPresent()) {
+                    eventWrapperToProcess = new EventWrapperAction(
+                            transformer.get().toAction(
+                                    (EventWrapperCloudEvent) eventWrapperToProcess,
+                                    eventType.getApplication().getBundle().getName(),
+                                    eventType.getApplication().getName(),
+                                    eventType.getName()
+                    ));
+                }
+            }
 
-                    if (event.getId() == null) {
-                        // NOTIF-499 If there is no ID provided whatsoever we create one.
-                        event.setId(Objects.requireNonNullElseGet(messageId, UUID::randomUUID));
-                    }
-                    eventRepository.create(event);
+            tags.computeIfAbsent(TAG_KEY_BUNDLE, key -> eventType.getApplication().getBundle().getName());
+            tags.computeIfAbsent(TAG_KEY_APPLICATION, key -> eventType.getApplication().getName());
+            tags.computeIfAbsent(TAG_KEY_EVENT_TYPE, key -> eventType.getName());
 
-                    /*
-                     * Step 8
-                     * The Event and the Action it contains are processed by all relevant endpoint processors.
-                     */
-                    try {
-                        endpointProcessor.process(event);
-                    } catch (Exception e) {
-                        /*
-                         * The Event processing failed.
-                         */
-                        processingErrorCounter.increment();
-                        throw e;
-                    }
-                }
+            if (config.isBlacklistedEventType(eventType.getId())) {
+                Log.debugf("Skipping event type [id=%s, name=%s] because it was blacklisted", eventType.getId(), eventType.getName());
+                record.outcome = IngressOutcome.BLACKLISTED;
+                return false;
             }
-        } catch (Exception e) {
+        } catch (NoResultException | IllegalArgumentException e) {
             /*
-             * An exception was thrown at some point during the Kafka message processing,
-             * it is logged and added to the exception counter metric.
+             * A NoResultException was thrown because no EventType was found. The message is therefore
+             * considered rejected.
              */
-            processingExceptionCounter.increment();
-            Log.infof(e, "Could not process the payload: %s", payload);
-        } finally {
-            consumedTimer.stop(registry.timer(
-                    CONSUMED_TIMER_NAME,
+            record.outcome = IngressOutcome.REJECTED;
+            record.failure = new NoResultException(String.format(EVENT_TYPE_NOT_FOUND_MSG, eventWrapperToProcess.getKey()));
+            return false;
+        }
+        /*
+         * Step 5
+         * The EventType was found. It's time to create an Event from the current message.
+         */
+        Optional<String> sourceEnvironmentHeader = record.kafkaHeaders.get(SOURCE_ENVIRONMENT_HEADER);
+        record.event = new Event(eventType, record.message.getPayload(), eventWrapperToProcess, sourceEnvironmentHeader);
+        return true;
+    }
+
+    private void processIngested(IngressRecord record) {
+        Map<String, String> tags = record.tags;
+        switch (record.outcome) {
+            case DUPLICATE -> {
+                Log.debugf(" [kafka_message_id: %s] Duplicated Kafka message ignored", record.messageId);
+                duplicateCounter.increment();
+            }
+            case BLACKLISTED -> registry.counter(
+                    PROCESSING_BLACKLISTED_COUNTER_NAME,
                     TAG_KEY_BUNDLE, tags.getOrDefault(TAG_KEY_BUNDLE, ""),
                     TAG_KEY_APPLICATION, tags.getOrDefault(TAG_KEY_APPLICATION, ""),
                     TAG_KEY_EVENT_TYPE, tags.getOrDefault(TAG_KEY_EVENT_TYPE, ""),
-                    TAG_KEY_EVENT_TYPE_FQN, tags.getOrDefault(TAG_KEY_EVENT_TYPE_FQN, "")
-            ));
+                    TAG_KEY_EVENT_TYPE_FQN, tags.getOrDefault(TAG_KEY_EVENT_TYPE_FQN, ""))
+                    .increment();
+            case REJECTED -> {
+                rejectedCounter.increment();
+                throw record.failure;
+            }
+            case FAILED -> throw record.failure;
+            case DUPLICATE_EVENT -> {
+                Log.debug("Duplicated event ignored");
+                registry.counter(DUPLICATE_EVENT_COUNTER_NAME,
+                    TAG_KEY_BUNDLE, tags.getOrDefault(TAG_KEY_BUNDLE, ""),
+                    TAG_KEY_APPLICATION, tags.getOrDefault(TAG_KEY_APPLICATION, ""),
+                    TAG_KEY_EVENT_TYPE, tags.getOrDefault(TAG_KEY_EVENT_TYPE, ""))
+                    .increment();
+            }
+            case PERSISTED -> {
+                /*
+                 * Step 8
+                 * The Event and the Action it contains are processed by all relevant endpoint processors.
+                 */
+                try {
+                    endpointProcessor.process(record.event);
+                } catch (Exception e) {
+                    /*
+                     * The Event processing failed.
+                     */
+                    processingErrorCounter.increment();
+                    throw e;
+                }
+            }
+            default -> throw new IllegalStateException("Unexpected ingress outcome: " + record.outcome);
         }
     }
 
+    private void handleProcessingException(IngressRecord record, Exception e) {
+        /*
+         * An exception was thrown at some point during the Kafka message processing,
+         * it is logged and added to the exception counter metric.
+         */
+        processingExceptionCounter.increment();
+        Log.infof(e, "Could not process the payload: %s", record.message.getPayload());
+    }
+
+    private long monotonicTime() {
+        return registry.config().clock().monotonicTime();
+    }
+
+    /*
+     * The consumed timer only measures the steps of the record itself (and the batch steps it took part in), not
+     * the processing of the records that preceded it in the batch.
+     */
+    private void stopConsumedTimer(IngressRecord record) {
+        Map<String, String> tags = record.tags;
+        registry.timer(
+                CONSUMED_TIMER_NAME,
+                TAG_KEY_BUNDLE, tags.getOrDefault(TAG_KEY_BUNDLE, ""),
+                TAG_KEY_APPLICATION, tags.getOrDefault(TAG_KEY_APPLICATION, ""),
+                TAG_KEY_EVENT_TYPE, tags.getOrDefault(TAG_KEY_EVENT_TYPE, ""),
+                TAG_KEY_EVENT_TYPE_FQN, tags.getOrDefault(TAG_KEY_EVENT_TYPE_FQN, "")
+        ).record(record.consumedNanos, NANOSECONDS);
+    }
+
     private void updateSeverity(Event event, EventType eventType) {
         Severity severity = Severity.UNDEFINED;
         if (config.isIgnoreSeverityForApplicationsEnabled(event.getApplicationId())) {
@@ -353,29 +591,26 @@ public class EventConsumer {
     }
 
     private EventWrapper<?, ?> parsePayload(String payload, Map<String, String> tags) {
+        EventWrapper<?, ?> eventWrapper;
         try {
-            Action action = actionParser.fromJsonString(payload);
+            eventWrapper = eventWrapperParser.parse(payload);
+        } catch (ActionParsingException e) {
+            /*
+             * The payload is neither a valid Action nor a valid Cloud Event. The message is therefore considered
+             * rejected.
+             */
+            rejectedCounter.increment();
+            throw e;
+        }
+        if (eventWrapper instanceof EventWrapperAction eventWrapperAction) {
+            Action action = eventWrapperAction.getEvent();
             tags.put(TAG_KEY_BUNDLE, action.getBundle());
             tags.put(TAG_KEY_APPLICATION, action.getApplication());
             tags.put(TAG_KEY_EVENT_TYPE, action.getEventType());
-            return new EventWrapperAction(action);
-        } catch (ActionParsingException actionParseException) {
-            // Try to load it as a CloudEvent
-            try {
-                EventWrapperCloudEvent eventWrapperCloudEvent = new EventWrapperCloudEvent(cloudEventParser.fromJsonString(payload, NotificationsConsoleCloudEvent.class));
-                tags.put(TAG_KEY_EVENT_TYPE_FQN, eventWrapperCloudEvent.getKey().getFullyQualifiedName());
-                return eventWrapperCloudEvent;
-            } catch (ConsoleCloudEventParsingException cloudEventParseException) {
-                /*
-                 * An exception (most likely UncheckedIOException) was thrown during the payload parsing. The message
-                 * is therefore considered rejected.
-                 */
-                rejectedCounter.increment();
-
-                actionParseException.addSuppressed(cloudEventParseException);
-                throw actionParseException;
-            }
+        } else if (eventWrapper instanceof EventWrapperCloudEvent eventWrapperCloudEvent) {
+            tags.put(TAG_KEY_EVENT_TYPE_FQN, eventWrapperCloudEvent.getKey().getFullyQualifiedName());
         }
+        return eventWrapper;
     }
 
     private UUID getMessageId(EventWrapper<?, ?> eventWrapper, Optional<String> messageIdHeader) {
@@ -386,4 +621,42 @@ public class EventConsumer {
 
         return messageId;
     }
+
+    enum IngressOutcome {
+        DUPLICATE,
+        BLACKLISTED,
+        REJECTED,
+        FAILED,
+        DUPLICATE_EVENT,
+        PERSISTED
+    }
+
+    /*
+     * Holds the state of a Kafka message from a batch while it goes through the ingestion steps.
+     * This class can't be private because it is used in the signature of the intercepted ingest method.
+     */
+    static class IngressRecord {
+
+        final Message<String> message;
+        final Map<String, String> tags = new HashMap<>();
+        EventWrapper<?, ?> eventWrapper;
+        Map<String, Optional<String>> kafkaHeaders;
+        UUID messageId;
+        Event event;
+        boolean eventDeduplicationEnabled;
+        IngressOutcome outcome;
+        RuntimeException failure;
+        long consumedNanos;
+
+        IngressRecord(Message<String> message) {
+            this.message = message;
+        }
+
+        void reset() {
+            event = null;
+            eventDeduplicationEnabled = false;
+            outcome = null;
+            failure = null;
+        }
+    }
 }
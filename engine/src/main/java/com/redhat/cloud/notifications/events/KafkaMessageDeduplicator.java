@@ -10,9 +10,18 @@ import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
 import jakarta.transaction.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @ApplicationScoped
@@ -37,6 +46,9 @@ public class KafkaMessageDeduplicator {
     @Inject
     EngineConfig config;
 
+    @Inject
+    TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
     private Counter validMessageIdCounter;
     private Counter invalidMessageIdCounter;
     private Counter missingMessageIdCounter;
@@ -108,4 +120,66 @@ public class KafkaMessageDeduplicator {
             }
         }
     }
+
+    /**
+     * Batch variant of {@link #isNew(UUID)}. When the deduplication relies on the DB, all message IDs are inserted
+     * with a single multi-row statement. When it relies on Valkey, the message IDs can't be part of the DB transaction,
+     * so the new ones are removed from Valkey if that transaction is rolled back: otherwise the retry of the messages
+     * after a failure would reject all of them as duplicates.
+     * @param messageIds the message IDs to check, {@code null} values are ignored
+     * @return the subset of the given message IDs that were not known yet
+     */
+    @Transactional
+    public Set<UUID> filterNew(Collection<UUID> messageIds) {
+        Set<UUID> newMessageIds = new HashSet<>();
+        List<UUID> distinctMessageIds = messageIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (distinctMessageIds.isEmpty()) {
+            return newMessageIds;
+        }
+
+        if (config.isValkeyKafkaMessageDeduplicatorEnabled()) {
+            for (UUID messageId : distinctMessageIds) {
+                if (valkeyService.isNewMessageId(messageId)) {
+                    newMessageIds.add(messageId);
+                }
+            }
+            if (!newMessageIds.isEmpty()) {
+                Set<UUID> recordedMessageIds = Set.copyOf(newMessageIds);
+                transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+                    @Override
+                    public void beforeCompletion() {
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status != Status.STATUS_COMMITTED) {
+                            valkeyService.forgetMessageIds(recordedMessageIds);
+                        }
+                    }
+                });
+            }
+        } else {
+            StringBuilder sql = new StringBuilder("INSERT INTO kafka_message(id) VALUES ");
+            for (int i = 0; i < distinctMessageIds.size(); i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append("(:messageId").append(i).append(")");
+            }
+            sql.append(" ON CONFLICT DO NOTHING RETURNING id");
+
+            Query query = entityManager.createNativeQuery(sql.toString(), UUID.class);
+            for (int i = 0; i < distinctMessageIds.size(); i++) {
+                query.setParameter("messageId" + i, distinctMessageIds.get(i));
+            }
+
+            @SuppressWarnings("unchecked")
+            List<UUID> insertedMessageIds = query.getResultList();
+            newMessageIds.addAll(insertedMessageIds);
+        }
+        return newMessageIds;
+    }
 }
@@ -4,8 +4,16 @@ import com.redhat.cloud.notifications.models.Event;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import jakarta.transaction.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
 @ApplicationScoped
 public class EventDeduplicator {
 
@@ -28,23 +36,68 @@ public class EventDeduplicator {
 
     @Transactional
     public boolean isNew(Event event) {
+        return !filterNew(List.of(event)).isEmpty();
+    }
 
-        EventDeduplicationConfig eventDeduplicationConfig = getEventDeduplicationConfig(event);
+    /**
+     * Batch variant of {@link #isNew(Event)}. All deduplication entries from the given events are inserted with a
+     * single multi-row statement. If several events from the same batch share a deduplication key, only the first
+     * one is considered new.
+     * @param events the events to deduplicate
+     * @return the new events, in the same order as the given events
+     */
+    @Transactional
+    public List<Event> filterNew(List<Event> events) {
 
-        // Events are always considered new if no deduplication key is available.
-        if (eventDeduplicationConfig.getDeduplicationKey().isEmpty()) {
-            return true;
+        List<Optional<DeduplicationEntry>> entries = new ArrayList<>();
+        List<EventDeduplicationConfig> configs = new ArrayList<>();
+        for (Event event : events) {
+            EventDeduplicationConfig eventDeduplicationConfig = getEventDeduplicationConfig(event);
+            // Events are always considered new if no deduplication key is available.
+            Optional<DeduplicationEntry> entry = eventDeduplicationConfig.getDeduplicationKey()
+                .map(deduplicationKey -> new DeduplicationEntry(event.getEventType().getId(), deduplicationKey));
+            entries.add(entry);
+            if (entry.isPresent()) {
+                configs.add(eventDeduplicationConfig);
+            }
         }
 
-        String sql = "INSERT INTO event_deduplication(event_type_id, deduplication_key, delete_after) " +
-                "VALUES (:eventTypeId, :deduplicationKey, :deleteAfter) " +
-                "ON CONFLICT (event_type_id, deduplication_key) DO NOTHING";
+        Set<DeduplicationEntry> insertedEntries = new HashSet<>();
+        if (!configs.isEmpty()) {
+            StringBuilder sql = new StringBuilder("INSERT INTO event_deduplication(event_type_id, deduplication_key, delete_after) VALUES ");
+            for (int i = 0; i < configs.size(); i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append("(:eventTypeId").append(i).append(", :deduplicationKey").append(i).append(", :deleteAfter").append(i).append(")");
+            }
+            sql.append(" ON CONFLICT (event_type_id, deduplication_key) DO NOTHING RETURNING event_type_id, deduplication_key");
+
+            Query query = entityManager.createNativeQuery(sql.toString());
+            for (int i = 0; i < configs.size(); i++) {
+                EventDeduplicationConfig eventDeduplicationConfig = configs.get(i);
+                query.setParameter("eventTypeId" + i, eventDeduplicationConfig.event.getEventType().getId())
+                    .setParameter("deduplicationKey" + i, eventDeduplicationConfig.getDeduplicationKey().get())
+                    .setParameter("deleteAfter" + i, eventDeduplicationConfig.getDeleteAfter());
+            }
 
-        int rowCount = entityManager.createNativeQuery(sql)
-                .setParameter("eventTypeId", event.getEventType().getId())
-                .setParameter("deduplicationKey", eventDeduplicationConfig.getDeduplicationKey().get())
-                .setParameter("deleteAfter", eventDeduplicationConfig.getDeleteAfter())
-                .executeUpdate();
-        return rowCount > 0;
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = query.getResultList();
+            for (Object[] row : rows) {
+                insertedEntries.add(new DeduplicationEntry((UUID) row[0], (String) row[1]));
+            }
+        }
+
+        List<Event> newEvents = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            Optional<DeduplicationEntry> entry = entries.get(i);
+            // Removing the entry guarantees that only the first event of the batch with a given key is new.
+            if (entry.isEmpty() || insertedEntries.remove(entry.get())) {
+                newEvents.add(events.get(i));
+            }
+        }
+        return newEvents;
     }
+
+    private record DeduplicationEntry(UUID eventTypeId, String deduplicationKey) { }
 }
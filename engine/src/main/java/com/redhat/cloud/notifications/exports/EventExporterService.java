@@ -5,15 +5,24 @@ import com.redhat.cloud.notifications.db.repositories.EventRepository;
 import com.redhat.cloud.notifications.exports.filters.FilterExtractionException;
 import com.redhat.cloud.notifications.exports.filters.events.EventFilters;
 import com.redhat.cloud.notifications.exports.filters.events.EventFiltersExtractor;
+import com.redhat.cloud.notifications.exports.transformers.ResultsTransformer;
 import com.redhat.cloud.notifications.exports.transformers.TransformationException;
 import com.redhat.cloud.notifications.exports.transformers.UnsupportedFormatException;
 import com.redhat.cloud.notifications.exports.transformers.event.CSVEventTransformer;
 import com.redhat.cloud.notifications.exports.transformers.event.JSONEventTransformer;
 import com.redhat.cloud.notifications.models.Event;
+import io.quarkus.logging.Log;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 @ApplicationScoped
 public class EventExporterService {
@@ -25,11 +34,16 @@ public class EventExporterService {
     EventRepository eventRepository;
 
     /**
-     * Exports the events to the format specified in the request.
+     * Exports the events to the format specified in the request. The events
+     * are streamed from the database through the transformer into a temporary
+     * file, so that the memory usage does not depend on the size of the
+     * export. The file can then be uploaded in chunks to the export service.
      * @param resourceRequest the request to extract the filters and the
      *                        required data from.
      * @param orgId the associated organization ID of the request.
-     * @return a string containing the serialized contents.
+     * @return the path of a temporary file containing the serialized contents.
+     * It is the caller's responsibility to delete it once it is not needed
+     * anymore.
      * @throws FilterExtractionException if the filters could not be extracted
      *                                   due to them being malformed, being
      *                                   older than a month, being in the
@@ -40,21 +54,52 @@ public class EventExporterService {
      * @throws UnsupportedFormatException if the specified format is not
      *                                    supported by Notifications.
      */
-    public String exportEvents(final ResourceRequestClass resourceRequest, final String orgId) throws FilterExtractionException, TransformationException, UnsupportedFormatException {
+    @Transactional
+    public Path exportEvents(final ResourceRequestClass resourceRequest, final String orgId) throws FilterExtractionException, TransformationException, UnsupportedFormatException {
         // Extract the filters from the request.
         final EventFilters eventFilters = this.eventFiltersExtractor.extract(resourceRequest);
 
-        // Fetch the events from the database.
-        List<Event> events = this.eventRepository.findEventsToExport(orgId, eventFilters.from(), eventFilters.to());
-
-        switch (resourceRequest.getFormat()) {
-            case CSV -> {
-                return new CSVEventTransformer().transform(events);
-            }
-            case JSON -> {
-                return new JSONEventTransformer().transform(events);
-            }
+        final ResultsTransformer<Event> resultsTransformer = switch (resourceRequest.getFormat()) {
+            case CSV -> new CSVEventTransformer();
+            case JSON -> new JSONEventTransformer();
             default -> throw new UnsupportedFormatException();
+        };
+
+        final Path exportFile;
+        try {
+            exportFile = Files.createTempFile("notifications-export-", "." + resourceRequest.getFormat().name().toLowerCase());
+        } catch (final IOException e) {
+            throw new TransformationException(e);
+        }
+
+        // Stream the events from the database cursor to the file. The
+        // transaction keeps the cursor open while the events are consumed.
+        try (
+            Stream<Event> events = this.eventRepository.streamEventsToExport(orgId, eventFilters.from(), eventFilters.to());
+            Writer writer = Files.newBufferedWriter(exportFile, UTF_8)
+        ) {
+            resultsTransformer.transform(events, writer);
+        } catch (final IOException e) {
+            this.deleteExportFile(exportFile);
+            throw new TransformationException(e);
+        } catch (final TransformationException | RuntimeException e) {
+            this.deleteExportFile(exportFile);
+            throw e;
+        }
+
+        return exportFile;
+    }
+
+    /**
+     * Deletes a file which was previously returned by
+     * {@link #exportEvents(ResourceRequestClass, String)}.
+     * @param exportFile the file to delete.
+     */
+    public void deleteExportFile(final Path exportFile) {
+        try {
+            Files.deleteIfExists(exportFile);
+        } catch (final IOException e) {
+            Log.warnf(e, "Unable to delete the temporary export file %s", exportFile);
         }
     }
 }
@@ -26,6 +26,7 @@ import org.eclipse.microprofile.reactive.messaging.Incoming;
 import org.eclipse.microprofile.rest.client.inject.RestClient;
 
 import java.net.URLEncoder;
+import java.nio.file.Path;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -208,7 +209,7 @@ public class ExportEventListener {
             final String orgId = receivedEvent.getOrgId();
 
             // Handle exporting the requested resource type.
-            final String exportedContents;
+            final Path exportedContents;
             try {
                 exportedContents = this.eventExporterService.exportEvents(resourceRequest, orgId);
             } catch (FilterExtractionException e) {
@@ -243,22 +244,27 @@ public class ExportEventListener {
 
             String encodedAppName = URLEncoder.encode(APPLICATION_NAME, UTF_8);
 
-            // Send the contents to the export service.
-            switch (format) {
-                case CSV -> this.exportService.uploadCSVExport(this.exportServicePsk, exportRequestUuid, encodedAppName, resourceUuid, exportedContents);
-                case JSON -> this.exportService.uploadJSONExport(this.exportServicePsk, exportRequestUuid, encodedAppName, resourceUuid, exportedContents);
-                default -> {
-                    Log.debugf("[export_request_uuid: %s][resource_uuid: %s][requested_format: %s] unsupported format", exportRequestUuid, resourceUuid, format);
+            // Send the contents to the export service. The file is read and
+            // sent in chunks by the REST client, and deleted afterwards.
+            try {
+                switch (format) {
+                    case CSV -> this.exportService.uploadCSVExport(this.exportServicePsk, exportRequestUuid, encodedAppName, resourceUuid, exportedContents);
+                    case JSON -> this.exportService.uploadJSONExport(this.exportServicePsk, exportRequestUuid, encodedAppName, resourceUuid, exportedContents);
+                    default -> {
+                        Log.debugf("[export_request_uuid: %s][resource_uuid: %s][requested_format: %s] unsupported format", exportRequestUuid, resourceUuid, format);
 
-                    final ExportError exportError = new ExportError(
-                        HttpStatus.SC_BAD_REQUEST,
-                        String.format("the specified format '%s' is unsupported for the request", format)
-                    );
+                        final ExportError exportError = new ExportError(
+                            HttpStatus.SC_BAD_REQUEST,
+                            String.format("the specified format '%s' is unsupported for the request", format)
+                        );
 
-                    this.exportService.notifyErrorExport(this.exportServicePsk, exportRequestUuid, APPLICATION_NAME, resourceUuid, exportError);
+                        this.exportService.notifyErrorExport(this.exportServicePsk, exportRequestUuid, APPLICATION_NAME, resourceUuid, exportError);
 
-                    return;
+                        return;
+                    }
                 }
+            } finally {
+                this.eventExporterService.deleteExportFile(exportedContents);
             }
 
             this.successesCounter.increment();
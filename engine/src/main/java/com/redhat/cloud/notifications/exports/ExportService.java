@@ -25,7 +25,8 @@ public interface ExportService {
      * @param exportRequestUuid the {@link UUID} of the export request.
      * @param application the application the export request got requested to.
      * @param resourceUuid the {@link UUID} of the requested resource.
-     * @param exportContents the payload of the request.
+     * @param exportContents the file containing the payload of the request,
+     *                       which is streamed in chunks.
      */
     @Consumes(MediaType.APPLICATION_JSON)
     @Path("/{exportRequestUuid}/{application}/{resourceUuid}/upload")
@@ -36,7 +37,7 @@ public interface ExportService {
         @RestPath UUID exportRequestUuid,
         @RestPath String application,
         @RestPath UUID resourceUuid,
-        String exportContents
+        java.nio.file.Path exportContents
     );
 
     /**
@@ -45,7 +46,8 @@ public interface ExportService {
      * @param exportRequestUuid the {@link UUID} of the export request.
      * @param application the application the export request got requested to.
      * @param resourceUuid the {@link UUID} of the requested resource.
-     * @param exportContents the payload of the request.
+     * @param exportContents the file containing the payload of the request,
+     *                       which is streamed in chunks.
      */
     @Consumes("text/csv")
     @Path("/{exportRequestUuid}/{application}/{resourceUuid}/upload")
@@ -56,7 +58,7 @@ public interface ExportService {
         @RestPath UUID exportRequestUuid,
         @RestPath String application,
         @RestPath UUID resourceUuid,
-        String exportContents
+        java.nio.file.Path exportContents
     );
 
     /**
@@ -1,6 +1,7 @@
 package com.redhat.cloud.notifications.exports.transformers;
 
-import java.util.List;
+import java.io.Writer;
+import java.util.stream.Stream;
 
 /**
  * Defines the operations to be performed by a result transformer. The goal of
@@ -10,12 +11,14 @@ import java.util.List;
  */
 public interface ResultsTransformer<T> {
     /**
-     * Transforms the given list of resources to the end format to be sent to
-     * the export service.
-     * @param results the list of results to transform.
-     * @return a {@link String} with the transformed contents.
+     * Transforms the given stream of resources to the end format to be sent
+     * to the export service. The results are written one by one as they are
+     * consumed from the stream, so that the whole export never needs to be
+     * held in memory. The writer is flushed but not closed.
+     * @param results the stream of results to transform.
+     * @param writer the writer the transformed contents are written to.
      * @throws TransformationException if any error occurs during the
      * transformation of the results.
      */
-    String transform(List<T> results) throws TransformationException;
+    void transform(Stream<T> results, Writer writer) throws TransformationException;
 }
@@ -7,21 +7,22 @@ import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 
 import java.io.IOException;
-import java.io.StringWriter;
+import java.io.Writer;
 import java.time.ZoneOffset;
-import java.util.List;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 public final class CSVEventTransformer implements ResultsTransformer<Event> {
 
     private static final String[] CSV_HEADERS = {"uuid", "bundle", "application", "eventType", "created"};
 
     /**
-     * Transforms the given list of events to CSV.
-     * @param events the list of events to transform.
-     * @return a {@link String} with the transformed contents.
+     * Transforms the given stream of events to CSV.
+     * @param events the stream of events to transform.
+     * @param writer the writer the CSV contents are written to.
      */
     @Override
-    public String transform(final List<Event> events) throws TransformationException {
+    public void transform(final Stream<Event> events, final Writer writer) throws TransformationException {
         // Set the format for the CSV file.
         final CSVFormat csvFormat = CSVFormat.DEFAULT
             .builder()
@@ -29,10 +30,14 @@ public final class CSVEventTransformer implements ResultsTransformer<Event> {
             .setRecordSeparator(System.lineSeparator())
             .build();
 
-        final StringWriter stringWriter = new StringWriter();
+        // The printer is not closed because the writer belongs to the caller.
+        try {
+            final CSVPrinter csvPrinter = new CSVPrinter(writer, csvFormat);
+
+            final Iterator<Event> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                final Event event = iterator.next();
 
-        try (CSVPrinter csvPrinter = new CSVPrinter(stringWriter, csvFormat)) {
-            for (final Event event : events) {
                 csvPrinter.printRecord(
                     event.getId(),
                     event.getBundleDisplayName(),
@@ -42,7 +47,7 @@ public final class CSVEventTransformer implements ResultsTransformer<Event> {
                 );
             }
 
-            return stringWriter.toString();
+            csvPrinter.flush();
         } catch (final IOException e) {
             throw new TransformationException(e);
         }
@@ -1,35 +1,49 @@
 package com.redhat.cloud.notifications.exports.transformers.event;
 
 import com.redhat.cloud.notifications.exports.transformers.ResultsTransformer;
+import com.redhat.cloud.notifications.exports.transformers.TransformationException;
 import com.redhat.cloud.notifications.models.Event;
-import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.time.ZoneOffset;
-import java.util.List;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 public final class JSONEventTransformer implements ResultsTransformer<Event> {
     /**
-     * Transforms the given list of events to JSON.
-     * @param events the list of events to transform.
-     * @return a {@link String} with the transformed contents.
+     * Transforms the given stream of events to a JSON array. The array is
+     * written element by element instead of being built in memory.
+     * @param events the stream of events to transform.
+     * @param writer the writer the JSON contents are written to.
      */
     @Override
-    public String transform(final List<Event> events) {
-        final JsonArray jsonEvents = new JsonArray();
+    public void transform(final Stream<Event> events, final Writer writer) throws TransformationException {
+        try {
+            writer.write('[');
 
-        for (final Event event : events) {
-            final JsonObject jsonEvent = new JsonObject();
+            final Iterator<Event> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                final Event event = iterator.next();
+                final JsonObject jsonEvent = new JsonObject();
 
-            jsonEvent.put("uuid", event.getId());
-            jsonEvent.put("bundle", event.getBundleDisplayName());
-            jsonEvent.put("application", event.getApplicationDisplayName());
-            jsonEvent.put("eventType", event.getEventTypeDisplayName());
-            jsonEvent.put("created", event.getCreated().toInstant(ZoneOffset.UTC));
+                jsonEvent.put("uuid", event.getId());
+                jsonEvent.put("bundle", event.getBundleDisplayName());
+                jsonEvent.put("application", event.getApplicationDisplayName());
+                jsonEvent.put("eventType", event.getEventTypeDisplayName());
+                jsonEvent.put("created", event.getCreated().toInstant(ZoneOffset.UTC));
 
-            jsonEvents.add(jsonEvent);
-        }
+                writer.write(jsonEvent.encode());
+                if (iterator.hasNext()) {
+                    writer.write(',');
+                }
+            }
 
-        return jsonEvents.encode();
+            writer.write(']');
+            writer.flush();
+        } catch (final IOException e) {
+            throw new TransformationException(e);
+        }
     }
 }
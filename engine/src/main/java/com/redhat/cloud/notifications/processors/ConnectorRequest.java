@@ -0,0 +1,12 @@
+package com.redhat.cloud.notifications.processors;
+
+import com.redhat.cloud.notifications.models.Endpoint;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The payload that has to be sent to the connector of the given endpoint.
+ * @param endpoint the endpoint the payload is sent for.
+ * @param payload the payload sent to the connector.
+ */
+public record ConnectorRequest(Endpoint endpoint, JsonObject payload) {
+}
@@ -7,6 +7,7 @@ import com.redhat.cloud.notifications.models.Endpoint;
 import com.redhat.cloud.notifications.models.Event;
 import com.redhat.cloud.notifications.models.NotificationHistory;
 import com.redhat.cloud.notifications.processors.payload.PayloadDetails;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
@@ -16,6 +17,7 @@ import io.smallrye.reactive.messaging.TracingMetadata;
 import io.smallrye.reactive.messaging.ce.CloudEventMetadata;
 import io.smallrye.reactive.messaging.ce.OutgoingCloudEventMetadata;
 import io.smallrye.reactive.messaging.kafka.api.OutgoingKafkaRecordMetadata;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -25,10 +27,14 @@ import org.eclipse.microprofile.reactive.messaging.Channel;
 import org.eclipse.microprofile.reactive.messaging.Emitter;
 import org.eclipse.microprofile.reactive.messaging.Message;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.redhat.cloud.notifications.models.EndpointType.EMAIL_SUBSCRIPTION;
+import static com.redhat.cloud.notifications.models.NotificationHistory.generateId;
 import static com.redhat.cloud.notifications.models.NotificationHistory.getHistoryStub;
 import static com.redhat.cloud.notifications.models.NotificationStatus.FAILED_INTERNAL;
 import static com.redhat.cloud.notifications.models.NotificationStatus.PROCESSING;
@@ -51,6 +57,7 @@ public class ConnectorSender {
     public static final String X_RH_NOTIFICATIONS_CONNECTOR_HEADER = "x-rh-notifications-connector";
 
     private static final String NOTIFICATIONS_PAYLOAD_STORED_DATABASE_METRIC_NAME = "notifications.payload.stored.database";
+    private static final String NOTIFICATIONS_TOCAMEL_PAYLOAD_CONTENT_SIZE_METRIC_NAME = "notifications.tocamel.payload.content.size";
     private static final String TAG_KEY_CONNECTOR = "connector";
     private static final String TAG_KEY_APPLICATION = "application";
     private static final String TAG_KEY_EVENT_TYPE = "event_type";
@@ -75,59 +82,98 @@ public class ConnectorSender {
     @Inject
     PayloadDetailsRepository payloadDetailsRepository;
 
+    // The meters are registered once per set of tags instead of being looked up in the registry for each payload.
+    private final Map<MetricTags, DistributionSummary> payloadSizeSummaries = new ConcurrentHashMap<>();
+    private final Map<MetricTags, Counter> payloadStoredDatabaseCounters = new ConcurrentHashMap<>();
+
     public void send(Event event, Endpoint endpoint, JsonObject payload) {
+        send(event, List.of(new ConnectorRequest(endpoint, payload)));
+    }
+
+    /**
+     * Sends the payloads of an event to the connectors of their endpoints.
+     * The history items of all the endpoints are created with a single
+     * statement before the messages are sent to Kafka one after the other.
+     * @param event the event the payloads were built from.
+     * @param requests the payloads to send, along with their endpoints.
+     */
+    public void send(Event event, List<ConnectorRequest> requests) {
+        if (requests.isEmpty()) {
+            return;
+        }
+
+        final List<OutgoingMessage> outgoingMessages = new ArrayList<>(requests.size());
+        for (ConnectorRequest request : requests) {
+            outgoingMessages.add(prepare(event, request.endpoint(), request.payload()));
+        }
+
+        notificationHistoryRepository.createNotificationHistories(outgoingMessages.stream().map(OutgoingMessage::history).toList());
+
+        final List<NotificationHistory> failedHistories = new ArrayList<>();
+        for (OutgoingMessage outgoingMessage : outgoingMessages) {
+            final NotificationHistory history = outgoingMessage.history();
+            try {
+                Message<JsonObject> message = buildMessage(outgoingMessage.payload(), history.getId(), outgoingMessage.connector());
+
+                if (this.engineConfig.isOutgoingKafkaHighVolumeTopicEnabled()
+                    && this.isEventFromHighVolumeApplication(event)
+                    && this.isConnectorCompatibleWithHighVolumeTopic(outgoingMessage.connector())) {
+                    this.highVolumeEmitter.send(message);
+                    Log.debugf("[event_id: %s] Event sent through high volume Kafka topic", event.getId());
+                } else {
+                    this.emitter.send(message);
+                    Log.debugf("[event_id: %s] Event sent through regular Kafka topic", event.getId());
+                }
+            } catch (Exception e) {
+                history.setStatus(FAILED_INTERNAL);
+                history.setDetails(Map.of("failure", e.getMessage()));
+                failedHistories.add(history);
+                Log.infof(e, "Failed to send notification to connector [orgId=%s, eventId=%s, connector=%s, historyId=%s]",
+                        event.getOrgId(), event.getId(), outgoingMessage.connector(), history.getId());
+            }
+        }
+
+        if (!failedHistories.isEmpty()) {
+            notificationHistoryRepository.updateHistoryItems(failedHistories);
+        }
+    }
+
+    private OutgoingMessage prepare(Event event, Endpoint endpoint, JsonObject payload) {
         payload.put("org_id", event.getOrgId());
         payload.put("endpoint_id", endpoint.getId());
 
         String connector = getConnector(endpoint);
 
-        NotificationHistory history = getHistoryStub(endpoint, event, 0L, UUID.randomUUID());
+        NotificationHistory history = getHistoryStub(endpoint, event, 0L, generateId(event));
         history.setStatus(PROCESSING);
 
         Log.infof("Sending notification to connector [orgId=%s, eventId=%s, connector=%s, historyId=%s]",
                 event.getOrgId(), event.getId(), connector, history.getId());
 
-        notificationHistoryRepository.createNotificationHistory(history);
-
-        // Measure the payload size.
-        final int payloadSize = payload.toString().getBytes().length;
-        recordMetrics(event, connector, payloadSize);
+        // The payload is encoded once, the encoded payload is used to measure
+        // its size and is stored as is if it has to be offloaded.
+        final Buffer encodedPayload = payload.toBuffer();
+        final int payloadSize = encodedPayload.length();
+        final MetricTags metricTags = new MetricTags(connector, event.getApplicationDisplayName(), event.getEventTypeDisplayName());
+        recordMetrics(metricTags, payloadSize);
 
         // When the payload to be sent is greater than the configured limit,
         // store the payload in the database so that we can fetch it from the
         // connectors themselves.
         if (endpoint.getType() == EMAIL_SUBSCRIPTION && this.engineConfig.getKafkaToCamelMaximumRequestSize() <= payloadSize) {
-            final PayloadDetails payloadDetails = new PayloadDetails(event, payload);
+            final PayloadDetails payloadDetails = new PayloadDetails(event, encodedPayload.toString(UTF_8));
             this.payloadDetailsRepository.save(payloadDetails);
 
             payload = new JsonObject();
             payload.put(PayloadDetails.PAYLOAD_DETAILS_ID_KEY, payloadDetails.getId());
 
-            this.registry.counter(
+            this.payloadStoredDatabaseCounters.computeIfAbsent(metricTags, tags -> this.registry.counter(
                 NOTIFICATIONS_PAYLOAD_STORED_DATABASE_METRIC_NAME,
-                Tags.of(TAG_KEY_CONNECTOR, connector, TAG_KEY_APPLICATION, event.getApplicationDisplayName(), TAG_KEY_EVENT_TYPE, event.getEventTypeDisplayName())
-            ).increment();
+                Tags.of(TAG_KEY_CONNECTOR, tags.connector(), TAG_KEY_APPLICATION, tags.application(), TAG_KEY_EVENT_TYPE, tags.eventType())
+            )).increment();
         }
 
-        try {
-            Message<JsonObject> message = buildMessage(payload, history.getId(), connector);
-
-            if (this.engineConfig.isOutgoingKafkaHighVolumeTopicEnabled()
-                && this.isEventFromHighVolumeApplication(event)
-                && this.isConnectorCompatibleWithHighVolumeTopic(connector)) {
-                this.highVolumeEmitter.send(message);
-                Log.debugf("[event_id: %s] Event sent through high volume Kafka topic", event.getId());
-            } else {
-                this.emitter.send(message);
-                Log.debugf("[event_id: %s] Event sent through regular Kafka topic", event.getId());
-            }
-        } catch (Exception e) {
-            history.setStatus(FAILED_INTERNAL);
-            history.setDetails(Map.of("failure", e.getMessage()));
-            notificationHistoryRepository.updateHistoryItem(history);
-            Log.infof(e, "Failed to send notification to connector [orgId=%s, eventId=%s, connector=%s, historyId=%s]",
-                    event.getOrgId(), event.getId(), connector, history.getId());
-        }
+        return new OutgoingMessage(history, connector, payload);
     }
 
     private static Message<JsonObject> buildMessage(JsonObject payload, UUID historyId, String connector) {
@@ -186,14 +232,20 @@ public class ConnectorSender {
         return EMAIL_SUBSCRIPTION.name().toLowerCase().equals(connectorName);
     }
 
-    private void recordMetrics(Event event, String connector, int payloadSize) {
-        Log.debugf("Recording payload size metric: %d bytes for connector: %s", payloadSize, connector);
-        DistributionSummary.builder("notifications.tocamel.payload.content.size")
+    private void recordMetrics(MetricTags metricTags, int payloadSize) {
+        Log.debugf("Recording payload size metric: %d bytes for connector: %s", payloadSize, metricTags.connector());
+        payloadSizeSummaries.computeIfAbsent(metricTags, tags -> DistributionSummary.builder(NOTIFICATIONS_TOCAMEL_PAYLOAD_CONTENT_SIZE_METRIC_NAME)
             .baseUnit("bytes")
-            .tags(TAG_KEY_CONNECTOR, connector)
-            .tags(TAG_KEY_APPLICATION, event.getApplicationDisplayName())
-            .tags(TAG_KEY_EVENT_TYPE, event.getEventTypeDisplayName())
+            .tags(TAG_KEY_CONNECTOR, tags.connector())
+            .tags(TAG_KEY_APPLICATION, tags.application())
+            .tags(TAG_KEY_EVENT_TYPE, tags.eventType())
             .register(registry)
-            .record(payloadSize);
+        ).record(payloadSize);
+    }
+
+    private record MetricTags(String connector, String application, String eventType) {
+    }
+
+    private record OutgoingMessage(NotificationHistory history, String connector, JsonObject payload) {
     }
 }
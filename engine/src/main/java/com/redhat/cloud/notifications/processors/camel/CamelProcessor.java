@@ -8,6 +8,7 @@ import com.redhat.cloud.notifications.models.CamelProperties;
 import com.redhat.cloud.notifications.models.Endpoint;
 import com.redhat.cloud.notifications.models.Environment;
 import com.redhat.cloud.notifications.models.Event;
+import com.redhat.cloud.notifications.processors.ConnectorRequest;
 import com.redhat.cloud.notifications.processors.ConnectorSender;
 import com.redhat.cloud.notifications.processors.EndpointTypeProcessor;
 import com.redhat.cloud.notifications.processors.InsightsUrlsBuilder;
@@ -16,6 +17,7 @@ import io.quarkus.logging.Log;
 import io.vertx.core.json.JsonObject;
 import jakarta.inject.Inject;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -48,31 +50,39 @@ public abstract class CamelProcessor extends EndpointTypeProcessor {
             return;
         }
         DelayedThrower.throwEventually(DELAYED_EXCEPTION_MSG, accumulator -> {
+            List<ConnectorRequest> requests = new ArrayList<>(endpoints.size());
             for (Endpoint endpoint : endpoints) {
                 try {
-                    process(event, endpoint);
+                    requests.add(buildConnectorRequest(event, endpoint));
                 } catch (Exception e) {
                     accumulator.add(e);
                 }
             }
+            try {
+                connectorSender.send(event, requests);
+            } catch (Exception e) {
+                accumulator.add(e);
+            }
         });
     }
 
-    private void process(Event event, Endpoint endpoint) {
+    private ConnectorRequest buildConnectorRequest(Event event, Endpoint endpoint) {
 
         CamelNotification notification = getCamelNotification(event, endpoint);
         JsonObject payload = JsonObject.mapFrom(notification);
 
-        connectorSender.send(event, endpoint, payload);
+        return new ConnectorRequest(endpoint, payload);
     }
 
     protected Map<String, Object> convertEventAsDataMap(Event event) {
-        JsonObject data = baseTransformer.toJsonObject(event);
+        JsonObject data = baseTransformer.getTransformedEventCopy(event);
         insightsUrlsBuilder.buildInventoryUrl(data, getIntegrationType()).ifPresent(url -> data.put("inventory_url", url));
         data.put("application_url", insightsUrlsBuilder.buildApplicationUrl(data, getIntegrationType()));
 
         JsonObject context = data.getJsonObject("context");
         if (context != null) {
+            // The context is shared with the other processors of the event, it is copied before being modified.
+            context = context.copy();
             context.put("environment_url", environment.url());
         } else {
             context = JsonObject.of("environment_url", environment.url());
@@ -79,7 +79,7 @@ public class DrawerProcessor extends SystemEndpointTypeProcessor {
         }
 
         // build event thought qute template
-        JsonObject data = baseTransformer.toJsonObject(event);
+        JsonObject data = baseTransformer.getTransformedEvent(event);
 
         Map<String, Object> dataAsMap;
         try {
@@ -229,7 +229,7 @@ public class EmailAggregationProcessor extends SystemEndpointTypeProcessor {
         String eventTypeDisplayName = String.format("%s - %s",
             aggregatorEvent.getEventTypeDisplayName(),
             bundle.getDisplayName());
-        eventRepository.updateEventDisplayName(aggregatorEvent.getId(), eventTypeDisplayName);
+        eventRepository.updateEventDisplayName(aggregatorEvent, eventTypeDisplayName);
 
         Endpoint endpoint = endpointRepository.getOrCreateDefaultSystemSubscription(null, aggregatorEvent.getOrgId(), EndpointType.EMAIL_SUBSCRIPTION);
 
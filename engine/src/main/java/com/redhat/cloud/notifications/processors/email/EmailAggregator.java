@@ -1,16 +1,11 @@
 package com.redhat.cloud.notifications.processors.email;
 
-import com.redhat.cloud.event.parser.ConsoleCloudEventParser;
-import com.redhat.cloud.event.parser.exceptions.ConsoleCloudEventParsingException;
 import com.redhat.cloud.notifications.config.EngineConfig;
 import com.redhat.cloud.notifications.db.repositories.EmailAggregationRepository;
 import com.redhat.cloud.notifications.db.repositories.EndpointRepository;
 import com.redhat.cloud.notifications.db.repositories.EventTypeRepository;
 import com.redhat.cloud.notifications.db.repositories.SubscriptionRepository;
-import com.redhat.cloud.notifications.events.EventWrapper;
 import com.redhat.cloud.notifications.events.EventWrapperAction;
-import com.redhat.cloud.notifications.events.EventWrapperCloudEvent;
-import com.redhat.cloud.notifications.ingress.Action;
 import com.redhat.cloud.notifications.ingress.Recipient;
 import com.redhat.cloud.notifications.ingress.RecipientsAuthorizationCriterion;
 import com.redhat.cloud.notifications.models.EmailAggregation;
@@ -18,7 +13,6 @@ import com.redhat.cloud.notifications.models.Endpoint;
 import com.redhat.cloud.notifications.models.Event;
 import com.redhat.cloud.notifications.models.EventAggregationCriterion;
 import com.redhat.cloud.notifications.models.EventType;
-import com.redhat.cloud.notifications.models.NotificationsConsoleCloudEvent;
 import com.redhat.cloud.notifications.models.SubscriptionType;
 import com.redhat.cloud.notifications.processors.email.aggregators.AbstractEmailPayloadAggregator;
 import com.redhat.cloud.notifications.processors.email.aggregators.EmailPayloadAggregatorFactory;
@@ -27,12 +21,9 @@ import com.redhat.cloud.notifications.recipients.recipientsresolver.ExternalReci
 import com.redhat.cloud.notifications.recipients.request.ActionRecipientSettings;
 import com.redhat.cloud.notifications.recipients.request.EndpointRecipientSettings;
 import com.redhat.cloud.notifications.transformers.BaseTransformer;
-import com.redhat.cloud.notifications.utils.ActionParser;
-import com.redhat.cloud.notifications.utils.ActionParsingException;
+import com.redhat.cloud.notifications.utils.EventWrapperParser;
 import com.redhat.cloud.notifications.utils.RecipientsAuthorizationCriterionExtractor;
 import io.quarkus.logging.Log;
-import io.vertx.core.json.JsonArray;
-import io.vertx.core.json.JsonObject;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
@@ -69,7 +60,7 @@ public class EmailAggregator {
     EventTypeRepository eventTypeRepository;
 
     @Inject
-    ActionParser actionParser;
+    EventWrapperParser eventWrapperParser;
 
     @Inject
     EngineConfig engineConfig;
@@ -77,11 +68,8 @@ public class EmailAggregator {
     @Inject
     BaseTransformer baseTransformer;
 
-    ConsoleCloudEventParser cloudEventParser = new ConsoleCloudEventParser();
-
     // This is manually used from the JSON payload instead of converting it to an Action and using getEventType()
     private static final String EVENT_TYPE_KEY = "event_type";
-    private static final String RECIPIENTS_KEY = "recipients";
 
     @Inject
     RecipientsAuthorizationCriterionExtractor recipientsAuthorizationCriterionExtractor;
@@ -113,49 +101,42 @@ public class EmailAggregator {
                                          Map<String, Set<String>> subscribersByEventType,
                                          Map<String, Set<String>> unsubscribersByEventType,
                                          Map<User, AbstractEmailPayloadAggregator> aggregated) {
-        int offset = 0;
+        Event lastAggregation = null;
         int totalAggregatedElements = 0;
 
+        // The target endpoints and the recipients are resolved once per event type and once per recipients group, for all pages.
+        Map<UUID, Set<Endpoint>> endpointsByEventType = new HashMap<>();
+        Map<RecipientsGroup, Set<User>> recipientsByGroup = new HashMap<>();
+
         List<Event> aggregations;
         do {
-            // First, we retrieve paginated aggregations that match the given key.
-            aggregations = emailAggregationRepository.getEmailAggregationBasedOnEvent(eventAggregationCriteria, start, end, offset, maxPageSize);
-            offset += maxPageSize;
+            // First, we retrieve paginated aggregations that match the given key. Each page starts after the last aggregation of the previous page.
+            aggregations = emailAggregationRepository.getEmailAggregationBasedOnEvent(eventAggregationCriteria, start, end, lastAggregation, maxPageSize);
 
             // For each aggregation...
             for (Event aggregation : aggregations) {
                 // We need its event type to determine the target endpoints.
                 EventType eventType = aggregation.getEventType();
 
-                // Let's retrieve these targets.
-                Set<Endpoint> endpoints = Set.copyOf(endpointRepository
-                    .getTargetEmailSubscriptionEndpoints(aggregation.getOrgId(), aggregation.getEventType().getId()));
+                aggregation.setEventWrapper(eventWrapperParser.parse(aggregation.getPayload()));
+                RecipientsGroup recipientsGroup = new RecipientsGroup(
+                    eventType.getId(),
+                    getActionRecipientSettings(aggregation),
+                    recipientsAuthorizationCriterionExtractor.extract(aggregation)
+                );
 
                 /*
                  * Now we want to determine who will actually receive the aggregation email.
                  * All users who subscribed to the current application and subscription type combination are recipients candidates.
                  * The actual recipients list may differ from the candidates depending on the endpoint properties and the action settings.
                  * The target endpoints properties will determine whether each candidate will actually receive an email.
+                 * The aggregations which share the same recipients group always have the same recipients.
                  */
-
-                Set<String> subscribers = subscribersByEventType.getOrDefault(eventType.getName(), Collections.emptySet());
-                Set<String> unsubscribers = unsubscribersByEventType.getOrDefault(eventType.getName(), Collections.emptySet());
-                aggregation.setEventWrapper(getEventWrapper(aggregation.getPayload()));
-                RecipientsAuthorizationCriterion externalAuthorizationCriterion = recipientsAuthorizationCriterionExtractor.extract(aggregation);
-
-                Set<User> recipients = externalRecipientsResolver.recipientUsers(
-                    aggregation.getOrgId(),
-                    Stream.concat(
-                        endpoints
-                            .stream()
-                            .map(EndpointRecipientSettings::new),
-                        getActionRecipientSettings(new JsonObject(aggregation.getPayload()))
-                    ).collect(toSet()),
-                    subscribers,
-                    unsubscribers,
-                    eventType.isSubscribedByDefault(),
-                    externalAuthorizationCriterion
-                ).stream().filter(user -> user.getEmail() != null && !user.getEmail().isBlank()).collect(toSet());
+                Set<User> recipients = recipientsByGroup.computeIfAbsent(recipientsGroup, group -> {
+                    Set<Endpoint> endpoints = endpointsByEventType.computeIfAbsent(eventType.getId(), eventTypeId -> Set.copyOf(endpointRepository
+                        .getTargetEmailSubscriptionEndpoints(aggregation.getOrgId(), eventTypeId)));
+                    return resolveRecipients(aggregation.getOrgId(), eventType, endpoints, group, subscribersByEventType, unsubscribersByEventType);
+                });
 
                 /*
                  * We now have the final recipients list.
@@ -171,45 +152,64 @@ public class EmailAggregator {
                 });
             }
             totalAggregatedElements += aggregations.size();
+            if (!aggregations.isEmpty()) {
+                lastAggregation = aggregations.getLast();
+            }
+            // The aggregated data was copied by the aggregators, the entities are no longer needed.
+            emailAggregationRepository.detach(aggregations);
         } while (maxPageSize == aggregations.size());
-        Log.infof("%d elements were aggregated for key %s", totalAggregatedElements, eventAggregationCriteria);
+        Log.infof("%d elements were aggregated for key %s with %d recipients resolutions", totalAggregatedElements, eventAggregationCriteria, recipientsByGroup.size());
     }
 
-    private EventWrapper<?, ?> getEventWrapper(String payload) {
-        try {
-            Action action = actionParser.fromJsonString(payload);
-            return new EventWrapperAction(action);
-        } catch (ActionParsingException actionParseException) {
-            // Try to load it as a CloudEvent
-            try {
-                EventWrapperCloudEvent eventWrapperCloudEvent = new EventWrapperCloudEvent(cloudEventParser.fromJsonString(payload, NotificationsConsoleCloudEvent.class));
-                return eventWrapperCloudEvent;
-            } catch (ConsoleCloudEventParsingException cloudEventParseException) {
-                /*
-                 * An exception (most likely UncheckedIOException) was thrown during the payload parsing. The message
-                 * is therefore considered rejected.
-                 */
-
-                actionParseException.addSuppressed(cloudEventParseException);
-                throw actionParseException;
-            }
-        }
+    private Set<User> resolveRecipients(String orgId,
+                                        EventType eventType,
+                                        Set<Endpoint> endpoints,
+                                        RecipientsGroup recipientsGroup,
+                                        Map<String, Set<String>> subscribersByEventType,
+                                        Map<String, Set<String>> unsubscribersByEventType) {
+        Set<String> subscribers = subscribersByEventType.getOrDefault(eventType.getName(), Collections.emptySet());
+        Set<String> unsubscribers = unsubscribersByEventType.getOrDefault(eventType.getName(), Collections.emptySet());
+
+        return externalRecipientsResolver.recipientUsers(
+            orgId,
+            Stream.concat(
+                endpoints
+                    .stream()
+                    .map(EndpointRecipientSettings::new),
+                recipientsGroup.actionRecipientSettings().stream()
+            ).collect(toSet()),
+            subscribers,
+            unsubscribers,
+            eventType.isSubscribedByDefault(),
+            recipientsGroup.authorizationCriterion()
+        ).stream().filter(user -> user.getEmail() != null && !user.getEmail().isBlank()).collect(toSet());
     }
 
     private String getEventType(EmailAggregation aggregation) {
         return aggregation.getPayload().getString(EVENT_TYPE_KEY);
     }
 
-    private Stream<ActionRecipientSettings> getActionRecipientSettings(JsonObject payload) {
-        if (payload.containsKey(RECIPIENTS_KEY)) {
-            JsonArray recipients = payload.getJsonArray(RECIPIENTS_KEY);
-            if (!recipients.isEmpty()) {
-                return recipients.stream().map(r -> {
-                    JsonObject recipient = (JsonObject) r;
-                    return recipient.mapTo(Recipient.class);
-                }).map(r -> new ActionRecipientSettings(r.getOnlyAdmins(), r.getIgnoreUserPreferences(), r.getUsers(), r.getEmails()));
+    /*
+     * The recipients settings are read from the parsed Action instead of the raw JSON payload. The Cloud Events do not
+     * carry any recipients settings.
+     */
+    private Set<ActionRecipientSettings> getActionRecipientSettings(Event aggregation) {
+        if (aggregation.getEventWrapper() instanceof EventWrapperAction eventWrapperAction) {
+            List<Recipient> recipients = eventWrapperAction.getEvent().getRecipients();
+            if (recipients != null && !recipients.isEmpty()) {
+                return recipients.stream()
+                    .map(r -> new ActionRecipientSettings(r.getOnlyAdmins(), r.getIgnoreUserPreferences(), r.getUsers(), r.getEmails()))
+                    .collect(toSet());
             }
         }
-        return Stream.empty();
+        return Collections.emptySet();
+    }
+
+    /*
+     * The recipients of an aggregation only depend on its event type, on the recipients settings from its payload and
+     * on its authorization criterion. The other inputs of the recipients resolution are the same for all aggregations
+     * of an org and an application.
+     */
+    private record RecipientsGroup(UUID eventTypeId, Set<ActionRecipientSettings> actionRecipientSettings, RecipientsAuthorizationCriterion authorizationCriterion) {
     }
 }
@@ -139,7 +139,7 @@ public class EmailProcessor extends SystemEndpointTypeProcessor {
     }
 
     protected Map<String, Object> convertEventAsDataMap(Event event, EmailPendo pendoMessage, boolean ignoreUserPreferences) {
-        JsonObject data = baseTransformer.toJsonObject(event);
+        JsonObject data = baseTransformer.getTransformedEventCopy(event);
         data.put("environment", JsonObject.mapFrom(environment));
         data.put("pendo_message", pendoMessage);
         data.put("ignore_user_preferences", ignoreUserPreferences);
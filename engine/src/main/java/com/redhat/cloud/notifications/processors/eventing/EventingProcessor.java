@@ -6,6 +6,7 @@ import com.redhat.cloud.notifications.models.CamelProperties;
 import com.redhat.cloud.notifications.models.Endpoint;
 import com.redhat.cloud.notifications.models.Environment;
 import com.redhat.cloud.notifications.models.Event;
+import com.redhat.cloud.notifications.processors.ConnectorRequest;
 import com.redhat.cloud.notifications.processors.ConnectorSender;
 import com.redhat.cloud.notifications.processors.EndpointTypeProcessor;
 import com.redhat.cloud.notifications.processors.InsightsUrlsBuilder;
@@ -16,6 +17,7 @@ import io.vertx.core.json.JsonObject;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static com.redhat.cloud.notifications.events.EndpointProcessor.DELAYED_EXCEPTION_MSG;
@@ -52,22 +54,28 @@ public class EventingProcessor extends EndpointTypeProcessor {
             return;
         }
         DelayedThrower.throwEventually(DELAYED_EXCEPTION_MSG, accumulator -> {
+            List<ConnectorRequest> requests = new ArrayList<>(endpoints.size());
             for (Endpoint endpoint : endpoints) {
                 try {
-                    process(event, endpoint);
+                    requests.add(buildConnectorRequest(event, endpoint));
                 } catch (Exception e) {
                     accumulator.add(e);
                 }
             }
+            try {
+                connectorSender.send(event, requests);
+            } catch (Exception e) {
+                accumulator.add(e);
+            }
         });
     }
 
-    private void process(Event event, Endpoint endpoint) {
+    private ConnectorRequest buildConnectorRequest(Event event, Endpoint endpoint) {
         registry.counter(PROCESSED_COUNTER_NAME, "subType", endpoint.getSubType()).increment();
 
         JsonObject payload = buildPayload(event, endpoint);
 
-        connectorSender.send(event, endpoint, payload);
+        return new ConnectorRequest(endpoint, payload);
     }
 
     private JsonObject buildPayload(Event event, Endpoint endpoint) {
@@ -85,7 +93,7 @@ public class EventingProcessor extends EndpointTypeProcessor {
             metaData.put("authentication", authentication);
         }
 
-        final JsonObject payload = baseTransformer.toJsonObject(event);
+        final JsonObject payload = baseTransformer.getTransformedEventCopy(event);
         insightsUrlsBuilder.buildInventoryUrl(payload, endpoint.getSubType()).ifPresent(url -> payload.put("inventory_url", url));
         payload.put("application_url", insightsUrlsBuilder.buildApplicationUrl(payload, endpoint.getSubType()));
         if (endpoint.getSubType().equals("splunk")) {
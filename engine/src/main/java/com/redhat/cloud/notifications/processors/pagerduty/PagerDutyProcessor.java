@@ -5,6 +5,7 @@ import com.redhat.cloud.notifications.config.EngineConfig;
 import com.redhat.cloud.notifications.models.Endpoint;
 import com.redhat.cloud.notifications.models.Event;
 import com.redhat.cloud.notifications.models.PagerDutyProperties;
+import com.redhat.cloud.notifications.processors.ConnectorRequest;
 import com.redhat.cloud.notifications.processors.ConnectorSender;
 import com.redhat.cloud.notifications.processors.EndpointTypeProcessor;
 import com.redhat.cloud.notifications.processors.InsightsUrlsBuilder;
@@ -17,6 +18,7 @@ import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static com.redhat.cloud.notifications.events.EndpointProcessor.DELAYED_EXCEPTION_MSG;
@@ -58,22 +60,28 @@ public class PagerDutyProcessor extends EndpointTypeProcessor {
             return;
         }
         DelayedThrower.throwEventually(DELAYED_EXCEPTION_MSG, accumulator -> {
+            List<ConnectorRequest> requests = new ArrayList<>(endpoints.size());
             for (Endpoint endpoint : endpoints) {
                 try {
-                    process(event, endpoint);
+                    requests.add(buildConnectorRequest(event, endpoint));
                 } catch (Exception e) {
                     accumulator.add(e);
                 }
             }
+            try {
+                connectorSender.send(event, requests);
+            } catch (Exception e) {
+                accumulator.add(e);
+            }
         });
     }
 
-    private void process(Event event, Endpoint endpoint) {
+    private ConnectorRequest buildConnectorRequest(Event event, Endpoint endpoint) {
         processedPagerDutyCounter.increment();
         PagerDutyProperties properties = endpoint.getProperties(PagerDutyProperties.class);
 
         JsonObject connectorData = new JsonObject();
-        JsonObject transformedEvent = transformer.toJsonObject(event);
+        JsonObject transformedEvent = transformer.getTransformedEventCopy(event);
         insightsUrlsBuilder.buildInventoryUrl(transformedEvent, endpoint.getType().name()).ifPresent(url -> transformedEvent.put("inventory_url", url));
         transformedEvent.put("application_url", insightsUrlsBuilder.buildApplicationUrl(transformedEvent, endpoint.getType().name()));
         // TODO RHCLOUD-41561: replace this with tenant-provided severity levels
@@ -89,6 +97,6 @@ public class PagerDutyProcessor extends EndpointTypeProcessor {
             connectorData.put("authentication", authentication);
         }
 
-        connectorSender.send(event, endpoint, connectorData);
+        return new ConnectorRequest(endpoint, connectorData);
     }
 }
@@ -10,6 +10,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity(name = "PayloadDetails")
@@ -29,6 +30,9 @@ public class PayloadDetails extends CreationTimestamped {
     @Column(name = "event_id", nullable = false)
     private UUID eventId;
 
+    @Column(name = "event_created")
+    private LocalDateTime eventCreated;
+
     @Column(name = "contents", nullable = false)
     private String contents;
 
@@ -37,8 +41,13 @@ public class PayloadDetails extends CreationTimestamped {
     }
 
     public PayloadDetails(final Event event, final JsonObject contents) {
+        this(event, contents.encode());
+    }
+
+    public PayloadDetails(final Event event, final String encodedContents) {
         this.eventId = event.getId();
-        this.contents = contents.encode();
+        this.eventCreated = event.getCreated();
+        this.contents = encodedContents;
     }
 
     public UUID getId() {
@@ -53,6 +62,10 @@ public class PayloadDetails extends CreationTimestamped {
         return eventId;
     }
 
+    public LocalDateTime getEventCreated() {
+        return eventCreated;
+    }
+
     public String getContents() {
         return contents;
     }
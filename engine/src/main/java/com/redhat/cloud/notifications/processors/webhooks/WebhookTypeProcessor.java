@@ -5,6 +5,7 @@ import com.redhat.cloud.notifications.config.EngineConfig;
 import com.redhat.cloud.notifications.models.Endpoint;
 import com.redhat.cloud.notifications.models.Event;
 import com.redhat.cloud.notifications.models.WebhookProperties;
+import com.redhat.cloud.notifications.processors.ConnectorRequest;
 import com.redhat.cloud.notifications.processors.ConnectorSender;
 import com.redhat.cloud.notifications.processors.EndpointTypeProcessor;
 import com.redhat.cloud.notifications.transformers.BaseTransformer;
@@ -16,6 +17,7 @@ import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -54,22 +56,28 @@ public class WebhookTypeProcessor extends EndpointTypeProcessor {
             return;
         }
         DelayedThrower.throwEventually(DELAYED_EXCEPTION_MSG, accumulator -> {
+            List<ConnectorRequest> requests = new ArrayList<>(endpoints.size());
             for (Endpoint endpoint : endpoints) {
                 try {
-                    process(event, endpoint);
+                    requests.add(buildConnectorRequest(event, endpoint));
                 } catch (Exception e) {
                     accumulator.add(e);
                 }
             }
+            try {
+                connectorSender.send(event, requests);
+            } catch (Exception e) {
+                accumulator.add(e);
+            }
         });
     }
 
-    private void process(Event event, Endpoint endpoint) {
+    private ConnectorRequest buildConnectorRequest(Event event, Endpoint endpoint) {
         processedWebhookCount.increment();
 
         WebhookProperties properties = endpoint.getProperties(WebhookProperties.class);
 
-        final JsonObject payload = transformer.toJsonObject(event);
+        final JsonObject payload = transformer.getTransformedEvent(event);
 
         final JsonObject connectorData = new JsonObject();
 
@@ -81,7 +89,7 @@ public class WebhookTypeProcessor extends EndpointTypeProcessor {
             connectorData.put("authentication", authentication);
         });
 
-        connectorSender.send(event, endpoint, connectorData);
+        return new ConnectorRequest(endpoint, connectorData);
     }
 
     private static Optional<JsonObject> getAuthentication(WebhookProperties properties) {
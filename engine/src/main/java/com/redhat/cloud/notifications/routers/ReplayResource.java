@@ -1,20 +1,15 @@
 package com.redhat.cloud.notifications.routers;
 
-import com.redhat.cloud.event.parser.ConsoleCloudEventParser;
-import com.redhat.cloud.event.parser.exceptions.ConsoleCloudEventParsingException;
 import com.redhat.cloud.notifications.cloudevent.transformers.CloudEventTransformer;
 import com.redhat.cloud.notifications.cloudevent.transformers.CloudEventTransformerFactory;
 import com.redhat.cloud.notifications.events.EndpointProcessor;
 import com.redhat.cloud.notifications.events.EventWrapper;
 import com.redhat.cloud.notifications.events.EventWrapperAction;
 import com.redhat.cloud.notifications.events.EventWrapperCloudEvent;
-import com.redhat.cloud.notifications.ingress.Action;
 import com.redhat.cloud.notifications.models.EndpointType;
 import com.redhat.cloud.notifications.models.Event;
-import com.redhat.cloud.notifications.models.NotificationsConsoleCloudEvent;
 import com.redhat.cloud.notifications.routers.replay.EventsReplayRequest;
-import com.redhat.cloud.notifications.utils.ActionParser;
-import com.redhat.cloud.notifications.utils.ActionParsingException;
+import com.redhat.cloud.notifications.utils.EventWrapperParser;
 import io.quarkus.logging.Log;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
@@ -47,13 +42,11 @@ public class ReplayResource {
     EndpointProcessor endpointProcessor;
 
     @Inject
-    ActionParser actionParser;
+    EventWrapperParser eventWrapperParser;
 
     @Inject
     CloudEventTransformerFactory cloudEventTransformerFactory;
 
-    ConsoleCloudEventParser cloudEventParser = new ConsoleCloudEventParser();
-
     public List<Event> getEvents(String orgId, LocalDateTime startDate, LocalDateTime endDate, EndpointType endpointType, String endpointSubType, int firstResult, int maxResults) {
 
         String hql = "FROM Event e JOIN FETCH e.eventType " +
@@ -113,7 +106,7 @@ public class ReplayResource {
             firstResult += MAX_RESULTS;
             for (Event event : events) {
                 try {
-                    EventWrapper<?, ?> eventWrapper = parsePayload(event.getPayload());
+                    EventWrapper<?, ?> eventWrapper = eventWrapperParser.parse(event.getPayload());
 
                     if (eventWrapper instanceof EventWrapperCloudEvent) {
                         // We loaded a cloud event and identified the event-type it belongs to
@@ -142,19 +135,4 @@ public class ReplayResource {
         } while (MAX_RESULTS == events.size());
         Log.infof("%d events where replayed", processedEvents);
     }
-
-    private EventWrapper<?, ?> parsePayload(String payload) {
-        try {
-            Action action = actionParser.fromJsonString(payload);
-            return new EventWrapperAction(action);
-        } catch (ActionParsingException actionParseException) {
-            // Try to load it as a CloudEvent
-            try {
-                return new EventWrapperCloudEvent(cloudEventParser.fromJsonString(payload, NotificationsConsoleCloudEvent.class));
-            } catch (ConsoleCloudEventParsingException cloudEventParseException) {
-                actionParseException.addSuppressed(cloudEventParseException);
-                throw actionParseException;
-            }
-        }
-    }
 }
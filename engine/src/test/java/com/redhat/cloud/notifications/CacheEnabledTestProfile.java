@@ -0,0 +1,17 @@
+package com.redhat.cloud.notifications;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+import java.util.Map;
+
+/**
+ * Add this profile to a Quarkus test with {@link io.quarkus.test.junit.TestProfile @TestProfile}
+ * to enable the Quarkus caches, which are disabled in the other tests.
+ */
+public class CacheEnabledTestProfile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        return Map.of("quarkus.cache.enabled", "true");
+    }
+}
@@ -0,0 +1,21 @@
+package com.redhat.cloud.notifications;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+import java.util.Map;
+
+/**
+ * Add this profile to a Quarkus test with {@link io.quarkus.test.junit.TestProfile @TestProfile}
+ * to enable the endpoint routing index, which is disabled in the other tests. The routing versions
+ * are not checked periodically with this profile, the tests are expected to trigger the checks.
+ */
+public class EndpointRoutingIndexEnabledTestProfile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        return Map.of(
+            "notifications.endpoint-routing-index.enabled", "true",
+            "notifications.endpoint-routing-index.version-check-period", "off"
+        );
+    }
+}
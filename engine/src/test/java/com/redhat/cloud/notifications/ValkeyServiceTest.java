@@ -0,0 +1,76 @@
+package com.redhat.cloud.notifications;
+
+import io.quarkus.redis.datasource.RedisDataSource;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static com.redhat.cloud.notifications.ValkeyService.KAFKA_MESSAGE_ID_COUNTER_NAME;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@QuarkusTestResource(TestLifecycleManager.class)
+public class ValkeyServiceTest {
+
+    private static final String KAFKA_MESSAGE_KEY = "engine:kafka-message:";
+
+    @Inject
+    ValkeyService valkeyService;
+
+    @Inject
+    RedisDataSource redisDataSource;
+
+    @Inject
+    MicrometerAssertionHelper micrometerAssertionHelper;
+
+    @BeforeEach
+    void beforeEach() {
+        micrometerAssertionHelper.saveCounterValueWithTagsBeforeTest(KAFKA_MESSAGE_ID_COUNTER_NAME, "result");
+    }
+
+    @AfterEach
+    void afterEach() {
+        micrometerAssertionHelper.clearSavedValues();
+    }
+
+    @Test
+    void testNewMessageIdIsStoredWithExpiry() {
+        UUID messageId = UUID.randomUUID();
+
+        assertTrue(valkeyService.isNewMessageId(messageId));
+
+        // The key and its TTL are created with a single command, no key should ever be left without a TTL.
+        long ttl = redisDataSource.key().ttl(KAFKA_MESSAGE_KEY + messageId);
+        assertTrue(ttl > 0, "The message ID key should have an expiry");
+        micrometerAssertionHelper.assertCounterIncrement(KAFKA_MESSAGE_ID_COUNTER_NAME, 1, "result", "new");
+    }
+
+    @Test
+    void testRecentDuplicateIsRejectedLocally() {
+        UUID messageId = UUID.randomUUID();
+
+        assertTrue(valkeyService.isNewMessageId(messageId));
+        assertFalse(valkeyService.isNewMessageId(messageId));
+
+        // The second check is answered by the in-process cache, Valkey is only called once.
+        micrometerAssertionHelper.assertCounterIncrement(KAFKA_MESSAGE_ID_COUNTER_NAME, 1, "result", "new");
+        micrometerAssertionHelper.assertCounterIncrement(KAFKA_MESSAGE_ID_COUNTER_NAME, 0, "result", "duplicate");
+        micrometerAssertionHelper.assertCounterIncrement(KAFKA_MESSAGE_ID_COUNTER_NAME, 1, "result", "locally-rejected");
+    }
+
+    @Test
+    void testDuplicateKnownOnlyByValkey() {
+        UUID messageId = UUID.randomUUID();
+        // Simulates a message ID stored by another pod.
+        redisDataSource.value(String.class).setex(KAFKA_MESSAGE_KEY + messageId, 60L, "");
+
+        assertFalse(valkeyService.isNewMessageId(messageId));
+        micrometerAssertionHelper.assertCounterIncrement(KAFKA_MESSAGE_ID_COUNTER_NAME, 1, "result", "duplicate");
+    }
+}
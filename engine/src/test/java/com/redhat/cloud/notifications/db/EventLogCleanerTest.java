@@ -13,11 +13,15 @@ import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
 @QuarkusTestResource(TestLifecycleManager.class)
@@ -26,17 +30,49 @@ public class EventLogCleanerTest {
     @Inject
     EntityManager entityManager;
 
+    @Inject
+    EventLogPartitionsCreator eventLogPartitionsCreator;
+
     @Test
     @Transactional
     void testPostgresStoredProcedure() {
         deleteAllEvents();
-        EventType eventType = createEventType();
-        createEvent(eventType, now().minus(Duration.ofHours(1L)));
-        createEvent(eventType, now().minus(Duration.ofDays(16L)));
+        EventType eventType = createEventType("legacy-partition");
+        // These events are older than the partitioning cutover date and are stored in the former event table.
+        UUID recentEventId = createEvent(eventType, now().minus(Duration.ofHours(1L)));
+        createNotificationHistory(recentEventId, now().minus(Duration.ofHours(1L)));
+        UUID expiredEventId = createEvent(eventType, now().minus(Duration.ofDays(16L)));
+        createNotificationHistory(expiredEventId, now().minus(Duration.ofDays(16L)));
         createEvent(eventType, now().minus(Duration.ofDays(62L)));
         assertEquals(3L, count());
+        assertEquals(2L, countNotificationHistory());
         entityManager.createNativeQuery("CALL cleanEventLog()").executeUpdate();
         assertEquals(1L, count());
+        assertEquals(1L, countNotificationHistory());
+    }
+
+    @Test
+    @Transactional
+    void testDailyPartitions() {
+        deleteAllEvents();
+        EventType eventType = createEventType("daily-partition");
+
+        // The partitions of the upcoming days are created by the engine, the DB cleaner is not needed.
+        eventLogPartitionsCreator.createPartitions();
+        LocalDate lastDay = now().toLocalDate().plusDays(eventLogPartitionsCreator.getDaysAhead());
+        assertTrue(partitionExists("event", lastDay));
+        assertTrue(partitionExists("notification_history", lastDay));
+        assertFalse(partitionExists("event", lastDay.plusDays(1L)));
+        assertEquals(eventLogPartitionsCreator.getDaysAhead(), eventLogPartitionsCreator.getCoveredDaysAhead());
+
+        LocalDateTime created = lastDay.atTime(12, 0);
+        UUID eventId = createEvent(eventType, created);
+        createNotificationHistory(eventId, created);
+        assertEquals(1L, countNotificationHistory("notification_history_p" + lastDay.format(DateTimeFormatter.BASIC_ISO_DATE)));
+
+        // The history partition references the event partition of the same day.
+        deleteAllEvents();
+        assertEquals(0L, countNotificationHistory());
     }
 
     private Integer deleteAllEvents() {
@@ -44,9 +80,9 @@ public class EventLogCleanerTest {
                 .executeUpdate();
     }
 
-    private EventType createEventType() {
+    private EventType createEventType(String bundleName) {
         Bundle bundle = new Bundle();
-        bundle.setName("bundle");
+        bundle.setName(bundleName);
         bundle.setDisplayName("Bundle");
         bundle.prePersist();
         entityManager.persist(bundle);
@@ -69,10 +105,36 @@ public class EventLogCleanerTest {
         return eventType;
     }
 
-    private void createEvent(EventType eventType, LocalDateTime created) {
+    private UUID createEvent(EventType eventType, LocalDateTime created) {
         Event event = new Event("account-id", "org-id", eventType, UUID.randomUUID());
         event.setCreated(created);
         entityManager.persist(event);
+        return event.getId();
+    }
+
+    private void createNotificationHistory(UUID eventId, LocalDateTime eventCreated) {
+        entityManager.createNativeQuery("INSERT INTO notification_history (id, event_id, event_created, created, invocation_time, invocation_result, endpoint_type_v2) " +
+                        "VALUES (:id, :eventId, :eventCreated, :created, 1, TRUE, 'WEBHOOK')")
+                .setParameter("id", UUID.randomUUID())
+                .setParameter("eventId", eventId)
+                .setParameter("eventCreated", eventCreated)
+                .setParameter("created", eventCreated)
+                .executeUpdate();
+    }
+
+    private Long countNotificationHistory() {
+        return countNotificationHistory("notification_history");
+    }
+
+    private Long countNotificationHistory(String table) {
+        return ((Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM " + table)
+                .getSingleResult()).longValue();
+    }
+
+    private boolean partitionExists(String table, LocalDate day) {
+        return (Boolean) entityManager.createNativeQuery("SELECT TO_REGCLASS(:partition) IS NOT NULL")
+                .setParameter("partition", table + "_p" + day.format(DateTimeFormatter.BASIC_ISO_DATE))
+                .getSingleResult();
     }
 
     private Long count() {
@@ -4,12 +4,15 @@ import com.redhat.cloud.notifications.TestHelpers;
 import com.redhat.cloud.notifications.models.Application;
 import com.redhat.cloud.notifications.models.Bundle;
 import com.redhat.cloud.notifications.models.Endpoint;
+import com.redhat.cloud.notifications.models.EndpointEventType;
 import com.redhat.cloud.notifications.models.EndpointType;
 import com.redhat.cloud.notifications.models.Event;
 import com.redhat.cloud.notifications.models.EventType;
 import com.redhat.cloud.notifications.models.EventTypeEmailSubscription;
 import com.redhat.cloud.notifications.models.EventTypeEmailSubscriptionId;
+import com.redhat.cloud.notifications.models.HttpType;
 import com.redhat.cloud.notifications.models.SubscriptionType;
+import com.redhat.cloud.notifications.models.WebhookProperties;
 import io.vertx.core.json.JsonObject;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -25,6 +28,8 @@ import java.util.Set;
 import java.util.UUID;
 
 import static com.redhat.cloud.notifications.TestConstants.DEFAULT_ORG_ID;
+import static com.redhat.cloud.notifications.models.EndpointStatus.READY;
+import static com.redhat.cloud.notifications.models.EndpointType.WEBHOOK;
 import static java.time.ZoneOffset.UTC;
 
 @ApplicationScoped
@@ -163,6 +168,35 @@ public class ResourceHelpers {
         return endpoint;
     }
 
+    @Transactional
+    public Endpoint createWebhookEndpointLinkedToEventType(final String orgId, final EventType eventType) {
+        Endpoint endpoint = new Endpoint();
+        endpoint.setOrgId(orgId);
+        endpoint.setType(WEBHOOK);
+        endpoint.setName("endpoint-" + new SecureRandom().nextInt());
+        endpoint.setDescription("Endpoint description");
+        endpoint.setEnabled(true);
+        endpoint.setStatus(READY);
+        entityManager.persist(endpoint);
+
+        WebhookProperties properties = new WebhookProperties();
+        properties.setUrl("https://example.com");
+        properties.setMethod(HttpType.POST);
+        properties.setEndpoint(endpoint);
+        entityManager.persist(properties);
+
+        entityManager.persist(new EndpointEventType(entityManager.find(EventType.class, eventType.getId()), endpoint));
+        return endpoint;
+    }
+
+    @Transactional
+    public void updateEndpointEnabled(UUID endpointId, boolean enabled) {
+        entityManager.createQuery("UPDATE Endpoint SET enabled = :enabled WHERE id = :id")
+            .setParameter("enabled", enabled)
+            .setParameter("id", endpointId)
+            .executeUpdate();
+    }
+
     @Transactional
     public EventTypeEmailSubscription createEventTypeEmailSubscription(String orgId, String userId, EventType eventType, SubscriptionType subscriptionType) {
         EventTypeEmailSubscription eventTypeEmailSubscription = new EventTypeEmailSubscription();
@@ -0,0 +1,65 @@
+package com.redhat.cloud.notifications.db.repositories;
+
+import com.redhat.cloud.notifications.CacheEnabledTestProfile;
+import com.redhat.cloud.notifications.TestLifecycleManager;
+import com.redhat.cloud.notifications.models.Endpoint;
+import com.redhat.cloud.notifications.models.EndpointType;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static com.redhat.cloud.notifications.TestConstants.DEFAULT_ACCOUNT_ID;
+import static com.redhat.cloud.notifications.db.repositories.EndpointRepository.INTERNAL_ENDPOINT_TYPES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@QuarkusTestResource(TestLifecycleManager.class)
+@TestProfile(CacheEnabledTestProfile.class)
+public class DefaultSystemSubscriptionCacheTest {
+
+    @Inject
+    EndpointRepository endpointRepository;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Test
+    void testDefaultSystemSubscriptionIsCreatedOnce() {
+        final String orgId = "default-system-subscription-" + UUID.randomUUID();
+        Statistics statistics = sessionFactory.getStatistics();
+
+        for (EndpointType endpointType : INTERNAL_ENDPOINT_TYPES) {
+            statistics.clear();
+            Endpoint endpoint = endpointRepository.getOrCreateDefaultSystemSubscription(null, orgId, endpointType);
+            assertEquals(endpointType, endpoint.getType());
+            assertEquals(orgId, endpoint.getOrgId());
+            long firstCallStatements = statistics.getPrepareStatementCount();
+            assertTrue(firstCallStatements > 0);
+
+            // The next calls are served from the cache, whatever the account ID, without any DB statement.
+            for (int i = 0; i < 5; i++) {
+                assertEquals(endpoint.getId(), endpointRepository.getOrCreateDefaultSystemSubscription(DEFAULT_ACCOUNT_ID, orgId, endpointType).getId());
+            }
+            assertEquals(firstCallStatements, statistics.getPrepareStatementCount());
+            assertEquals(1L, countEndpoints(orgId, endpointType));
+        }
+    }
+
+    private long countEndpoints(String orgId, EndpointType endpointType) {
+        return entityManager.createQuery("SELECT COUNT(*) FROM Endpoint WHERE orgId = :orgId AND compositeType.type = :endpointType", Long.class)
+            .setParameter("orgId", orgId)
+            .setParameter("endpointType", endpointType)
+            .getSingleResult();
+    }
+}
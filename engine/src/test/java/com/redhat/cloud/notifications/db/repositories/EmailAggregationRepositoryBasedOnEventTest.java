@@ -52,7 +52,7 @@ public class EmailAggregationRepositoryBasedOnEventTest {
         resourceHelpers.addEventEmailAggregation(ORG_ID, "other-bundle", APP_NAME, PAYLOAD2);
         resourceHelpers.addEventEmailAggregation(ORG_ID, BUNDLE_NAME, "other-app", PAYLOAD2);
 
-        List<Event> aggregations = emailAggregationRepository.getEmailAggregationBasedOnEvent(key, start, end, 0, 10);
+        List<Event> aggregations = emailAggregationRepository.getEmailAggregationBasedOnEvent(key, start, end, null, 10);
         assertEquals(2, aggregations.size());
         assertTrue(aggregations.stream().map(Event::getOrgId).allMatch(ORG_ID::equals));
         assertTrue(aggregations.stream().map(Event::getBundleId).allMatch(application.getBundleId()::equals));
@@ -60,6 +60,15 @@ public class EmailAggregationRepositoryBasedOnEventTest {
         assertEquals(1, aggregations.stream().map(Event::getPayload).map(payload -> new JsonObject(payload)).filter(PAYLOAD1::equals).count());
         assertEquals(1, aggregations.stream().map(Event::getPayload).map(payload -> new JsonObject(payload)).filter(PAYLOAD2::equals).count());
 
+        // The same events are retrieved one page at a time, each page starting after the last event of the previous one.
+        List<Event> firstPage = emailAggregationRepository.getEmailAggregationBasedOnEvent(key, start, end, null, 1);
+        assertEquals(1, firstPage.size());
+        assertEquals(aggregations.get(0).getId(), firstPage.get(0).getId());
+        List<Event> secondPage = emailAggregationRepository.getEmailAggregationBasedOnEvent(key, start, end, firstPage.get(0), 1);
+        assertEquals(1, secondPage.size());
+        assertEquals(aggregations.get(1).getId(), secondPage.get(0).getId());
+        assertTrue(emailAggregationRepository.getEmailAggregationBasedOnEvent(key, start, end, secondPage.get(0), 1).isEmpty());
+
         resourceHelpers.clearEvents();
     }
 
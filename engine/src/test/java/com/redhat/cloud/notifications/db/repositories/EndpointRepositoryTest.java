@@ -3,11 +3,15 @@ package com.redhat.cloud.notifications.db.repositories;
 import com.redhat.cloud.notifications.TestLifecycleManager;
 import com.redhat.cloud.notifications.config.EngineConfig;
 import com.redhat.cloud.notifications.db.ResourceHelpers;
+import com.redhat.cloud.notifications.models.Application;
 import com.redhat.cloud.notifications.models.CamelProperties;
 import com.redhat.cloud.notifications.models.CompositeEndpointType;
 import com.redhat.cloud.notifications.models.Endpoint;
+import com.redhat.cloud.notifications.models.EndpointEventType;
 import com.redhat.cloud.notifications.models.EndpointProperties;
+import com.redhat.cloud.notifications.models.EndpointStatus;
 import com.redhat.cloud.notifications.models.EndpointType;
+import com.redhat.cloud.notifications.models.EventType;
 import com.redhat.cloud.notifications.models.HttpType;
 import com.redhat.cloud.notifications.models.PagerDutyProperties;
 import com.redhat.cloud.notifications.models.PagerDutySeverity;
@@ -20,6 +24,8 @@ import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,6 +42,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static com.redhat.cloud.notifications.TestConstants.DEFAULT_ORG_ID;
 import static com.redhat.cloud.notifications.db.repositories.EndpointRepository.INTERNAL_ENDPOINT_TYPES;
@@ -65,6 +75,9 @@ public class EndpointRepositoryTest {
     @Inject
     EntityManager entityManager;
 
+    @Inject
+    SessionFactory sessionFactory;
+
     @InjectSpy
     EngineConfig engineConfig;
 
@@ -115,6 +128,36 @@ public class EndpointRepositoryTest {
         assertFalse(ep.isEnabled());
     }
 
+    @Test
+    void testConcurrentServerErrorsDisableEndpointOnce() throws Exception {
+        Endpoint endpoint = resourceHelpers.createEndpoint(WEBHOOK, null, true, 0);
+        when(engineConfig.getMinDelaySinceFirstServerErrorBeforeDisabling()).thenReturn(Duration.ofNanos(1));
+        // This first call sets the date of the first server error.
+        assertFalse(endpointRepository.incrementEndpointServerErrors(endpoint.getId(), MAX_SERVER_ERRORS));
+
+        List<Future<Boolean>> results = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        try {
+            for (int i = 0; i < 10; i++) {
+                results.add(executor.submit(() -> endpointRepository.incrementEndpointServerErrors(endpoint.getId(), 1)));
+            }
+            int disablingCalls = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(10, TimeUnit.SECONDS)) {
+                    disablingCalls++;
+                }
+            }
+            assertEquals(1, disablingCalls);
+        } finally {
+            executor.shutdown();
+        }
+
+        entityManager.clear(); // The Hibernate L1 cache contains outdated data and needs to be cleared.
+        Endpoint ep = getEndpoint(endpoint.getId());
+        assertFalse(ep.isEnabled());
+        assertEquals(MAX_SERVER_ERRORS, ep.getServerErrors());
+    }
+
     @Test
     void testIncrementEndpointServerErrorsWithUnknownId() {
         when(engineConfig.getMinDelaySinceFirstServerErrorBeforeDisabling()).thenReturn(Duration.ofSeconds(1));
@@ -363,6 +406,73 @@ public class EndpointRepositoryTest {
         Assertions.assertEquals(expectedErrorMessage, exception.getMessage(), "unexpected error message received");
     }
 
+    @Test
+    void testTargetEndpointsPropertiesAreLoadedWithOneQuery() {
+        final String orgId = "load-properties-" + UUID.randomUUID();
+        Application application = resourceHelpers.findOrCreateApplication("load-properties-bundle", "load-properties-app");
+        EventType eventType = resourceHelpers.findOrCreateEventType(application.getId(), "load-properties-event-type");
+
+        WebhookProperties webhookProperties = new WebhookProperties();
+        webhookProperties.setUrl("https://example.org/webhook");
+        webhookProperties.setMethod(HttpType.POST);
+        webhookProperties.setDisableSslVerification(false);
+        CamelProperties camelProperties = new CamelProperties();
+        camelProperties.setUrl("https://example.org/camel");
+        camelProperties.setDisableSslVerification(false);
+        PagerDutyProperties pagerDutyProperties = new PagerDutyProperties();
+        pagerDutyProperties.setSeverity(PagerDutySeverity.WARNING);
+
+        Map<UUID, EndpointProperties> expectedProperties = new HashMap<>();
+        for (EndpointProperties properties : List.of(webhookProperties, camelProperties, new SystemSubscriptionProperties(), pagerDutyProperties)) {
+            EndpointType endpointType = switch (properties) {
+                case WebhookProperties ignored -> WEBHOOK;
+                case CamelProperties ignored -> CAMEL;
+                case PagerDutyProperties ignored -> PAGERDUTY;
+                default -> EMAIL_SUBSCRIPTION;
+            };
+            Endpoint endpoint = createLinkedEndpoint(orgId, endpointType, properties, eventType);
+            expectedProperties.put(endpoint.getId(), properties);
+        }
+
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+        List<Endpoint> endpoints = getTargetEndpointsWithoutUsingBgs(orgId, eventType);
+
+        // One query for the endpoints and one query for the properties of all endpoint types.
+        assertEquals(2L, statistics.getPrepareStatementCount());
+        assertEquals(expectedProperties.size(), endpoints.size());
+        for (Endpoint endpoint : endpoints) {
+            assertEquals(expectedProperties.get(endpoint.getId()).getClass(), endpoint.getProperties().getClass());
+            assertEquals(endpoint.getId(), endpoint.getProperties().getId());
+        }
+    }
+
+    @Transactional
+    Endpoint createLinkedEndpoint(String orgId, EndpointType endpointType, EndpointProperties properties, EventType eventType) {
+        Endpoint endpoint = new Endpoint();
+        endpoint.setOrgId(orgId);
+        endpoint.setType(endpointType);
+        if (endpointType == CAMEL) {
+            endpoint.setSubType("slack");
+        }
+        endpoint.setName("endpoint-" + UUID.randomUUID());
+        endpoint.setDescription("Endpoint description");
+        endpoint.setEnabled(true);
+        endpoint.setStatus(EndpointStatus.READY);
+        properties.setEndpoint(endpoint);
+        entityManager.persist(endpoint);
+        entityManager.persist(properties);
+        entityManager.persist(new EndpointEventType(entityManager.find(EventType.class, eventType.getId()), endpoint));
+        return endpoint;
+    }
+
+    @Transactional
+    List<Endpoint> getTargetEndpointsWithoutUsingBgs(String orgId, EventType eventType) {
+        // The persistence context is cleared to make sure the properties are not already loaded.
+        entityManager.clear();
+        return endpointRepository.getTargetEndpointsWithoutUsingBgs(orgId, eventType);
+    }
+
     @Transactional
     void persist(Endpoint endpoint) {
         entityManager.persist(endpoint);
@@ -101,7 +101,7 @@ public class EventRepositoryTest {
      */
     @Test
     void testGetAll() {
-        final List<Event> result = this.eventRepository.findEventsToExport(DEFAULT_ORG_ID, null, null);
+        final List<Event> result = this.eventRepository.streamEventsToExport(DEFAULT_ORG_ID, null, null).toList();
 
         Assertions.assertEquals(this.createdEvents.size(), result.size(), "unexpected number of fetched events");
         Assertions.assertIterableEquals(
@@ -118,7 +118,7 @@ public class EventRepositoryTest {
     void testGetJustFrom() {
         final LocalDate fourDaysAgo = TODAY.minusDays(4);
 
-        final List<Event> result = this.eventRepository.findEventsToExport(DEFAULT_ORG_ID, fourDaysAgo, null);
+        final List<Event> result = this.eventRepository.streamEventsToExport(DEFAULT_ORG_ID, fourDaysAgo, null).toList();
 
         Assertions.assertEquals(4, result.size(), "unexpected number of events received when applying the 'from' filter to four days ago");
 
@@ -145,7 +145,7 @@ public class EventRepositoryTest {
     void testGetJustTo() {
         final LocalDate threeDaysAgo = TODAY.minusDays(3);
 
-        final List<Event> result = this.eventRepository.findEventsToExport(DEFAULT_ORG_ID, null, threeDaysAgo);
+        final List<Event> result = this.eventRepository.streamEventsToExport(DEFAULT_ORG_ID, null, threeDaysAgo).toList();
 
         Assertions.assertEquals(3, result.size(), "unexpected number of events received when applying the 'to' filter to three days ago");
 
@@ -172,7 +172,7 @@ public class EventRepositoryTest {
         final LocalDate fourDaysAgo = TODAY.minusDays(4);
         final LocalDate threeDaysAgo = TODAY.minusDays(3);
 
-        final List<Event> result = this.eventRepository.findEventsToExport(DEFAULT_ORG_ID, fourDaysAgo, threeDaysAgo);
+        final List<Event> result = this.eventRepository.streamEventsToExport(DEFAULT_ORG_ID, fourDaysAgo, threeDaysAgo).toList();
 
         Assertions.assertEquals(2, result.size(), "unexpected number of events received when applying the 'from' filter to four days ago, and the 'to' filter to three days ago");
 
@@ -18,6 +18,7 @@ import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.Test;
 
 import java.security.SecureRandom;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -77,6 +78,33 @@ public class NotificationHistoryRepositoryTest {
         assertEquals(history.getDetails(), persistedHistory.getDetails());
     }
 
+    @Test
+    void testCreateHistories() {
+        NotificationHistory history1 = initData(123L, NotificationStatus.PROCESSING, WEBHOOK, null, null);
+        NotificationHistory history2 = initData(456L, NotificationStatus.PROCESSING, CAMEL, "slack", Map.of("alpha", "bravo"));
+        deleteEndpoint(history2.getEndpoint().getId());
+
+        repository.createNotificationHistories(List.of(history1, history2));
+
+        NotificationHistory persistedHistory1 = entityManager.find(NotificationHistory.class, history1.getId());
+        assertEquals(history1.getInvocationTime(), persistedHistory1.getInvocationTime());
+        assertEquals(history1.getStatus(), persistedHistory1.getStatus());
+        assertEquals(history1.getEvent(), persistedHistory1.getEvent());
+        assertEquals(history1.getEndpoint(), persistedHistory1.getEndpoint());
+        assertEquals(history1.getEndpointType(), persistedHistory1.getEndpointType());
+        assertNull(persistedHistory1.getEndpointSubType());
+        assertNull(persistedHistory1.getDetails());
+
+        NotificationHistory persistedHistory2 = entityManager.find(NotificationHistory.class, history2.getId());
+        assertEquals(history2.getInvocationTime(), persistedHistory2.getInvocationTime());
+        assertEquals(history2.getStatus(), persistedHistory2.getStatus());
+        assertEquals(history2.getEvent(), persistedHistory2.getEvent());
+        assertNull(persistedHistory2.getEndpoint());
+        assertEquals(history2.getEndpointType(), persistedHistory2.getEndpointType());
+        assertEquals(history2.getEndpointSubType(), persistedHistory2.getEndpointSubType());
+        assertEquals(history2.getDetails(), persistedHistory2.getDetails());
+    }
+
     @Transactional
     NotificationHistory initData(Long invocationTime, NotificationStatus status, EndpointType endpointType,
             String endpointSubType, Map<String, Object> details) {
@@ -21,13 +21,17 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static com.redhat.cloud.notifications.events.ConnectorReceiver.FROMCAMEL_CHANNEL;
 import static com.redhat.cloud.notifications.events.ConnectorReceiver.MESSAGES_ERROR_COUNTER_NAME;
 import static com.redhat.cloud.notifications.events.ConnectorReceiver.MESSAGES_PROCESSED_COUNTER_NAME;
+import static java.util.stream.Collectors.toSet;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -38,6 +42,9 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 @QuarkusTestResource(TestLifecycleManager.class)
 public class ConnectorReceiverTest {
 
+    private static final String EXPECTED_DETAILS_TYPE = "com.redhat.console.notification.toCamel.tower";
+    private static final String EXPECTED_DETAILS_TARGET = "1.2.3.4";
+
     @Inject
     @Any
     InMemoryConnector inMemoryConnector;
@@ -64,7 +71,10 @@ public class ConnectorReceiverTest {
         );
         final Endpoint endpoint = new Endpoint();
         endpoint.setId(UUID.fromString(expectedHistoryId));
-        Mockito.when(notificationHistoryRepository.getEndpointForHistoryId(Mockito.eq(expectedHistoryId))).thenReturn(endpoint);
+        Mockito.when(notificationHistoryRepository.getEndpointsForHistoryIds(Mockito.anyCollection())).then(invocation -> {
+            Collection<UUID> historyIds = invocation.getArgument(0);
+            return historyIds.contains(UUID.fromString(expectedHistoryId)) ? Map.of(UUID.fromString(expectedHistoryId), endpoint) : Map.of();
+        });
     }
 
     @AfterEach
@@ -74,7 +84,7 @@ public class ConnectorReceiverTest {
 
     @Test
     void testInvalidPayload() {
-        inMemoryConnector.source(FROMCAMEL_CHANNEL).send("I am not valid!");
+        inMemoryConnector.source(FROMCAMEL_CHANNEL).send(List.of("I am not valid!"));
 
         micrometerAssertionHelper.awaitAndAssertCounterIncrement(MESSAGES_PROCESSED_COUNTER_NAME, 1);
         micrometerAssertionHelper.assertCounterIncrement(MESSAGES_ERROR_COUNTER_NAME, 1);
@@ -118,28 +128,133 @@ public class ConnectorReceiverTest {
         testPayload(UUID.randomUUID().toString(), true, 67549274, null, NotificationStatus.SUCCESS);
     }
 
+    @Test
+    void testBatchOfPayloads() {
+        UUID historyId1 = UUID.randomUUID();
+        UUID historyId2 = UUID.randomUUID();
+        inMemoryConnector.source(FROMCAMEL_CHANNEL).send(List.of(
+            buildPayload(historyId1.toString(), true, 15, null),
+            "I am not valid!",
+            buildPayload(historyId2.toString(), false, 15, "Failure")
+        ));
+
+        micrometerAssertionHelper.awaitAndAssertCounterIncrement(MESSAGES_PROCESSED_COUNTER_NAME, 3);
+        micrometerAssertionHelper.assertCounterIncrement(MESSAGES_ERROR_COUNTER_NAME, 1);
+
+        // The valid payloads of the batch are processed with a single query and a single update.
+        verify(notificationHistoryRepository, times(1)).getEndpointsForHistoryIds(Set.of(historyId1, historyId2));
+        ArgumentCaptor<List<NotificationHistory>> nhUpdates = ArgumentCaptor.forClass(List.class);
+        verify(notificationHistoryRepository, times(1)).updateHistoryItems(nhUpdates.capture());
+        assertEquals(List.of(historyId1, historyId2), nhUpdates.getValue().stream().map(NotificationHistory::getId).toList());
+        assertEquals(List.of(NotificationStatus.SUCCESS, NotificationStatus.FAILED_EXTERNAL), nhUpdates.getValue().stream().map(NotificationHistory::getStatus).toList());
+        verifyNoMoreInteractions(notificationHistoryRepository);
+    }
+
+    @Test
+    void testBatchUpdateFailureFallsBackToIndividualUpdates() {
+        UUID poisonHistoryId = UUID.randomUUID();
+        Mockito.when(notificationHistoryRepository.updateHistoryItems(Mockito.anyList())).then(invocation -> {
+            List<NotificationHistory> histories = invocation.getArgument(0);
+            if (histories.stream().anyMatch(history -> poisonHistoryId.equals(history.getId()))) {
+                throw new RuntimeException("I am a forced exception!");
+            }
+            return histories.stream().map(NotificationHistory::getId).collect(toSet());
+        });
+
+        UUID historyId = UUID.fromString(expectedHistoryId);
+        inMemoryConnector.source(FROMCAMEL_CHANNEL).send(List.of(
+            buildPayload(poisonHistoryId.toString(), true, 15, null),
+            buildPayload(expectedHistoryId, true, 15, null)
+        ));
+
+        micrometerAssertionHelper.awaitAndAssertCounterIncrement(MESSAGES_PROCESSED_COUNTER_NAME, 2);
+        micrometerAssertionHelper.assertCounterIncrement(MESSAGES_ERROR_COUNTER_NAME, 1);
+
+        // One update for the batch, then one update per payload.
+        ArgumentCaptor<List<NotificationHistory>> nhUpdates = ArgumentCaptor.forClass(List.class);
+        verify(notificationHistoryRepository, times(3)).updateHistoryItems(nhUpdates.capture());
+        assertEquals(List.of(poisonHistoryId), nhUpdates.getAllValues().get(1).stream().map(NotificationHistory::getId).toList());
+        assertEquals(List.of(historyId), nhUpdates.getAllValues().get(2).stream().map(NotificationHistory::getId).toList());
+        // The endpoint errors bookkeeping still happens for the payload that was updated.
+        verify(notificationHistoryRepository, times(1)).getEndpointsForHistoryIds(Set.of(historyId));
+        verify(endpointRepository, times(1)).resetEndpointServerErrors(historyId);
+    }
+
+    @Test
+    void testBatchEndpointsRetrievalFailureFallsBackToIndividualRetrievals() {
+        UUID otherHistoryId = UUID.randomUUID();
+        UUID historyId = UUID.fromString(expectedHistoryId);
+        Mockito.when(notificationHistoryRepository.getEndpointsForHistoryIds(Set.of(otherHistoryId, historyId)))
+            .thenThrow(new RuntimeException("I am a forced exception!"));
+
+        inMemoryConnector.source(FROMCAMEL_CHANNEL).send(List.of(
+            buildPayload(otherHistoryId.toString(), true, 15, null),
+            buildPayload(expectedHistoryId, true, 15, null)
+        ));
+
+        micrometerAssertionHelper.awaitAndAssertCounterIncrement(MESSAGES_PROCESSED_COUNTER_NAME, 2);
+        micrometerAssertionHelper.assertCounterIncrement(MESSAGES_ERROR_COUNTER_NAME, 0);
+
+        verify(notificationHistoryRepository, times(1)).getEndpointsForHistoryIds(Set.of(otherHistoryId));
+        verify(notificationHistoryRepository, times(1)).getEndpointsForHistoryIds(Set.of(historyId));
+        verify(endpointRepository, times(1)).resetEndpointServerErrors(historyId);
+    }
+
     private void testPayload(boolean isSuccessful, long expectedDuration, String expectedOutcome, NotificationStatus expectedNotificationStatus) {
         testPayload(expectedHistoryId, isSuccessful, expectedDuration, expectedOutcome, expectedNotificationStatus);
     }
 
     private void testPayload(String historyId, boolean isSuccessful, long expectedDuration, String expectedOutcome, NotificationStatus expectedNotificationStatus) {
 
-        String expectedDetailsType = "com.redhat.console.notification.toCamel.tower";
-        String expectedDetailsTarget = "1.2.3.4";
+        String payload = buildPayload(historyId, isSuccessful, expectedDuration, expectedOutcome);
+
+        inMemoryConnector.source(FROMCAMEL_CHANNEL).send(List.of(payload));
+
+        micrometerAssertionHelper.awaitAndAssertCounterIncrement(MESSAGES_PROCESSED_COUNTER_NAME, 1);
+        micrometerAssertionHelper.assertCounterIncrement(MESSAGES_ERROR_COUNTER_NAME, 0);
+
+        ArgumentCaptor<List<NotificationHistory>> nhUpdates = ArgumentCaptor.forClass(List.class);
+        verify(notificationHistoryRepository, times(1)).updateHistoryItems(nhUpdates.capture());
+        assertEquals(1, nhUpdates.getValue().size());
+        NotificationHistory nhUpdate = nhUpdates.getValue().get(0);
+        verify(notificationHistoryRepository, times(1)).getEndpointsForHistoryIds(Set.of(nhUpdate.getId()));
 
+        verifyNoMoreInteractions(notificationHistoryRepository);
+
+        ArgumentCaptor<List<Map<String, Object>>> decodedPayloads = ArgumentCaptor.forClass(List.class);
+        verify(camelHistoryFillerHelper).updateHistoryItems(decodedPayloads.capture());
+        Map<String, Object> decodedPayload = decodedPayloads.getValue().get(0);
+
+        assertEquals(expectedNotificationStatus, nhUpdate.getStatus());
+
+        assertEquals(historyId, decodedPayload.get("historyId"));
+        assertEquals(expectedDuration, ((Number) decodedPayload.get("duration")).longValue());
+        assertEquals(expectedOutcome, decodedPayload.get("outcome"));
+        Map<String, Object> details = (Map<String, Object>) decodedPayload.get("details");
+        assertEquals(EXPECTED_DETAILS_TYPE, details.get("type"));
+        assertEquals(EXPECTED_DETAILS_TARGET, details.get("target"));
+
+        if (!expectedHistoryId.equals(historyId)) {
+            verifyNoInteractions(endpointRepository);
+        } else if (isSuccessful) {
+            verify(endpointRepository, times(1)).resetEndpointServerErrors(UUID.fromString(expectedHistoryId));
+        }
+    }
+
+    private static String buildPayload(String historyId, boolean isSuccessful, long expectedDuration, String expectedOutcome) {
         HashMap<String, Object> dataMap = new HashMap<>(Map.of(
                 "duration", expectedDuration,
                 "finishTime", 1639476503209L,
                 "details", Map.of(
-                        "type", expectedDetailsType,
-                        "target", expectedDetailsTarget
+                        "type", EXPECTED_DETAILS_TYPE,
+                        "target", EXPECTED_DETAILS_TARGET
                 ),
                 "successful", isSuccessful
         ));
 
         dataMap.put("outcome", expectedOutcome);
 
-        String payload = Json.encode(Map.of(
+        return Json.encode(Map.of(
                 "specversion", "1.0",
                 "source", "demo-log",
                 "type", "com.redhat.cloud.notifications.history",
@@ -148,33 +263,5 @@ public class ConnectorReceiverTest {
                 "content-type", "application/json",
                 "data", Json.encode(dataMap)
         ));
-        inMemoryConnector.source(FROMCAMEL_CHANNEL).send(payload);
-
-        micrometerAssertionHelper.awaitAndAssertCounterIncrement(MESSAGES_PROCESSED_COUNTER_NAME, 1);
-        micrometerAssertionHelper.assertCounterIncrement(MESSAGES_ERROR_COUNTER_NAME, 0);
-
-        ArgumentCaptor<NotificationHistory> nhUpdate = ArgumentCaptor.forClass(NotificationHistory.class);
-        verify(notificationHistoryRepository, times(1)).updateHistoryItem(nhUpdate.capture());
-        verify(notificationHistoryRepository, times(1)).getEndpointForHistoryId(nhUpdate.getValue().getId().toString());
-
-        verifyNoMoreInteractions(notificationHistoryRepository);
-
-        ArgumentCaptor<Map<String, Object>> decodedPayload = ArgumentCaptor.forClass(Map.class);
-        verify(camelHistoryFillerHelper).updateHistoryItem(decodedPayload.capture());
-
-        assertEquals(expectedNotificationStatus, nhUpdate.getValue().getStatus());
-
-        assertEquals(historyId, decodedPayload.getValue().get("historyId"));
-        assertEquals(expectedDuration, ((Number) decodedPayload.getValue().get("duration")).longValue());
-        assertEquals(expectedOutcome, decodedPayload.getValue().get("outcome"));
-        Map<String, Object> details = (Map<String, Object>) decodedPayload.getValue().get("details");
-        assertEquals(expectedDetailsType, details.get("type"));
-        assertEquals(expectedDetailsTarget, details.get("target"));
-
-        if (!expectedHistoryId.equals(historyId)) {
-            verifyNoInteractions(endpointRepository);
-        } else if (isSuccessful) {
-            verify(endpointRepository, times(1)).resetEndpointServerErrors(UUID.fromString(expectedHistoryId));
-        }
     }
 }
@@ -14,6 +14,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.util.List;
 import java.util.UUID;
 
 import static com.redhat.cloud.notifications.events.EndpointErrorFromConnectorHelper.CLIENT_TAG_VALUE;
@@ -59,7 +60,7 @@ class EndpointErrorFromConnectorHelperTest {
         final Endpoint endpoint = mockEndpointFromNotificationHistorySearch();
 
         JsonObject payload = buildTestPayload(true, null, 200);
-        endpointErrorFromConnectorHelper.manageEndpointDisablingIfNeeded(endpoint, payload);
+        endpointErrorFromConnectorHelper.manageEndpointDisablingIfNeeded(endpoint, List.of(payload));
         verify(endpointRepository, times(1)).resetEndpointServerErrors(endpoint.getId());
         verifyNoInteractions(integrationDisabledNotifier);
         assertMetrics(0, 0);
@@ -70,7 +71,7 @@ class EndpointErrorFromConnectorHelperTest {
         final Endpoint endpoint = mockEndpointFromNotificationHistorySearch();
 
         JsonObject payload = buildTestPayload(false, HTTP_5XX, 503);
-        endpointErrorFromConnectorHelper.manageEndpointDisablingIfNeeded(endpoint, payload);
+        endpointErrorFromConnectorHelper.manageEndpointDisablingIfNeeded(endpoint, List.of(payload));
         verify(endpointRepository, times(1)).incrementEndpointServerErrors(eq(endpoint.getId()), eq(4));
         verifyNoInteractions(integrationDisabledNotifier);
         assertMetrics(0, 0);
@@ -82,7 +83,7 @@ class EndpointErrorFromConnectorHelperTest {
         Mockito.when(endpointRepository.incrementEndpointServerErrors(eq(endpoint.getId()), anyInt())).thenReturn(true);
 
         JsonObject payload = buildTestPayload(false, HTTP_5XX, 503);
-        endpointErrorFromConnectorHelper.manageEndpointDisablingIfNeeded(endpoint, payload);
+        endpointErrorFromConnectorHelper.manageEndpointDisablingIfNeeded(endpoint, List.of(payload));
         verify(endpointRepository, times(1)).incrementEndpointServerErrors(eq(endpoint.getId()), eq(4));
 
         verify(integrationDisabledNotifier, times(1)).notify(endpoint, HTTP_5XX, 503, 0);
@@ -95,12 +96,32 @@ class EndpointErrorFromConnectorHelperTest {
         Mockito.when(endpointRepository.disableEndpoint(endpoint)).thenReturn(true);
 
         JsonObject payload = buildTestPayload(false, HTTP_4XX, 408);
-        endpointErrorFromConnectorHelper.manageEndpointDisablingIfNeeded(endpoint, payload);
+        endpointErrorFromConnectorHelper.manageEndpointDisablingIfNeeded(endpoint, List.of(payload));
         verify(endpointRepository, times(1)).disableEndpoint(endpoint);
         verify(integrationDisabledNotifier, times(1)).notify(endpoint, HTTP_4XX, 408, 1);
         assertMetrics(0, 1);
     }
 
+    @Test
+    void testAggregateBatchOfReturns() {
+        final Endpoint endpoint = mockEndpointFromNotificationHistorySearch();
+
+        List<JsonObject> payloads = List.of(
+            buildTestPayload(false, HTTP_5XX, 503),
+            buildTestPayload(true, null, 200),
+            buildTestPayload(false, HTTP_5XX, 503),
+            buildTestPayload(false, HTTP_5XX, 500)
+        );
+        endpointErrorFromConnectorHelper.manageEndpointDisablingIfNeeded(endpoint, payloads);
+
+        // The server errors received before the success are discarded, the other ones are added with a single call.
+        verify(endpointRepository, times(1)).resetEndpointServerErrors(endpoint.getId());
+        verify(endpointRepository, times(1)).incrementEndpointServerErrors(eq(endpoint.getId()), anyInt());
+        verify(endpointRepository, times(1)).incrementEndpointServerErrors(eq(endpoint.getId()), eq(8));
+        verifyNoInteractions(integrationDisabledNotifier);
+        assertMetrics(0, 0);
+    }
+
     @NotNull
     private Endpoint mockEndpointFromNotificationHistorySearch() {
         // Create an Endpoint which will be simulated to be fetched from the database.
@@ -117,7 +138,6 @@ class EndpointErrorFromConnectorHelperTest {
 
 
     private JsonObject buildTestPayload(boolean successful, HttpErrorType httpErrorType, int httpStatusCode) {
-        String expectedHistoryId = UUID.randomUUID().toString();
         String expectedDetailsType = "com.redhat.console.notification.toCamel.tower";
         String expectedDetailsTarget = "1.2.3.4";
 
@@ -141,15 +161,7 @@ class EndpointErrorFromConnectorHelperTest {
             data.put("error", error);
         }
 
-        return JsonObject.of(
-            "specversion", "1.0",
-            "source", "demo-log",
-            "type", "com.redhat.cloud.notifications.history",
-            "time", "2021-12-14T10:08:23.217Z",
-            "id", expectedHistoryId,
-            "content-type", "application/json",
-            "data", data.encode()
-        );
+        return data;
     }
 
     private void assertMetrics(int expectedServerErrorIncrement, int expectedClientErrorIncrement) {
@@ -1,5 +1,6 @@
 package com.redhat.cloud.notifications.events;
 
+import com.redhat.cloud.notifications.DelayedException;
 import com.redhat.cloud.notifications.config.EngineConfig;
 import com.redhat.cloud.notifications.db.repositories.EndpointRepository;
 import com.redhat.cloud.notifications.ingress.Action;
@@ -28,15 +29,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static com.redhat.cloud.notifications.events.EndpointProcessor.GOOGLE_CHAT_ENDPOINT_SUBTYPE;
 import static com.redhat.cloud.notifications.events.EndpointProcessor.SLACK_ENDPOINT_SUBTYPE;
 import static com.redhat.cloud.notifications.events.EndpointProcessor.TEAMS_ENDPOINT_SUBTYPE;
 import static java.time.ZoneOffset.UTC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 
@@ -336,6 +342,54 @@ public class EndpointProcessorTest {
         Mockito.verify(this.engineConfig, Mockito.times(2)).isBlacklistedEndpoint(any(UUID.class));
     }
 
+    /**
+     * Tests that the processors of the different endpoint types run
+     * concurrently, and that the exceptions they throw are still all
+     * reported at the end of the event processing.
+     */
+    @Test
+    void testProcessorsRunConcurrently() {
+        final String orgId = "test-org-id";
+
+        final Endpoint webhookEndpoint = new Endpoint();
+        webhookEndpoint.setType(EndpointType.WEBHOOK);
+
+        final Endpoint drawerEndpoint = new Endpoint();
+        drawerEndpoint.setType(EndpointType.DRAWER);
+
+        final Endpoint pagerDutyEndpoint = new Endpoint();
+        pagerDutyEndpoint.setType(EndpointType.PAGERDUTY);
+
+        Mockito.when(endpointRepository.getTargetEndpointsWithoutUsingBgs(Mockito.anyString(), Mockito.any(EventType.class)))
+            .thenReturn(List.of(webhookEndpoint, drawerEndpoint, pagerDutyEndpoint));
+
+        // Each processor waits for the others to start, which can only happen if they run concurrently.
+        final CountDownLatch processorsStarted = new CountDownLatch(3);
+        final Answer<Void> failingProcessor = invocation -> {
+            processorsStarted.countDown();
+            if (!processorsStarted.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("The processors did not run concurrently");
+            }
+            throw new IllegalStateException("Processor failure");
+        };
+        Mockito.doAnswer(failingProcessor).when(webhookProcessor).process(any(), any());
+        Mockito.doAnswer(failingProcessor).when(drawerProcessor).process(any(), any());
+        Mockito.doAnswer(failingProcessor).when(pagerDutyProcessor).process(any(), any());
+
+        final Event event = new Event();
+        event.setId(UUID.randomUUID());
+        event.setEventWrapper(new EventWrapperAction(buildAction(orgId)));
+        event.setEventType(new EventType());
+        event.setOrgId(orgId);
+
+        final DelayedException delayedException = assertThrows(DelayedException.class, () -> endpointProcessor.process(event));
+
+        assertEquals(3, delayedException.getSuppressed().length);
+        for (Throwable suppressed : delayedException.getSuppressed()) {
+            assertEquals("Processor failure", suppressed.getMessage());
+        }
+    }
+
     private static Action buildAction(String orgId) {
         Action action = new Action.ActionBuilder()
             .withBundle("rhel")
@@ -0,0 +1,171 @@
+package com.redhat.cloud.notifications.events;
+
+import com.redhat.cloud.notifications.EndpointRoutingIndexEnabledTestProfile;
+import com.redhat.cloud.notifications.TestLifecycleManager;
+import com.redhat.cloud.notifications.db.ResourceHelpers;
+import com.redhat.cloud.notifications.db.repositories.EndpointRepository;
+import com.redhat.cloud.notifications.models.Application;
+import com.redhat.cloud.notifications.models.Endpoint;
+import com.redhat.cloud.notifications.models.EventType;
+import com.redhat.cloud.notifications.models.WebhookProperties;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.junit.mockito.InjectSpy;
+import io.vertx.core.json.JsonObject;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static com.redhat.cloud.notifications.models.EndpointType.WEBHOOK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@QuarkusTest
+@QuarkusTestResource(TestLifecycleManager.class)
+@TestProfile(EndpointRoutingIndexEnabledTestProfile.class)
+public class EndpointRoutingIndexTest {
+
+    @Inject
+    EndpointRoutingIndex endpointRoutingIndex;
+
+    @Inject
+    EndpointErrorFromConnectorHelper endpointErrorFromConnectorHelper;
+
+    @Inject
+    ResourceHelpers resourceHelpers;
+
+    @InjectSpy
+    EndpointRepository endpointRepository;
+
+    @InjectMock
+    IntegrationDisabledNotifier integrationDisabledNotifier;
+
+    private EventType eventType;
+
+    @BeforeEach
+    void beforeEach() {
+        Application application = resourceHelpers.findOrCreateApplication("routing-index-bundle", "routing-index-app");
+        eventType = resourceHelpers.findOrCreateEventType(application.getId(), "routing-index-event-type");
+        // The first check only records the changes horizon, the index is used from that point.
+        endpointRoutingIndex.checkRoutingVersions();
+        clearInvocations(endpointRepository);
+    }
+
+    @Test
+    void testOnlyTheEntriesOfTheChangedOrgAreReloaded() {
+        String orgId = randomOrgId();
+        String otherOrgId = randomOrgId();
+
+        // The first calls load the endpoints from the DB, the next ones are served by the index.
+        assertTrue(endpointRoutingIndex.getTargetEndpoints(orgId, eventType).isEmpty());
+        assertTrue(endpointRoutingIndex.getTargetEndpoints(otherOrgId, eventType).isEmpty());
+        assertTrue(endpointRoutingIndex.getTargetEndpoints(orgId, eventType).isEmpty());
+        assertTrue(endpointRoutingIndex.getTargetEndpoints(otherOrgId, eventType).isEmpty());
+        verifyLoads(orgId, 1);
+        verifyLoads(otherOrgId, 1);
+
+        // Creating an endpoint increments the routing version of its org through DB triggers.
+        Endpoint endpoint = resourceHelpers.createWebhookEndpointLinkedToEventType(orgId, eventType);
+        endpointRoutingIndex.checkRoutingVersions();
+
+        assertEquals(List.of(endpoint.getId()), getTargetEndpointIds(orgId));
+        assertEquals(List.of(endpoint.getId()), getTargetEndpointIds(orgId));
+        assertTrue(endpointRoutingIndex.getTargetEndpoints(otherOrgId, eventType).isEmpty());
+        verifyLoads(orgId, 2);
+        verifyLoads(otherOrgId, 1);
+    }
+
+    @Test
+    void testEndpointDisabledByAnotherServiceIsNoLongerRouted() {
+        String orgId = randomOrgId();
+        Endpoint endpoint = resourceHelpers.createWebhookEndpointLinkedToEventType(orgId, eventType);
+        assertEquals(List.of(endpoint.getId()), getTargetEndpointIds(orgId));
+
+        resourceHelpers.updateEndpointEnabled(endpoint.getId(), false);
+        endpointRoutingIndex.checkRoutingVersions();
+        assertTrue(endpointRoutingIndex.getTargetEndpoints(orgId, eventType).isEmpty());
+
+        resourceHelpers.updateEndpointEnabled(endpoint.getId(), true);
+        endpointRoutingIndex.checkRoutingVersions();
+        assertEquals(List.of(endpoint.getId()), getTargetEndpointIds(orgId));
+    }
+
+    @Test
+    void testEndpointDisabledByTheEngineIsNoLongerRoutedWithoutCheck() {
+        String orgId = randomOrgId();
+        Endpoint endpoint = resourceHelpers.createWebhookEndpointLinkedToEventType(orgId, eventType);
+        endpointRoutingIndex.checkRoutingVersions();
+        assertEquals(List.of(endpoint.getId()), getTargetEndpointIds(orgId));
+
+        JsonObject clientError = JsonObject.of(
+            "successful", false,
+            "error", JsonObject.of("error_type", HttpErrorType.HTTP_4XX.name(), "http_status_code", 404)
+        );
+        endpointErrorFromConnectorHelper.manageEndpointDisablingIfNeeded(endpoint, List.of(clientError));
+
+        assertTrue(endpointRoutingIndex.getTargetEndpoints(orgId, eventType).isEmpty());
+    }
+
+    @Test
+    void testReturnedEndpointsAreNotShared() {
+        String orgId = randomOrgId();
+        resourceHelpers.createWebhookEndpointLinkedToEventType(orgId, eventType);
+        endpointRoutingIndex.checkRoutingVersions();
+
+        Endpoint endpoint = endpointRoutingIndex.getTargetEndpoints(orgId, eventType).getFirst();
+        endpoint.setEnabled(false);
+        endpoint.getProperties(WebhookProperties.class).setUrl("https://modified.example.com");
+
+        Endpoint otherEndpoint = endpointRoutingIndex.getTargetEndpoints(orgId, eventType).getFirst();
+        assertNotSame(endpoint, otherEndpoint);
+        assertTrue(otherEndpoint.isEnabled());
+        assertEquals("https://example.com", otherEndpoint.getProperties(WebhookProperties.class).getUrl());
+        assertNotSame(endpoint.getProperties(), otherEndpoint.getProperties());
+        verifyLoads(orgId, 1);
+    }
+
+    @Test
+    void testServerErrorsUpdateDoesNotChangeRoutingVersion() {
+        String orgId = randomOrgId();
+        Endpoint endpoint = resourceHelpers.createEndpoint(orgId, WEBHOOK, null, true, 0);
+        long version = getRoutingVersion(orgId);
+
+        // The server errors counter is updated often and is not part of the routing data.
+        endpointRepository.resetEndpointServerErrors(endpoint.getId());
+        endpointRepository.incrementEndpointServerErrors(endpoint.getId(), 1);
+        assertEquals(version, getRoutingVersion(orgId));
+
+        resourceHelpers.updateEndpointEnabled(endpoint.getId(), false);
+        assertTrue(getRoutingVersion(orgId) > version);
+    }
+
+    private long getRoutingVersion(String orgId) {
+        // The horizon 0 returns the versions of all the orgs which changed at some point.
+        return endpointRepository.getRoutingVersionsChangedSince(0L).get(orgId);
+    }
+
+    private List<UUID> getTargetEndpointIds(String orgId) {
+        return endpointRoutingIndex.getTargetEndpoints(orgId, eventType).stream()
+            .map(Endpoint::getId)
+            .toList();
+    }
+
+    private void verifyLoads(String orgId, int times) {
+        verify(endpointRepository, times(times)).getTargetEndpointsWithoutUsingBgs(eq(orgId), any(EventType.class));
+    }
+
+    private static String randomOrgId() {
+        return "routing-" + UUID.randomUUID();
+    }
+}
@@ -36,7 +36,14 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.redhat.cloud.notifications.TestConstants.DEFAULT_ACCOUNT_ID;
 import static com.redhat.cloud.notifications.TestConstants.DEFAULT_ORG_ID;
@@ -58,12 +65,19 @@ import static com.redhat.cloud.notifications.events.KafkaMessageDeduplicator.MES
 import static com.redhat.cloud.notifications.events.KafkaMessageDeduplicator.MESSAGE_ID_MISSING_COUNTER_NAME;
 import static com.redhat.cloud.notifications.events.KafkaMessageDeduplicator.MESSAGE_ID_VALID_COUNTER_NAME;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.AdditionalMatchers.or;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -112,6 +126,9 @@ public class EventConsumerTest {
     @Inject
     EntityManager entityManager;
 
+    @Inject
+    EventConsumer eventConsumer;
+
     @BeforeEach
     void beforeEach() {
         micrometerAssertionHelper.saveCounterValuesBeforeTest(
@@ -148,7 +165,7 @@ public class EventConsumerTest {
         String payload = serializeAction(action);
         UUID messageId = UUID.randomUUID();
         Message<String> message = buildMessageWithId(messageId.toString().getBytes(UTF_8), payload);
-        inMemoryConnector.source(INGRESS_CHANNEL).send(message);
+        inMemoryConnector.source(INGRESS_CHANNEL).send(toBatch(message));
 
         micrometerAssertionHelper.awaitAndAssertTimerIncrement(CONSUMED_TIMER_NAME, 1);
         assertEquals(1L, getTimerCount(action.getBundle(), action.getApplication(), action.getEventType()));
@@ -165,9 +182,9 @@ public class EventConsumerTest {
 
         verifyExactlyOneProcessing(eventType, payload, action, true);
         verifySeverity(action, false);
-        verify(kafkaMessageDeduplicator, times(1)).isNew(messageId);
+        verify(kafkaMessageDeduplicator, times(1)).filterNew(List.of(messageId));
         // TODO eventDeduplicator will be called once when kafkaMessageDeduplicator is removed.
-        verify(eventDeduplicator, never()).isNew(any(Event.class));
+        verify(eventDeduplicator, never()).filterNew(any());
     }
 
     @Test
@@ -181,7 +198,7 @@ public class EventConsumerTest {
         Message<String> message = buildMessageWithId(messageId.toString().getBytes(UTF_8), payload);
         when(config.isBlacklistedEventType(eq(eventType.getId()))).thenReturn(true);
 
-        inMemoryConnector.source(INGRESS_CHANNEL).send(message);
+        inMemoryConnector.source(INGRESS_CHANNEL).send(toBatch(message));
 
         micrometerAssertionHelper.awaitAndAssertTimerIncrement(CONSUMED_TIMER_NAME, 1);
         assertEquals(1L, getTimerCount(action.getBundle(), action.getApplication(), action.getEventType()));
@@ -206,9 +223,9 @@ public class EventConsumerTest {
 
         verify(endpointProcessor, never()).process(any(Event.class));
 
-        verify(kafkaMessageDeduplicator, times(1)).isNew(messageId);
+        verify(kafkaMessageDeduplicator, times(1)).filterNew(List.of(messageId));
         // TODO eventDeduplicator will be called once when kafkaMessageDeduplicator is removed.
-        verify(eventDeduplicator, never()).isNew(any(Event.class));
+        verify(eventDeduplicator, never()).filterNew(any());
     }
 
     @Test
@@ -216,7 +233,7 @@ public class EventConsumerTest {
         EventType eventType = mockGetEventTypeAndCreateEvent();
         Action action = buildValidAction(false);
         String payload = serializeAction(action);
-        inMemoryConnector.source(INGRESS_CHANNEL).send(payload);
+        inMemoryConnector.source(INGRESS_CHANNEL).send(List.of(payload));
 
         micrometerAssertionHelper.awaitAndAssertTimerIncrement(CONSUMED_TIMER_NAME, 1);
         assertEquals(1L, getTimerCount(action.getBundle(), action.getApplication(), action.getEventType()));
@@ -231,9 +248,9 @@ public class EventConsumerTest {
                 PROCESSING_BLACKLISTED_COUNTER_NAME
         );
         verifyExactlyOneProcessing(eventType, payload, action, false);
-        verify(kafkaMessageDeduplicator, times(1)).isNew(null);
+        verify(kafkaMessageDeduplicator, times(1)).filterNew(Collections.singletonList(null));
         // TODO eventDeduplicator will be called once when kafkaMessageDeduplicator is removed.
-        verify(eventDeduplicator, never()).isNew(any(Event.class));
+        verify(eventDeduplicator, never()).filterNew(any());
     }
 
     @Test
@@ -248,7 +265,7 @@ public class EventConsumerTest {
         String payload = serializeAction(action);
         UUID messageId = UUID.randomUUID();
         Message<String> message = buildMessageWithId(messageId.toString().getBytes(UTF_8), payload);
-        inMemoryConnector.source(INGRESS_CHANNEL).send(message);
+        inMemoryConnector.source(INGRESS_CHANNEL).send(toBatch(message));
 
         micrometerAssertionHelper.awaitAndAssertTimerIncrement(CONSUMED_TIMER_NAME, 1);
         assertEquals(1L, getTimerCount(action.getBundle(), action.getApplication(), action.getEventType()));
@@ -268,7 +285,7 @@ public class EventConsumerTest {
     @Test
     void testInvalidPayloadWithMessageId() {
         Message<String> message = buildMessageWithId(UUID.randomUUID().toString().getBytes(UTF_8), "I am not a valid payload!");
-        inMemoryConnector.source(INGRESS_CHANNEL).send(message);
+        inMemoryConnector.source(INGRESS_CHANNEL).send(toBatch(message));
 
         micrometerAssertionHelper.awaitAndAssertTimerIncrement(CONSUMED_TIMER_NAME, 1);
         assertEquals(1L, getTimerCount("", "", ""));
@@ -283,8 +300,8 @@ public class EventConsumerTest {
                 PROCESSING_BLACKLISTED_COUNTER_NAME
         );
         verify(endpointProcessor, never()).process(any(Event.class));
-        verify(kafkaMessageDeduplicator, never()).isNew(any(UUID.class));
-        verify(eventDeduplicator, never()).isNew(any(Event.class));
+        verify(kafkaMessageDeduplicator, never()).filterNew(any());
+        verify(eventDeduplicator, never()).filterNew(any());
     }
 
     @Test
@@ -292,7 +309,7 @@ public class EventConsumerTest {
         mockGetUnknownEventType();
         Action action = buildValidAction(false);
         String payload = serializeAction(action);
-        inMemoryConnector.source(INGRESS_CHANNEL).send(payload);
+        inMemoryConnector.source(INGRESS_CHANNEL).send(List.of(payload));
 
         micrometerAssertionHelper.awaitAndAssertTimerIncrement(CONSUMED_TIMER_NAME, 1);
         assertEquals(1L, getTimerCount(action.getBundle(), action.getApplication(), action.getEventType()));
@@ -307,9 +324,9 @@ public class EventConsumerTest {
                 PROCESSING_BLACKLISTED_COUNTER_NAME
         );
         verify(endpointProcessor, never()).process(any(Event.class));
-        verify(kafkaMessageDeduplicator, times(1)).isNew(null);
+        verify(kafkaMessageDeduplicator, times(1)).filterNew(Collections.singletonList(null));
         // TODO eventDeduplicator will be called once when kafkaMessageDeduplicator is removed.
-        verify(eventDeduplicator, never()).isNew(any(Event.class));
+        verify(eventDeduplicator, never()).filterNew(any());
     }
 
     @Test
@@ -318,7 +335,7 @@ public class EventConsumerTest {
         mockProcessingFailure();
         Action action = buildValidAction(false);
         String payload = serializeAction(action);
-        inMemoryConnector.source(INGRESS_CHANNEL).send(payload);
+        inMemoryConnector.source(INGRESS_CHANNEL).send(List.of(payload));
 
         micrometerAssertionHelper.awaitAndAssertTimerIncrement(CONSUMED_TIMER_NAME, 1);
         assertEquals(1L, getTimerCount(action.getBundle(), action.getApplication(), action.getEventType()));
@@ -332,9 +349,9 @@ public class EventConsumerTest {
                 PROCESSING_BLACKLISTED_COUNTER_NAME
         );
         verifyExactlyOneProcessing(eventType, payload, action, false);
-        verify(kafkaMessageDeduplicator, times(1)).isNew(null);
+        verify(kafkaMessageDeduplicator, times(1)).filterNew(Collections.singletonList(null));
         // TODO eventDeduplicator will be called once when kafkaMessageDeduplicator is removed.
-        verify(eventDeduplicator, never()).isNew(any(Event.class));
+        verify(eventDeduplicator, never()).filterNew(any());
     }
 
     @ParameterizedTest
@@ -349,8 +366,8 @@ public class EventConsumerTest {
         String payload = serializeAction(action);
         UUID messageId = UUID.randomUUID();
         Message<String> message = buildMessageWithId(messageId.toString().getBytes(UTF_8), payload);
-        inMemoryConnector.source(INGRESS_CHANNEL).send(message);
-        inMemoryConnector.source(INGRESS_CHANNEL).send(message);
+        inMemoryConnector.source(INGRESS_CHANNEL).send(toBatch(message));
+        inMemoryConnector.source(INGRESS_CHANNEL).send(toBatch(message));
 
         micrometerAssertionHelper.awaitAndAssertTimerIncrement(CONSUMED_TIMER_NAME, 2);
         assertEquals(2L, getTimerCount(action.getBundle(), action.getApplication(), action.getEventType()));
@@ -367,9 +384,9 @@ public class EventConsumerTest {
                 PROCESSING_BLACKLISTED_COUNTER_NAME
         );
         verifyExactlyOneProcessing(eventType, payload, action, false);
-        verify(kafkaMessageDeduplicator, times(2)).isNew(messageId);
+        verify(kafkaMessageDeduplicator, times(2)).filterNew(List.of(messageId));
         // TODO eventDeduplicator will be called twice when kafkaMessageDeduplicator is removed.
-        verify(eventDeduplicator, never()).isNew(any(Event.class));
+        verify(eventDeduplicator, never()).filterNew(any());
 
     }
 
@@ -379,7 +396,7 @@ public class EventConsumerTest {
         Action action = buildValidAction(false);
         String payload = serializeAction(action);
         Message<String> message = buildMessageWithId(null, payload);
-        inMemoryConnector.source(INGRESS_CHANNEL).send(message);
+        inMemoryConnector.source(INGRESS_CHANNEL).send(toBatch(message));
 
         micrometerAssertionHelper.awaitAndAssertTimerIncrement(CONSUMED_TIMER_NAME, 1);
         assertEquals(1L, getTimerCount(action.getBundle(), action.getApplication(), action.getEventType()));
@@ -394,9 +411,9 @@ public class EventConsumerTest {
                 PROCESSING_BLACKLISTED_COUNTER_NAME
         );
         verifyExactlyOneProcessing(eventType, payload, action, false);
-        verify(kafkaMessageDeduplicator, times(1)).isNew(null);
+        verify(kafkaMessageDeduplicator, times(1)).filterNew(Collections.singletonList(null));
         // TODO eventDeduplicator will be called once when kafkaMessageDeduplicator is removed.
-        verify(eventDeduplicator, never()).isNew(any(Event.class));
+        verify(eventDeduplicator, never()).filterNew(any());
     }
 
     @Test
@@ -405,7 +422,7 @@ public class EventConsumerTest {
         Action action = buildValidAction(false);
         String payload = serializeAction(action);
         Message<String> message = buildMessageWithId("I am not a valid UUID!".getBytes(UTF_8), payload);
-        inMemoryConnector.source(INGRESS_CHANNEL).send(message);
+        inMemoryConnector.source(INGRESS_CHANNEL).send(toBatch(message));
 
         micrometerAssertionHelper.awaitAndAssertTimerIncrement(CONSUMED_TIMER_NAME, 1);
         assertEquals(1L, getTimerCount(action.getBundle(), action.getApplication(), action.getEventType()));
@@ -420,9 +437,198 @@ public class EventConsumerTest {
                 PROCESSING_BLACKLISTED_COUNTER_NAME
         );
         verifyExactlyOneProcessing(eventType, payload, action, false);
-        verify(kafkaMessageDeduplicator, times(1)).isNew(null);
+        verify(kafkaMessageDeduplicator, times(1)).filterNew(Collections.singletonList(null));
         // TODO eventDeduplicator will be called once when kafkaMessageDeduplicator is removed.
-        verify(eventDeduplicator, never()).isNew(any(Event.class));
+        verify(eventDeduplicator, never()).filterNew(any());
+    }
+
+    @Test
+    void testAsyncBatchesAreAcknowledgedAfterProcessing() {
+        when(config.isAsyncEventProcessing()).thenReturn(true);
+        mockGetEventTypeAndCreateEvent();
+        CountDownLatch processingLatch = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            processingLatch.await(30, SECONDS);
+            return null;
+        }).when(endpointProcessor).process(any(Event.class));
+
+        AtomicInteger acknowledgedBatches = new AtomicInteger();
+        try {
+            for (int i = 0; i < 3; i++) {
+                Message<String> message = buildMessageWithId(UUID.randomUUID().toString().getBytes(UTF_8), serializeAction(buildValidAction(true)));
+                inMemoryConnector.source(INGRESS_CHANNEL).send(toBatch(message).withAck(() -> {
+                    acknowledgedBatches.incrementAndGet();
+                    return CompletableFuture.completedFuture(null);
+                }));
+            }
+
+            await().until(() -> eventConsumer.getInFlightBatchesCount() == 3);
+            assertEquals(0, acknowledgedBatches.get());
+        } finally {
+            processingLatch.countDown();
+        }
+
+        await().until(() -> acknowledgedBatches.get() == 3);
+        assertEquals(0, eventConsumer.getInFlightBatchesCount());
+        verify(endpointProcessor, times(3)).process(any(Event.class));
+    }
+
+    @Test
+    void testAsyncBatchesAreNotDeliveredBeyondTheInFlightLimit() throws InterruptedException {
+        when(config.isAsyncEventProcessing()).thenReturn(true);
+        mockGetEventTypeAndCreateEvent();
+        CountDownLatch processingLatch = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            processingLatch.await(30, SECONDS);
+            return null;
+        }).when(endpointProcessor).process(any(Event.class));
+
+        int maxInFlightBatches = config.getEventConsumerMaxThreadPoolSize() + config.getEventConsumerQueueCapacity();
+        AtomicInteger acknowledgedBatches = new AtomicInteger();
+        try {
+            for (int i = 0; i < maxInFlightBatches + 2; i++) {
+                Message<String> message = buildMessageWithId(UUID.randomUUID().toString().getBytes(UTF_8), serializeAction(buildValidAction(true)));
+                inMemoryConnector.source(INGRESS_CHANNEL).send(toBatch(message).withAck(() -> {
+                    acknowledgedBatches.incrementAndGet();
+                    return CompletableFuture.completedFuture(null);
+                }));
+            }
+
+            await().until(() -> eventConsumer.getInFlightBatchesCount() == maxInFlightBatches);
+            // The extra batches are not delivered as long as the in-flight batches are not acknowledged.
+            SECONDS.sleep(1L);
+            assertEquals(maxInFlightBatches, eventConsumer.getInFlightBatchesCount());
+            assertEquals(0, acknowledgedBatches.get());
+        } finally {
+            processingLatch.countDown();
+        }
+
+        await().until(() -> acknowledgedBatches.get() == maxInFlightBatches + 2);
+        assertEquals(0, eventConsumer.getInFlightBatchesCount());
+        verify(endpointProcessor, times(maxInFlightBatches + 2)).process(any(Event.class));
+    }
+
+    @Test
+    void testInFlightBatchesAreDrained() {
+        when(config.isAsyncEventProcessing()).thenReturn(true);
+        mockGetEventTypeAndCreateEvent();
+        CountDownLatch processingLatch = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            processingLatch.await(30, SECONDS);
+            return null;
+        }).when(endpointProcessor).process(any(Event.class));
+
+        AtomicInteger acknowledgedBatches = new AtomicInteger();
+        try {
+            for (int i = 0; i < 2; i++) {
+                Message<String> message = buildMessageWithId(UUID.randomUUID().toString().getBytes(UTF_8), serializeAction(buildValidAction(true)));
+                inMemoryConnector.source(INGRESS_CHANNEL).send(toBatch(message).withAck(() -> {
+                    acknowledgedBatches.incrementAndGet();
+                    return CompletableFuture.completedFuture(null);
+                }));
+            }
+            await().until(() -> eventConsumer.getInFlightBatchesCount() == 2);
+
+            // The drain gives up once the timeout is reached, leaving the batches unacknowledged.
+            assertFalse(eventConsumer.awaitInFlightBatches(Duration.ofMillis(100L)));
+            assertEquals(0, acknowledgedBatches.get());
+
+            CompletableFuture.runAsync(processingLatch::countDown, CompletableFuture.delayedExecutor(200L, MILLISECONDS));
+            // The drain returns once all in-flight batches are acknowledged.
+            assertTrue(eventConsumer.awaitInFlightBatches(Duration.ofSeconds(30L)));
+            assertEquals(2, acknowledgedBatches.get());
+            assertEquals(0, eventConsumer.getInFlightBatchesCount());
+        } finally {
+            processingLatch.countDown();
+        }
+    }
+
+    @Test
+    void testBatchWithSeveralMessages() {
+        mockGetEventTypeAndCreateEvent();
+        List<UUID> messageIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        inMemoryConnector.source(INGRESS_CHANNEL).send(toBatch(messageIds));
+
+        micrometerAssertionHelper.awaitAndAssertTimerIncrement(CONSUMED_TIMER_NAME, 3);
+        assertEquals(3L, getTimerCount(BUNDLE, APP, EVENT_TYPE));
+        assertNoCounterIncrement(
+                REJECTED_COUNTER_NAME,
+                PROCESSING_ERROR_COUNTER_NAME,
+                PROCESSING_EXCEPTION_COUNTER_NAME,
+                DUPLICATE_COUNTER_NAME,
+                PROCESSING_BLACKLISTED_COUNTER_NAME
+        );
+
+        // The whole batch is deduplicated and persisted with a single call.
+        verify(kafkaMessageDeduplicator, times(1)).filterNew(messageIds);
+        verify(eventRepository, times(1)).createAll(anyList());
+        assertEquals(messageIds, getProcessedEventIds(3));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testDuplicateMessageIdsInBatch(final boolean valkeyEnabled) {
+        if (valkeyEnabled) {
+            when(config.isValkeyKafkaMessageDeduplicatorEnabled()).thenReturn(Boolean.TRUE);
+        }
+
+        mockGetEventTypeAndCreateEvent();
+        UUID messageId = UUID.randomUUID();
+        UUID otherMessageId = UUID.randomUUID();
+        inMemoryConnector.source(INGRESS_CHANNEL).send(toBatch(List.of(messageId, otherMessageId, messageId)));
+
+        micrometerAssertionHelper.awaitAndAssertTimerIncrement(CONSUMED_TIMER_NAME, 3);
+        micrometerAssertionHelper.assertCounterIncrement(DUPLICATE_COUNTER_NAME, 1);
+        assertNoCounterIncrement(
+                REJECTED_COUNTER_NAME,
+                PROCESSING_ERROR_COUNTER_NAME,
+                PROCESSING_EXCEPTION_COUNTER_NAME,
+                PROCESSING_BLACKLISTED_COUNTER_NAME
+        );
+
+        // Only the first message of the batch with a given ID is processed.
+        assertEquals(List.of(messageId, otherMessageId), getProcessedEventIds(2));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testBatchFailureFallsBackToIndividualIngestion(final boolean valkeyEnabled) {
+        if (valkeyEnabled) {
+            when(config.isValkeyKafkaMessageDeduplicatorEnabled()).thenReturn(Boolean.TRUE);
+        }
+
+        mockGetEventTypeAndCreateEvent();
+        UUID poisonMessageId = UUID.randomUUID();
+        List<UUID> messageIds = List.of(UUID.randomUUID(), poisonMessageId, UUID.randomUUID());
+        List<UUID> persistedEventIds = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            List<Event> events = invocation.getArgument(0);
+            for (Event event : events) {
+                if (poisonMessageId.equals(event.getId())) {
+                    throw new RuntimeException("I am a forced exception!");
+                }
+            }
+            events.forEach(event -> persistedEventIds.add(event.getId()));
+            return null;
+        }).when(eventRepository).createAll(anyList());
+
+        inMemoryConnector.source(INGRESS_CHANNEL).send(toBatch(messageIds));
+
+        micrometerAssertionHelper.awaitAndAssertTimerIncrement(CONSUMED_TIMER_NAME, 3);
+        // Only the poison message fails, the other ones must not be rejected as duplicates by the retry.
+        micrometerAssertionHelper.assertCounterIncrement(PROCESSING_EXCEPTION_COUNTER_NAME, 1);
+        assertNoCounterIncrement(
+                REJECTED_COUNTER_NAME,
+                PROCESSING_ERROR_COUNTER_NAME,
+                DUPLICATE_COUNTER_NAME,
+                PROCESSING_BLACKLISTED_COUNTER_NAME
+        );
+
+        // One call for the batch, then one call per message.
+        verify(eventRepository, times(4)).createAll(anyList());
+        List<UUID> expectedEventIds = List.of(messageIds.get(0), messageIds.get(2));
+        assertEquals(expectedEventIds, persistedEventIds);
+        assertEquals(expectedEventIds, getProcessedEventIds(2));
     }
 
     private EventType mockGetEventTypeAndCreateEvent() {
@@ -441,14 +647,13 @@ public class EventConsumerTest {
         eventType.setDisplayName("Event type");
         eventType.setApplication(app);
         when(eventTypeRepository.getEventType(eq(BUNDLE), eq(APP), eq(EVENT_TYPE))).thenReturn(eventType);
-        when(eventRepository.create(any(Event.class))).thenAnswer(invocation -> {
-            assertEquals(shouldHaveAuthorizationCriterion, ((Event) invocation.getArgument(0)).hasAuthorizationCriterion());
-            return invocation.getArgument(0);
-        });
-        when(eventRepository.create(any(Event.class))).thenAnswer(invocation -> {
-            assertEquals(shouldHaveSeverity, ((Event) invocation.getArgument(0)).getSeverity() != null);
-            return invocation.getArgument(0);
-        });
+        doAnswer(invocation -> {
+            for (Event event : invocation.<List<Event>>getArgument(0)) {
+                assertEquals(shouldHaveAuthorizationCriterion, event.hasAuthorizationCriterion());
+                assertEquals(shouldHaveSeverity, event.getSeverity() != null);
+            }
+            return null;
+        }).when(eventRepository).createAll(anyList());
         return eventType;
     }
 
@@ -512,6 +717,30 @@ public class EventConsumerTest {
         return Message.of(payload).addMetadata(metadata);
     }
 
+    private static Message<List<String>> toBatch(Message<String> message) {
+        return Message.of(List.of(message.getPayload()), message.getMetadata());
+    }
+
+    // The messages of this batch don't have any Kafka header, their IDs are the actions IDs.
+    private static Message<List<String>> toBatch(List<UUID> messageIds) {
+        List<String> payloads = messageIds.stream()
+                .map(messageId -> {
+                    Action action = buildValidAction(false);
+                    action.setId(messageId);
+                    return serializeAction(action);
+                })
+                .toList();
+        return Message.of(payloads);
+    }
+
+    private List<UUID> getProcessedEventIds(int expectedProcessingCount) {
+        ArgumentCaptor<Event> argumentCaptor = ArgumentCaptor.forClass(Event.class);
+        verify(endpointProcessor, times(expectedProcessingCount)).process(argumentCaptor.capture());
+        return argumentCaptor.getAllValues().stream()
+                .map(Event::getId)
+                .toList();
+    }
+
     private long getTimerCount(final String bundle, final String application, final String eventType) {
         return registry.timer(CONSUMED_TIMER_NAME,
                 TAG_KEY_BUNDLE, bundle,
@@ -0,0 +1,95 @@
+package com.redhat.cloud.notifications.events;
+
+import com.redhat.cloud.notifications.TestLifecycleManager;
+import com.redhat.cloud.notifications.config.EngineConfig;
+import io.quarkus.redis.datasource.RedisDataSource;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.mockito.InjectSpy;
+import jakarta.inject.Inject;
+import jakarta.transaction.UserTransaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@QuarkusTest
+@QuarkusTestResource(TestLifecycleManager.class)
+public class KafkaMessageDeduplicatorTest {
+
+    private static final String KAFKA_MESSAGE_KEY = "engine:kafka-message:";
+
+    @Inject
+    KafkaMessageDeduplicator kafkaMessageDeduplicator;
+
+    @Inject
+    RedisDataSource redisDataSource;
+
+    @Inject
+    UserTransaction userTransaction;
+
+    @InjectSpy
+    EngineConfig config;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testFilterNew(final boolean valkeyEnabled) {
+        when(config.isValkeyKafkaMessageDeduplicatorEnabled()).thenReturn(valkeyEnabled);
+
+        UUID knownMessageId = UUID.randomUUID();
+        assertEquals(Set.of(knownMessageId), kafkaMessageDeduplicator.filterNew(List.of(knownMessageId)));
+
+        UUID messageId1 = UUID.randomUUID();
+        UUID messageId2 = UUID.randomUUID();
+        // The null IDs are ignored and the IDs repeated within the batch are only checked once.
+        Set<UUID> newMessageIds = kafkaMessageDeduplicator.filterNew(Arrays.asList(knownMessageId, messageId1, null, messageId1, messageId2));
+        assertEquals(Set.of(messageId1, messageId2), newMessageIds);
+
+        assertTrue(kafkaMessageDeduplicator.filterNew(List.of(knownMessageId, messageId1, messageId2)).isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testMessageIdsAreForgottenOnRollback(final boolean valkeyEnabled) throws Exception {
+        when(config.isValkeyKafkaMessageDeduplicatorEnabled()).thenReturn(valkeyEnabled);
+
+        UUID messageId = UUID.randomUUID();
+        userTransaction.begin();
+        try {
+            assertEquals(Set.of(messageId), kafkaMessageDeduplicator.filterNew(List.of(messageId)));
+        } finally {
+            userTransaction.rollback();
+        }
+
+        if (valkeyEnabled) {
+            assertFalse(redisDataSource.key().exists(KAFKA_MESSAGE_KEY + messageId));
+        }
+        // The retry of a rolled back message must not be rejected as a duplicate.
+        assertEquals(Set.of(messageId), kafkaMessageDeduplicator.filterNew(List.of(messageId)));
+    }
+
+    @Test
+    void testValkeyMessageIdsAreKeptOnCommit() throws Exception {
+        when(config.isValkeyKafkaMessageDeduplicatorEnabled()).thenReturn(true);
+
+        UUID messageId = UUID.randomUUID();
+        userTransaction.begin();
+        try {
+            assertEquals(Set.of(messageId), kafkaMessageDeduplicator.filterNew(List.of(messageId)));
+        } finally {
+            userTransaction.commit();
+        }
+
+        assertTrue(redisDataSource.key().exists(KAFKA_MESSAGE_KEY + messageId));
+        assertTrue(kafkaMessageDeduplicator.filterNew(List.of(messageId)).isEmpty());
+    }
+}
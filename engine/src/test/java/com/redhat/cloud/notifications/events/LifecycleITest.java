@@ -372,7 +372,7 @@ public class LifecycleITest {
         ));
 
         String serializedAction = serializeAction(action);
-        inMemoryConnector.source("ingress").send(serializedAction);
+        inMemoryConnector.source("ingress").send(List.of(serializedAction));
     }
 
     @Transactional
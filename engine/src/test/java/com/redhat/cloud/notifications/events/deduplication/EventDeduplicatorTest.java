@@ -14,9 +14,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
@@ -148,6 +151,29 @@ class EventDeduplicatorTest {
         assertTrue(eventDeduplicator.isNew(event7), "Event with different billing_account_id should return true");
     }
 
+    @Test
+    void testFilterNew() {
+
+        EventType eventType = createEventType("test-bundle", "test-app");
+
+        Event knownEvent = createEvent(UUID.randomUUID(), eventType);
+        assertTrue(eventDeduplicator.isNew(knownEvent), "New event should return true");
+
+        Event event1 = createEvent(UUID.randomUUID(), eventType);
+        Event event2 = createEvent(UUID.randomUUID(), eventType);
+        Event duplicateOfKnownEvent = createEvent(knownEvent.getId(), eventType);
+        Event duplicateOfEvent1 = createEvent(event1.getId(), eventType);
+
+        List<Event> newEvents = eventDeduplicator.filterNew(List.of(duplicateOfKnownEvent, event1, duplicateOfEvent1, event2));
+
+        // Only the first event of the batch with a given deduplication key is new.
+        assertEquals(2, newEvents.size());
+        assertSame(event1, newEvents.get(0));
+        assertSame(event2, newEvents.get(1));
+
+        assertTrue(eventDeduplicator.filterNew(List.of(createEvent(event2.getId(), eventType))).isEmpty(), "Events persisted by a previous batch should be duplicates");
+    }
+
     @Transactional
     EventType createEventType(String bundleName, String appName) {
         Bundle bundle = new Bundle();
@@ -172,6 +198,14 @@ class EventDeduplicatorTest {
         return eventType;
     }
 
+    private static Event createEvent(UUID eventId, EventType eventType) {
+        Event event = new Event();
+        event.setId(eventId);
+        event.setEventType(eventType);
+        event.setEventWrapper(new EventWrapperAction(ActionBuilder.build(LocalDateTime.of(2025, 11, 14, 10, 52))));
+        return event;
+    }
+
     private static Event createSubscriptionsEvent(UUID eventId, String orgId, EventType eventType, LocalDateTime timestamp, String productId, String metricId, String billingAccountId) {
 
         JsonObject context = new JsonObject();
@@ -12,6 +12,7 @@ import com.redhat.cloud.notifications.MockServerLifecycleManager;
 import com.redhat.cloud.notifications.TestLifecycleManager;
 import com.redhat.cloud.notifications.db.repositories.EventRepository;
 import com.redhat.cloud.notifications.exports.transformers.TransformersHelpers;
+import com.redhat.cloud.notifications.models.Event;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.common.QuarkusTestResource;
 import io.quarkus.test.junit.QuarkusTest;
@@ -28,7 +29,10 @@ import org.mockito.Mockito;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
@@ -116,7 +120,7 @@ public class ExportEventListenerMockServerTest {
             final ConsoleCloudEventParser consoleCloudEventParser = new ConsoleCloudEventParser();
 
             // Return fixture events when the repository is called.
-            Mockito.when(this.eventRepository.findEventsToExport(Mockito.eq(DEFAULT_ORG_ID), Mockito.any(), Mockito.any())).thenReturn(TransformersHelpers.getFixtureEvents());
+            Mockito.when(this.eventRepository.streamEventsToExport(Mockito.eq(DEFAULT_ORG_ID), Mockito.any(), Mockito.any())).thenAnswer(invocation -> TransformersHelpers.getFixtureEvents().stream());
 
             // Send the JSON payload.
             exportIn.send(consoleCloudEventParser.toJson(testCase.cloudEvent()));
@@ -146,6 +150,38 @@ public class ExportEventListenerMockServerTest {
         }
     }
 
+    /**
+     * Tests that a large export is streamed from the repository to the export
+     * service without losing any event on the way.
+     */
+    @Test
+    void testLargeExportIsStreamedToTheExportService() {
+        final InMemorySource<String> exportIn = this.inMemoryConnector.source(EXPORT_CHANNEL);
+
+        final int eventsCount = 50_000;
+
+        // Generate the events lazily, the way the database cursor does it.
+        Mockito.when(this.eventRepository.streamEventsToExport(Mockito.eq(DEFAULT_ORG_ID), Mockito.any(), Mockito.any())).thenAnswer(invocation ->
+            IntStream.range(0, eventsCount).mapToObj(i -> new Event(UUID.randomUUID(), "bundle", "application", "event type " + i, new Date()))
+        );
+
+        // Send the CSV payload.
+        final GenericConsoleCloudEvent<ResourceRequest> cce = ExportEventTestHelper.createExportCloudEventFixture(Format.CSV);
+        exportIn.send(new ConsoleCloudEventParser().toJson(cce));
+
+        // Wait until the handler sends the payload to the export service.
+        await()
+            .atMost(Duration.ofSeconds(30))
+            .until(() -> !MockServerLifecycleManager.getClient().getAllServeEvents().isEmpty());
+
+        final List<ServeEvent> serveEvents = MockServerLifecycleManager.getClient().getAllServeEvents();
+        Assertions.assertEquals(1, serveEvents.size(), "unexpected number of requests received in the upload endpoint");
+
+        // The header line plus one line per event is expected.
+        final String body = serveEvents.get(0).getRequest().getBodyAsString();
+        Assertions.assertEquals(eventsCount + 1, body.lines().count(), "unexpected number of CSV lines received in the upload endpoint");
+    }
+
     /**
      * Tests that when a "client error" status code is returned from the export
      * service then the failures counter increases.
@@ -170,7 +206,7 @@ public class ExportEventListenerMockServerTest {
         final ConsoleCloudEventParser consoleCloudEventParser = new ConsoleCloudEventParser();
 
         // Return fixture events when the repository is called.
-        Mockito.when(this.eventRepository.findEventsToExport(Mockito.eq(DEFAULT_ORG_ID), Mockito.any(), Mockito.any())).thenReturn(TransformersHelpers.getFixtureEvents());
+        Mockito.when(this.eventRepository.streamEventsToExport(Mockito.eq(DEFAULT_ORG_ID), Mockito.any(), Mockito.any())).thenAnswer(invocation -> TransformersHelpers.getFixtureEvents().stream());
 
         // Reset the mock server since we need it to return a specific response.
         MockServerLifecycleManager.getClient().resetAll();
@@ -216,7 +252,7 @@ public class ExportEventListenerMockServerTest {
         final ConsoleCloudEventParser consoleCloudEventParser = new ConsoleCloudEventParser();
 
         // Return fixture events when the repository is called.
-        Mockito.when(this.eventRepository.findEventsToExport(Mockito.eq(DEFAULT_ORG_ID), Mockito.any(), Mockito.any())).thenReturn(TransformersHelpers.getFixtureEvents());
+        Mockito.when(this.eventRepository.streamEventsToExport(Mockito.eq(DEFAULT_ORG_ID), Mockito.any(), Mockito.any())).thenAnswer(invocation -> TransformersHelpers.getFixtureEvents().stream());
 
         // Reset the mock server since we need it to return a specific response.
         MockServerLifecycleManager.getClient().resetAll();
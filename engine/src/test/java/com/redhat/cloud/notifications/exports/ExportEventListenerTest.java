@@ -33,16 +33,19 @@ import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.redhat.cloud.notifications.TestConstants.DEFAULT_ORG_ID;
 import static com.redhat.cloud.notifications.exports.ExportEventListener.EXPORT_CHANNEL;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.awaitility.Awaitility.await;
 
 @QuarkusTest
 @QuarkusTestResource(TestLifecycleManager.class)
@@ -354,7 +357,15 @@ public class ExportEventListenerTest {
         final ConsoleCloudEventParser consoleCloudEventParser = new ConsoleCloudEventParser();
 
         // Return fixture events when the repository is called.
-        Mockito.when(this.eventRepository.findEventsToExport(Mockito.eq(DEFAULT_ORG_ID), Mockito.any(), Mockito.any())).thenReturn(TransformersHelpers.getFixtureEvents());
+        Mockito.when(this.eventRepository.streamEventsToExport(Mockito.eq(DEFAULT_ORG_ID), Mockito.any(), Mockito.any())).thenAnswer(invocation -> TransformersHelpers.getFixtureEvents().stream());
+
+        // The exported file is deleted right after the upload, so its
+        // contents need to be read when the export service is called.
+        final AtomicReference<String> uploadedJSONContents = new AtomicReference<>();
+        Mockito.doAnswer(invocation -> {
+            uploadedJSONContents.set(Files.readString(invocation.getArgument(4)));
+            return null;
+        }).when(this.exportService).uploadJSONExport(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
 
         // Send the JSON payload.
         exportIn.send(consoleCloudEventParser.toJson(cee));
@@ -364,10 +375,15 @@ public class ExportEventListenerTest {
         final ArgumentCaptor<UUID> capturedExportUuid = ArgumentCaptor.forClass(UUID.class);
         final ArgumentCaptor<String> capturedApplication = ArgumentCaptor.forClass(String.class);
         final ArgumentCaptor<UUID> capturedResourceUuid = ArgumentCaptor.forClass(UUID.class);
-        final ArgumentCaptor<String> capturedJSONContents = ArgumentCaptor.forClass(String.class);
+        final ArgumentCaptor<Path> capturedJSONFile = ArgumentCaptor.forClass(Path.class);
 
         // Wait at most 10 seconds before failing.
-        Mockito.verify(this.exportService, Mockito.timeout(10000).times(1)).uploadJSONExport(capturedPsk.capture(), capturedExportUuid.capture(), capturedApplication.capture(), capturedResourceUuid.capture(), capturedJSONContents.capture());
+        Mockito.verify(this.exportService, Mockito.timeout(10000).times(1)).uploadJSONExport(capturedPsk.capture(), capturedExportUuid.capture(), capturedApplication.capture(), capturedResourceUuid.capture(), capturedJSONFile.capture());
+
+        // Assert that the temporary export file gets deleted after the upload.
+        await()
+            .atMost(Duration.ofSeconds(10))
+            .until(() -> Files.notExists(capturedJSONFile.getValue()));
 
         // Assert that the PSK is correct.
         Assertions.assertEquals(this.exportServicePsk, capturedPsk.getValue(), "unexpected PSK sent to the export service");
@@ -390,7 +406,7 @@ public class ExportEventListenerTest {
         // Assert that both the expected contents and the result are valid JSON
         // objects.
         final JsonArray expectedJson = new JsonArray(expectedContents);
-        final JsonArray resultJson = new JsonArray(capturedJSONContents.getValue());
+        final JsonArray resultJson = new JsonArray(uploadedJSONContents.get());
 
         // Encode both prettily so that if an error occurs, it is easier to
         // spot where the problem is.
@@ -427,7 +443,15 @@ public class ExportEventListenerTest {
         final ConsoleCloudEventParser consoleCloudEventParser = new ConsoleCloudEventParser();
 
         // Return fixture events when the repository is called.
-        Mockito.when(this.eventRepository.findEventsToExport(Mockito.eq(DEFAULT_ORG_ID), Mockito.any(), Mockito.any())).thenReturn(TransformersHelpers.getFixtureEvents());
+        Mockito.when(this.eventRepository.streamEventsToExport(Mockito.eq(DEFAULT_ORG_ID), Mockito.any(), Mockito.any())).thenAnswer(invocation -> TransformersHelpers.getFixtureEvents().stream());
+
+        // The exported file is deleted right after the upload, so its
+        // contents need to be read when the export service is called.
+        final AtomicReference<String> uploadedCSVContents = new AtomicReference<>();
+        Mockito.doAnswer(invocation -> {
+            uploadedCSVContents.set(Files.readString(invocation.getArgument(4)));
+            return null;
+        }).when(this.exportService).uploadCSVExport(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
 
         // Send the JSON payload.
         exportIn.send(consoleCloudEventParser.toJson(cee));
@@ -437,10 +461,15 @@ public class ExportEventListenerTest {
         final ArgumentCaptor<UUID> capturedExportUuid = ArgumentCaptor.forClass(UUID.class);
         final ArgumentCaptor<String> capturedApplication = ArgumentCaptor.forClass(String.class);
         final ArgumentCaptor<UUID> capturedResourceUuid = ArgumentCaptor.forClass(UUID.class);
-        final ArgumentCaptor<String> capturedCSVContents = ArgumentCaptor.forClass(String.class);
+        final ArgumentCaptor<Path> capturedCSVFile = ArgumentCaptor.forClass(Path.class);
 
         // Wait at most 10 seconds before failing.
-        Mockito.verify(this.exportService, Mockito.timeout(10000).times(1)).uploadCSVExport(capturedPsk.capture(), capturedExportUuid.capture(), capturedApplication.capture(), capturedResourceUuid.capture(), capturedCSVContents.capture());
+        Mockito.verify(this.exportService, Mockito.timeout(10000).times(1)).uploadCSVExport(capturedPsk.capture(), capturedExportUuid.capture(), capturedApplication.capture(), capturedResourceUuid.capture(), capturedCSVFile.capture());
+
+        // Assert that the temporary export file gets deleted after the upload.
+        await()
+            .atMost(Duration.ofSeconds(10))
+            .until(() -> Files.notExists(capturedCSVFile.getValue()));
 
         // Assert that the PSK is correct.
         Assertions.assertEquals(this.exportServicePsk, capturedPsk.getValue(), "unexpected PSK sent to the export service");
@@ -460,7 +489,7 @@ public class ExportEventListenerTest {
 
         final String expectedContents = Files.readString(Path.of(csvResourceUrl.toURI()));
 
-        Assertions.assertEquals(expectedContents, capturedCSVContents.getValue(), "unexpected CSV body received");
+        Assertions.assertEquals(expectedContents, uploadedCSVContents.get(), "unexpected CSV body received");
 
         // Assert that the successes counter was incremented, and that the
         // failures counter did not increment.
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Files;
@@ -16,7 +17,7 @@ import java.util.List;
 
 public final class CSVEventTransformerTest {
     /**
-     * Tests that for a list of events, a correct CSV output is generated.
+     * Tests that for a stream of events, a correct CSV output is generated.
      * @throws IOException if the expected CSV file cannot be read.
      * @throws TransformationException if any unexpected error occurs during
      * the transformation of the events.
@@ -36,7 +37,9 @@ public final class CSVEventTransformerTest {
 
         // Call the function under test.
         final ResultsTransformer<Event> resultsTransformer = new CSVEventTransformer();
-        final String result = resultsTransformer.transform(events);
+        final StringWriter stringWriter = new StringWriter();
+        resultsTransformer.transform(events.stream(), stringWriter);
+        final String result = stringWriter.toString();
 
         Assertions.assertEquals(expectedContents, result, "unexpected CSV transformation performed");
     }
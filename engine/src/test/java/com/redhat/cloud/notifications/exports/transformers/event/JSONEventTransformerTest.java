@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Files;
@@ -17,7 +18,7 @@ import java.util.List;
 
 public final class JSONEventTransformerTest {
     /**
-     * Tests that for a list of events, a correct JSON output is generated.
+     * Tests that for a stream of events, a correct JSON output is generated.
      * @throws IOException if the expected CSV file cannot be read.
      * @throws TransformationException if any unexpected error occurs during
      * the transformation of the events.
@@ -36,7 +37,9 @@ public final class JSONEventTransformerTest {
 
         // Call the function under test.
         final ResultsTransformer<Event> resultsTransformer = new JSONEventTransformer();
-        final String result = resultsTransformer.transform(events);
+        final StringWriter stringWriter = new StringWriter();
+        resultsTransformer.transform(events.stream(), stringWriter);
+        final String result = stringWriter.toString();
 
         // Assert that both the expected contents and the result are valid JSON
         // objects.
@@ -3,6 +3,7 @@ package com.redhat.cloud.notifications.processors;
 import com.redhat.cloud.notifications.TestLifecycleManager;
 import com.redhat.cloud.notifications.config.EngineConfig;
 import com.redhat.cloud.notifications.db.ResourceHelpers;
+import com.redhat.cloud.notifications.db.repositories.NotificationHistoryRepository;
 import com.redhat.cloud.notifications.db.repositories.PayloadDetailsRepository;
 import com.redhat.cloud.notifications.models.Application;
 import com.redhat.cloud.notifications.models.Bundle;
@@ -10,11 +11,15 @@ import com.redhat.cloud.notifications.models.Endpoint;
 import com.redhat.cloud.notifications.models.EndpointType;
 import com.redhat.cloud.notifications.models.Event;
 import com.redhat.cloud.notifications.models.EventType;
+import com.redhat.cloud.notifications.models.NotificationHistory;
 import com.redhat.cloud.notifications.processors.payload.PayloadDetails;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.common.QuarkusTestResource;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.mockito.InjectSpy;
+import io.smallrye.reactive.messaging.ce.OutgoingCloudEventMetadata;
 import io.smallrye.reactive.messaging.memory.InMemoryConnector;
 import io.smallrye.reactive.messaging.memory.InMemorySink;
 import io.vertx.core.json.JsonObject;
@@ -26,8 +31,14 @@ import org.eclipse.microprofile.reactive.messaging.Message;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 @QuarkusTest
 @QuarkusTestResource(TestLifecycleManager.class)
 public class ConnectorSenderTest {
@@ -41,12 +52,18 @@ public class ConnectorSenderTest {
     @Inject
     InMemoryConnector inMemoryConnector;
 
+    @InjectSpy
+    NotificationHistoryRepository notificationHistoryRepository;
+
     @InjectMock
     PayloadDetailsRepository payloadDetailsRepository;
 
     @Inject
     ResourceHelpers resourceHelpers;
 
+    @Inject
+    MeterRegistry meterRegistry;
+
     /**
      * Clear the Kafka topics so that each test can verify the exact number
      * of messages received, as otherwise the topics get not cleared until the
@@ -127,8 +144,11 @@ public class ConnectorSenderTest {
         // Call the function under test.
         this.connectorSender.send(event, endpoint, payload);
 
-        // Assert that the repository for saving the payloads was called.
-        Mockito.verify(this.payloadDetailsRepository, Mockito.times(1)).save(Mockito.any());
+        // Assert that the repository for saving the payloads was called with
+        // the encoded payload.
+        final ArgumentCaptor<PayloadDetails> payloadDetailsCaptor = ArgumentCaptor.forClass(PayloadDetails.class);
+        Mockito.verify(this.payloadDetailsRepository, Mockito.times(1)).save(payloadDetailsCaptor.capture());
+        Assertions.assertEquals(payload.encode(), payloadDetailsCaptor.getValue().getContents(), "the stored payload does not match");
 
         // Get the Kafka sink.
         final InMemorySink<JsonObject> messages = this.inMemoryConnector.sink(ConnectorSender.TOCAMEL_CHANNEL);
@@ -151,4 +171,84 @@ public class ConnectorSenderTest {
 
         Assertions.assertEquals(expectedPayload.encode(), receivedPayload.encode(), "the received payload should only contain the payload's identifier");
     }
+
+    /**
+     * Tests that sending the payloads of an event to several endpoints
+     * creates all the history items with a single statement, and that a
+     * message is sent to Kafka for each endpoint.
+     */
+    @Test
+    @Transactional
+    void testPayloadsAreSentWithSingleHistoryInsert() {
+        // Prepare the fixtures for our function.
+        final Bundle bundle = this.resourceHelpers.createBundle("bundle-test-bulk-history");
+        final Application application = this.resourceHelpers.createApp(bundle.getId(), "app-test-bulk-history");
+        final EventType eventType = this.resourceHelpers.createEventType(application.getId(), "event-test-bulk-history");
+        final Event event = this.resourceHelpers.createEvent(eventType);
+
+        final List<ConnectorRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final Endpoint endpoint = this.resourceHelpers.createEndpoint(EndpointType.WEBHOOK, null, true, 0);
+            requests.add(new ConnectorRequest(endpoint, JsonObject.of("index", i)));
+        }
+
+        // Call the function under test.
+        this.connectorSender.send(event, requests);
+
+        final ArgumentCaptor<List<NotificationHistory>> historiesCaptor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(this.notificationHistoryRepository, Mockito.times(1)).createNotificationHistories(historiesCaptor.capture());
+        final List<NotificationHistory> histories = historiesCaptor.getValue();
+        Assertions.assertEquals(3, histories.size(), "a history item should have been created for each endpoint");
+
+        // Get the Kafka sink.
+        final InMemorySink<JsonObject> messages = this.inMemoryConnector.sink(ConnectorSender.TOCAMEL_CHANNEL);
+
+        // Wait until we receive the messages.
+        Awaitility.await().until(
+            () -> messages.received().size() == 3
+        );
+
+        for (int i = 0; i < 3; i++) {
+            final Message<JsonObject> message = messages.received().get(i);
+            final Endpoint endpoint = requests.get(i).endpoint();
+
+            Assertions.assertEquals(i, message.getPayload().getInteger("index"), "the messages should be sent in the order of the requests");
+            Assertions.assertEquals(endpoint.getId().toString(), message.getPayload().getString("endpoint_id"));
+            Assertions.assertEquals(endpoint, histories.get(i).getEndpoint());
+
+            final String cloudEventId = message.getMetadata(OutgoingCloudEventMetadata.class).orElseThrow().getId();
+            Assertions.assertEquals(histories.get(i).getId().toString(), cloudEventId, "the message should be linked to the history item of its endpoint");
+        }
+    }
+
+    /**
+     * Tests that the size of the encoded payloads is recorded in a single
+     * distribution summary for a given set of tags.
+     */
+    @Test
+    @Transactional
+    void testPayloadSizeIsRecorded() {
+        // Prepare the fixtures for our function.
+        final Bundle bundle = this.resourceHelpers.createBundle("bundle-test-payload-size");
+        final Application application = this.resourceHelpers.createApp(bundle.getId(), "app-test-payload-size");
+        final EventType eventType = this.resourceHelpers.createEventType(application.getId(), "event-test-payload-size");
+        final Event event = this.resourceHelpers.createEvent(eventType);
+        event.setApplicationDisplayName("app-test-payload-size");
+        event.setEventTypeDisplayName("event-test-payload-size");
+        final Endpoint endpoint = this.resourceHelpers.createEndpoint(EndpointType.WEBHOOK, null, true, 0);
+
+        final JsonObject payload1 = JsonObject.of("flavor", "Red Hat Enterprise Linux");
+        final JsonObject payload2 = JsonObject.of("flavor", "Red Hat OpenShift");
+
+        // Call the function under test.
+        this.connectorSender.send(event, endpoint, payload1);
+        this.connectorSender.send(event, endpoint, payload2);
+
+        final DistributionSummary summary = this.meterRegistry.get("notifications.tocamel.payload.content.size")
+            .tags("connector", "webhook", "application", "app-test-payload-size", "event_type", "event-test-payload-size")
+            .summary();
+
+        Assertions.assertEquals(2, summary.count());
+        Assertions.assertEquals(payload1.encode().getBytes(UTF_8).length + payload2.encode().getBytes(UTF_8).length, summary.totalAmount());
+    }
 }
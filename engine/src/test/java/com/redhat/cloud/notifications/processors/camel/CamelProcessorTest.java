@@ -13,7 +13,6 @@ import com.redhat.cloud.notifications.models.CamelProperties;
 import com.redhat.cloud.notifications.models.Endpoint;
 import com.redhat.cloud.notifications.models.Event;
 import com.redhat.cloud.notifications.models.EventType;
-import com.redhat.cloud.notifications.models.NotificationHistory;
 import com.redhat.cloud.notifications.templates.models.EnvironmentTest;
 import io.quarkus.test.InjectMock;
 import io.smallrye.reactive.messaging.ce.CloudEventMetadata;
@@ -43,7 +42,7 @@ import static java.time.ZoneOffset.UTC;
 import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -95,7 +94,7 @@ public abstract class CamelProcessorTest {
         Endpoint endpoint = buildEndpoint();
         getCamelProcessor().process(event, List.of(endpoint));
 
-        verify(notificationHistoryRepository, times(1)).createNotificationHistory(any(NotificationHistory.class));
+        verify(notificationHistoryRepository, times(1)).createNotificationHistories(argThat(histories -> histories.size() == 1));
         verifyKafkaMessage(withHostUrl);
     }
 
@@ -160,6 +159,7 @@ public abstract class CamelProcessorTest {
                 .build();
 
         Event event = new Event();
+        event.setCreated(LocalDateTime.now(UTC));
         event.setId(UUID.randomUUID());
         event.setOrgId(DEFAULT_ORG_ID);
         event.setEventWrapper(new EventWrapperAction(action));
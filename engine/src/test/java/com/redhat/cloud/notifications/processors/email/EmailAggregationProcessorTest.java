@@ -59,6 +59,7 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -410,7 +411,7 @@ class EmailAggregationProcessorTest {
                 eq(aggregationKey),
                 any(LocalDateTime.class),
                 any(LocalDateTime.class),
-                eq(0),
+                isNull(),
                 anyInt()
             );
         }
@@ -423,7 +424,7 @@ class EmailAggregationProcessorTest {
             resourceHelpers.addEventEmailAggregation(aggregation.getOrgId(), aggregation.getBundleName(), aggregation.getApplicationName(),  aggregation.getPayload());
         }
 
-        inMemoryConnector.source(INGRESS_CHANNEL).send(buildAggregatorActionFromKey(Arrays.asList(aggregationKeys)));
+        inMemoryConnector.source(INGRESS_CHANNEL).send(List.of(buildAggregatorActionFromKey(Arrays.asList(aggregationKeys))));
 
         validateCommonAssertions(aggregationKeys);
     }
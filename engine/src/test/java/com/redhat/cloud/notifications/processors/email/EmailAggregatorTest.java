@@ -38,6 +38,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.redhat.cloud.notifications.models.SubscriptionType.DAILY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -46,6 +47,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -124,8 +127,8 @@ class EmailAggregatorTest {
         Map<User, Map<String, Object>> result = null;
         result = aggregate();
 
-        verify(emailAggregationRepository, times(1)).getEmailAggregationBasedOnEvent(any(EventAggregationCriterion.class), any(LocalDateTime.class), any(LocalDateTime.class), anyInt(), anyInt());
-        verify(emailAggregationRepository, times(1)).getEmailAggregationBasedOnEvent(any(EventAggregationCriterion.class), any(LocalDateTime.class), any(LocalDateTime.class), eq(0), eq(emailAggregator.maxPageSize));
+        verify(emailAggregationRepository, times(1)).getEmailAggregationBasedOnEvent(any(EventAggregationCriterion.class), any(LocalDateTime.class), any(LocalDateTime.class), any(), anyInt());
+        verify(emailAggregationRepository, times(1)).getEmailAggregationBasedOnEvent(any(EventAggregationCriterion.class), any(LocalDateTime.class), any(LocalDateTime.class), isNull(), eq(emailAggregator.maxPageSize));
 
         // nobody subscribed to the right event type yet
         assertEquals(0, result.size());
@@ -135,15 +138,62 @@ class EmailAggregatorTest {
         // because after the previous aggregate() call the email_aggregation DB table was not purged, we already have 4 records on database
         result = aggregate();
 
-        verify(emailAggregationRepository, times(2)).getEmailAggregationBasedOnEvent(any(EventAggregationCriterion.class), any(LocalDateTime.class), any(LocalDateTime.class), anyInt(), anyInt());
-        verify(emailAggregationRepository, times(1)).getEmailAggregationBasedOnEvent(any(EventAggregationCriterion.class), any(LocalDateTime.class), any(LocalDateTime.class), eq(0), eq(emailAggregator.maxPageSize));
-        verify(emailAggregationRepository, times(1)).getEmailAggregationBasedOnEvent(any(EventAggregationCriterion.class), any(LocalDateTime.class), any(LocalDateTime.class), eq(5), eq(emailAggregator.maxPageSize));
+        verify(emailAggregationRepository, times(2)).getEmailAggregationBasedOnEvent(any(EventAggregationCriterion.class), any(LocalDateTime.class), any(LocalDateTime.class), any(), anyInt());
+        verify(emailAggregationRepository, times(1)).getEmailAggregationBasedOnEvent(any(EventAggregationCriterion.class), any(LocalDateTime.class), any(LocalDateTime.class), isNull(), eq(emailAggregator.maxPageSize));
+        verify(emailAggregationRepository, times(1)).getEmailAggregationBasedOnEvent(any(EventAggregationCriterion.class), any(LocalDateTime.class), any(LocalDateTime.class), notNull(), eq(emailAggregator.maxPageSize));
 
         assertEquals(1, result.size());
         User user = result.keySet().stream().findFirst().get();
         assertTrue(user.getEmail().equals("user-2"));
         assertEquals(8, ((LinkedHashMap) result.get(user).get("policies")).size());
-        verify(recipientsResolverService, times(8)).getRecipients(any(RecipientsQuery.class));
+        // All aggregations share the same event type, recipients settings and authorization criterion.
+        verify(recipientsResolverService, times(1)).getRecipients(any(RecipientsQuery.class));
+    }
+
+    @Test
+    void shouldResolveRecipientsOncePerRecipientsGroup() {
+        application = resourceHelpers.findOrCreateApplication("rhel", "policies");
+        eventType1 = resourceHelpers.findOrCreateEventType(application.getId(), TestHelpers.eventType);
+        eventType2 = resourceHelpers.findOrCreateEventType(application.getId(), "not-used");
+        resourceHelpers.createEventTypeEmailSubscription("org-1", "user-2", eventType1, DAILY);
+
+        Endpoint endpoint = new Endpoint();
+        endpoint.setProperties(new SystemSubscriptionProperties());
+        endpoint.setType(EndpointType.EMAIL_SUBSCRIPTION);
+
+        when(endpointRepository.getTargetEmailSubscriptionEndpoints(anyString(), any(UUID.class))).thenReturn(List.of(endpoint));
+        when(recipientsResolverService.getRecipients(any(RecipientsQuery.class))).then(parameters -> {
+            RecipientsQuery query = parameters.getArgument(0);
+            return Stream.concat(
+                query.subscribers.stream(),
+                query.recipientSettings.stream().flatMap(recipientSettings -> recipientSettings.getUsers().stream())
+            ).map(username -> {
+                User user = new User();
+                user.setEmail(username);
+                return user;
+            }).collect(Collectors.toSet());
+        });
+
+        // Three aggregations without any recipients settings, three aggregations with the same extra recipient.
+        for (int i = 0; i < 6; i++) {
+            JsonObject payload = TestHelpers.createEmailAggregation("org-1", "rhel", "policies", RandomStringUtils.random(10), RandomStringUtils.random(10), i % 2 == 0 ? null : "user-3").getPayload();
+            payload.remove(BaseTransformer.SOURCE);
+            resourceHelpers.addEventEmailAggregation("org-1", "rhel", "policies", payload, false);
+        }
+
+        Application policiesApp = resourceHelpers.findApp("rhel", "policies");
+        EventAggregationCriterion aggregationKey = new EventAggregationCriterion(AGGREGATION_KEY.getOrgId(), policiesApp.getBundleId(), policiesApp.getId(), AGGREGATION_KEY.getBundle(), AGGREGATION_KEY.getApplication());
+        Map<User, Map<String, Object>> result = emailAggregator.getAggregated(application.getId(), aggregationKey, DAILY, LocalDateTime.now(ZoneOffset.UTC).minusMinutes(1), LocalDateTime.now(ZoneOffset.UTC).plusMinutes(1));
+
+        Map<String, Map<String, Object>> resultByEmail = result.entrySet().stream()
+            .collect(Collectors.toMap(entry -> entry.getKey().getEmail(), Map.Entry::getValue));
+        assertEquals(Set.of("user-2", "user-3"), resultByEmail.keySet());
+        assertEquals(6, ((LinkedHashMap) resultByEmail.get("user-2").get("policies")).size());
+        assertEquals(3, ((LinkedHashMap) resultByEmail.get("user-3").get("policies")).size());
+
+        // The six aggregations span two pages but only two recipients groups.
+        verify(recipientsResolverService, times(2)).getRecipients(any(RecipientsQuery.class));
+        verify(endpointRepository, times(1)).getTargetEmailSubscriptionEndpoints(anyString(), any(UUID.class));
     }
 
     private Map<User, Map<String, Object>> aggregate() {
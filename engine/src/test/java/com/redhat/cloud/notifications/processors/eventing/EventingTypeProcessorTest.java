@@ -143,9 +143,10 @@ class EventingTypeProcessorTest {
 
         // Let's trigger the processing.
         camelProcessor.process(event, List.of(endpoint1, endpoint2));
-        ArgumentCaptor<NotificationHistory> historyArgumentCaptor = ArgumentCaptor.forClass(NotificationHistory.class);
-        verify(notificationHistoryRepository, times(2)).createNotificationHistory(historyArgumentCaptor.capture());
-        List<NotificationHistory> result = historyArgumentCaptor.getAllValues();
+        ArgumentCaptor<List<NotificationHistory>> historyArgumentCaptor = ArgumentCaptor.forClass(List.class);
+        // The history items of both endpoints are created with a single statement.
+        verify(notificationHistoryRepository, times(1)).createNotificationHistories(historyArgumentCaptor.capture());
+        List<NotificationHistory> result = historyArgumentCaptor.getValue();
 
         // Two endpoints should have been processed.
         assertEquals(2, result.size());
@@ -219,9 +220,9 @@ class EventingTypeProcessorTest {
 
         // Let's trigger the processing.
         camelProcessor.process(event, List.of(endpoint));
-        ArgumentCaptor<NotificationHistory> historyArgumentCaptor = ArgumentCaptor.forClass(NotificationHistory.class);
-        verify(notificationHistoryRepository, times(1)).createNotificationHistory(historyArgumentCaptor.capture());
-        List<NotificationHistory> result = historyArgumentCaptor.getAllValues();
+        ArgumentCaptor<List<NotificationHistory>> historyArgumentCaptor = ArgumentCaptor.forClass(List.class);
+        verify(notificationHistoryRepository, times(1)).createNotificationHistories(historyArgumentCaptor.capture());
+        List<NotificationHistory> result = historyArgumentCaptor.getValue();
 
         // One endpoint should have been processed, and the channel should have received one message.
         assertEquals(1, result.size());
@@ -271,6 +272,7 @@ class EventingTypeProcessorTest {
         );
 
         Event event = new Event();
+        event.setCreated(LocalDateTime.now());
         event.setId(FIXTURE_EVENT_ORIGINAL_UUID);
         event.setEventWrapper(new EventWrapperAction(action));
         event.setOrgId(DEFAULT_ORG_ID);
@@ -93,6 +93,7 @@ public class PagerDutyProcessorTest {
 
         Action pagerDutyActionMessage = buildPagerDutyAction();
         Event event = new Event();
+        event.setCreated(LocalDateTime.now());
         event.setEventWrapper(new EventWrapperAction(pagerDutyActionMessage));
         event.setApplicationDisplayName("policies");
 
@@ -107,9 +108,9 @@ public class PagerDutyProcessorTest {
         Endpoint ep = buildPagerDutyEndpoint();
 
         pagerDutyProcessor.process(event, List.of(ep));
-        ArgumentCaptor<NotificationHistory> historyArgumentCaptor = ArgumentCaptor.forClass(NotificationHistory.class);
-        verify(notificationHistoryRepository, times(1)).createNotificationHistory(historyArgumentCaptor.capture());
-        NotificationHistory history = historyArgumentCaptor.getAllValues().getFirst();
+        ArgumentCaptor<List<NotificationHistory>> historyArgumentCaptor = ArgumentCaptor.forClass(List.class);
+        verify(notificationHistoryRepository, times(1)).createNotificationHistories(historyArgumentCaptor.capture());
+        NotificationHistory history = historyArgumentCaptor.getValue().getFirst();
         assertFalse(history.isInvocationResult());
         assertEquals(NotificationStatus.PROCESSING, history.getStatus());
         // Now let's check the Kafka messages sent to the outgoing channel.
@@ -150,6 +151,7 @@ public class PagerDutyProcessorTest {
         pagerDutyActionMessage.setContext(context);
 
         Event event = new Event();
+        event.setCreated(LocalDateTime.now());
         event.setEventWrapper(new EventWrapperAction(pagerDutyActionMessage));
         event.setBundleDisplayName("Red Hat Enterprise Linux");
         event.setApplicationDisplayName("Inventory");
@@ -168,9 +170,9 @@ public class PagerDutyProcessorTest {
         Endpoint ep = buildPagerDutyEndpoint();
 
         pagerDutyProcessor.process(event, List.of(ep));
-        ArgumentCaptor<NotificationHistory> historyArgumentCaptor = ArgumentCaptor.forClass(NotificationHistory.class);
-        verify(notificationHistoryRepository, times(1)).createNotificationHistory(historyArgumentCaptor.capture());
-        NotificationHistory history = historyArgumentCaptor.getAllValues().getFirst();
+        ArgumentCaptor<List<NotificationHistory>> historyArgumentCaptor = ArgumentCaptor.forClass(List.class);
+        verify(notificationHistoryRepository, times(1)).createNotificationHistories(historyArgumentCaptor.capture());
+        NotificationHistory history = historyArgumentCaptor.getValue().getFirst();
         assertFalse(history.isInvocationResult());
         assertEquals(NotificationStatus.PROCESSING, history.getStatus());
         // Now let's check the Kafka messages sent to the outgoing channel.
@@ -98,6 +98,7 @@ public class WebhookTest {
         String testUrl = "https://my.webhook.connector.com";
         Action webhookActionMessage = buildWebhookAction();
         Event event = new Event();
+        event.setCreated(LocalDateTime.now());
         event.setEventWrapper(new EventWrapperAction(webhookActionMessage));
         event.setApplicationDisplayName("policies");
         Application application = new Application();
@@ -111,9 +112,9 @@ public class WebhookTest {
         Endpoint ep = buildWebhookEndpoint("https://my.webhook.connector.com");
 
         webhookTypeProcessor.process(event, List.of(ep));
-        ArgumentCaptor<NotificationHistory> historyArgumentCaptor = ArgumentCaptor.forClass(NotificationHistory.class);
-        verify(notificationHistoryRepository, times(1)).createNotificationHistory(historyArgumentCaptor.capture());
-        NotificationHistory history = historyArgumentCaptor.getAllValues().get(0);
+        ArgumentCaptor<List<NotificationHistory>> historyArgumentCaptor = ArgumentCaptor.forClass(List.class);
+        verify(notificationHistoryRepository, times(1)).createNotificationHistories(historyArgumentCaptor.capture());
+        NotificationHistory history = historyArgumentCaptor.getValue().getFirst();
         assertFalse(history.isInvocationResult());
         assertEquals(NotificationStatus.PROCESSING, history.getStatus());
         // Now let's check the Kafka messages sent to the outgoing channel.
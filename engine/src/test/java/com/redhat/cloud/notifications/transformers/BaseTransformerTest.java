@@ -19,7 +19,10 @@ import java.util.List;
 
 import static com.redhat.cloud.notifications.transformers.BaseTransformer.SEVERITY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 class BaseTransformerTest {
@@ -191,4 +194,34 @@ class BaseTransformerTest {
             }
         }
     }
+
+    /**
+     * Tests that the event is transformed once, and that the copies of the transformed event can be modified without
+     * affecting the other processors of the event.
+     */
+    @Test
+    void getTransformedEventTest() {
+        final Action action = new Action();
+        action.setApplication(FIXTURE_APPLICATION);
+        action.setBundle(FIXTURE_BUNDLE);
+        action.setContext(FIXTURE_CONTEXT);
+        action.setEventType(FIXTURE_EVENT_TYPE);
+        action.setEvents(FIXTURE_EVENTS);
+        action.setOrgId(FIXTURE_ORG_ID);
+        action.setTimestamp(FIXTURE_TIMESTAMP);
+
+        com.redhat.cloud.notifications.models.Event event = new com.redhat.cloud.notifications.models.Event();
+        event.setEventWrapper(new EventWrapperAction(action));
+
+        final JsonObject transformedEvent = this.baseTransformer.getTransformedEvent(event);
+        assertSame(transformedEvent, this.baseTransformer.getTransformedEvent(event), "the event was transformed more than once");
+        assertEquals(this.baseTransformer.toJsonObject(event), transformedEvent);
+
+        final JsonObject copy = this.baseTransformer.getTransformedEventCopy(event);
+        assertEquals(transformedEvent, copy);
+        copy.put("application_url", "https://console.redhat.com");
+        copy.remove(BaseTransformer.SOURCE);
+        assertFalse(transformedEvent.containsKey("application_url"), "the copy modification leaked into the shared transformed event");
+        assertTrue(transformedEvent.containsKey(BaseTransformer.SOURCE), "the copy modification leaked into the shared transformed event");
+    }
 }
@@ -32,6 +32,11 @@ public class RecipientsResolverConfig {
     private static final String RETRY_MAX_ATTEMPTS = "notifications.recipients-resolver.retry.max-attempts";
     private static final String RETRY_MAX_BACKOFF = "notifications.recipients-resolver.retry.max-backoff";
     private static final String WARN_IF_DURATION_EXCEEDS = "notifications.recipients-resolver.warn-if-request-duration-exceeds";
+    private static final String USERS_DIRECTORY_REFRESH_AFTER_WRITE = "notifications.recipients-resolver.users-directory.refresh-after-write";
+    private static final String USERS_DIRECTORY_EXPIRE_AFTER_WRITE = "notifications.recipients-resolver.users-directory.expire-after-write";
+    private static final String USERS_DIRECTORY_MAX_SIZE = "notifications.recipients-resolver.users-directory.max-size";
+    private static final String USERS_DIRECTORY_MAX_CONCURRENT_PAGES = "notifications.recipients-resolver.users-directory.max-concurrent-pages";
+    private static final String USERS_DIRECTORY_MAX_CONCURRENT_REFRESHES = "notifications.recipients-resolver.users-directory.max-concurrent-refreshes";
     private static final String UNLEASH = "notifications.unleash.enabled";
     public static final String MBOP_APITOKEN = "notifications.recipients-resolver.mbop.api_token";
     public static final String MBOP_CLIENT_ID = "notifications.recipients-resolver.mbop.client_id";
@@ -79,6 +84,22 @@ public class RecipientsResolverConfig {
     @ConfigProperty(name = WARN_IF_DURATION_EXCEEDS, defaultValue = "30S")
     Duration logTooLongRequestLimit;
 
+    // The refresh is triggered by the first read after this delay and performed asynchronously while the current users are still served.
+    @ConfigProperty(name = USERS_DIRECTORY_REFRESH_AFTER_WRITE, defaultValue = "10M")
+    Duration usersDirectoryRefreshAfterWrite;
+
+    @ConfigProperty(name = USERS_DIRECTORY_EXPIRE_AFTER_WRITE, defaultValue = "1H")
+    Duration usersDirectoryExpireAfterWrite;
+
+    @ConfigProperty(name = USERS_DIRECTORY_MAX_SIZE, defaultValue = "10000")
+    long usersDirectoryMaxSize;
+
+    @ConfigProperty(name = USERS_DIRECTORY_MAX_CONCURRENT_PAGES, defaultValue = "4")
+    int usersDirectoryMaxConcurrentPages;
+
+    @ConfigProperty(name = USERS_DIRECTORY_MAX_CONCURRENT_REFRESHES, defaultValue = "4")
+    int usersDirectoryMaxConcurrentRefreshes;
+
     @ConfigProperty(name = MBOP_APITOKEN, defaultValue = "na")
     String mbopApiToken;
 
@@ -143,6 +164,11 @@ public class RecipientsResolverConfig {
         config.put(RETRY_MAX_ATTEMPTS, getMaxRetryAttempts());
         config.put(RETRY_MAX_BACKOFF, getMaxRetryBackoff());
         config.put(WARN_IF_DURATION_EXCEEDS, getLogTooLongRequestLimit());
+        config.put(USERS_DIRECTORY_REFRESH_AFTER_WRITE, getUsersDirectoryRefreshAfterWrite());
+        config.put(USERS_DIRECTORY_EXPIRE_AFTER_WRITE, getUsersDirectoryExpireAfterWrite());
+        config.put(USERS_DIRECTORY_MAX_SIZE, getUsersDirectoryMaxSize());
+        config.put(USERS_DIRECTORY_MAX_CONCURRENT_PAGES, getUsersDirectoryMaxConcurrentPages());
+        config.put(USERS_DIRECTORY_MAX_CONCURRENT_REFRESHES, getUsersDirectoryMaxConcurrentRefreshes());
         config.put(UNLEASH, unleashEnabled);
         config.put(useKesselToggle, isUseKesselEnabled(null));
         config.put(rbacOidcAuthToggle, isRbacOidcAuthEnabled(null));
@@ -241,6 +267,26 @@ public class RecipientsResolverConfig {
         return logTooLongRequestLimit;
     }
 
+    public Duration getUsersDirectoryRefreshAfterWrite() {
+        return usersDirectoryRefreshAfterWrite;
+    }
+
+    public Duration getUsersDirectoryExpireAfterWrite() {
+        return usersDirectoryExpireAfterWrite;
+    }
+
+    public long getUsersDirectoryMaxSize() {
+        return usersDirectoryMaxSize;
+    }
+
+    public int getUsersDirectoryMaxConcurrentPages() {
+        return usersDirectoryMaxConcurrentPages;
+    }
+
+    public int getUsersDirectoryMaxConcurrentRefreshes() {
+        return usersDirectoryMaxConcurrentRefreshes;
+    }
+
     public Optional<URI> getQuarkusItServiceKeystore() {
         return quarkusItServiceKeystore;
     }
@@ -2,6 +2,8 @@ package com.redhat.cloud.notifications.recipients.resolver;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.redhat.cloud.notifications.recipients.config.RecipientsResolverConfig;
 import com.redhat.cloud.notifications.recipients.model.User;
 import com.redhat.cloud.notifications.recipients.resolver.itservice.ITUserService;
@@ -27,9 +29,11 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import io.quarkus.cache.CacheResult;
 import io.quarkus.logging.Log;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.WebApplicationException;
@@ -45,7 +49,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -65,6 +73,7 @@ public class FetchUsersFromExternalServices {
     protected static final String COUNTER_TAG_USER_PROVIDER_IT = "it";
 
     public static final String ORG_ADMIN_PERMISSION = "admin:org:all";
+    public static final String USERS_DIRECTORY_CACHE_NAME = "recipients-users-directory";
 
     @Inject
     @RestClient
@@ -95,6 +104,10 @@ public class FetchUsersFromExternalServices {
 
     private Map</* orgId */ String, AtomicInteger> rbacUsers = new ConcurrentHashMap<>();
 
+    private LoadingCache<UsersDirectoryKey, List<User>> usersDirectory;
+    private ExecutorService usersDirectoryRefreshExecutor;
+    private ExecutorService pagesExecutor;
+
     @PostConstruct
     public void postConstruct() {
         retryPolicy = RetryPolicy.builder()
@@ -107,6 +120,31 @@ public class FetchUsersFromExternalServices {
                     Log.warn("Users fetching from external service failed", event.getException());
                 })
                 .build();
+
+        /*
+         * The users of an org are loaded once and the concurrent requests for the same org wait for that single load.
+         * Once the refresh delay is reached, the next read triggers a reload in the background and the current users
+         * are served until it completes. If the reload fails, the current users are kept until they expire.
+         * The background reloads beyond the max number of concurrent refreshes are queued.
+         */
+        usersDirectoryRefreshExecutor = Executors.newFixedThreadPool(recipientsResolverConfig.getUsersDirectoryMaxConcurrentRefreshes());
+        usersDirectory = Caffeine.newBuilder()
+                .maximumSize(recipientsResolverConfig.getUsersDirectoryMaxSize())
+                .expireAfterWrite(recipientsResolverConfig.getUsersDirectoryExpireAfterWrite())
+                .refreshAfterWrite(recipientsResolverConfig.getUsersDirectoryRefreshAfterWrite())
+                .executor(usersDirectoryRefreshExecutor)
+                .recordStats()
+                .build(key -> fetchUsers(key.orgId(), key.adminsOnly()));
+        CaffeineCacheMetrics.monitor(meterRegistry, usersDirectory, USERS_DIRECTORY_CACHE_NAME);
+
+        // Bounds the number of RBAC pages fetched at the same time, across all the orgs being loaded.
+        pagesExecutor = Executors.newFixedThreadPool(recipientsResolverConfig.getUsersDirectoryMaxConcurrentPages());
+    }
+
+    @PreDestroy
+    void preDestroy() {
+        usersDirectoryRefreshExecutor.shutdownNow();
+        pagesExecutor.shutdownNow();
     }
 
     /**
@@ -122,8 +160,26 @@ public class FetchUsersFromExternalServices {
         }
     }
 
-    @CacheResult(cacheName = "recipients-users-provider-get-users")
     public List<User> getUsers(String orgId, boolean adminsOnly) {
+        return usersDirectory.get(new UsersDirectoryKey(orgId, adminsOnly));
+    }
+
+    /**
+     * Reloads the users of an org in the background. Until the reload completes, {@link #getUsers(String, boolean)}
+     * keeps returning the current users.
+     * @param orgId the org ID of the users.
+     * @param adminsOnly whether only the org admins are loaded.
+     * @return the reloaded users.
+     */
+    CompletableFuture<List<User>> refreshUsers(String orgId, boolean adminsOnly) {
+        return usersDirectory.refresh(new UsersDirectoryKey(orgId, adminsOnly));
+    }
+
+    void invalidateUsersDirectory() {
+        usersDirectory.invalidateAll();
+    }
+
+    private List<User> fetchUsers(String orgId, boolean adminsOnly) {
         Timer.Sample getUsersTotalTimer = Timer.start(meterRegistry);
 
         List<User> users;
@@ -360,27 +416,60 @@ public class FetchUsersFromExternalServices {
         return Failsafe.with(retryPolicy).get(usersServiceCall);
     }
 
+    /*
+     * The first page is always fetched alone. When it is full and RBAC returned the total count of users, the other
+     * pages are fetched concurrently on the pages executor. The pages are then fetched one by one for as long as the
+     * last one is full, which also covers the users added after the total count was computed.
+     */
     private List<User> getWithPagination(Function<Integer, Page<RbacUser>> fetcher) {
+        final int maxResultsPerPage = recipientsResolverConfig.getMaxResultsPerPage();
         List<User> users = new ArrayList<>();
         int page = 0;
-        Page<RbacUser> rbacUsers;
-        do {
-            rbacUsers = fetcher.apply(page++);
-            for (RbacUser rbacUser : rbacUsers.getData()) {
-                if (rbacUser.getActive()) {
-                    User user = new User();
-                    user.setUsername(rbacUser.getUsername());
-                    user.setEmail(rbacUser.getEmail());
-                    user.setAdmin(TRUE.equals(rbacUser.getOrgAdmin()));
-                    users.add(user);
+        Page<RbacUser> rbacUsers = fetcher.apply(page++);
+        addActiveUsers(users, rbacUsers);
+
+        if (rbacUsers.getData().size() == maxResultsPerPage && rbacUsers.getMeta() != null && rbacUsers.getMeta().getCount() != null) {
+            final int pagesCount = (int) ((rbacUsers.getMeta().getCount() + maxResultsPerPage - 1) / maxResultsPerPage);
+            final List<CompletableFuture<Page<RbacUser>>> nextPages = new ArrayList<>();
+            for (; page < pagesCount; page++) {
+                final int nextPage = page;
+                nextPages.add(CompletableFuture.supplyAsync(() -> fetcher.apply(nextPage), pagesExecutor));
+            }
+            try {
+                for (CompletableFuture<Page<RbacUser>> nextPage : nextPages) {
+                    rbacUsers = nextPage.join();
+                    addActiveUsers(users, rbacUsers);
                 }
+            } catch (CompletionException e) {
+                nextPages.forEach(nextPage -> nextPage.cancel(false));
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw e;
             }
+        }
 
-            this.incrementSuccessesCounterWithTag(COUNTER_TAG_USER_PROVIDER_RBAC);
-        } while (rbacUsers.getData().size() == recipientsResolverConfig.getMaxResultsPerPage());
+        while (rbacUsers.getData().size() == maxResultsPerPage) {
+            rbacUsers = fetcher.apply(page++);
+            addActiveUsers(users, rbacUsers);
+        }
         return users;
     }
 
+    private void addActiveUsers(List<User> users, Page<RbacUser> rbacUsers) {
+        for (RbacUser rbacUser : rbacUsers.getData()) {
+            if (rbacUser.getActive()) {
+                User user = new User();
+                user.setUsername(rbacUser.getUsername());
+                user.setEmail(rbacUser.getEmail());
+                user.setAdmin(TRUE.equals(rbacUser.getOrgAdmin()));
+                users.add(user);
+            }
+        }
+
+        this.incrementSuccessesCounterWithTag(COUNTER_TAG_USER_PROVIDER_RBAC);
+    }
+
     List<User> transformMBOPUserToUser(final List<MBOPUser> mbopUsers) {
         final List<User> users = new ArrayList<>(mbopUsers.size());
         for (final MBOPUser mbopUser : mbopUsers) {
@@ -432,4 +521,7 @@ public class FetchUsersFromExternalServices {
     private void incrementSuccessesCounterWithTag(final String userProvider) {
         this.incrementCounter(COUNTER_TAG_SUCCESSES, userProvider);
     }
+
+    private record UsersDirectoryKey(String orgId, boolean adminsOnly) {
+    }
 }
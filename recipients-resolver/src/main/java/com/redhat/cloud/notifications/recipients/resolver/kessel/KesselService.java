@@ -2,6 +2,7 @@ package com.redhat.cloud.notifications.recipients.resolver.kessel;
 
 import com.redhat.cloud.notifications.ingress.RecipientsAuthorizationCriterion;
 import com.redhat.cloud.notifications.recipients.config.RecipientsResolverConfig;
+import io.quarkus.cache.CacheResult;
 import io.quarkus.logging.Log;
 import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -14,6 +15,7 @@ import org.project_kessel.relations.client.LookupClient;
 import org.project_kessel.relations.client.RelationsConfig;
 import org.project_kessel.relations.client.RelationsGrpcClientsManager;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Optional;
@@ -100,27 +102,46 @@ public class KesselService {
     }
 
     public Set<String> lookupSubjects(RecipientsAuthorizationCriterion recipientsAuthorizationCriterion) {
+        return lookupSubjects(
+            recipientsAuthorizationCriterion.getType().getNamespace(),
+            recipientsAuthorizationCriterion.getType().getName(),
+            recipientsAuthorizationCriterion.getId(),
+            recipientsAuthorizationCriterion.getRelation()
+        );
+    }
+
+    /*
+     * The notifications scoped to the same host or cluster resolve the same subjects many times per minute. The
+     * results are therefore cached for a short time, and concurrent lookups of the same resource and relation wait
+     * for the same Kessel call. The returned set is shared between the callers and can't be modified.
+     */
+    @CacheResult(cacheName = "kessel-lookup-subjects")
+    Set<String> lookupSubjects(String resourceNamespace, String resourceType, String resourceId, String relation) {
         Set<String> userIds = new HashSet<>();
-        LookupSubjectsRequest request = getLookupSubjectsRequest(recipientsAuthorizationCriterion);
+        LookupSubjectsRequest request = getLookupSubjectsRequest(resourceNamespace, resourceType, resourceId, relation);
 
         final String kesselAdditionalDomainName = String.format("%s/", recipientsResolverConfig.getKesselDomain());
         for (Iterator<LookupSubjectsResponse> it = lookupClient.lookupSubjects(request); it.hasNext();) {
             LookupSubjectsResponse response = it.next();
-            userIds.add(response.getSubject().getSubject().getId().replaceAll(kesselAdditionalDomainName, ""));
+            String subjectId = response.getSubject().getSubject().getId();
+            if (subjectId.startsWith(kesselAdditionalDomainName)) {
+                subjectId = subjectId.substring(kesselAdditionalDomainName.length());
+            }
+            userIds.add(subjectId);
         }
         Log.infof("Kessel returned %d user(s) for request %s", userIds.size(), request);
-        return userIds;
+        return Collections.unmodifiableSet(userIds);
     }
 
-    private static LookupSubjectsRequest getLookupSubjectsRequest(RecipientsAuthorizationCriterion recipientsAuthorizationCriterion) {
+    private static LookupSubjectsRequest getLookupSubjectsRequest(String resourceNamespace, String resourceType, String resourceId, String relation) {
         LookupSubjectsRequest request = LookupSubjectsRequest.newBuilder()
             .setResource(ObjectReference.newBuilder()
                 .setType(ObjectType.newBuilder()
-                    .setNamespace(recipientsAuthorizationCriterion.getType().getNamespace())
-                    .setName(recipientsAuthorizationCriterion.getType().getName()).build())
-                .setId(recipientsAuthorizationCriterion.getId())
+                    .setNamespace(resourceNamespace)
+                    .setName(resourceType).build())
+                .setId(resourceId)
                 .build())
-            .setRelation(recipientsAuthorizationCriterion.getRelation())
+            .setRelation(relation)
             .setSubjectType(ObjectType.newBuilder().setNamespace(RBAC_NAMESPACE).setName(SUBJECT_TYPE_USER).build())
             .build();
         return request;
@@ -39,6 +39,13 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.redhat.cloud.notifications.recipients.resolver.FetchUsersFromExternalServices.COUNTER_REQUESTS;
 import static com.redhat.cloud.notifications.recipients.resolver.FetchUsersFromExternalServices.COUNTER_TAG_FAILURES;
@@ -96,6 +103,14 @@ public class FetchUsersFromExternalServicesTest {
         when(recipientsResolverConfig.getMbopApiToken()).thenReturn("na");
         when(recipientsResolverConfig.getMbopClientId()).thenReturn("na");
         when(recipientsResolverConfig.getMbopEnv()).thenReturn("na");
+        when(recipientsResolverConfig.getUsersDirectoryRefreshAfterWrite()).thenReturn(Duration.ofMinutes(10));
+        when(recipientsResolverConfig.getUsersDirectoryExpireAfterWrite()).thenReturn(Duration.ofHours(1));
+        when(recipientsResolverConfig.getUsersDirectoryMaxSize()).thenReturn(10000L);
+        when(recipientsResolverConfig.getUsersDirectoryMaxConcurrentPages()).thenReturn(4);
+        when(recipientsResolverConfig.getUsersDirectoryMaxConcurrentRefreshes()).thenReturn(4);
+
+        // The users directory is built from the config, so it can only be cleared once the config is mocked.
+        clearCached();
     }
 
     @Test
@@ -599,6 +614,118 @@ public class FetchUsersFromExternalServicesTest {
         this.micrometerAssertionHelper.assertCounterIncrementFilteredByTags(COUNTER_REQUESTS, mockedITUserPagesToFetch + 1, Tags.of(COUNTER_TAG_REQUEST_RESULT, COUNTER_TAG_SUCCESSES, COUNTER_TAG_USER_PROVIDER, COUNTER_TAG_USER_PROVIDER_IT));
     }
 
+    /**
+     * Tests that the users directory keeps serving the current users of an
+     * org while they are reloaded in the background.
+     */
+    @Test
+    void testUsersAreServedWhileRefreshing() throws Exception {
+        mockGetUsers(100, false);
+        assertEquals(100, fetchUsersFromExternalServices.getUsers(DEFAULT_ORG_ID, false).size());
+
+        // The IT service is now slow to return the updated users.
+        final CountDownLatch itServiceReleased = new CountDownLatch(1);
+        final MockedUserAnswer updatedUsers = new MockedUserAnswer(150, false);
+        when(itUserService.getUsers(any(ITUserRequest.class))).then(invocationOnMock -> {
+            assertTrue(itServiceReleased.await(10, TimeUnit.SECONDS));
+            return updatedUsers.mockedUserAnswer(invocationOnMock.getArgument(0, ITUserRequest.class));
+        });
+
+        final CompletableFuture<List<User>> refresh = fetchUsersFromExternalServices.refreshUsers(DEFAULT_ORG_ID, false);
+
+        // The current users are served without waiting for the refresh.
+        assertEquals(100, fetchUsersFromExternalServices.getUsers(DEFAULT_ORG_ID, false).size());
+        assertFalse(refresh.isDone());
+
+        itServiceReleased.countDown();
+        assertEquals(150, refresh.get(10, TimeUnit.SECONDS).size());
+        assertEquals(150, fetchUsersFromExternalServices.getUsers(DEFAULT_ORG_ID, false).size());
+    }
+
+    /**
+     * Tests that concurrent requests for the users of the same org trigger a
+     * single load from the user service.
+     */
+    @Test
+    void testConcurrentMissesAreLoadedOnce() throws Exception {
+        final int requestsCount = 5;
+        final CountDownLatch requestsStarted = new CountDownLatch(requestsCount);
+        final CountDownLatch itServiceReleased = new CountDownLatch(1);
+        final AtomicInteger itServiceCalls = new AtomicInteger();
+        final MockedUserAnswer users = new MockedUserAnswer(10, false);
+        when(itUserService.getUsers(any(ITUserRequest.class))).then(invocationOnMock -> {
+            itServiceCalls.incrementAndGet();
+            assertTrue(itServiceReleased.await(10, TimeUnit.SECONDS));
+            return users.mockedUserAnswer(invocationOnMock.getArgument(0, ITUserRequest.class));
+        });
+
+        final ExecutorService executor = Executors.newFixedThreadPool(requestsCount);
+        try {
+            final List<Future<List<User>>> results = new ArrayList<>();
+            for (int i = 0; i < requestsCount; i++) {
+                results.add(executor.submit(() -> {
+                    requestsStarted.countDown();
+                    return fetchUsersFromExternalServices.getUsers(DEFAULT_ORG_ID, false);
+                }));
+            }
+            assertTrue(requestsStarted.await(10, TimeUnit.SECONDS));
+            itServiceReleased.countDown();
+
+            for (Future<List<User>> result : results) {
+                assertEquals(10, result.get(10, TimeUnit.SECONDS).size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, itServiceCalls.get());
+    }
+
+    /**
+     * Tests that when RBAC returns the total count of users, the pages after
+     * the first one are fetched concurrently, and that the users are returned
+     * in the order of the pages.
+     */
+    @Test
+    void testRbacPagesAreFetchedConcurrently() {
+        when(recipientsResolverConfig.isFetchUsersWithRbacEnabled(anyString())).thenReturn(true);
+        when(recipientsResolverConfig.isFetchUsersWithRbacEnabled(isNull())).thenReturn(true);
+
+        final int elements = recipientsResolverConfig.getMaxResultsPerPage() * 4 + 500;
+        final MockedUserAnswer answer = new MockedUserAnswer(elements, false);
+        final AtomicInteger rbacCalls = new AtomicInteger();
+        final AtomicInteger inFlightRequests = new AtomicInteger();
+        final AtomicInteger maxInFlightRequests = new AtomicInteger();
+        when(rbacServiceToService.getUsers(Mockito.eq(DEFAULT_ORG_ID), Mockito.eq(false), Mockito.anyInt(), Mockito.anyInt())).then(invocationOnMock -> {
+            rbacCalls.incrementAndGet();
+            maxInFlightRequests.accumulateAndGet(inFlightRequests.incrementAndGet(), Math::max);
+            try {
+                // Gives the other pages the time to be requested.
+                Thread.sleep(200);
+                final Page<RbacUser> page = answer.mockedUserAnswerRBAC(
+                    invocationOnMock.getArgument(2, Integer.class),
+                    invocationOnMock.getArgument(3, Integer.class),
+                    invocationOnMock.getArgument(1, Boolean.class)
+                );
+                page.setMeta(new Meta((long) elements));
+                return page;
+            } finally {
+                inFlightRequests.decrementAndGet();
+            }
+        });
+
+        final List<User> users = fetchUsersFromExternalServices.getUsers(DEFAULT_ORG_ID, false);
+
+        assertEquals(elements, users.size());
+        for (int i = 0; i < elements; ++i) {
+            assertEquals(String.format("username-%d", i), users.get(i).getUsername());
+        }
+        // No request is sent after the last page since the total count is known.
+        assertEquals(5, rbacCalls.get());
+        assertTrue(maxInFlightRequests.get() > 1, "the pages were not fetched concurrently");
+        assertTrue(maxInFlightRequests.get() <= recipientsResolverConfig.getUsersDirectoryMaxConcurrentPages());
+    }
+
     private void mockGetUsers(int elements, boolean adminsOnly) {
         MockedUserAnswer answer = new MockedUserAnswer(elements, adminsOnly);
         when(itUserService.getUsers(any(ITUserRequest.class)))
@@ -673,12 +800,11 @@ public class FetchUsersFromExternalServicesTest {
      * This would normally happen after a certain duration fixed in application.properties with the
      * quarkus.cache.caffeine.recipient-users-provider-get-group-users.expire-after-write
      * and
-     * quarkus.cache.caffeine.recipient-users-provider-get-users.expire-after-write key.
+     * notifications.recipients-resolver.users-directory.expire-after-write key.
      */
-    @CacheInvalidateAll(cacheName = "recipients-users-provider-get-users")
     @CacheInvalidateAll(cacheName = "recipients-users-provider-get-group-users")
-    @BeforeEach
     void clearCached() {
+        fetchUsersFromExternalServices.invalidateUsersDirectory();
     }
 
     class MockedUserAnswer {
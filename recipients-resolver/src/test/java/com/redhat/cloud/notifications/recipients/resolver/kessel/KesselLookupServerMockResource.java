@@ -0,0 +1,79 @@
+package com.redhat.cloud.notifications.recipients.resolver.kessel;
+
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+import org.project_kessel.api.relations.v1beta1.KesselLookupServiceGrpc;
+import org.project_kessel.api.relations.v1beta1.LookupSubjectsRequest;
+import org.project_kessel.api.relations.v1beta1.LookupSubjectsResponse;
+import org.project_kessel.api.relations.v1beta1.ObjectReference;
+import org.project_kessel.api.relations.v1beta1.SubjectReference;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Starts a gRPC server in the test JVM which implements the Kessel lookup service. Each lookup returns the
+ * {@link #SUBJECT_IDS} subjects after {@link #LOOKUP_DELAY_MS} milliseconds.
+ */
+public class KesselLookupServerMockResource implements QuarkusTestResourceLifecycleManager {
+
+    static final List<String> SUBJECT_IDS = List.of("redhat/user-1", "redhat/user-2", "user-3");
+    static final long LOOKUP_DELAY_MS = 200L;
+    static final AtomicInteger LOOKUP_SUBJECTS_CALLS = new AtomicInteger();
+
+    private Server server;
+
+    @Override
+    public Map<String, String> start() {
+        server = ServerBuilder.forPort(0)
+            .addService(new KesselLookupServiceGrpc.KesselLookupServiceImplBase() {
+                @Override
+                public void lookupSubjects(LookupSubjectsRequest request, StreamObserver<LookupSubjectsResponse> responseObserver) {
+                    LOOKUP_SUBJECTS_CALLS.incrementAndGet();
+                    try {
+                        Thread.sleep(LOOKUP_DELAY_MS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    for (String subjectId : SUBJECT_IDS) {
+                        responseObserver.onNext(LookupSubjectsResponse.newBuilder()
+                            .setSubject(SubjectReference.newBuilder()
+                                .setSubject(ObjectReference.newBuilder()
+                                    .setType(request.getSubjectType())
+                                    .setId(subjectId)))
+                            .build());
+                    }
+                    responseObserver.onCompleted();
+                }
+            })
+            .build();
+        try {
+            server.start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Kessel lookup server mock could not be started", e);
+        }
+
+        Map<String, String> config = new HashMap<>();
+        config.put("notifications.recipients-resolver.kessel.target-url", "localhost:" + server.getPort());
+        config.put("relations-api.authn.mode", "disabled");
+        return config;
+    }
+
+    @Override
+    public void stop() {
+        if (server != null) {
+            server.shutdownNow();
+            try {
+                server.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
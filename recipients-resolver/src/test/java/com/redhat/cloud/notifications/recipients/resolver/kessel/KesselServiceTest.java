@@ -0,0 +1,85 @@
+package com.redhat.cloud.notifications.recipients.resolver.kessel;
+
+import com.redhat.cloud.notifications.ingress.RecipientsAuthorizationCriterion;
+import com.redhat.cloud.notifications.ingress.Type;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.redhat.cloud.notifications.recipients.resolver.kessel.KesselLookupServerMockResource.LOOKUP_SUBJECTS_CALLS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@QuarkusTest
+@QuarkusTestResource(value = KesselLookupServerMockResource.class, restrictToAnnotatedClass = true)
+class KesselServiceTest {
+
+    private static final Set<String> EXPECTED_USER_IDS = Set.of("user-1", "user-2", "user-3");
+
+    @Inject
+    KesselService kesselService;
+
+    @BeforeEach
+    void beforeEach() {
+        LOOKUP_SUBJECTS_CALLS.set(0);
+    }
+
+    @Test
+    void testLookupResultsAreCached() {
+        // A random resource ID makes sure that the results of the other tests are not in the cache.
+        String hostId = UUID.randomUUID().toString();
+
+        Set<String> userIds = kesselService.lookupSubjects(buildCriterion(hostId, "view"));
+        assertEquals(EXPECTED_USER_IDS, userIds);
+        assertThrows(UnsupportedOperationException.class, () -> userIds.add("user-4"));
+
+        assertEquals(EXPECTED_USER_IDS, kesselService.lookupSubjects(buildCriterion(hostId, "view")));
+        assertEquals(1, LOOKUP_SUBJECTS_CALLS.get());
+
+        // Another relation on the same resource is a different lookup.
+        assertEquals(EXPECTED_USER_IDS, kesselService.lookupSubjects(buildCriterion(hostId, "edit")));
+        assertEquals(2, LOOKUP_SUBJECTS_CALLS.get());
+    }
+
+    @Test
+    void testConcurrentLookupsAreCoalesced() throws Exception {
+        String hostId = UUID.randomUUID().toString();
+
+        List<Future<Set<String>>> futures = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            for (int i = 0; i < 5; i++) {
+                futures.add(executor.submit(() -> kesselService.lookupSubjects(buildCriterion(hostId, "view"))));
+            }
+            for (Future<Set<String>> future : futures) {
+                assertEquals(EXPECTED_USER_IDS, future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, LOOKUP_SUBJECTS_CALLS.get());
+    }
+
+    private static RecipientsAuthorizationCriterion buildCriterion(String hostId, String relation) {
+        Type type = new Type();
+        type.setNamespace("inventory");
+        type.setName("host");
+
+        RecipientsAuthorizationCriterion criterion = new RecipientsAuthorizationCriterion();
+        criterion.setType(type);
+        criterion.setId(hostId);
+        criterion.setRelation(relation);
+        return criterion;
+    }
+}